@@ -17,12 +17,10 @@ import com.waenhancer.xposed.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 import android.content.pm.PackageManager;
-import android.graphics.drawable.Drawable;
 import android.util.TypedValue;
 import com.waenhancer.utils.ContactHelper;
+import com.waenhancer.utils.ThumbnailLoader;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashSet;
@@ -33,7 +31,7 @@ public class DeletedMessagesAdapter extends RecyclerView.Adapter<DeletedMessages
 
     private List<DeletedMessage> messages = new ArrayList<>();
     private Set<String> selectedItems = new HashSet<>();
-    private final Map<String, Drawable> iconCache = new HashMap<>();
+    private static final int ICON_SIZE_DP = 48;
     private final OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -49,10 +47,16 @@ public class DeletedMessagesAdapter extends RecyclerView.Adapter<DeletedMessages
     }
 
     public void setMessages(List<DeletedMessage> messages) {
-        this.messages = messages;
+        this.messages = new ArrayList<>(messages);
         notifyDataSetChanged();
     }
 
+    public void appendMessages(List<DeletedMessage> page) {
+        int start = messages.size();
+        messages.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -172,27 +176,16 @@ public class DeletedMessagesAdapter extends RecyclerView.Adapter<DeletedMessages
             // Clear any tint on the avatar (xml has tint)
             holder.avatar.setImageTintList(null);
 
-            // Try to load from cache first
-            if (iconCache.containsKey(pkg)) {
-                holder.avatar.setImageDrawable(iconCache.get(pkg));
-            } else {
-                try {
-                    PackageManager pm = holder.itemView.getContext().getPackageManager();
-                    Drawable icon = pm.getApplicationIcon(pkg);
-                    if (icon != null) {
-                        iconCache.put(pkg, icon);
-                        holder.avatar.setImageDrawable(icon);
-                    } else {
-                        // Fallback
-                        holder.avatar.setImageResource(R.drawable.ic_person);
-                    }
-                } catch (PackageManager.NameNotFoundException e) {
-                    // App not installed or invalid package name
-                    holder.avatar.setImageResource(R.drawable.ic_person);
-                }
-            }
+            // App icons are rendered off the main thread and kept in the shared thumbnail cache
+            int iconSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, ICON_SIZE_DP,
+                    context.getResources().getDisplayMetrics());
+            PackageManager pm = context.getPackageManager();
+            ThumbnailLoader.getInstance(context).load(holder.avatar, "app-icon|" + pkg + "|" + iconSize,
+                    () -> ThumbnailLoader.render(pm.getApplicationIcon(pkg), iconSize),
+                    context.getDrawable(R.drawable.ic_person));
         } else {
             // Fallback if no package name (shouldn't happen for new msgs)
+            ThumbnailLoader.getInstance(holder.itemView.getContext()).cancel(holder.avatar);
             holder.avatar.setImageResource(R.drawable.ic_person);
             holder.appBadge.setVisibility(View.GONE);
         }
@@ -244,6 +237,12 @@ public class DeletedMessagesAdapter extends RecyclerView.Adapter<DeletedMessages
         return new ArrayList<>(selectedItems);
     }
 
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        super.onViewRecycled(holder);
+        ThumbnailLoader.getInstance(holder.itemView.getContext()).cancel(holder.avatar);
+    }
+
     @Override
     public int getItemCount() {
         return messages.size();
@@ -23,6 +23,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.waenhancer.utils.ThumbnailLoader;
 import com.waenhancer.views.dialog.TabDialogContent;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
@@ -47,6 +48,7 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.drawable.GradientDrawable;
 import com.waenhancer.xposed.features.customization.IGStatus;
+import java.io.File;
 import java.lang.reflect.Field;
 
 public class IGStatusAdapter extends ArrayAdapter {
@@ -56,6 +58,7 @@ public class IGStatusAdapter extends ArrayAdapter {
     private final Class<?> statusInfoClazz;
     private final Method setCountStatus;
     private static Drawable cacheIcon;
+    private static final int AVATAR_SIZE_DP = 64;
 
     @NonNull
     @Override
@@ -215,9 +218,10 @@ public class IGStatusAdapter extends ArrayAdapter {
         }
 
         public void setInfo(Object item, int position) {
-
             if (Objects.equals(item, "my_status")) {
                 myStatus = true;
+                // Set directly below, so a contact photo still loading for this view must not land
+                ThumbnailLoader.getInstance(getContext()).cancel(igStatusContactPhoto);
                 igStatusContactName.setText(UnobfuscatorCache.getInstance().getString("mystatus"));
                 Drawable profile = null;
                 try {
@@ -301,19 +305,19 @@ public class IGStatusAdapter extends ArrayAdapter {
                 }
                 igStatusContactName.setText(contactName);
                 
-                Drawable profile = null;
-                if (waContact != null && waContact.getProfilePhoto() != null) {
-                    try {
-                        profile = BitmapDrawable.createFromPath(waContact.getProfilePhoto().getAbsolutePath());
-                    } catch (Exception ignored) {}
-                }
-                if (profile == null) {
-                    profile = WppCore.getContactPhotoDrawable(this.userJid.getPhoneRawString());
-                }
-                if (profile == null) {
-                    profile = Utils.getApplication().getDrawable(R.drawable.user_foreground);
-                }
-                igStatusContactPhoto.setImageDrawable(profile);
+                Drawable placeholder = Utils.getApplication().getDrawable(R.drawable.user_foreground);
+                String phoneRaw = this.userJid.getPhoneRawString();
+                String photoKey = "contact-photo|" + (phoneRaw != null ? phoneRaw : this.userJid.getUserRawString());
+                // Looked up, stat'ed and decoded at the avatar's size off the main thread; WhatsApp
+                // rewrites contact photos in place, which the loader catches by modification time
+                int size = Utils.dipToPixels(AVATAR_SIZE_DP);
+                ThumbnailLoader.getInstance(getContext()).load(igStatusContactPhoto, photoKey, () -> {
+                    File photo = waContact != null ? waContact.getProfilePhoto() : null;
+                    if (photo == null || !photo.exists()) {
+                        photo = WppCore.getContactPhotoFile(phoneRaw);
+                    }
+                    return photo;
+                }, ThumbnailLoader.KIND_IMAGE, size, placeholder);
                 
                 int total = 1;
                 int countUnseen = (position <= IGStatus.unseenCount) ? 1 : 0;
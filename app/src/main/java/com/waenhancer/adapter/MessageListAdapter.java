@@ -2,9 +2,6 @@ package com.waenhancer.adapter;
 
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.media.MediaMetadataRetriever;
 import android.net.Uri;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -29,6 +26,7 @@ import android.graphics.Color;
 import android.util.TypedValue;
 import android.widget.Toast;
 import com.waenhancer.utils.ContactHelper;
+import com.waenhancer.utils.ThumbnailLoader;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -48,6 +46,7 @@ public class MessageListAdapter extends RecyclerView.Adapter<MessageListAdapter.
 
     private static final int VIEW_TYPE_SENT = 1;
     private static final int VIEW_TYPE_RECEIVED = 2;
+    private static final int PREVIEW_SIZE_DP = 220;
 
     public MessageListAdapter(OnRestoreClickListener listener) {
         this.listener = listener;
@@ -129,6 +128,7 @@ public class MessageListAdapter extends RecyclerView.Adapter<MessageListAdapter.
             final File finalMediaFile = mediaFile;
             holder.mediaCard.setOnClickListener(v -> openMedia(context, finalMediaFile, mediaType));
         } else {
+            ThumbnailLoader.getInstance(context).cancel(holder.mediaPreview);
             holder.mediaCard.setVisibility(View.GONE);
             holder.mediaPlayIcon.setVisibility(View.GONE);
         }
@@ -184,43 +184,26 @@ public class MessageListAdapter extends RecyclerView.Adapter<MessageListAdapter.
     }
 
     private void bindMediaPreview(ViewHolder holder, File mediaFile, int mediaType, Context context) {
+        // load() keeps a pending request for the same file and replaces one for another file
         switch (mediaType) {
             case 1:
             case 42:
-                try {
-                    Bitmap bmp = BitmapFactory.decodeFile(mediaFile.getAbsolutePath());
-                    if (bmp != null) {
-                        holder.mediaPreview.setImageBitmap(bmp);
-                    } else {
-                        holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                    }
-                } catch (Throwable t) {
-                    holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                }
+                ThumbnailLoader.getInstance(context).load(holder.mediaPreview, mediaFile, ThumbnailLoader.KIND_IMAGE,
+                        dpToPx(context, PREVIEW_SIZE_DP), context.getDrawable(android.R.drawable.ic_menu_gallery));
                 holder.mediaPlayIcon.setVisibility(View.GONE);
                 break;
 
             case 3:
             case 43:
             case 13:
-                try {
-                    MediaMetadataRetriever retriever = new MediaMetadataRetriever();
-                    retriever.setDataSource(mediaFile.getAbsolutePath());
-                    Bitmap frame = retriever.getFrameAtTime(0);
-                    retriever.release();
-                    if (frame != null) {
-                        holder.mediaPreview.setImageBitmap(frame);
-                    } else {
-                        holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                    }
-                } catch (Throwable t) {
-                    holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                }
+                ThumbnailLoader.getInstance(context).load(holder.mediaPreview, mediaFile, ThumbnailLoader.KIND_VIDEO,
+                        dpToPx(context, PREVIEW_SIZE_DP), context.getDrawable(android.R.drawable.ic_menu_gallery));
                 holder.mediaPlayIcon.setVisibility(View.VISIBLE);
                 break;
 
             case 2:
             case 82:
+                ThumbnailLoader.getInstance(context).cancel(holder.mediaPreview);
                 holder.mediaPreview.setImageResource(android.R.drawable.ic_btn_speak_now);
                 holder.mediaPlayIcon.setVisibility(View.GONE);
                 ViewGroup.LayoutParams lp = holder.mediaPreview.getLayoutParams();
@@ -231,25 +214,18 @@ public class MessageListAdapter extends RecyclerView.Adapter<MessageListAdapter.
                 break;
 
             case 20:
-                try {
-                    Bitmap sticker = BitmapFactory.decodeFile(mediaFile.getAbsolutePath());
-                    if (sticker != null) {
-                        holder.mediaPreview.setImageBitmap(sticker);
-                        holder.mediaPreview.setScaleType(ImageView.ScaleType.FIT_CENTER);
-                        ViewGroup.LayoutParams slp = holder.mediaPreview.getLayoutParams();
-                        slp.height = dpToPx(context, 150);
-                        slp.width = dpToPx(context, 150);
-                        holder.mediaPreview.setLayoutParams(slp);
-                    } else {
-                        holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                    }
-                } catch (Throwable t) {
-                    holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_gallery);
-                }
+                holder.mediaPreview.setScaleType(ImageView.ScaleType.FIT_CENTER);
+                ViewGroup.LayoutParams slp = holder.mediaPreview.getLayoutParams();
+                slp.height = dpToPx(context, 150);
+                slp.width = dpToPx(context, 150);
+                holder.mediaPreview.setLayoutParams(slp);
+                ThumbnailLoader.getInstance(context).load(holder.mediaPreview, mediaFile, ThumbnailLoader.KIND_IMAGE,
+                        dpToPx(context, 150), context.getDrawable(android.R.drawable.ic_menu_gallery));
                 holder.mediaPlayIcon.setVisibility(View.GONE);
                 break;
 
             default:
+                ThumbnailLoader.getInstance(context).cancel(holder.mediaPreview);
                 holder.mediaPreview.setImageResource(android.R.drawable.ic_menu_save);
                 holder.mediaPlayIcon.setVisibility(View.GONE);
                 ViewGroup.LayoutParams dlp = holder.mediaPreview.getLayoutParams();
@@ -367,6 +343,12 @@ public class MessageListAdapter extends RecyclerView.Adapter<MessageListAdapter.
         return new ArrayList<>(selectedItems);
     }
 
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        super.onViewRecycled(holder);
+        ThumbnailLoader.getInstance(holder.itemView.getContext()).cancel(holder.mediaPreview);
+    }
+
     @Override
     public int getItemCount() {
         return messages.size();
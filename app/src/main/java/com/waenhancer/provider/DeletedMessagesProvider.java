@@ -103,7 +103,8 @@ public class DeletedMessagesProvider extends ContentProvider {
                 db.update(DelMessageStore.TABLE_DELETED_FOR_ME, updateValues, "chat_jid = ?", new String[]{chatJid});
             }
             // ----------------------------------------------------------------
-            
+
+            DelMessageStore.fillIndexedColumns(values);
             long id = db.insertWithOnConflict(DelMessageStore.TABLE_DELETED_FOR_ME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
             if (id > 0) {
                 return Uri.withAppendedPath(CONTENT_URI, String.valueOf(id));
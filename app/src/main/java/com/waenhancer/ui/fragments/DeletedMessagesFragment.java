@@ -16,10 +16,10 @@ import com.waenhancer.adapter.DeletedMessagesAdapter;
 import com.waenhancer.xposed.core.db.DelMessageStore;
 import com.waenhancer.xposed.core.db.DeletedMessage;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
@@ -30,6 +30,7 @@ import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.view.ActionMode;
 import com.waenhancer.activities.MessageListActivity;
 import com.waenhancer.ui.helpers.BottomSheetHelper;
@@ -42,9 +43,21 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
     private DeletedMessagesAdapter adapter;
     private DelMessageStore delMessageStore;
 
+    private static final int PAGE_SIZE = 50;
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+
     private boolean isGroup;
     private final Handler uiHandler = new Handler(Looper.getMainLooper());
     private Runnable showShimmerRunnable;
+    private final ExecutorService pageLoader = Executors.newSingleThreadExecutor();
+    // Bumped on every reload so pages of a previous filter are dropped
+    private int loadGeneration;
+    private boolean loadingPage;
+    private boolean endReached;
+    private DeletedMessage lastLoaded;
+    // Non-null while searching: pages then list matching messages instead of chats
+    private String searchQuery;
+    private final Runnable searchRunnable = this::loadMessages;
 
     public static DeletedMessagesFragment newInstance(boolean isGroup) {
         DeletedMessagesFragment fragment = new DeletedMessagesFragment();
@@ -75,6 +88,26 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
     @Override
     public void onCreateOptionsMenu(@NonNull Menu menu, @NonNull MenuInflater inflater) {
         inflater.inflate(R.menu.menu_deleted_messages, menu);
+        SearchView searchView = (SearchView) menu.findItem(R.id.action_search).getActionView();
+        if (searchView != null) {
+            searchView.setQueryHint(getString(R.string.search_deleted_messages));
+            searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+                @Override
+                public boolean onQueryTextSubmit(String query) {
+                    return false;
+                }
+
+                @Override
+                public boolean onQueryTextChange(String newText) {
+                    String query = newText == null || newText.trim().isEmpty() ? null : newText.trim();
+                    if (Objects.equals(query, searchQuery)) return true;
+                    searchQuery = query;
+                    uiHandler.removeCallbacks(searchRunnable);
+                    uiHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+                    return true;
+                }
+            });
+        }
         super.onCreateOptionsMenu(menu, inflater);
     }
 
@@ -101,8 +134,18 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
         delMessageStore = DelMessageStore.getInstance(requireContext());
         adapter = new DeletedMessagesAdapter(this);
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy <= 0 || loadingPage || endReached) return;
+                if (layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PAGE_SIZE / 2) {
+                    loadPage(loadGeneration, lastLoaded);
+                }
+            }
+        });
 
         // Check for updates to names if permission is already granted, but don't ask
         if (requireContext().checkSelfPermission(
@@ -143,36 +186,38 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
         };
         uiHandler.postDelayed(showShimmerRunnable, 150);
 
-        new Thread(() -> {
-            List<DeletedMessage> allMessages = delMessageStore.getDeletedMessages(isGroup);
-            Map<String, DeletedMessage> latestMessagesMap = new HashMap<>();
-
-            for (DeletedMessage msg : allMessages) {
-                // Apps Filter Logic
-                boolean matchesFilter = true;
-                if (currentFilter == R.id.filter_whatsapp) {
-                    matchesFilter = "com.whatsapp".equals(msg.getPackageName());
-                } else if (currentFilter == R.id.filter_whatsapp_business) {
-                    matchesFilter = "com.whatsapp.w4b".equals(msg.getPackageName());
-                }
-
-                if (!matchesFilter)
-                    continue;
+        loadGeneration++;
+        endReached = false;
+        lastLoaded = null;
+        loadPage(loadGeneration, null);
+    }
 
-                if (!latestMessagesMap.containsKey(msg.getChatJid())) {
-                    latestMessagesMap.put(msg.getChatJid(), msg);
-                } else {
-                    if (msg.getTimestamp() > latestMessagesMap.get(msg.getChatJid()).getTimestamp()) {
-                        latestMessagesMap.put(msg.getChatJid(), msg);
-                    }
-                }
-            }
+    private String packageFilter() {
+        if (currentFilter == R.id.filter_whatsapp) return "com.whatsapp";
+        if (currentFilter == R.id.filter_whatsapp_business) return "com.whatsapp.w4b";
+        return DelMessageStore.ALL_PACKAGES;
+    }
 
-            List<DeletedMessage> uniqueChats = new ArrayList<>(latestMessagesMap.values());
-            uniqueChats.sort((m1, m2) -> Long.compare(m2.getTimestamp(), m1.getTimestamp()));
+    private void loadPage(int generation, DeletedMessage after) {
+        loadingPage = true;
+        String packageName = packageFilter();
+        String query = searchQuery;
+        pageLoader.execute(() -> {
+            List<DeletedMessage> page = query != null
+                    ? delMessageStore.searchDeletedMessages(query, isGroup, packageName, after, PAGE_SIZE)
+                    : delMessageStore.getDeletedChats(isGroup, packageName, after, PAGE_SIZE);
 
             if (getActivity() == null) return;
             getActivity().runOnUiThread(() -> {
+                if (generation != loadGeneration || getView() == null) return;
+                loadingPage = false;
+                endReached = page.size() < PAGE_SIZE;
+                if (!page.isEmpty()) lastLoaded = page.get(page.size() - 1);
+                if (after != null) {
+                    adapter.appendMessages(page);
+                    return;
+                }
+
                 if (showShimmerRunnable != null) {
                     uiHandler.removeCallbacks(showShimmerRunnable);
                 }
@@ -182,16 +227,16 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
                     shimmerViewContainer.setVisibility(View.GONE);
                 }
 
-                if (uniqueChats.isEmpty()) {
+                if (page.isEmpty()) {
                     emptyView.setVisibility(View.VISIBLE);
                     recyclerView.setVisibility(View.GONE);
                 } else {
                     emptyView.setVisibility(View.GONE);
                     recyclerView.setVisibility(View.VISIBLE);
-                    adapter.setMessages(uniqueChats);
                 }
+                adapter.setMessages(page);
             });
-        }).start();
+        });
     }
 
     @Override
@@ -199,9 +244,18 @@ public class DeletedMessagesFragment extends Fragment implements DeletedMessages
         if (showShimmerRunnable != null) {
             uiHandler.removeCallbacks(showShimmerRunnable);
         }
+        uiHandler.removeCallbacks(searchRunnable);
+        loadGeneration++;
+        loadingPage = false;
         super.onDestroyView();
     }
 
+    @Override
+    public void onDestroy() {
+        pageLoader.shutdown();
+        super.onDestroy();
+    }
+
     private ActionMode actionMode;
     private final ActionMode.Callback actionModeCallback = new ActionMode.Callback() {
         @Override
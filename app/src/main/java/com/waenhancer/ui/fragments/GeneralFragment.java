@@ -5,6 +5,7 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.graphics.Color;
+import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -23,13 +24,18 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
+import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.tabs.TabLayout;
+import com.waenhancer.BuildConfig;
 import com.waenhancer.R;
 import com.waenhancer.ui.fragments.base.BaseFragment;
 import com.waenhancer.ui.fragments.base.BasePreferenceFragment;
 import com.waenhancer.utils.RootUtils;
 
+import org.json.JSONObject;
+
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.text.InputFilter;
@@ -133,6 +139,38 @@ public class GeneralFragment extends BaseFragment {
             setDisplayHomeAsUpEnabled(false);
             updatePluginPreference();
             setupManageVersionsPref();
+            setupPerfMetricsPref();
+        }
+
+        private void setupPerfMetricsPref() {
+            Preference pref = findPreference("perf_metrics_view");
+            if (pref == null) return;
+            pref.setOnPreferenceClickListener(preference -> {
+                Context context = requireContext();
+                Handler mainHandler = new Handler(Looper.getMainLooper());
+                CompletableFuture.runAsync(() -> {
+                    String text;
+                    try {
+                        Bundle result = context.getContentResolver().call(
+                                Uri.parse("content://" + BuildConfig.APPLICATION_ID + ".hookprovider"),
+                                "get_perf_metrics", null, null);
+                        var json = new JSONObject(result == null ? "{}" : result.getString("json", "{}"));
+                        text = json.length() == 0 ? context.getString(R.string.perf_metrics_empty) : json.toString(2);
+                    } catch (Exception e) {
+                        text = e.getMessage();
+                    }
+                    String message = text;
+                    mainHandler.post(() -> {
+                        if (!isAdded()) return;
+                        new MaterialAlertDialogBuilder(context)
+                                .setTitle(R.string.perf_metrics_view)
+                                .setMessage(message)
+                                .setPositiveButton(android.R.string.ok, null)
+                                .show();
+                    });
+                });
+                return true;
+            });
         }
 
         private void setupManageVersionsPref() {
@@ -260,7 +298,7 @@ public class GeneralFragment extends BaseFragment {
             root.addView(stepLabel);
 
             final androidx.appcompat.app.AlertDialog dialog =
-                    new com.google.android.material.dialog.MaterialAlertDialogBuilder(context)
+                    new MaterialAlertDialogBuilder(context)
                             .setTitle("Optimizing WhatsApp Database")
                             .setView(root)
                             .setCancelable(false)
@@ -270,7 +308,7 @@ public class GeneralFragment extends BaseFragment {
 
             Handler mainHandler = new Handler(Looper.getMainLooper());
 
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
+            CompletableFuture.runAsync(() -> {
 
                 // Step 1 – root check (5%)
                 updateProgress(progressBar, stepLabel, 5, "Checking root access… (5%)", mainHandler);
@@ -278,7 +316,7 @@ public class GeneralFragment extends BaseFragment {
                 if (!RootUtils.hasRootAccess()) {
                     mainHandler.post(() -> {
                         dialog.dismiss();
-                        new com.google.android.material.dialog.MaterialAlertDialogBuilder(context)
+                        new MaterialAlertDialogBuilder(context)
                                 .setTitle("Root Permission Required")
                                 .setMessage("Root access is needed to optimize WhatsApp databases. Please grant root permission.")
                                 .setPositiveButton("OK", null)
@@ -379,7 +417,7 @@ public class GeneralFragment extends BaseFragment {
                             ((androidx.preference.TwoStatePreference) filterPref).setChecked(true);
                         Toast.makeText(context, "Database optimized successfully!", Toast.LENGTH_LONG).show();
                     } else {
-                        new com.google.android.material.dialog.MaterialAlertDialogBuilder(context)
+                        new MaterialAlertDialogBuilder(context)
                                 .setTitle("Optimization Failed")
                                 .setMessage("Could not create database indexes. Please ensure root access is granted and try again.")
                                 .setPositiveButton("OK", null)
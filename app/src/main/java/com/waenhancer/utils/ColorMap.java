@@ -0,0 +1,196 @@
+package com.waenhancer.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable color replacement table for the theming hooks.
+ * <p>
+ * Palettes are written as strings ({@code "#aarrggbb"} keys for exact colors, {@code "rrggbb"} keys
+ * for any alpha) and compiled once into two open-addressing int tables: exact ARGB colors, and an
+ * RGB index used for translucent variants, which keep their own alpha. Lookups allocate nothing.
+ */
+public final class ColorMap {
+
+    public static final ColorMap EMPTY = new Builder().build();
+
+    private final IntTable exact;
+    private final IntTable rgb;
+
+    private ColorMap(IntTable exact, IntTable rgb) {
+        this.exact = exact;
+        this.rgb = rgb;
+    }
+
+    /**
+     * Compiles a palette in the {@link IColors} string format; entries that do not parse are skipped.
+     */
+    @NonNull
+    public static ColorMap of(@NonNull Map<String, String> palette) {
+        var builder = new Builder();
+        for (var entry : palette.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (key == null || value == null) continue;
+            if (key.length() == 9 && key.charAt(0) == '#' && value.length() == 9 && value.charAt(0) == '#') {
+                long from = parseHex(key, 1);
+                long to = parseHex(value, 1);
+                if (from >= 0 && to >= 0) builder.put((int) from, (int) to);
+            } else if (key.length() == 6 && value.length() == 6) {
+                long from = parseHex(key, 0);
+                long to = parseHex(value, 0);
+                if (from >= 0 && to >= 0) builder.putRgb((int) from, (int) to);
+            }
+        }
+        return builder.build();
+    }
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return exact.size == 0 && rgb.size == 0;
+    }
+
+    /**
+     * Whether {@code color} has an exact replacement.
+     */
+    public boolean contains(int color) {
+        return exact.indexOf(color) >= 0;
+    }
+
+    /**
+     * The exact replacement of {@code color}, or {@code missing}.
+     */
+    public int get(int color, int missing) {
+        return exact.get(color, missing);
+    }
+
+    /**
+     * The exact replacement of {@code color}; failing that, a translucent color whose RGB part is
+     * in the palette gets the replacement RGB with its own alpha. Opaque and fully transparent colors
+     * without an exact entry are returned as is.
+     */
+    public int replace(int color) {
+        int index = exact.indexOf(color);
+        if (index >= 0) return exact.values[index];
+        int alpha = color >>> 24;
+        if (alpha == 0xff || alpha == 0) return color;
+        index = rgb.indexOf(color & 0xffffff);
+        return index >= 0 ? (color & 0xff000000) | rgb.values[index] : color;
+    }
+
+    private static long parseHex(String text, int start) {
+        long value = 0;
+        for (int i = start; i < text.length(); i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) return -1;
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    public static final class Builder {
+        private final IntTable.Builder exact = new IntTable.Builder();
+        private final IntTable.Builder rgb = new IntTable.Builder();
+
+        private Builder() {
+        }
+
+        public Builder put(int from, int to) {
+            exact.put(from, to);
+            return this;
+        }
+
+        /**
+         * Replacement for translucent colors with RGB {@code fromRgb}; alpha bits are ignored.
+         */
+        public Builder putRgb(int fromRgb, int toRgb) {
+            rgb.put(fromRgb & 0xffffff, toRgb & 0xffffff);
+            return this;
+        }
+
+        public ColorMap build() {
+            return new ColorMap(exact.build(), rgb.build());
+        }
+    }
+
+    /**
+     * Linear-probing int to int table sized to at most half full, so probes stay short and a
+     * lookup always reaches an empty slot.
+     */
+    private static final class IntTable {
+        final int[] keys;
+        final int[] values;
+        final boolean[] used;
+        final int mask;
+        final int size;
+
+        IntTable(int[] keys, int[] values, boolean[] used, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.used = used;
+            this.mask = keys.length - 1;
+            this.size = size;
+        }
+
+        static int slot(int key, int mask) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        int indexOf(int key) {
+            for (int i = slot(key, mask); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            return -1;
+        }
+
+        int get(int key, int missing) {
+            int index = indexOf(key);
+            return index >= 0 ? values[index] : missing;
+        }
+
+        static final class Builder {
+            private int[] keys = new int[16];
+            private int[] values = new int[16];
+            private int size;
+
+            void put(int key, int value) {
+                for (int i = 0; i < size; i++) {
+                    if (keys[i] == key) {
+                        values[i] = value;
+                        return;
+                    }
+                }
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                keys[size] = key;
+                values[size] = value;
+                size++;
+            }
+
+            IntTable build() {
+                int capacity = Integer.highestOneBit(Math.max(4, size) * 2 - 1) << 1;
+                var tableKeys = new int[capacity];
+                var tableValues = new int[capacity];
+                var used = new boolean[capacity];
+                int mask = capacity - 1;
+                for (int n = 0; n < size; n++) {
+                    int i = slot(keys[n], mask);
+                    while (used[i]) i = (i + 1) & mask;
+                    used[i] = true;
+                    tableKeys[i] = keys[n];
+                    tableValues[i] = values[n];
+                }
+                return new IntTable(tableKeys, tableValues, used, size);
+            }
+        }
+    }
+}
@@ -12,12 +12,10 @@ import android.widget.TextView;
 import com.waenhancer.xposed.utils.DesignUtils;
 import com.waenhancer.xposed.utils.Utils;
 
-import java.util.HashMap;
-
 import de.robv.android.xposed.XposedHelpers;
 
 public class ColorReplacement {
-    public static void replaceColors(View view, HashMap<String, String> colors) {
+    public static void replaceColors(View view, ColorMap colors) {
         if (view == null) return;
         if (view instanceof ImageView imageView) {
             Image.replace(imageView, colors);
@@ -31,53 +29,32 @@ public class ColorReplacement {
     }
 
     public static class Image {
-        static void replace(ImageView view, HashMap<String, String> colors) {
+        static void replace(ImageView view, ColorMap colors) {
             replaceColor(view.getBackground(), colors);
             var colorFilter = view.getColorFilter();
             if (colorFilter == null) return;
             if (colorFilter instanceof PorterDuffColorFilter filter) {
                 var color = (int) XposedHelpers.callMethod(filter, "getColor");
-                var sColor = IColors.toString(color);
-                var newColor = colors.get(sColor);
-                if (newColor != null) {
-                    view.setColorFilter(IColors.parseColor(newColor));
-                } else {
-                    if (!sColor.startsWith("#ff") && !sColor.startsWith("#0")) {
-                        var sColorSub = sColor.substring(0, 3);
-                        newColor = colors.get(sColor.substring(3));
-                        if (newColor != null)
-                            view.setColorFilter(IColors.parseColor(sColorSub + newColor));
-                    }
-                }
+                var newColor = replace(color, colors);
+                if (newColor != color) view.setColorFilter(newColor);
             }
         }
     }
 
     public static class Text {
-        static void replace(TextView view, HashMap<String, String> colors) {
+        static void replace(TextView view, ColorMap colors) {
             var color = view.getCurrentTextColor();
-            var sColor = IColors.toString(color);
-            if (sColor.equals("#ffffffff") && !DesignUtils.isNightMode()) {
+            if (color == 0xffffffff && !DesignUtils.isNightMode()) {
                 return;
             }
             replaceColor(view.getBackground(), colors);
-            var newColor = colors.get(sColor);
-            if (newColor != null) {
-                view.setTextColor(IColors.parseColor(newColor));
-            } else {
-                if (!sColor.startsWith("#ff") && !sColor.startsWith("#0")) {
-                    var sColorSub = sColor.substring(0, 3);
-                    newColor = colors.get(sColor.substring(3));
-                    if (newColor != null) {
-                        view.setTextColor(IColors.parseColor(sColorSub + newColor));
-                    }
-                }
-            }
+            var newColor = replace(color, colors);
+            if (newColor != color) view.setTextColor(newColor);
         }
     }
 
     public static class Group {
-        static void replace(ViewGroup view, HashMap<String, String> colors) {
+        static void replace(ViewGroup view, ColorMap colors) {
             var bg = view.getBackground();
             var count = view.getChildCount();
             for (int i = 0; i < count; i++) {
@@ -87,4 +64,9 @@ public class ColorReplacement {
             replaceColor(bg, colors);
         }
     }
+
+    // Views leave nearly transparent colors (alpha below 0x10) alone unless listed exactly
+    private static int replace(int color, ColorMap colors) {
+        return (color >>> 24) < 0x10 ? colors.get(color, color) : colors.replace(color);
+    }
 }
@@ -19,20 +19,22 @@ import android.graphics.drawable.StateListDrawable;
 import android.graphics.drawable.TransitionDrawable;
 
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
+import com.waenhancer.xposed.utils.DesignUtils;
+import com.waenhancer.xposed.utils.PixelKernels;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.xposed.utils.Utils;
 
-import java.util.HashMap;
+import java.util.WeakHashMap;
 
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 
 public class DrawableColors {
 
-    private static final HashMap<Bitmap, Integer> ninePatchs = new HashMap<>();
+    private static final WeakHashMap<Bitmap, Integer> ninePatchs = new WeakHashMap<>();
     private static Class<?> mMaterialShapeDrawableClass;
 
-    public static void replaceColor(Drawable drawable, HashMap<String, String> colors) {
+    public static void replaceColor(Drawable drawable, ColorMap colors) {
         if (drawable == null) return;
         Class cls = null;
         if (drawable instanceof StateListDrawable stateListDrawable) {
@@ -47,7 +49,7 @@ public class DrawableColors {
             if (gradientColors != null) {
                 for (var i = 0; i < gradientColors.length; i++) {
                     var color = gradientColors[i];
-                    var newColor = IColors.getFromIntColor(color, colors);
+                    var newColor = colors.replace(color);
                     if (color == newColor) continue;
                     gradientColors[i] = newColor;
                 }
@@ -57,17 +59,17 @@ public class DrawableColors {
             replaceColor(drawableWrapper.getDrawable(), colors);
         } else if (drawable instanceof NinePatchDrawable ninePatchDrawable) {
             var color = getNinePatchDrawableColor(ninePatchDrawable);
-            var newColor = IColors.getFromIntColor(color, colors);
+            var newColor = colors.replace(color);
             if (color == newColor) return;
             ninePatchDrawable.setTintList(ColorStateList.valueOf(newColor));
         } else if (drawable instanceof ColorDrawable colorDrawable) {
             var color = getColorDrawableColor(colorDrawable);
-            var newColor = IColors.getFromIntColor(color, colors);
+            var newColor = colors.replace(color);
             if (newColor == color) return;
             colorDrawable.setColor(newColor);
         } else if (drawable instanceof ShapeDrawable shapeDrawable) {
             var color = getShapeDrawableColor(shapeDrawable);
-            var newColor = IColors.getFromIntColor(color, colors);
+            var newColor = colors.replace(color);
             if (color == newColor) return;
             shapeDrawable.getPaint().setColor(newColor);
         } else if (drawable instanceof LevelListDrawable levelListDrawable) {
@@ -108,7 +110,7 @@ public class DrawableColors {
                 var colorStateList = (ColorStateList) ReflectionUtils.getObjectField(colorState, state);
                 if (colorStateList == null) continue;
                 var color = colorStateList.getDefaultColor();
-                var newColor = IColors.getFromIntColor(color, colors);
+                var newColor = colors.replace(color);
                 if (color == newColor) continue;
                 var colorStateListNew = ColorStateList.valueOf(newColor);
                 ReflectionUtils.setObjectField(colorState, state, colorStateListNew);
@@ -117,7 +119,7 @@ public class DrawableColors {
             for (var paintField : paintFields) {
                 var paint = (Paint) ReflectionUtils.getObjectField(paintField, drawable);
                 var color = paint.getColor();
-                var newColor = IColors.getFromIntColor(color, colors);
+                var newColor = colors.replace(color);
                 if (color == newColor) continue;
                 paint.setColor(newColor);
             }
@@ -164,29 +166,16 @@ public class DrawableColors {
         var state = ninePatchDrawable.getConstantState();
         var ninePatch = (NinePatch) XposedHelpers.getObjectField(state, "mNinePatch");
         var bitmap = ninePatch.getBitmap();
-        var corSalva = ninePatchs.get(bitmap);
-        if (corSalva != null) return corSalva;
-
-        HashMap<Integer, Integer> contagemCores = new HashMap<>();
-        int corMaisFrequente = 0;
-        int contagemMaxima = 0;
-
-        for (int x = 0; x < bitmap.getWidth(); x++) {
-            for (int y = 0; y < bitmap.getHeight(); y++) {
-                int cor = bitmap.getPixel(x, y);
-                // Atualiza a contagem da cor no mapa
-                int contagemAtual = contagemCores.getOrDefault(cor, 0) + 1;
-                contagemCores.put(cor, contagemAtual);
-
-                // Verifica se essa cor se tornou a mais frequente até agora
-                if (contagemAtual > contagemMaxima) {
-                    corMaisFrequente = cor;
-                    contagemMaxima = contagemAtual;
-                }
-            }
+        synchronized (ninePatchs) {
+            var corSalva = ninePatchs.get(bitmap);
+            if (corSalva != null) return corSalva;
         }
-        ninePatchs.put(bitmap, corMaisFrequente);
-        return corMaisFrequente;
+
+        var color = PixelKernels.dominantColor(DesignUtils.getPixels(bitmap), bitmap.getWidth(), bitmap.getHeight(), false, 0);
+        synchronized (ninePatchs) {
+            ninePatchs.put(bitmap, color);
+        }
+        return color;
     }
 
     private static int getRippleDrawableColor(RippleDrawable rippleDrawable) {
@@ -122,6 +122,14 @@ public class FeatureCatalog {
                                 "general_home",
                                 Arrays.asList("crash", "logs", "analytics", "firebase", "anonymous", "share", "bug")));
 
+                catalog.add(new SearchableFeature("perf_metrics",
+                                context.getString(R.string.perf_metrics),
+                                context.getString(R.string.perf_metrics_sum),
+                                SearchableFeature.Category.GENERAL_HOME,
+                                SearchableFeature.FragmentType.GENERAL,
+                                "general_home",
+                                Arrays.asList("performance", "metrics", "timing", "slow", "debug")));
+
                 catalog.add(new SearchableFeature("bypass_version_check",
                                 context.getString(R.string.disable_version_check),
                                 context.getString(R.string.disable_version_check_sum),
@@ -14,6 +14,9 @@ public class IColors {
     public static final HashMap<String, String> primaryColors = new HashMap<>();
     public static final HashMap<String, String> textColors = new HashMap<>();
 
+    // colors compiled for the hooks, rebuilt whenever the palette above is reloaded
+    public static volatile ColorMap colorMap = ColorMap.EMPTY;
+
     public static int parseColor(String str) {
         return Color.parseColor(str);
     }
@@ -29,23 +32,6 @@ public class IColors {
     }
 
 
-    public static int getFromIntColor(int color, HashMap<String, String> colors) {
-        var sColor = IColors.toString(color);
-        var newColor = colors.get(sColor);
-        if (newColor != null && newColor.length() == 9) {
-            return IColors.parseColor(newColor);
-        } else {
-            if (!sColor.startsWith("#ff")) {
-                var sColorSub = sColor.substring(0, 3);
-                newColor = colors.get(sColor.substring(3));
-                if (newColor != null) {
-                    return IColors.parseColor(sColorSub + newColor);
-                }
-            }
-        }
-        return color;
-    }
-
     public static void initColors() {
         primaryColors.clear();
         textColors.clear();
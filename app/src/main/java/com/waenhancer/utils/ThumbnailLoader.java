@@ -0,0 +1,331 @@
+package com.waenhancer.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.media.MediaMetadataRetriever;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads list thumbnails off the main thread.
+ * <p>
+ * Images are decoded with an inSampleSize matching the requested size and videos through
+ * {@link MediaMetadataRetriever#getScaledFrameAtTime}. Results are kept in a memory LRU bounded in
+ * bytes and, for media files, in a disk cache keyed by path, size and modification time. Files are
+ * only looked up and stat'ed on the loader thread: a memory hit is shown right away and checked
+ * there against the file's current size and modification time, so a file rewritten in place (a
+ * contact photo) is decoded again. Binding
+ * a view again (or {@link #cancel(ImageView)} from onViewRecycled) drops the work still pending for
+ * its previous item, so a fast fling never paints a stale thumbnail. Works in the module app as well
+ * as inside WhatsApp (IGStatusAdapter), as it only needs a Context for its cache directory.
+ */
+public final class ThumbnailLoader {
+
+    public static final int KIND_IMAGE = 1;
+    public static final int KIND_VIDEO = 2;
+
+    public interface Decoder {
+        @Nullable
+        Bitmap decode() throws Exception;
+    }
+
+    /**
+     * Finds the file to show, on the loader thread; null when there is none.
+     */
+    public interface FileSource {
+        @Nullable
+        File file() throws Exception;
+    }
+
+    // Produces the entry to show given the memory hit, if any; returning the hit keeps it
+    private interface Job {
+        @Nullable
+        Entry run(@Nullable Entry cached) throws Exception;
+    }
+
+    private static final class Entry {
+        final Bitmap bitmap;
+        // Path, size and modification time of the source file; null for decoder bitmaps
+        @Nullable
+        final String stamp;
+
+        Entry(Bitmap bitmap, @Nullable String stamp) {
+            this.bitmap = bitmap;
+            this.stamp = stamp;
+        }
+    }
+
+    private static final String DISK_DIR = "wae_thumbnails";
+    private static final long MAX_DISK_BYTES = 48L * 1024 * 1024;
+    private static final int MAX_MEMORY_BYTES = 32 * 1024 * 1024;
+    private static final int DISK_TRIM_INTERVAL = 32;
+
+    private static volatile ThumbnailLoader instance;
+
+    private final File diskDir;
+    private final LruCache<String, Entry> memory;
+    private final ExecutorService executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Main thread only: the request currently bound to each view
+    private final Map<ImageView, Request> bound = new WeakHashMap<>();
+    private final AtomicInteger diskWrites = new AtomicInteger();
+
+    private static final class Request {
+        final String key;
+        Future<?> future;
+
+        Request(String key) {
+            this.key = key;
+        }
+    }
+
+    private ThumbnailLoader(Context context) {
+        diskDir = new File(context.getCacheDir(), DISK_DIR);
+        int memoryBytes = (int) Math.min(MAX_MEMORY_BYTES, Runtime.getRuntime().maxMemory() / 8);
+        memory = new LruCache<>(memoryBytes) {
+            @Override
+            protected int sizeOf(String key, Entry value) {
+                return value.bitmap.getAllocationByteCount();
+            }
+        };
+        executor = Executors.newFixedThreadPool(2, runnable -> {
+            var thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "WaeThumbnails");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ThumbnailLoader getInstance(@NonNull Context context) {
+        if (instance == null) {
+            synchronized (ThumbnailLoader.class) {
+                if (instance == null) {
+                    instance = new ThumbnailLoader(context.getApplicationContext() != null ? context.getApplicationContext() : context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shows a thumbnail of an image or video file, at least {@code targetPx} on its short side.
+     */
+    @MainThread
+    public void load(@NonNull ImageView view, @NonNull File file, int kind, int targetPx, @Nullable Drawable placeholder) {
+        load(view, file.getAbsolutePath(), () -> file, kind, targetPx, placeholder);
+    }
+
+    /**
+     * Like {@link #load(ImageView, File, int, int, Drawable)} for a file that has to be looked up,
+     * e.g. a contact photo; {@code key} names what {@code source} finds.
+     */
+    @MainThread
+    public void load(@NonNull ImageView view, @NonNull String key, @NonNull FileSource source, int kind, int targetPx,
+                     @Nullable Drawable placeholder) {
+        String memoryKey = String.format(Locale.US, "%s|%d|%d", key, kind, targetPx);
+        load(view, memoryKey, cached -> {
+            var file = source.file();
+            if (file == null || !file.isFile()) return null;
+            String stamp = String.format(Locale.US, "%s|%d|%d|%d|%d", file.getAbsolutePath(), file.length(), file.lastModified(), kind, targetPx);
+            if (cached != null && stamp.equals(cached.stamp)) return cached;
+            var bitmap = readDisk(stamp);
+            if (bitmap == null) {
+                bitmap = kind == KIND_VIDEO ? decodeVideo(file, targetPx) : decodeImage(file, targetPx);
+                if (bitmap != null) writeDisk(stamp, bitmap, kind);
+            }
+            return bitmap == null ? null : new Entry(bitmap, stamp);
+        }, placeholder);
+    }
+
+    /**
+     * Shows a bitmap produced by {@code decoder} off the main thread, cached in memory under {@code key}.
+     */
+    @MainThread
+    public void load(@NonNull ImageView view, @NonNull String key, @NonNull Decoder decoder, @Nullable Drawable placeholder) {
+        load(view, key, cached -> {
+            var bitmap = decoder.decode();
+            return bitmap == null ? null : new Entry(bitmap, null);
+        }, placeholder);
+    }
+
+    private void load(ImageView view, String key, Job job, Drawable placeholder) {
+        var current = bound.get(view);
+        if (current != null && current.key.equals(key) && current.future != null && !current.future.isDone()) return;
+        cancel(view);
+        var hit = memory.get(key);
+        if (hit != null) {
+            view.setImageBitmap(hit.bitmap);
+            if (hit.stamp == null) return;
+        } else {
+            view.setImageDrawable(placeholder);
+        }
+        var request = new Request(key);
+        bound.put(view, request);
+        request.future = executor.submit(() -> {
+            Entry entry;
+            try {
+                entry = job.run(hit);
+            } catch (Throwable t) {
+                entry = null;
+            }
+            if (entry == hit || Thread.currentThread().isInterrupted()) return;
+            if (entry == null) {
+                // The file went away since the hit was cached
+                memory.remove(key);
+            } else {
+                memory.put(key, entry);
+            }
+            var result = entry;
+            mainHandler.post(() -> {
+                if (bound.get(view) != request) return;
+                bound.remove(view);
+                if (result != null) {
+                    view.setImageBitmap(result.bitmap);
+                } else {
+                    view.setImageDrawable(placeholder);
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops the pending work of a view, typically from onViewRecycled.
+     */
+    @MainThread
+    public void cancel(@NonNull ImageView view) {
+        var request = bound.remove(view);
+        if (request != null && request.future != null) request.future.cancel(true);
+    }
+
+    @Nullable
+    public static Bitmap decodeImage(@NonNull File file, int targetPx) {
+        var options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, targetPx);
+        options.inJustDecodeBounds = false;
+        return BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+    }
+
+    @Nullable
+    public static Bitmap decodeVideo(@NonNull File file, int targetPx) throws Exception {
+        var retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(file.getAbsolutePath());
+            return retriever.getScaledFrameAtTime(0, MediaMetadataRetriever.OPTION_CLOSEST_SYNC, targetPx, targetPx);
+        } finally {
+            retriever.release();
+        }
+    }
+
+    /**
+     * Renders a drawable (e.g. an app icon) into a bitmap of the given size.
+     */
+    @NonNull
+    public static Bitmap render(@NonNull Drawable drawable, int sizePx) {
+        var bitmap = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+        var canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, sizePx, sizePx);
+        drawable.draw(canvas);
+        return bitmap;
+    }
+
+    // Largest power of two that still keeps the short side at or above the target
+    static int sampleSize(int width, int height, int targetPx) {
+        int sample = 1;
+        int shortSide = Math.min(width, height);
+        while (targetPx > 0 && shortSide / (sample * 2) >= targetPx) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    @Nullable
+    private Bitmap readDisk(String key) {
+        var file = new File(diskDir, hash(key));
+        if (!file.isFile()) return null;
+        var bitmap = BitmapFactory.decodeFile(file.getAbsolutePath());
+        if (bitmap != null) {
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(System.currentTimeMillis());
+        }
+        return bitmap;
+    }
+
+    private void writeDisk(String key, Bitmap bitmap, int kind) {
+        try {
+            //noinspection ResultOfMethodCallIgnored
+            diskDir.mkdirs();
+            var file = new File(diskDir, hash(key));
+            var tmp = new File(diskDir, file.getName() + ".tmp");
+            try (var out = new FileOutputStream(tmp)) {
+                // Photos and frames have no alpha worth keeping; stickers go through KIND_IMAGE with PNG
+                var format = kind == KIND_VIDEO || !bitmap.hasAlpha() ? Bitmap.CompressFormat.JPEG : Bitmap.CompressFormat.PNG;
+                bitmap.compress(format, 85, out);
+            }
+            if (!tmp.renameTo(file)) {
+                //noinspection ResultOfMethodCallIgnored
+                tmp.delete();
+            }
+            if (diskWrites.incrementAndGet() % DISK_TRIM_INTERVAL == 0) trimDisk();
+        } catch (Exception ignored) {
+            // The disk cache is only an optimisation
+        }
+    }
+
+    private void trimDisk() {
+        var files = diskDir.listFiles();
+        if (files == null) return;
+        long total = 0;
+        for (var file : files) {
+            total += file.length();
+        }
+        if (total <= MAX_DISK_BYTES) return;
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (var file : files) {
+            if (total <= MAX_DISK_BYTES * 3 / 4) break;
+            total -= file.length();
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes());
+            var builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(String.format(Locale.US, "%02x", b));
+            }
+            return builder.toString();
+        } catch (Exception e) {
+            return Integer.toHexString(key.hashCode());
+        }
+    }
+}
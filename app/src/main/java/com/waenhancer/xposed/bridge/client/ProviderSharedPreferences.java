@@ -9,6 +9,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.waenhancer.BuildConfig;
+import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.utils.Utils;
 
 import java.io.Serializable;
@@ -398,6 +399,16 @@ public class ProviderSharedPreferences implements SharedPreferences {
 
     @Nullable
     private Bundle callProvider(@NonNull String method, @Nullable Bundle extras) {
+        long perfStart = PerfLogger.start();
+        try {
+            return callProviderAuthorities(method, extras);
+        } finally {
+            if (perfStart > 0) PerfLogger.end("Bridge.callProvider." + method, perfStart, 16);
+        }
+    }
+
+    @Nullable
+    private Bundle callProviderAuthorities(@NonNull String method, @Nullable Bundle extras) {
         String[] authorities = new String[] { BuildConfig.APPLICATION_ID + AUTHORITY_SUFFIX, AUTHORITY_LEGACY, "com.waenhancer.provider" };
         for (String authority : authorities) {
             try {
@@ -22,6 +22,7 @@ import com.waenhancer.xposed.bridge.service.HookBinder;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.os.Binder;
+import android.os.Process;
 import android.util.Log;
 import com.google.firebase.crashlytics.FirebaseCrashlytics;
 import com.waenhancer.BuildConfig;
@@ -29,9 +30,18 @@ import com.waenhancer.utils.AnalyticsManager;
 import com.waenhancer.utils.WhatsAppCrashException;
 import com.waenhancer.xposed.utils.LicenseManager;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.json.JSONObject;
 
 public class HookProvider extends ContentProvider {
 
+    private static final String PERF_DIR = "perf_metrics";
+    // A snapshot of a few hundred labels is well under this
+    private static final int MAX_PERF_METRICS_CHARS = 256 * 1024;
+    private static final Set<String> HOOKED_PACKAGES = Set.of("com.whatsapp", "com.whatsapp.w4b");
+
     @Override
     public boolean onCreate() {
         return getContext() != null;
@@ -102,6 +112,31 @@ public class HookProvider extends ContentProvider {
                 }
                 return Bundle.EMPTY;
             }
+            if ("put_perf_metrics".equals(method) && extras != null) {
+                // Snapshot pushed by PerfLogger from the hooked process, one file per package
+                String process = extras.getString("process");
+                String json = extras.getString("json");
+                if (process == null || json == null || json.length() > MAX_PERF_METRICS_CHARS
+                        || !prefs.getBoolean("perf_metrics", false)
+                        || !HOOKED_PACKAGES.contains(process) || !isCallerPackage(context, callingUid, process)) {
+                    return null;
+                }
+                try {
+                    File dir = new File(context.getFilesDir(), PERF_DIR);
+                    //noinspection ResultOfMethodCallIgnored
+                    dir.mkdirs();
+                    Files.write(new File(dir, process + ".json").toPath(), json.getBytes(StandardCharsets.UTF_8));
+                } catch (Throwable t) {
+                    Log.e("WAEX_Provider", "Failed to store perf metrics: " + t.getMessage());
+                }
+                return Bundle.EMPTY;
+            }
+            if ("get_perf_metrics".equals(method)) {
+                if (callingUid != Process.myUid()) return null;
+                Bundle result = new Bundle();
+                result.putString("json", readPerfMetrics(context));
+                return result;
+            }
 
             if ("get_preference".equals(method) && extras != null) {
                 String key = extras.getString("key");
@@ -305,6 +340,35 @@ public class HookProvider extends ContentProvider {
         return 0;
     }
 
+    private static boolean isCallerPackage(Context context, int callingUid, String packageName) {
+        String[] packages = context.getPackageManager().getPackagesForUid(callingUid);
+        if (packages == null) return false;
+        for (String pkg : packages) {
+            if (pkg.equals(packageName)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Last snapshot of every hooked process as one JSON object keyed by package name.
+     */
+    private static String readPerfMetrics(Context context) {
+        var all = new JSONObject();
+        File[] files = new File(context.getFilesDir(), PERF_DIR).listFiles();
+        if (files == null) return all.toString();
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.endsWith(".json")) continue;
+            try {
+                String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                all.put(name.substring(0, name.length() - 5), new JSONObject(json));
+            } catch (Throwable t) {
+                Log.e("WAEX_Provider", "Skipping unreadable perf metrics " + name + ": " + t.getMessage());
+            }
+        }
+        return all.toString();
+    }
+
     private void fixPermissions() {
         try {
             Context context = getContext();
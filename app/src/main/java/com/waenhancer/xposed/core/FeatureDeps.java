@@ -0,0 +1,25 @@
+package com.waenhancer.xposed.core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Startup ordering hints for a Feature, read by {@link FeatureScheduler}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FeatureDeps {
+
+    /**
+     * Features whose doHook() must finish before this one starts (e.g. the listener it registers with).
+     */
+    Class<? extends Feature>[] after() default {};
+
+    /**
+     * Unobfuscator load* methods this feature resolves during doHook(). Keys shared by several
+     * features are resolved once up front.
+     */
+    String[] hooks() default {};
+}
@@ -28,6 +28,7 @@ import com.waenhancer.xposed.core.components.SharedPreferencesWrapper;
 import com.waenhancer.xposed.core.components.WaContactWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
+import com.waenhancer.xposed.core.devkit.UnobfuscatorBatch;
 import com.waenhancer.xposed.core.db.MessageHistory;
 import android.widget.LinearLayout;
 import android.widget.TextView;
@@ -126,7 +127,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import android.database.Cursor;
@@ -237,7 +240,7 @@ public class FeatureLoader {
     public static void start(@NonNull ClassLoader loader, @NonNull SharedPreferences pref, String sourceDir) {
         hostClassLoader = loader;
         Feature.DEBUG = false;
-        PerfLogger.setEnabled(false);
+        PerfLogger.setEnabled(pref.getBoolean("perf_metrics", false));
         Utils.DEBUG = Feature.DEBUG;
         Utils.xprefs = pref;
 
@@ -578,6 +581,12 @@ public class FeatureLoader {
                 return;
             }
             UnobfuscatorCache.init(mApp);
+            var unobfuscatorCache = UnobfuscatorCache.getInstance();
+            if (unobfuscatorCache != null && unobfuscatorCache.isColdStart()) {
+                UnobfuscatorBatch.prefetch(mApp, Unobfuscator.getDexKit());
+            } else if (unobfuscatorCache != null) {
+                unobfuscatorCache.preloadHooks(loader);
+            }
             SharedPreferencesWrapper.hookInit(mApp.getClassLoader());
 
             ResId.initLocal(mApp);
@@ -593,7 +602,7 @@ public class FeatureLoader {
                     // Update global references
                     Utils.xprefs = providerPrefs;
                     Feature.DEBUG = false;
-                    PerfLogger.setEnabled(false);
+                    PerfLogger.setEnabled(providerPrefs.getBoolean("perf_metrics", false));
                     Utils.DEBUG = Feature.DEBUG;
                 }
             }
@@ -602,6 +611,10 @@ public class FeatureLoader {
 
             initComponents(loader, providerPrefs);
             plugins(loader, providerPrefs, packageInfo.versionName);
+            UnobfuscatorBatch.finish(mApp, unobfuscatorCache != null && unobfuscatorCache.isColdStart());
+            if (unobfuscatorCache != null) {
+                unobfuscatorCache.flush();
+            }
 
             // Initialize limited-free feature config in the Xposed context.
             // This mirrors the companion app call in App.java and ensures the config
@@ -626,7 +639,10 @@ public class FeatureLoader {
             sendEnabledBroadcast(mApp);
             
             var timemillis2 = System.currentTimeMillis() - timemillis;
-            loadedTimeStr = String.format(Locale.US, "%.2fs", timemillis2 / 1000.0);
+            boolean coldStart = unobfuscatorCache != null && unobfuscatorCache.isColdStart();
+            loadedTimeStr = String.format(Locale.US, "%.2fs%s", timemillis2 / 1000.0, coldStart ? " (cold cache)" : "");
+            // Keep the cold-start wall time in the log so runs before/after a WhatsApp update can be compared
+            XposedBridge.log(String.format(Locale.US, "[WAEX] load() finished in %dms, %s cache", timemillis2, coldStart ? "cold" : "warm"));
             if (Feature.DEBUG) {
                 ;
             }
@@ -699,6 +715,10 @@ public class FeatureLoader {
                 checkPrefsReadable(pref, activity);
             }
 
+            if (state == WppCore.ActivityChangeState.ChangeType.PAUSED && PerfLogger.isEnabled()) {
+                CompletableFuture.runAsync(() -> PerfLogger.export(activity.getApplicationContext()));
+            }
+
             if (state == WppCore.ActivityChangeState.ChangeType.RESUMED) {
                 if (isHomeActivity(activity)) {
                     triggerBetaCheckInHost(activity);
@@ -1110,6 +1130,8 @@ public class FeatureLoader {
         boolean lazyLoadingEnabled = pref.getBoolean("lazy_feature_loading", true);
 
         List<Class<?>> allFeatureClasses = new ArrayList<>(Arrays.asList(classes));
+        var scheduler = new FeatureScheduler(loader, executorService);
+        var pluginFutures = new ArrayList<CompletableFuture<?>>();
 
         for (var classe : allFeatureClasses) {
             // Skip lazy features if lazy loading is enabled - they'll load on-demand
@@ -1117,7 +1139,7 @@ public class FeatureLoader {
                 continue;
             }
 
-            CompletableFuture.runAsync(() -> {
+            scheduler.add(classe, () -> {
                 var timemillis = System.currentTimeMillis();
                 try {
                     var constructor = classe.getConstructor(ClassLoader.class, SharedPreferences.class);
@@ -1146,8 +1168,9 @@ public class FeatureLoader {
                 }
                 var timemillis2 = System.currentTimeMillis() - timemillis;
                 times.add("* Loaded Plugin " + classe.getSimpleName() + " in " + timemillis2 + "ms");
-            }, executorService);
+            });
         }
+        pluginFutures.add(scheduler.start());
 
         // Load Pro features dynamically if installed
         try {
@@ -1203,7 +1226,7 @@ public class FeatureLoader {
                 
                 // Execute registered capabilities with error isolation
                 for (IPluginCapability capability : registry.getCapabilities()) {
-                    CompletableFuture.runAsync(() -> {
+                    pluginFutures.add(CompletableFuture.runAsync(() -> {
                         long timemillis = System.currentTimeMillis();
                         String capName = capability.getPluginName();
                         try {
@@ -1225,7 +1248,7 @@ public class FeatureLoader {
                                     .map(StackTraceElement::toString).toArray()));
                             list.add(error);
                         }
-                    }, executorService);
+                    }, executorService));
                 }
             } else {
                 /* Log removed */
@@ -1235,10 +1258,20 @@ public class FeatureLoader {
             XposedBridge.log(t);
         }
 
-        executorService.shutdown();
+        // Dependent features are submitted as their dependencies finish, so the pool is shut down
+        // only once the whole graph ran, even if startup stops waiting for it first
+        var allPlugins = CompletableFuture.allOf(pluginFutures.toArray(new CompletableFuture<?>[0]));
+        allPlugins.whenComplete((v, t) -> {
+            executorService.shutdown();
+            if (PerfLogger.isEnabled()) {
+                XposedBridge.log("[WAEX] Feature schedule:\n" + scheduler.report());
+            }
+        });
         try {
-            executorService.awaitTermination(15, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
+            allPlugins.get(15, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            XposedBridge.log("[WAEX] Feature loading timed out after 15s, the rest keeps loading in the background");
+        } catch (InterruptedException | ExecutionException e) {
             XposedBridge.log(e);
         }
     }
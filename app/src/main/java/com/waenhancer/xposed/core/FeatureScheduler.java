@@ -0,0 +1,216 @@
+package com.waenhancer.xposed.core;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.waenhancer.xposed.core.devkit.Unobfuscator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the startup features of {@link FeatureLoader} as a dependency graph.
+ * <p>
+ * Edges come from {@link FeatureDeps#after()}. Features that others wait on are submitted first,
+ * and every Unobfuscator key listed in {@link FeatureDeps#hooks()} by more than one feature is
+ * resolved ahead of them, so the features sharing it find it cached or in flight. Per-feature run
+ * time, queue wait and critical path are kept for {@link #report()}.
+ */
+public class FeatureScheduler {
+
+    private final ClassLoader loader;
+    private final Executor executor;
+    private final Map<Class<?>, Node> nodes = new LinkedHashMap<>();
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+    private long startNs;
+
+    private static final class Node {
+        final Class<?> feature;
+        final Runnable task;
+        final List<Node> deps = new ArrayList<>();
+        final List<Node> children = new ArrayList<>();
+        int weight;
+        CompletableFuture<?> future;
+        volatile long runStartNs;
+        volatile long runEndNs;
+
+        Node(Class<?> feature, Runnable task) {
+            this.feature = feature;
+            this.task = task;
+        }
+    }
+
+    public FeatureScheduler(@NonNull ClassLoader loader, @NonNull Executor executor) {
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    public void add(@NonNull Class<?> feature, @NonNull Runnable task) {
+        nodes.put(feature, new Node(feature, task));
+    }
+
+    /**
+     * Submits every feature and returns a future that completes once all of them ran.
+     */
+    public CompletableFuture<Void> start() {
+        startNs = SystemClock.elapsedRealtimeNanos();
+        link();
+        prefetchSharedHooks();
+        for (Node node : topologicalOrder()) {
+            schedule(node);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private void link() {
+        for (Node node : nodes.values()) {
+            var deps = node.feature.getAnnotation(FeatureDeps.class);
+            if (deps == null) continue;
+            for (Class<?> after : deps.after()) {
+                // Dependencies that are disabled or lazy-loaded are simply not waited for
+                var dep = nodes.get(after);
+                if (dep == null || dep == node) continue;
+                node.deps.add(dep);
+                dep.children.add(node);
+            }
+        }
+        for (Node node : nodes.values()) {
+            node.weight = countDescendants(node, new HashSet<>());
+        }
+    }
+
+    private static int countDescendants(Node node, Set<Node> seen) {
+        int count = 0;
+        for (Node child : node.children) {
+            if (seen.add(child)) count += 1 + countDescendants(child, seen);
+        }
+        return count;
+    }
+
+    private List<Node> topologicalOrder() {
+        Map<Node, Integer> pending = new HashMap<>();
+        PriorityQueue<Node> ready = new PriorityQueue<>(Comparator.comparingInt((Node n) -> -n.weight));
+        for (Node node : nodes.values()) {
+            pending.put(node, node.deps.size());
+            if (node.deps.isEmpty()) ready.add(node);
+        }
+        List<Node> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            order.add(node);
+            for (Node child : node.children) {
+                if (pending.merge(child, -1, Integer::sum) == 0) ready.add(child);
+            }
+        }
+        if (order.size() < nodes.size()) {
+            // A cycle in the declarations: run the rest without ordering rather than never
+            for (Node node : nodes.values()) {
+                if (order.contains(node)) continue;
+                node.deps.clear();
+                order.add(node);
+            }
+        }
+        return order;
+    }
+
+    private void schedule(Node node) {
+        if (node.deps.isEmpty()) {
+            node.future = CompletableFuture.runAsync(() -> run(node), executor);
+        } else {
+            var deps = node.deps.stream().map(dep -> dep.future).toArray(CompletableFuture<?>[]::new);
+            // Runs even if a dependency failed; features report their own errors
+            node.future = CompletableFuture.allOf(deps).handleAsync((v, t) -> {
+                run(node);
+                return null;
+            }, executor);
+        }
+        futures.add(node.future);
+    }
+
+    private void run(Node node) {
+        node.runStartNs = SystemClock.elapsedRealtimeNanos();
+        try {
+            node.task.run();
+        } finally {
+            node.runEndNs = SystemClock.elapsedRealtimeNanos();
+            if (PerfLogger.isEnabled()) {
+                PerfLogger.log("FeatureLoader.plugin." + node.feature.getSimpleName(),
+                        (node.runEndNs - node.runStartNs) / 1_000_000L, 0L);
+            }
+        }
+    }
+
+    private void prefetchSharedHooks() {
+        Map<String, Integer> usage = new HashMap<>();
+        for (Node node : nodes.values()) {
+            var deps = node.feature.getAnnotation(FeatureDeps.class);
+            if (deps == null) continue;
+            for (String key : deps.hooks()) {
+                usage.merge(key, 1, Integer::sum);
+            }
+        }
+        for (var entry : usage.entrySet()) {
+            if (entry.getValue() < 2) continue;
+            String key = entry.getKey();
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    Unobfuscator.class.getMethod(key, ClassLoader.class).invoke(null, loader);
+                } catch (Throwable ignored) {
+                    // The features resolving it report the failure themselves
+                }
+            }, executor));
+        }
+    }
+
+    /**
+     * One line per feature, longest critical path first: own run time, time spent queued after its
+     * dependencies finished, and run time of the longest dependency chain ending at it.
+     */
+    @NonNull
+    public String report() {
+        Map<Node, Long> criticalPath = new HashMap<>();
+        List<Node> ordered = new ArrayList<>(nodes.values());
+        for (Node node : ordered) {
+            criticalPathOf(node, criticalPath);
+        }
+        ordered.sort(Comparator.comparingLong((Node n) -> -criticalPath.get(n)));
+        var builder = new StringBuilder();
+        for (Node node : ordered) {
+            long readyNs = startNs;
+            for (Node dep : node.deps) {
+                readyNs = Math.max(readyNs, dep.runEndNs);
+            }
+            long runNs = Math.max(0, node.runEndNs - node.runStartNs);
+            builder.append(String.format(Locale.US, "* %s: run %dms, queued %dms, critical path %dms%n",
+                    node.feature.getSimpleName(),
+                    runNs / 1_000_000L,
+                    Math.max(0, node.runStartNs - readyNs) / 1_000_000L,
+                    criticalPath.get(node) / 1_000_000L));
+        }
+        return builder.toString();
+    }
+
+    private static long criticalPathOf(Node node, Map<Node, Long> memo) {
+        var known = memo.get(node);
+        if (known != null) return known;
+        memo.put(node, 0L);
+        long longestDep = 0;
+        for (Node dep : node.deps) {
+            longestDep = Math.max(longestDep, criticalPathOf(dep, memo));
+        }
+        long value = Math.max(0, node.runEndNs - node.runStartNs) + longestDep;
+        memo.put(node, value);
+        return value;
+    }
+}
@@ -0,0 +1,247 @@
+package com.waenhancer.xposed.core;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.content.res.AssetManager;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.widget.ListAdapter;
+import android.widget.ListView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.IntPredicate;
+
+import de.robv.android.xposed.XC_MethodHook;
+import de.robv.android.xposed.XposedBridge;
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Shared hooks on hot Android framework methods.
+ * <p>
+ * Each method gets a single Xposed callback, installed when the first listener registers, which
+ * runs the registered listeners in order. Listeners can carry a {@link Filter} (view ids, receiver
+ * class, an int argument) that is checked before they are called. While {@link PerfLogger} is
+ * enabled every hook counts its calls ({@code "FrameworkHooks.<name>.calls"}) and how often a
+ * listener actually ran ({@code ".dispatched"}), and records the time spent in listeners under
+ * {@code "FrameworkHooks.<name>"}.
+ * <p>
+ * Unlike separate Xposed callbacks, every before-listener runs even after an earlier one set a
+ * result, and a listener that throws is logged without affecting the others.
+ */
+public final class FrameworkHooks {
+
+    public static final Hook ACTIVITY_ON_ACTIVITY_RESULT = new Hook("Activity.onActivityResult",
+            Activity.class, "onActivityResult", int.class, int.class, Intent.class);
+    public static final Hook LIST_VIEW_SET_ADAPTER = new Hook("ListView.setAdapter",
+            ListView.class, "setAdapter", ListAdapter.class);
+    /** Also runs for subclasses that override it, as long as they call super (ImageView does). */
+    public static final Hook VIEW_ON_ATTACHED_TO_WINDOW = new Hook("View.onAttachedToWindow",
+            View.class, "onAttachedToWindow");
+    public static final Hook VIEW_SET_FLAGS = new Hook("View.setFlags",
+            View.class, "setFlags", int.class, int.class);
+    public static final Hook VIEW_SET_BACKGROUND = new Hook("View.setBackground",
+            View.class, "setBackground", Drawable.class);
+    public static final Hook PAINT_SET_COLOR = new Hook("Paint.setColor",
+            Paint.class, "setColor", int.class);
+    /** Every overload. */
+    public static final Hook ASSET_MANAGER_GET_RESOURCE_VALUE = new Hook("AssetManager.getResourceValue",
+            AssetManager.class, "getResourceValue", (Class<?>[]) null);
+
+    private FrameworkHooks() {
+    }
+
+    public interface Listener {
+        void handle(@NonNull XC_MethodHook.MethodHookParam param) throws Throwable;
+    }
+
+    /**
+     * Cheap check run before a listener; it must not throw or have side effects.
+     */
+    public interface Filter {
+        boolean test(@NonNull XC_MethodHook.MethodHookParam param);
+    }
+
+    /**
+     * Calls where the receiver is a View with one of {@code ids}.
+     */
+    @NonNull
+    public static Filter viewIds(@NonNull Collection<Integer> ids) {
+        int[] sorted = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) sorted[i++] = id;
+        Arrays.sort(sorted);
+        return param -> param.thisObject instanceof View view && Arrays.binarySearch(sorted, view.getId()) >= 0;
+    }
+
+    @NonNull
+    public static Filter viewId(int id) {
+        return param -> param.thisObject instanceof View view && view.getId() == id;
+    }
+
+    /**
+     * Calls on instances of {@code type}, e.g. one activity class.
+     */
+    @NonNull
+    public static Filter receiver(@NonNull Class<?> type) {
+        return param -> type.isInstance(param.thisObject);
+    }
+
+    /**
+     * Calls whose int argument at {@code index} matches, e.g. a request code or a palette color.
+     */
+    @NonNull
+    public static Filter intArg(int index, @NonNull IntPredicate predicate) {
+        return param -> param.args[index] instanceof Integer value && predicate.test(value);
+    }
+
+    /**
+     * Handle returned by {@link Hook#before}/{@link Hook#after}.
+     */
+    public static final class Registration {
+        private final Hook hook;
+        private final Entry entry;
+
+        private Registration(Hook hook, Entry entry) {
+            this.hook = hook;
+            this.entry = entry;
+        }
+
+        /**
+         * Stops calling the listener. The shared Xposed callback stays installed.
+         */
+        public void remove() {
+            hook.remove(entry);
+        }
+    }
+
+    private record Entry(@Nullable Filter filter, Listener listener) {
+    }
+
+    private static final Entry[] NONE = new Entry[0];
+
+    public static final class Hook extends XC_MethodHook {
+        private final String name;
+        private final String perfLabel;
+        private final Class<?> type;
+        private final String method;
+        @Nullable
+        private final Class<?>[] parameterTypes;
+        // Copy-on-write; dispatch reads a snapshot without locking
+        private volatile Entry[] before = NONE;
+        private volatile Entry[] after = NONE;
+        private boolean installed;
+        // Built once; these are counted on every call of the hooked method
+        private final String callsLabel;
+        private final String dispatchedLabel;
+
+        private Hook(String name, Class<?> type, String method, @Nullable Class<?>... parameterTypes) {
+            this.name = name;
+            this.perfLabel = "FrameworkHooks." + name;
+            this.callsLabel = perfLabel + ".calls";
+            this.dispatchedLabel = perfLabel + ".dispatched";
+            this.type = type;
+            this.method = method;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @NonNull
+        public Registration before(@NonNull Listener listener) {
+            return before(null, listener);
+        }
+
+        @NonNull
+        public Registration before(@Nullable Filter filter, @NonNull Listener listener) {
+            return add(new Entry(filter, listener), true);
+        }
+
+        @NonNull
+        public Registration after(@NonNull Listener listener) {
+            return after(null, listener);
+        }
+
+        @NonNull
+        public Registration after(@Nullable Filter filter, @NonNull Listener listener) {
+            return add(new Entry(filter, listener), false);
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        private synchronized Registration add(Entry entry, boolean isBefore) {
+            if (!installed) {
+                // Throws like findAndHookMethod when the method is missing; nothing is registered then
+                if (parameterTypes == null) {
+                    XposedBridge.hookAllMethods(type, method, this);
+                } else {
+                    var args = Arrays.copyOf(parameterTypes, parameterTypes.length + 1, Object[].class);
+                    args[parameterTypes.length] = this;
+                    XposedHelpers.findAndHookMethod(type, method, args);
+                }
+                installed = true;
+            }
+            var current = isBefore ? before : after;
+            var copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = entry;
+            if (isBefore) {
+                before = copy;
+            } else {
+                after = copy;
+            }
+            return new Registration(this, entry);
+        }
+
+        private synchronized void remove(Entry entry) {
+            before = without(before, entry);
+            after = without(after, entry);
+        }
+
+        private static Entry[] without(Entry[] entries, Entry entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] != entry) continue;
+                var copy = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, copy, 0, i);
+                System.arraycopy(entries, i + 1, copy, i, copy.length - i);
+                return copy;
+            }
+            return entries;
+        }
+
+        @Override
+        protected void beforeHookedMethod(MethodHookParam param) {
+            PerfLogger.count(callsLabel);
+            dispatch(before, param);
+        }
+
+        @Override
+        protected void afterHookedMethod(MethodHookParam param) {
+            dispatch(after, param);
+        }
+
+        private void dispatch(Entry[] entries, MethodHookParam param) {
+            long start = 0;
+            boolean ran = false;
+            for (var entry : entries) {
+                if (entry.filter != null && !entry.filter.test(param)) continue;
+                if (!ran) {
+                    ran = true;
+                    start = PerfLogger.start();
+                }
+                try {
+                    entry.listener.handle(param);
+                } catch (Throwable t) {
+                    XposedBridge.log("[WAEX] " + name + " listener failed: " + t);
+                }
+            }
+            if (!ran) return;
+            PerfLogger.count(dispatchedLabel);
+            PerfLogger.end(perfLabel, start);
+        }
+    }
+}
@@ -1,14 +1,46 @@
 package com.waenhancer.xposed.core;
 
+import android.content.Context;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Looper;
 import android.os.SystemClock;
 
+import androidx.annotation.NonNull;
+
+import com.waenhancer.BuildConfig;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
 import de.robv.android.xposed.XposedBridge;
 
+/**
+ * Per-label latency metrics for hook callbacks, Unobfuscator lookups, DB queries and bridge calls.
+ * <p>
+ * Recording is lock-free: each label owns striped counters and a log2 histogram of microseconds,
+ * and time spent on the main thread is tracked separately so hooks that stall WhatsApp's UI stand
+ * out. Disabled by default ("perf_metrics" preference); when off, {@link #start()} returns 0 and
+ * nothing is recorded, so callers concatenating a label should only do it for a non-zero start.
+ * {@link #export(Context)} pushes a JSON snapshot to HookProvider, where the module app reads it
+ * back with the "get_perf_metrics" call (General settings, "View Performance Metrics").
+ */
 public final class PerfLogger {
     private static final String TAG = "[WAE-PERF] ";
     private static final long DEFAULT_THRESHOLD_MS = 8L;
+    private static final long EXPORT_INTERVAL_MS = 30_000L;
     private static volatile boolean enabled = false;
 
+    private static final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private static final AtomicLong lastExportMs = new AtomicLong();
+
     private PerfLogger() {
     }
 
@@ -16,6 +48,10 @@ public final class PerfLogger {
         enabled = value;
     }
 
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
     public static long start() {
         if (!enabled) return 0L;
         return SystemClock.elapsedRealtimeNanos();
@@ -25,18 +61,153 @@ public final class PerfLogger {
         end(label, startNs, DEFAULT_THRESHOLD_MS);
     }
 
+    /**
+     * Records the time since {@code startNs}. Calls taking at least {@code thresholdMs} are also
+     * counted as slow.
+     */
     public static void end(String label, long startNs, long thresholdMs) {
         if (!enabled || startNs <= 0L) return;
-        long elapsedMs = (SystemClock.elapsedRealtimeNanos() - startNs) / 1_000_000L;
-        if (elapsedMs >= thresholdMs) {
-            // Performance logging disabled in production
-        }
+        record(label, SystemClock.elapsedRealtimeNanos() - startNs, thresholdMs);
     }
 
     public static void log(String label, long elapsedMs, long thresholdMs) {
-        if (!enabled || elapsedMs <= 0L) return;
-        if (elapsedMs >= thresholdMs) {
-            // Performance logging disabled in production
+        if (!enabled || elapsedMs < 0L) return;
+        record(label, elapsedMs * 1_000_000L, thresholdMs);
+    }
+
+    /**
+     * Bumps a plain counter, for events without a duration (cache hits, retries).
+     */
+    public static void count(String label) {
+        if (!enabled) return;
+        metric(label).count.increment();
+    }
+
+    private static void record(String label, long elapsedNs, long thresholdMs) {
+        var metric = metric(label);
+        metric.add(Math.max(0L, elapsedNs), Looper.myLooper() == Looper.getMainLooper());
+        if (elapsedNs >= thresholdMs * 1_000_000L) metric.slow.increment();
+    }
+
+    private static Metric metric(String label) {
+        var metric = metrics.get(label);
+        if (metric != null) return metric;
+        return metrics.computeIfAbsent(label, l -> new Metric());
+    }
+
+    public static void reset() {
+        metrics.clear();
+    }
+
+    /**
+     * Current values of every label, as exported to HookProvider.
+     */
+    @NonNull
+    public static JSONObject snapshot() throws JSONException {
+        var labels = new JSONObject();
+        for (var entry : metrics.entrySet()) {
+            labels.put(entry.getKey(), entry.getValue().toJson());
+        }
+        var json = new JSONObject();
+        json.put("uptime_ms", SystemClock.elapsedRealtime());
+        json.put("captured_at", System.currentTimeMillis());
+        json.put("metrics", labels);
+        return json;
+    }
+
+    /**
+     * Sends a snapshot to HookProvider, at most once every 30 seconds. Does binder I/O, so call it
+     * off the main thread.
+     */
+    public static void export(@NonNull Context context) {
+        if (!enabled || metrics.isEmpty()) return;
+        long now = SystemClock.elapsedRealtime();
+        long previous = lastExportMs.get();
+        if (previous != 0 && now - previous < EXPORT_INTERVAL_MS) return;
+        if (!lastExportMs.compareAndSet(previous, now)) return;
+        try {
+            var extras = new Bundle();
+            extras.putString("process", context.getPackageName());
+            extras.putString("json", snapshot().toString());
+            context.getContentResolver().call(
+                    Uri.parse("content://" + BuildConfig.APPLICATION_ID + ".hookprovider"),
+                    "put_perf_metrics", null, extras);
+        } catch (Throwable t) {
+            XposedBridge.log(TAG + "export failed: " + t.getMessage());
+        }
+    }
+
+    private static final class Metric {
+        // Bucket i holds samples of [2^i, 2^(i+1)) microseconds; the last one is open-ended (~0.5s+)
+        private static final int BUCKETS = 20;
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNs = new LongAdder();
+        final LongAdder mainCount = new LongAdder();
+        final LongAdder mainNs = new LongAdder();
+        final LongAdder slow = new LongAdder();
+        final AtomicLong maxNs = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void add(long elapsedNs, boolean mainThread) {
+            count.increment();
+            totalNs.add(elapsedNs);
+            if (mainThread) {
+                mainCount.increment();
+                mainNs.add(elapsedNs);
+            }
+            long max;
+            while (elapsedNs > (max = maxNs.get()) && !maxNs.compareAndSet(max, elapsedNs)) {
+                // retry until the larger value sticks
+            }
+            histogram.incrementAndGet(bucketOf(elapsedNs));
+        }
+
+        static int bucketOf(long elapsedNs) {
+            long micros = elapsedNs / 1_000L;
+            if (micros <= 1) return 0;
+            return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        }
+
+        /**
+         * Upper bound in milliseconds of the bucket holding the given quantile.
+         */
+        double quantileMs(long[] buckets, long samples, double quantile) {
+            if (samples == 0) return 0;
+            long rank = (long) Math.ceil(samples * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i == buckets.length - 1 ? maxNs.get() / 1_000_000.0 : (1L << (i + 1)) / 1_000.0;
+                }
+            }
+            return maxNs.get() / 1_000_000.0;
+        }
+
+        JSONObject toJson() throws JSONException {
+            long[] buckets = new long[BUCKETS];
+            long samples = 0;
+            var array = new JSONArray();
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+                samples += buckets[i];
+                array.put(buckets[i]);
+            }
+            var json = new JSONObject();
+            json.put("count", count.sum());
+            json.put("total_ms", totalNs.sum() / 1_000_000.0);
+            json.put("max_ms", maxNs.get() / 1_000_000.0);
+            json.put("main_thread_count", mainCount.sum());
+            json.put("main_thread_ms", mainNs.sum() / 1_000_000.0);
+            json.put("slow", slow.sum());
+            if (samples > 0) {
+                json.put("p50_ms", quantileMs(buckets, samples, 0.50));
+                json.put("p90_ms", quantileMs(buckets, samples, 0.90));
+                json.put("p99_ms", quantileMs(buckets, samples, 0.99));
+                json.put("histogram_us_log2", array);
+            }
+            return json;
         }
     }
 }
@@ -19,6 +19,8 @@ import com.waenhancer.xposed.bridge.client.BaseClient;
 import com.waenhancer.xposed.bridge.client.BridgeClient;
 import com.waenhancer.xposed.bridge.client.ProviderClient;
 import com.waenhancer.xposed.core.components.FMessageWpp;
+import com.waenhancer.xposed.core.components.JidInterner;
+import com.waenhancer.xposed.core.db.ContactNameCache;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
 import com.waenhancer.xposed.utils.ReflectionUtils;
@@ -64,6 +66,8 @@ public class WppCore {
     private static Object mStartUpConfig;
     private static Object mActionUser;
     private static SQLiteDatabase mWaDatabase;
+    private static final ContactNameCache contactNames = new ContactNameCache();
+    private static final JidInterner jidInterner = new JidInterner();
     public static BaseClient client;
     private static Object mCachedMessageStore;
     private static Class<?> mSettingsNotificationsClass;
@@ -126,8 +130,10 @@ public class WppCore {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 mWaJidMapRepository = param.thisObject;
+                jidInterner.invalidateMappings();
             }
         });
+        jidInterner.hookWrites();
 
         // load me current PhoneJid
 
@@ -154,6 +160,7 @@ public class WppCore {
 
 
         // Load wa database
+        contactNames.hookWrites();
         loadWADatabase();
         hookStatusToMessageMapper(loader);
 
@@ -173,35 +180,37 @@ public class WppCore {
     public static Object getPhoneJidFromUserJid(Object lid) {
         if (lid == null)
             return null;
-        try {
-            var rawString = (String) XposedHelpers.callMethod(lid, "getRawString");
-            if (rawString == null || !rawString.contains("@lid"))
-                return lid;
-            rawString = rawString.replaceFirst("\\.[\\d:]+@", "@");
-            var newUser = WppCore.createUserJid(rawString);
-            var result = ReflectionUtils.callMethod(convertLidToJid, mWaJidMapRepository, newUser);
-            return result == null ? lid : result;
-        } catch (Exception e) {
-            XposedBridge.log(e);
-        }
-        return lid;
+        var rawString = JidInterner.rawString(lid);
+        if (rawString == null || !rawString.contains("@lid"))
+            return lid;
+        var result = jidInterner.counterpart(JidInterner.stripDevice(rawString), mWaJidMapRepository != null,
+                raw -> convertJid(convertLidToJid, raw));
+        return result == null ? lid : result;
     }
 
     public static Object getUserJidFromPhoneJid(Object userJid) {
         if (userJid == null)
             return null;
+        var rawString = JidInterner.rawString(userJid);
+        if (rawString == null || rawString.contains("@lid"))
+            return userJid;
+        var result = jidInterner.counterpart(JidInterner.stripDevice(rawString), mWaJidMapRepository != null,
+                raw -> convertJid(convertJidToLid, raw));
+        return result == null ? userJid : result;
+    }
+
+    @Nullable
+    private static Object convertJid(Method converter, String strippedRaw) {
         try {
-            var rawString = (String) XposedHelpers.callMethod(userJid, "getRawString");
-            if (rawString == null || rawString.contains("@lid"))
-                return userJid;
-            rawString = rawString.replaceFirst("\\.[\\d:]+@", "@");
-            var newUser = WppCore.createUserJid(rawString);
-            var result = ReflectionUtils.callMethod(convertJidToLid, mWaJidMapRepository, newUser);
-            return result == null ? userJid : result;
+            return ReflectionUtils.callMethod(converter, mWaJidMapRepository, createUserJid(strippedRaw));
         } catch (Exception e) {
             XposedBridge.log(e);
+            return null;
         }
-        return userJid;
+    }
+
+    public static JidInterner getJidInterner() {
+        return jidInterner;
     }
 
     public static void initBridge(Context context) throws Exception {
@@ -464,7 +473,13 @@ public class WppCore {
             var dataDir = Utils.getApplication().getFilesDir().getParentFile();
             var database = new File(dataDir, "databases/wa.db");
             if (database.exists()) {
-                mWaDatabase = SQLiteDatabase.openDatabase(database.getAbsolutePath(), null, SQLiteDatabase.OPEN_READONLY);
+                var db = SQLiteDatabase.openDatabase(database.getAbsolutePath(), null, SQLiteDatabase.OPEN_READONLY);
+                try {
+                    contactNames.warm(db);
+                } catch (Exception e) {
+                    XposedBridge.log("[WAEX] Failed to warm contact names: " + e.getMessage());
+                }
+                mWaDatabase = db;
             }
         });
     }
@@ -636,10 +651,10 @@ public class WppCore {
         loadWADatabase();
         if (mWaDatabase == null || userJid.isNull())
             return "Whatsapp Contact";
-        String name = getSContactName(userJid, false);
-        if (!TextUtils.isEmpty(name))
-            return name;
-        return getWppContactName(userJid);
+        var entry = getContactEntry(userJid);
+        if (entry == null)
+            return "";
+        return displayNameOf(entry);
     }
 
     @NonNull
@@ -647,20 +662,10 @@ public class WppCore {
         loadWADatabase();
         if (mWaDatabase == null || userJid == null)
             return "";
-        String selection;
-        if (saveOnly) {
-            selection = "jid = ? AND raw_contact_id > 0";
-        } else {
-            selection = "jid = ?";
-        }
-        String name = null;
-        var rawJid = userJid.getPhoneRawString();
-        var cursor = mWaDatabase.query("wa_contacts", new String[]{"display_name"}, selection,
-                new String[]{rawJid}, null, null, null);
-        if (cursor.moveToFirst()) {
-            name = cursor.getString(0);
-            cursor.close();
-        }
+        var entry = getContactEntry(userJid);
+        if (entry == null)
+            return "";
+        String name = saveOnly ? entry.savedName : entry.displayName;
         return name == null ? "" : name;
     }
 
@@ -669,15 +674,29 @@ public class WppCore {
         loadWADatabase();
         if (mWaDatabase == null || userJid.isNull())
             return "";
-        String name = null;
+        var entry = getContactEntry(userJid);
+        if (entry == null || entry.verifiedName == null)
+            return "";
+        return entry.verifiedName;
+    }
+
+    @Nullable
+    private static ContactNameCache.Entry getContactEntry(FMessageWpp.UserJid userJid) {
         var rawJid = userJid.getPhoneRawString();
-        var cursor2 = mWaDatabase.query("wa_vnames", new String[]{"verified_name"}, "jid = ?",
-                new String[]{rawJid}, null, null, null);
-        if (cursor2.moveToFirst()) {
-            name = cursor2.getString(0);
-            cursor2.close();
+        if (rawJid == null)
+            return null;
+        try {
+            return contactNames.get(mWaDatabase, rawJid);
+        } catch (Exception e) {
+            XposedBridge.log(e);
+            return null;
         }
-        return name == null ? "" : name;
+    }
+
+    private static String displayNameOf(ContactNameCache.Entry entry) {
+        if (!TextUtils.isEmpty(entry.displayName))
+            return entry.displayName;
+        return entry.verifiedName == null ? "" : entry.verifiedName;
     }
 
     public static Object getFMessageFromKey(Object messageKey) {
@@ -697,14 +716,14 @@ public class WppCore {
 
     @Nullable
     public static Object createUserJid(@Nullable String rawjid) {
-        if (rawjid == null)
+        return jidInterner.intern(rawjid, raw -> {
+            try {
+                return mGenJidMethod.invoke(null, raw);
+            } catch (Exception e) {
+                XposedBridge.log(e);
+            }
             return null;
-        try {
-            return mGenJidMethod.invoke(null, rawjid);
-        } catch (Exception e) {
-            XposedBridge.log(e);
-        }
-        return null;
+        });
     }
 
     private static FMessageWpp.UserJid cachedUserJid;
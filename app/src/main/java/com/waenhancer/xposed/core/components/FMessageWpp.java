@@ -6,6 +6,7 @@ import androidx.annotation.Nullable;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.db.MessageStore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
+import com.waenhancer.xposed.utils.ObjectPathResolver;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 
 import org.luckypray.dexkit.query.enums.StringMatchType;
@@ -14,6 +15,7 @@ import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -40,6 +42,8 @@ public class FMessageWpp {
     private static Field keyIdField;
     private static Field keyFromMeField;
     private static Field keyRemoteJidField;
+    private static ObjectPathResolver messageResolver;
+    private static ObjectPathResolver candidateResolver;
     private final Object fmessage;
     private Key key;
     private static final Set<String> VALID_DOMAINS = Set.of(
@@ -86,11 +90,31 @@ public class FMessageWpp {
                 keyRemoteJidField = ReflectionUtils.getFieldByExtendType(Key.TYPE, UserJid.TYPE_JID);
                 ;
             }
+            messageResolver = new ObjectPathResolver(TYPE, Key.TYPE, WppCore::getFMessageFromKey, 5, false);
+            candidateResolver = new ObjectPathResolver(TYPE, null, null, 3, true);
         } catch (Exception e) {
             XposedBridge.log(e);
         }
     }
 
+    /**
+     * The FMessage held by {@code object} or reachable through its fields, directly or through a
+     * message Key; the field chain is learned once per class.
+     */
+    @Nullable
+    public static Object findIn(@Nullable Object object) {
+        if (object == null || messageResolver == null) return null;
+        return messageResolver.find(object);
+    }
+
+    /**
+     * Adds every FMessage found within a few fields, arrays or lists of {@code object} to {@code out}.
+     */
+    public static void collectIn(@Nullable Object object, @NonNull List<Object> out) {
+        if (object == null || candidateResolver == null) return;
+        candidateResolver.collect(object, out);
+    }
+
     public static boolean checkUnsafeIsFMessage(ClassLoader classLoader, Class<?> clazz) throws Exception {
         Class<?> FmessageClass = Unobfuscator.loadFMessageClass(classLoader);
         if (FmessageClass.isAssignableFrom(clazz)) return true;
@@ -581,6 +605,21 @@ public class FMessageWpp {
 
         public Object userJid;
 
+        // Raw strings memoized per Jid object; the fields above are public and may be reassigned.
+        // Each memo is published as one immutable pair, since UserJids are shared across threads
+        private volatile RawMemo phoneRaw;
+        private volatile RawMemo userRaw;
+
+        private static final class RawMemo {
+            final Object jid;
+            final String raw;
+
+            RawMemo(Object jid, String raw) {
+                this.jid = jid;
+                this.raw = raw;
+            }
+        }
+
         public UserJid() {
 
         }
@@ -599,12 +638,8 @@ public class FMessageWpp {
 
         public UserJid(@Nullable Object lidOrJid) {
             if (lidOrJid == null) return;
-            String raw;
-            try {
-                raw = (String) XposedHelpers.callMethod(lidOrJid, "getRawString");
-            } catch (Throwable ignored) {
-                return;
-            }
+            String raw = JidInterner.rawString(lidOrJid);
+            if (raw == null) return;
             if (isInvalidJid(raw)) return;
             if (checkValidLID(raw)) {
                 this.userJid = lidOrJid;
@@ -623,18 +658,26 @@ public class FMessageWpp {
 
         @Nullable
         public String getPhoneRawString() {
-            if (this.phoneJid == null) return null;
-            String raw = (String) XposedHelpers.callMethod(this.phoneJid, "getRawString");
-            if (raw == null) return null;
-            return raw.replaceFirst("\\.[\\d:]+@", "@");
+            var jid = this.phoneJid;
+            if (jid == null) return null;
+            var memo = phoneRaw;
+            if (memo == null || memo.jid != jid) {
+                memo = new RawMemo(jid, JidInterner.stripDevice(JidInterner.rawString(jid)));
+                phoneRaw = memo;
+            }
+            return memo.raw;
         }
 
         @Nullable
         public String getUserRawString() {
-            if (this.phoneJid == null) return null;
-            String raw = (String) XposedHelpers.callMethod(this.userJid, "getRawString");
-            if (raw == null) return null;
-            return raw.replaceFirst("\\.[\\d:]+@", "@");
+            var jid = this.userJid;
+            if (this.phoneJid == null || jid == null) return null;
+            var memo = userRaw;
+            if (memo == null || memo.jid != jid) {
+                memo = new RawMemo(jid, JidInterner.stripDevice(JidInterner.rawString(jid)));
+                userRaw = memo;
+            }
+            return memo.raw;
         }
 
         @Nullable
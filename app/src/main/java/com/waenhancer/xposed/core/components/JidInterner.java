@@ -0,0 +1,143 @@
+package com.waenhancer.xposed.core.components;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.waenhancer.xposed.core.db.SqlWriteBus;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Interning table for WhatsApp JIDs and their LID/phone counterparts.
+ * <p>
+ * Raw strings map to the single Jid object WhatsApp would build for them, and each side of an
+ * account maps to the other one as returned by WaJidMapRepository, so building a
+ * {@link FMessageWpp.UserJid} for a JID seen before costs two LRU lookups instead of reflective
+ * calls into the repository. "No mapping" answers are cached too, but only briefly: WhatsApp learns
+ * LIDs as chats sync, and its writes to the jid_map table clear the mappings.
+ */
+public final class JidInterner {
+
+    private static final int MAX_JIDS = 2048;
+    private static final int MAX_MAPPINGS = 2048;
+    private static final long UNMAPPED_TTL_MS = 30_000;
+
+    private static volatile Method rawStringMethod;
+
+    private final LruCache<String, Object> jids = new LruCache<>(MAX_JIDS);
+    private final LruCache<String, Mapping> mappings = new LruCache<>(MAX_MAPPINGS);
+    // Bumped by every invalidation so a lookup racing with a repository write does not cache the old answer
+    private final AtomicLong generation = new AtomicLong();
+
+    private static final class Mapping {
+        @Nullable
+        final Object counterpart;
+        final long expiresAt;
+
+        Mapping(@Nullable Object counterpart, long expiresAt) {
+            this.counterpart = counterpart;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * The Jid object for {@code rawJid}, built by {@code factory} on the first request only.
+     */
+    @Nullable
+    public Object intern(@Nullable String rawJid, @NonNull Function<String, Object> factory) {
+        if (rawJid == null) return null;
+        var jid = jids.get(rawJid);
+        if (jid != null) return jid;
+        long startGeneration = generation.get();
+        jid = factory.apply(rawJid);
+        if (jid != null && generation.get() == startGeneration) jids.put(rawJid, jid);
+        return jid;
+    }
+
+    /**
+     * The other side of {@code strippedRaw} (a raw string without device suffix), resolved by
+     * {@code resolver} when not cached; null when WhatsApp has no mapping for it.
+     *
+     * @param cacheable false while the repository is not available yet, so identity answers are not kept
+     */
+    @Nullable
+    public Object counterpart(@NonNull String strippedRaw, boolean cacheable, @NonNull Function<String, Object> resolver) {
+        var mapping = mappings.get(strippedRaw);
+        if (mapping != null && (mapping.counterpart != null || SystemClock.elapsedRealtime() < mapping.expiresAt)) {
+            return mapping.counterpart;
+        }
+        long startGeneration = generation.get();
+        var counterpart = resolver.apply(strippedRaw);
+        if (cacheable && generation.get() == startGeneration) {
+            mappings.put(strippedRaw, new Mapping(counterpart, counterpart != null ? Long.MAX_VALUE : SystemClock.elapsedRealtime() + UNMAPPED_TTL_MS));
+        }
+        return counterpart;
+    }
+
+    public void invalidateMappings() {
+        generation.incrementAndGet();
+        mappings.evictAll();
+    }
+
+    public int size() {
+        return mappings.size();
+    }
+
+    /**
+     * Clears cached mappings whenever WhatsApp stores new ones. The repository persists every
+     * mapping it learns to the jid_map table, so its inserts, updates and deletes there are the
+     * writes to watch; its obfuscated methods cannot tell batch reads from batch writes.
+     */
+    public void hookWrites() {
+        SqlWriteBus.Subscriber onWrite = write -> invalidateMappings();
+        for (var op : SqlWriteBus.Op.values()) {
+            SqlWriteBus.after(op, "jid_map", onWrite);
+        }
+    }
+
+    /**
+     * {@code getRawString()} of a Jid through a handle resolved once, instead of a by-name lookup
+     * on every call.
+     */
+    @Nullable
+    public static String rawString(@Nullable Object jid) {
+        if (jid == null) return null;
+        try {
+            var method = rawStringMethod;
+            if (method == null || !method.getDeclaringClass().isInstance(jid)) {
+                method = XposedHelpers.findMethodBestMatch(jid.getClass(), "getRawString");
+                rawStringMethod = method;
+            }
+            return (String) method.invoke(jid);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops the device part of a raw JID ({@code 123.0:5@s.whatsapp.net} becomes
+     * {@code 123@s.whatsapp.net}); same result as {@code replaceFirst("\\.[\\d:]+@", "@")} for the
+     * strings WhatsApp produces, without a regex.
+     */
+    @Nullable
+    public static String stripDevice(@Nullable String raw) {
+        if (raw == null) return null;
+        int at = raw.indexOf('@');
+        if (at < 2) return raw;
+        int i = at - 1;
+        while (i >= 0) {
+            char c = raw.charAt(i);
+            if ((c < '0' || c > '9') && c != ':') break;
+            i--;
+        }
+        if (i < 0 || i == at - 1 || raw.charAt(i) != '.') return raw;
+        return raw.substring(0, i) + raw.substring(at);
+    }
+}
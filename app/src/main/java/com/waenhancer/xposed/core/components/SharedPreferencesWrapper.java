@@ -5,19 +5,38 @@ import android.content.SharedPreferences;
 
 import androidx.annotation.Nullable;
 
+import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XposedHelpers;
-import java.util.HashMap;
 
+/**
+ * Lets features override values WhatsApp reads from its preferences. Hooks are registered for the
+ * keys they rewrite and looked up by key, so reads of any other key return untouched without boxing
+ * or walking the hook list.
+ */
 public class SharedPreferencesWrapper implements SharedPreferences {
 
-    private final static HashSet<SPrefHook> prefHook = new HashSet<>();
+    private static final List<String> EXPIRATION_KEYS = List.of("software_forced_expiration", "expiration_timestamp", "client_expiration_time");
+    private static final SPrefHook[] NO_HOOKS = new SPrefHook[0];
+
+    // Replaced on registration, which only happens while features load; reads need no lock
+    private static volatile Map<String, SPrefHook[]> hooksByKey = new HashMap<>();
+    // Hooks registered without keys see every read; none of the features needs one
+    private static volatile SPrefHook[] anyKeyHooks = NO_HOOKS;
+
+    static {
+        addHook(EXPIRATION_KEYS, SharedPreferencesWrapper::extendExpiration);
+    }
+
     private final SharedPreferences mPreferences;
 
     public SharedPreferencesWrapper(SharedPreferences sharedPreferences) {
@@ -46,6 +65,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
                 }
             }
         }
+        if (!isWatched(s)) return (String) value;
         return (String) applyHook(s, value);
     }
 
@@ -56,18 +76,21 @@ public class SharedPreferencesWrapper implements SharedPreferences {
     @Override
     public Set<String> getStringSet(String s, @Nullable Set<String> set) {
         var value = mPreferences.getStringSet(s, set);
+        if (!isWatched(s)) return value;
         return (Set<String>) applyHook(s, value);
     }
 
     @Override
     public int getInt(String s, int i) {
         var value = mPreferences.getInt(s, i);
+        if (!isWatched(s)) return value;
         return (int) applyHook(s, value);
     }
 
     @Override
     public long getLong(String s, long l) {
         var value = mPreferences.getLong(s, l);
+        if (!isWatched(s)) return value;
         return (long) applyHook(s, value);
     }
 
@@ -83,18 +106,21 @@ public class SharedPreferencesWrapper implements SharedPreferences {
                 value = v;
             }
         }
+        if (!isWatched(s)) return (float) value;
         return (float) applyHook(s, value);
     }
 
     @Override
     public boolean getBoolean(String s, boolean b) {
         var value = mPreferences.getBoolean(s, b);
+        if (!isWatched(s)) return value;
         return (boolean) applyHook(s, value);
     }
 
     @Override
     public boolean contains(String s) {
         var value = mPreferences.contains(s);
+        if (!isWatched(s)) return value;
         return (boolean) applyHook(s, value);
     }
 
@@ -129,6 +155,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult(applyHook(key, value));
             }
@@ -138,6 +165,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult((boolean) applyHook(key, value));
             }
@@ -147,6 +175,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult((int) applyHook(key, value));
             }
@@ -156,6 +185,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult((long) applyHook(key, value));
             }
@@ -165,6 +195,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult((float) applyHook(key, value));
             }
@@ -174,6 +205,7 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             @Override
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 var key = (String) param.args[0];
+                if (!isWatched(key)) return;
                 var value = param.getResult();
                 param.setResult((boolean) applyHook(key, value));
             }
@@ -184,12 +216,8 @@ public class SharedPreferencesWrapper implements SharedPreferences {
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> result = (Map<String, Object>) param.getResult();
-                if (result == null || result.isEmpty()) return;
-                var updated = new HashMap<String, Object>(result.size());
-                for (var entry : result.entrySet()) {
-                    updated.put(entry.getKey(), applyHook(entry.getKey(), entry.getValue()));
-                }
-                param.setResult(updated);
+                var updated = applyHooks(result);
+                if (updated != result) param.setResult(updated);
             }
         };
 
@@ -207,33 +235,106 @@ public class SharedPreferencesWrapper implements SharedPreferences {
         }
     }
 
-    public static void addHook(SPrefHook hook) {
-        prefHook.add(hook);
+    /**
+     * Registers a hook that sees every read; prefer {@link #addHook(Collection, SPrefHook)}.
+     */
+    public static synchronized void addHook(SPrefHook hook) {
+        var hooks = Arrays.copyOf(anyKeyHooks, anyKeyHooks.length + 1);
+        hooks[hooks.length - 1] = hook;
+        anyKeyHooks = hooks;
+    }
+
+    public static void addHook(String key, SPrefHook hook) {
+        addHook(List.of(key), hook);
+    }
+
+    /**
+     * Registers a hook called only for reads of {@code keys}.
+     */
+    public static synchronized void addHook(Collection<String> keys, SPrefHook hook) {
+        var byKey = new HashMap<>(hooksByKey);
+        for (String key : keys) {
+            var current = byKey.getOrDefault(key, NO_HOOKS);
+            var hooks = Arrays.copyOf(current, current.length + 1);
+            hooks[hooks.length - 1] = hook;
+            byKey.put(key, hooks);
+        }
+        hooksByKey = byKey;
+    }
+
+    private static boolean isWatched(String key) {
+        if (anyKeyHooks.length == 0 && !hooksByKey.containsKey(key)) {
+            PerfLogger.count("SharedPreferencesWrapper.bypassed");
+            return false;
+        }
+        return true;
     }
 
     private static Object applyHook(String key, Object value) {
-        if ("software_forced_expiration".equals(key) || "expiration_timestamp".equals(key) || "client_expiration_time".equals(key)) {
-            if (value instanceof Long) {
-                long longVal = (Long) value;
-                if (longVal > 0 && longVal < 10000000000L) {
-                    return 4102444800L; // Year 2100 in seconds
-                } else {
-                    return 4102444800000L; // Year 2100 in milliseconds
+        PerfLogger.count("SharedPreferencesWrapper.hooked");
+        for (SPrefHook hook : hooksByKey.getOrDefault(key, NO_HOOKS)) {
+            value = hook.hookValue(key, value);
+        }
+        for (SPrefHook hook : anyKeyHooks) {
+            value = hook.hookValue(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * {@code all} with hooked values applied; the map is only copied when a hook changes one of them.
+     */
+    private static Map<String, ?> applyHooks(Map<String, ?> all) {
+        if (all == null || all.isEmpty()) return all;
+        Map<String, Object> updated = null;
+        if (anyKeyHooks.length == 0) {
+            var byKey = hooksByKey;
+            if (byKey.size() < all.size()) {
+                for (String key : byKey.keySet()) {
+                    if (all.containsKey(key)) updated = applyHook(all, updated, key);
                 }
-            } else if (value instanceof Integer) {
-                return 2147483647;
-            } else if (value instanceof String) {
-                String strVal = (String) value;
-                if (strVal.length() < 11) {
-                    return "4102444800"; // Year 2100 in seconds
-                } else {
-                    return "4102444800000"; // Year 2100 in milliseconds
+            } else {
+                for (String key : all.keySet()) {
+                    if (byKey.containsKey(key)) updated = applyHook(all, updated, key);
                 }
             }
+        } else {
+            for (String key : all.keySet()) {
+                updated = applyHook(all, updated, key);
+            }
         }
+        if (updated == null) return all;
+        // getAll() results copied because a hook changed one of their values
+        PerfLogger.count("SharedPreferencesWrapper.getAllCopied");
+        return updated;
+    }
 
-        for (SPrefHook hook : prefHook) {
-            value = hook.hookValue(key, value);
+    private static Map<String, Object> applyHook(Map<String, ?> all, @Nullable Map<String, Object> updated, String key) {
+        Object value = all.get(key);
+        Object hooked = applyHook(key, value);
+        if (hooked == value) return updated;
+        if (updated == null) updated = new HashMap<>(all);
+        updated.put(key, hooked);
+        return updated;
+    }
+
+    private static Object extendExpiration(String key, Object value) {
+        if (value instanceof Long) {
+            long longVal = (Long) value;
+            if (longVal > 0 && longVal < 10000000000L) {
+                return 4102444800L; // Year 2100 in seconds
+            } else {
+                return 4102444800000L; // Year 2100 in milliseconds
+            }
+        } else if (value instanceof Integer) {
+            return 2147483647;
+        } else if (value instanceof String) {
+            String strVal = (String) value;
+            if (strVal.length() < 11) {
+                return "4102444800"; // Year 2100 in seconds
+            } else {
+                return "4102444800000"; // Year 2100 in milliseconds
+            }
         }
         return value;
     }
@@ -0,0 +1,223 @@
+package com.waenhancer.xposed.core.db;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.waenhancer.xposed.core.PerfLogger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Names from WhatsApp's wa.db ({@code wa_contacts} and {@code wa_vnames}), keyed by raw phone JID.
+ * <p>
+ * The cache is bounded and filled in bulk once the database is opened; JIDs it does not hold are
+ * read individually and cached, including JIDs without any name. WhatsApp's own writes to either
+ * table drop the affected JID, or everything when the JID cannot be told from the statement.
+ */
+public class ContactNameCache {
+
+    private static final int MAX_ENTRIES = 4096;
+    // Stays under SQLITE_MAX_VARIABLE_NUMBER on every Android version
+    private static final int MAX_QUERY_ARGS = 500;
+    // Saved contacts first, so warm() and getAll() pick the same display name for a JID
+    private static final String CONTACT_ORDER = " ORDER BY raw_contact_id > 0 DESC, _id";
+
+    private final LruCache<String, Entry> cache = new LruCache<>(MAX_ENTRIES);
+    // Bumped by every invalidation so a lookup racing with a write does not cache the old name
+    private final AtomicLong generation = new AtomicLong();
+
+    public static final class Entry {
+        /** First display_name for the JID, saved contact or not. */
+        public final String displayName;
+        /** First display_name of a row backed by an address book contact. */
+        public final String savedName;
+        public final String verifiedName;
+
+        Entry(String displayName, String savedName, String verifiedName) {
+            this.displayName = displayName;
+            this.savedName = savedName;
+            this.verifiedName = verifiedName;
+        }
+    }
+
+    private static final class Builder {
+        String displayName;
+        String savedName;
+        String verifiedName;
+
+        Entry build() {
+            return new Entry(displayName, savedName, verifiedName);
+        }
+    }
+
+    /**
+     * Loads every contact with a name, saved contacts first, up to the cache bound.
+     */
+    public void warm(@NonNull SQLiteDatabase db) {
+        long startGeneration = generation.get();
+        var rows = new HashMap<String, Builder>();
+        try (Cursor cursor = db.rawQuery("SELECT jid, display_name, raw_contact_id FROM wa_contacts"
+                + " WHERE jid IS NOT NULL AND display_name IS NOT NULL"
+                + CONTACT_ORDER + " LIMIT " + MAX_ENTRIES, null)) {
+            while (cursor.moveToNext()) {
+                var builder = rows.computeIfAbsent(cursor.getString(0), k -> new Builder());
+                readContactRow(builder, cursor.getString(1), cursor.getLong(2));
+            }
+        }
+        try (Cursor cursor = db.rawQuery("SELECT jid, verified_name FROM wa_vnames"
+                + " WHERE jid IS NOT NULL AND verified_name IS NOT NULL LIMIT " + MAX_ENTRIES, null)) {
+            while (cursor.moveToNext()) {
+                var builder = rows.get(cursor.getString(0));
+                if (builder == null) {
+                    if (rows.size() >= MAX_ENTRIES) continue;
+                    builder = new Builder();
+                    rows.put(cursor.getString(0), builder);
+                }
+                if (builder.verifiedName == null) builder.verifiedName = cursor.getString(1);
+            }
+        }
+        if (generation.get() != startGeneration) return;
+        for (var row : rows.entrySet()) {
+            cache.put(row.getKey(), row.getValue().build());
+        }
+    }
+
+    @NonNull
+    public Entry get(@NonNull SQLiteDatabase db, @NonNull String rawJid) {
+        var entry = cache.get(rawJid);
+        if (entry != null) {
+            PerfLogger.count("ContactNameCache.hit");
+            return entry;
+        }
+        return getAll(db, List.of(rawJid)).get(rawJid);
+    }
+
+    /**
+     * Resolves several JIDs at once; misses are read with one query per table per 500 JIDs.
+     *
+     * @return an entry for every requested JID
+     */
+    @NonNull
+    public Map<String, Entry> getAll(@NonNull SQLiteDatabase db, @NonNull Collection<String> rawJids) {
+        var result = new HashMap<String, Entry>(rawJids.size() * 2);
+        var missing = new LinkedHashSet<String>();
+        for (String rawJid : rawJids) {
+            var entry = cache.get(rawJid);
+            if (entry != null) {
+                PerfLogger.count("ContactNameCache.hit");
+                result.put(rawJid, entry);
+            } else {
+                PerfLogger.count("ContactNameCache.miss");
+                missing.add(rawJid);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        long startGeneration = generation.get();
+        var rows = new HashMap<String, Builder>();
+        for (String rawJid : missing) {
+            rows.put(rawJid, new Builder());
+        }
+        var pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += MAX_QUERY_ARGS) {
+            var chunk = pending.subList(from, Math.min(pending.size(), from + MAX_QUERY_ARGS));
+            var args = chunk.toArray(new String[0]);
+            var in = placeholders(args.length);
+            try (Cursor cursor = db.rawQuery("SELECT jid, display_name, raw_contact_id FROM wa_contacts WHERE jid IN ("
+                    + in + ") AND display_name IS NOT NULL" + CONTACT_ORDER, args)) {
+                while (cursor.moveToNext()) {
+                    readContactRow(rows.get(cursor.getString(0)), cursor.getString(1), cursor.getLong(2));
+                }
+            }
+            try (Cursor cursor = db.rawQuery("SELECT jid, verified_name FROM wa_vnames WHERE jid IN ("
+                    + in + ") AND verified_name IS NOT NULL", args)) {
+                while (cursor.moveToNext()) {
+                    var builder = rows.get(cursor.getString(0));
+                    if (builder.verifiedName == null) builder.verifiedName = cursor.getString(1);
+                }
+            }
+        }
+        boolean store = generation.get() == startGeneration;
+        for (var row : rows.entrySet()) {
+            var entry = row.getValue().build();
+            if (store) cache.put(row.getKey(), entry);
+            result.put(row.getKey(), entry);
+        }
+        return result;
+    }
+
+    public void invalidate(@NonNull String rawJid) {
+        generation.incrementAndGet();
+        cache.remove(rawJid);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.evictAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Watches WhatsApp's inserts, updates and deletes on wa_contacts/wa_vnames.
+     */
+    public void hookWrites() {
+        SqlWriteBus.Subscriber onWrite = write -> {
+            var written = write.values != null && write.values.containsKey("jid") ? write.values.getAsString("jid") : null;
+            var matched = jidOf(write.where, write.whereArgs);
+            // Inserts carry the jid in their values; updates and deletes usually in a jid=? clause
+            if (written == null && matched == null) {
+                invalidateAll();
+                return;
+            }
+            if (written != null) invalidate(written);
+            if (matched != null && !matched.equals(written)) invalidate(matched);
+        };
+        for (var op : SqlWriteBus.Op.values()) {
+            SqlWriteBus.after(op, "wa_contacts", onWrite);
+            SqlWriteBus.after(op, "wa_vnames", onWrite);
+        }
+    }
+
+    /**
+     * The JID of a {@code jid=?} clause, optionally followed by more {@code AND} terms; null for
+     * anything else.
+     */
+    @Nullable
+    static String jidOf(@Nullable String where, @Nullable String[] whereArgs) {
+        if (where == null || whereArgs == null || whereArgs.length == 0) return null;
+        String lower = where.toLowerCase(Locale.ROOT);
+        if (lower.contains(" or ") || lower.contains("(")) return null;
+        String clause = lower.replace(" ", "");
+        if (!clause.equals("jid=?") && !clause.startsWith("jid=?and")) return null;
+        return whereArgs[0];
+    }
+
+    private static void readContactRow(Builder builder, String displayName, long rawContactId) {
+        if (builder == null) return;
+        if (builder.displayName == null) builder.displayName = displayName;
+        if (builder.savedName == null && rawContactId > 0) builder.savedName = displayName;
+    }
+
+    private static String placeholders(int count) {
+        var builder = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) builder.append(',');
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+}
@@ -1,13 +1,18 @@
 package com.waenhancer.xposed.core.db;
 
+import android.content.ComponentCallbacks2;
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -15,6 +20,10 @@ import java.util.Map;
 import com.waenhancer.utils.ContactHelper;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class DelMessageStore extends SQLiteOpenHelper {
     private static DelMessageStore mInstance;
@@ -25,25 +34,144 @@ public class DelMessageStore extends SQLiteOpenHelper {
         }
     });
 
-    private static final int DATABASE_VERSION = 11;
+    private static final int DATABASE_VERSION = 13;
     public static final String TABLE_DELETED_FOR_ME = "deleted_for_me";
     public static final String TABLE_WA_CONTACTS = "wa_contacts";
+    // Latest message per (chat, package), plus a '*' row per chat across packages; kept by triggers
+    public static final String TABLE_DELETED_CHATS = "deleted_chats";
+    public static final String ALL_PACKAGES = "*";
+    // FTS4 index over text_content and media_caption, with deleted_for_me as its content table
+    public static final String TABLE_DELETED_SEARCH = "deleted_for_me_fts";
+    private static final String DEFAULT_PACKAGE = "com.whatsapp";
+
+    // Write-behind: inserts are queued and committed together, one transaction per batch
+    private static final int FLUSH_ROWS = 64;
+    private static final long FLUSH_DELAY_MS = 500;
+
+    private final List<PendingWrite> pendingWrites = new ArrayList<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DelMessageStore-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> scheduledFlush;
+
+    private static final class PendingWrite {
+        final String table;
+        final ContentValues values;
+        final int conflictAlgorithm;
+
+        PendingWrite(String table, ContentValues values, int conflictAlgorithm) {
+            this.table = table;
+            this.values = values;
+            this.conflictAlgorithm = conflictAlgorithm;
+        }
+    }
 
     private DelMessageStore(@NonNull Context context) {
         super(context, "delmessages.db", null, DATABASE_VERSION);
+        // One long-lived connection; WAL keeps readers (UI, provider) off the writer's lock
+        setWriteAheadLoggingEnabled(true);
     }
 
     public static DelMessageStore getInstance(Context ctx) {
         if (mInstance == null) {
             synchronized (DelMessageStore.class) {
                 if (mInstance == null) {
-                    mInstance = new DelMessageStore(ctx.getApplicationContext());
+                    var store = new DelMessageStore(ctx.getApplicationContext());
+                    store.installFlushTriggers(ctx.getApplicationContext());
+                    mInstance = store;
                 }
             }
         }
         return mInstance;
     }
 
+    /**
+     * Commits queued writes before the process is likely to die: when its UI goes to the
+     * background, on a crash, and on a regular exit.
+     */
+    private void installFlushTriggers(Context context) {
+        context.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= TRIM_MEMORY_UI_HIDDEN) flush();
+            }
+
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                flush();
+            }
+        });
+        var previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> {
+            flush();
+            if (previous != null) previous.uncaughtException(thread, throwable);
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+    }
+
+    private void enqueue(String table, ContentValues values, int conflictAlgorithm) {
+        synchronized (pendingWrites) {
+            pendingWrites.add(new PendingWrite(table, values, conflictAlgorithm));
+            if (pendingWrites.size() >= FLUSH_ROWS) {
+                if (scheduledFlush != null) scheduledFlush.cancel(false);
+                scheduledFlush = null;
+                flusher.execute(this::flush);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = flusher.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Commits every queued insert in a single transaction. Reads call this first so they see
+     * their own writes.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingWrite> batch;
+            synchronized (pendingWrites) {
+                scheduledFlush = null;
+                if (pendingWrites.isEmpty()) return;
+                batch = new ArrayList<>(pendingWrites);
+                pendingWrites.clear();
+            }
+            try {
+                SQLiteDatabase db = getWritableDatabase();
+                db.beginTransactionNonExclusive();
+                try {
+                    for (PendingWrite write : batch) {
+                        db.insertWithOnConflict(write.table, null, write.values, write.conflictAlgorithm);
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            } catch (Exception e) {
+                Log.e("DelMessageStore", "Failed to flush " + batch.size() + " queued writes", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // Not synchronized: flush() takes the helper lock through getWritableDatabase()
+        flush();
+        super.close();
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        // INSERT OR REPLACE must fire the delete trigger for the row it replaces
+        db.execSQL("PRAGMA recursive_triggers = ON");
+    }
+
     @Override
     public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
         if (oldVersion < 4) {
@@ -104,6 +232,24 @@ public class DelMessageStore extends SQLiteOpenHelper {
                 // Ignore if fails
             }
         }
+        if (oldVersion < 12) {
+            if (!checkColumnExists(sqLiteDatabase, TABLE_DELETED_FOR_ME, "is_group")) {
+                sqLiteDatabase.execSQL("ALTER TABLE " + TABLE_DELETED_FOR_ME + " ADD COLUMN is_group INTEGER DEFAULT 0;");
+            }
+            sqLiteDatabase.execSQL("UPDATE " + TABLE_DELETED_FOR_ME + " SET is_group = chat_jid LIKE '%@g.us'");
+            createChatSummary(sqLiteDatabase);
+            // Triggers only cover new rows; seed the summary from what is already stored
+            sqLiteDatabase.execSQL("DELETE FROM " + TABLE_DELETED_CHATS);
+            sqLiteDatabase.execSQL("INSERT INTO " + TABLE_DELETED_CHATS + " SELECT chat_jid, " + packageOf(TABLE_DELETED_FOR_ME)
+                    + ", chat_jid LIKE '%@g.us', _id, MAX(timestamp) FROM " + TABLE_DELETED_FOR_ME
+                    + " GROUP BY chat_jid, " + packageOf(TABLE_DELETED_FOR_ME));
+            sqLiteDatabase.execSQL("INSERT INTO " + TABLE_DELETED_CHATS + " SELECT chat_jid, '" + ALL_PACKAGES
+                    + "', chat_jid LIKE '%@g.us', _id, MAX(timestamp) FROM " + TABLE_DELETED_FOR_ME + " GROUP BY chat_jid");
+        }
+        if (oldVersion < 13) {
+            createSearchIndex(sqLiteDatabase);
+            sqLiteDatabase.execSQL("INSERT INTO " + TABLE_DELETED_SEARCH + " (" + TABLE_DELETED_SEARCH + ") VALUES ('rebuild')");
+        }
     }
 
     @Override
@@ -116,6 +262,8 @@ public class DelMessageStore extends SQLiteOpenHelper {
         sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_DELETED_FOR_ME);
         sqLiteDatabase.execSQL("DROP TABLE IF EXISTS delmessages");
         sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_WA_CONTACTS);
+        sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_DELETED_CHATS);
+        sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_DELETED_SEARCH);
         onCreate(sqLiteDatabase);
     }
 
@@ -134,65 +282,118 @@ public class DelMessageStore extends SQLiteOpenHelper {
                 "is_from_me INTEGER DEFAULT 0, " +
                 "contact_name TEXT, " +
                 "package_name TEXT, " +
+                "is_group INTEGER DEFAULT 0, " +
                 "UNIQUE(key_id, chat_jid))");
     }
 
+    private static String packageOf(String row) {
+        return "IFNULL(" + row + ".package_name, '" + DEFAULT_PACKAGE + "')";
+    }
+
+    /**
+     * Indexes for the browser plus the per-chat summary table and the triggers that maintain it,
+     * so listing chats never has to scan or group the message table.
+     */
+    private void createChatSummary(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS deleted_for_me_chat_ts ON " + TABLE_DELETED_FOR_ME + " (chat_jid, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS deleted_for_me_group_pkg_ts ON " + TABLE_DELETED_FOR_ME + " (is_group, package_name, timestamp)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_DELETED_CHATS + " (" +
+                "chat_jid TEXT NOT NULL, " +
+                "package_name TEXT NOT NULL, " +
+                "is_group INTEGER NOT NULL, " +
+                "last_id INTEGER NOT NULL, " +
+                "last_timestamp INTEGER NOT NULL, " +
+                "PRIMARY KEY (chat_jid, package_name))");
+        db.execSQL("CREATE INDEX IF NOT EXISTS deleted_chats_page ON " + TABLE_DELETED_CHATS + " (package_name, is_group, last_timestamp, chat_jid)");
+
+        // No OR IGNORE inside the triggers: the conflict clause of the outer INSERT OR REPLACE would override it
+        String all = "'" + ALL_PACKAGES + "'";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_chats_insert AFTER INSERT ON " + TABLE_DELETED_FOR_ME + " BEGIN " +
+                "INSERT INTO " + TABLE_DELETED_CHATS + " SELECT NEW.chat_jid, " + packageOf("NEW") + ", NEW.chat_jid LIKE '%@g.us', NEW._id, NEW.timestamp " +
+                "WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_DELETED_CHATS + " WHERE chat_jid = NEW.chat_jid AND package_name = " + packageOf("NEW") + "); " +
+                "INSERT INTO " + TABLE_DELETED_CHATS + " SELECT NEW.chat_jid, " + all + ", NEW.chat_jid LIKE '%@g.us', NEW._id, NEW.timestamp " +
+                "WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_DELETED_CHATS + " WHERE chat_jid = NEW.chat_jid AND package_name = " + all + "); " +
+                "UPDATE " + TABLE_DELETED_CHATS + " SET last_id = NEW._id, last_timestamp = NEW.timestamp " +
+                "WHERE chat_jid = NEW.chat_jid AND package_name IN (" + packageOf("NEW") + ", " + all + ") " +
+                "AND (NEW.timestamp > last_timestamp OR (NEW.timestamp = last_timestamp AND NEW._id > last_id)); " +
+                "END");
+        // When the latest message of a chat goes, fall back to the next one through deleted_for_me_chat_ts
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_chats_delete AFTER DELETE ON " + TABLE_DELETED_FOR_ME + " BEGIN " +
+                "DELETE FROM " + TABLE_DELETED_CHATS + " WHERE chat_jid = OLD.chat_jid AND last_id = OLD._id; " +
+                "INSERT INTO " + TABLE_DELETED_CHATS + " SELECT chat_jid, " + packageOf(TABLE_DELETED_FOR_ME) + ", chat_jid LIKE '%@g.us', _id, timestamp " +
+                "FROM " + TABLE_DELETED_FOR_ME + " WHERE chat_jid = OLD.chat_jid AND " + packageOf(TABLE_DELETED_FOR_ME) + " = " + packageOf("OLD") + " " +
+                "AND NOT EXISTS (SELECT 1 FROM " + TABLE_DELETED_CHATS + " WHERE chat_jid = OLD.chat_jid AND package_name = " + packageOf("OLD") + ") " +
+                "ORDER BY timestamp DESC, _id DESC LIMIT 1; " +
+                "INSERT INTO " + TABLE_DELETED_CHATS + " SELECT chat_jid, " + all + ", chat_jid LIKE '%@g.us', _id, timestamp " +
+                "FROM " + TABLE_DELETED_FOR_ME + " WHERE chat_jid = OLD.chat_jid " +
+                "AND NOT EXISTS (SELECT 1 FROM " + TABLE_DELETED_CHATS + " WHERE chat_jid = OLD.chat_jid AND package_name = " + all + ") " +
+                "ORDER BY timestamp DESC, _id DESC LIMIT 1; " +
+                "END");
+    }
+
+    /**
+     * External-content FTS4 index kept in step with deleted_for_me by triggers, so every insert path
+     * (the provider and {@link #insertDeletedMessage}) feeds it without extra code.
+     */
+    private void createSearchIndex(SQLiteDatabase db) {
+        FtsQuery.createTable(db, TABLE_DELETED_SEARCH, TABLE_DELETED_FOR_ME, "text_content, media_caption");
+        String indexRow = "INSERT INTO " + TABLE_DELETED_SEARCH + " (docid, text_content, media_caption) VALUES (NEW._id, NEW.text_content, NEW.media_caption); ";
+        String unindexRow = "DELETE FROM " + TABLE_DELETED_SEARCH + " WHERE docid = OLD._id; ";
+        // Removal reads the old text back from the content table, so it has to run BEFORE the change
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_search_delete BEFORE DELETE ON " + TABLE_DELETED_FOR_ME + " BEGIN " + unindexRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_search_before_update BEFORE UPDATE OF text_content, media_caption ON " + TABLE_DELETED_FOR_ME + " BEGIN " + unindexRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_search_after_update AFTER UPDATE OF text_content, media_caption ON " + TABLE_DELETED_FOR_ME + " BEGIN " + indexRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS deleted_search_insert AFTER INSERT ON " + TABLE_DELETED_FOR_ME + " BEGIN " + indexRow + "END");
+    }
+
+    /**
+     * Fills the columns the browser filters on, for inserts that bypass {@link #insertDeletedMessage}.
+     */
+    public static void fillIndexedColumns(ContentValues values) {
+        String chatJid = values.getAsString("chat_jid");
+        values.put("is_group", chatJid != null && chatJid.endsWith("@g.us") ? 1 : 0);
+        if (values.getAsString("package_name") == null) values.put("package_name", DEFAULT_PACKAGE);
+    }
+
     public void insertMessage(String jid, String msgid, long timestamp) {
-        try (SQLiteDatabase dbWrite = this.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
-            values.put("jid", jid);
-            values.put("msgid", msgid);
-            values.put("timestamp", timestamp);
-            dbWrite.insertWithOnConflict("delmessages", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+        ContentValues values = new ContentValues();
+        values.put("jid", jid);
+        values.put("msgid", msgid);
+        values.put("timestamp", timestamp);
+        enqueue("delmessages", values, SQLiteDatabase.CONFLICT_IGNORE);
+        if (msgid != null) {
+            // Rows are insert-or-ignore, so a timestamp already known for the id stays authoritative
+            Long cached = timestampCache.get(msgid);
+            if (cached == null || cached <= 0) timestampCache.put(msgid, timestamp);
         }
     }
 
     public void insertDeletedMessage(DeletedMessage message) {
-        try (SQLiteDatabase dbWrite = this.getWritableDatabase()) {
-            ContentValues values = new ContentValues();
-            values.put("key_id", message.getKeyId());
-            values.put("chat_jid", message.getChatJid());
-            values.put("sender_jid", message.getSenderJid());
-            values.put("timestamp", message.getTimestamp());
-            values.put("original_timestamp", message.getOriginalTimestamp());
-            values.put("media_type", message.getMediaType());
-            values.put("text_content", message.getTextContent());
-            values.put("media_path", message.getMediaPath());
-            values.put("media_caption", message.getMediaCaption());
-            values.put("is_from_me", message.isFromMe() ? 1 : 0);
-            values.put("contact_name", message.getContactName());
-            values.put("package_name", message.getPackageName());
-            dbWrite.insertWithOnConflict(TABLE_DELETED_FOR_ME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-        }
+        ContentValues values = new ContentValues();
+        values.put("key_id", message.getKeyId());
+        values.put("chat_jid", message.getChatJid());
+        values.put("sender_jid", message.getSenderJid());
+        values.put("timestamp", message.getTimestamp());
+        values.put("original_timestamp", message.getOriginalTimestamp());
+        values.put("media_type", message.getMediaType());
+        values.put("text_content", message.getTextContent());
+        values.put("media_path", message.getMediaPath());
+        values.put("media_caption", message.getMediaCaption());
+        values.put("is_from_me", message.isFromMe() ? 1 : 0);
+        values.put("contact_name", message.getContactName());
+        values.put("package_name", message.getPackageName());
+        fillIndexedColumns(values);
+        enqueue(TABLE_DELETED_FOR_ME, values, SQLiteDatabase.CONFLICT_REPLACE);
     }
 
     public ArrayList<DeletedMessage> getDeletedMessagesByChat(String chatJid, String sortOrder) {
+        flush();
         ArrayList<DeletedMessage> messages = new ArrayList<>();
         SQLiteDatabase dbReader = this.getReadableDatabase();
         try (Cursor cursor = dbReader.query(TABLE_DELETED_FOR_ME, null, "chat_jid=?", new String[] { chatJid }, null,
                 null, sortOrder)) {
-            if (cursor.moveToFirst()) {
-                do {
-                    long originalTs = 0;
-                    if (cursor.getColumnIndex("original_timestamp") != -1) {
-                        originalTs = cursor.getLong(cursor.getColumnIndexOrThrow("original_timestamp"));
-                    }
-
-                    messages.add(new DeletedMessage(
-                            cursor.getLong(cursor.getColumnIndexOrThrow("_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("key_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("chat_jid")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("sender_jid")),
-                            cursor.getLong(cursor.getColumnIndexOrThrow("timestamp")),
-                            originalTs,
-                            cursor.getInt(cursor.getColumnIndexOrThrow("media_type")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("text_content")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_path")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_caption")),
-                            cursor.getInt(cursor.getColumnIndexOrThrow("is_from_me")) == 1,
-                            cursor.getString(cursor.getColumnIndexOrThrow("contact_name")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("package_name"))));
-                } while (cursor.moveToNext());
+            while (cursor.moveToNext()) {
+                messages.add(readMessage(cursor));
             }
         }
         return messages;
@@ -203,102 +404,181 @@ public class DelMessageStore extends SQLiteOpenHelper {
     }
 
     public ArrayList<DeletedMessage> getDeletedMessages(boolean isGroup) {
+        flush();
         ArrayList<DeletedMessage> messages = new ArrayList<>();
         SQLiteDatabase dbReader = this.getReadableDatabase();
-        String selection = isGroup ? "chat_jid LIKE '%@g.us'" : "chat_jid NOT LIKE '%@g.us'";
+        try (Cursor cursor = dbReader.query(TABLE_DELETED_FOR_ME, null, "is_group=?",
+                new String[] { isGroup ? "1" : "0" }, null, null, "timestamp DESC")) {
+            while (cursor.moveToNext()) {
+                messages.add(readMessage(cursor));
+            }
+        }
+        return messages;
+    }
 
-        try (Cursor cursor = dbReader.query(TABLE_DELETED_FOR_ME, null, selection, null, null, null,
-                "timestamp DESC")) {
-            if (cursor.moveToFirst()) {
-                do {
-                    long originalTs = 0;
-                    if (cursor.getColumnIndex("original_timestamp") != -1) {
-                        originalTs = cursor.getLong(cursor.getColumnIndexOrThrow("original_timestamp"));
-                    }
-                    messages.add(new DeletedMessage(
-                            cursor.getLong(cursor.getColumnIndexOrThrow("_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("key_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("chat_jid")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("sender_jid")),
-                            cursor.getLong(cursor.getColumnIndexOrThrow("timestamp")),
-                            originalTs,
-                            cursor.getInt(cursor.getColumnIndexOrThrow("media_type")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("text_content")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_path")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_caption")),
-                            cursor.getInt(cursor.getColumnIndexOrThrow("is_from_me")) == 1,
-                            cursor.getString(cursor.getColumnIndexOrThrow("contact_name")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("package_name"))));
-                } while (cursor.moveToNext());
+    /**
+     * One page of the chat list: the latest deleted message of each chat, newest first.
+     *
+     * @param packageName a package name, or {@link #ALL_PACKAGES}
+     * @param after       last item of the previous page, or null for the first page
+     */
+    public ArrayList<DeletedMessage> getDeletedChats(boolean isGroup, String packageName, DeletedMessage after, int limit) {
+        flush();
+        ArrayList<DeletedMessage> messages = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT m.* FROM " + TABLE_DELETED_CHATS + " c JOIN " + TABLE_DELETED_FOR_ME
+                + " m ON m._id = c.last_id WHERE c.package_name = ? AND c.is_group = ?");
+        ArrayList<String> args = new ArrayList<>();
+        args.add(packageName);
+        args.add(isGroup ? "1" : "0");
+        if (after != null) {
+            // Keyset pagination: resume strictly after (timestamp, chat_jid) of the last row shown
+            sql.append(" AND (c.last_timestamp < ? OR (c.last_timestamp = ? AND c.chat_jid < ?))");
+            args.add(String.valueOf(after.getTimestamp()));
+            args.add(String.valueOf(after.getTimestamp()));
+            args.add(after.getChatJid());
+        }
+        sql.append(" ORDER BY c.last_timestamp DESC, c.chat_jid DESC LIMIT ").append(limit);
+        SQLiteDatabase dbReader = this.getReadableDatabase();
+        try (Cursor cursor = dbReader.rawQuery(sql.toString(), args.toArray(new String[0]))) {
+            while (cursor.moveToNext()) {
+                messages.add(readMessage(cursor));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * One page of deleted messages whose text or caption contains every word of {@code query} (as a
+     * prefix), most relevant first by {@link FtsQuery#rank} and newest first among equals.
+     * <p>
+     * Every match is ranked from its matchinfo() blob, which the index answers without reading the
+     * messages; only the rows of the returned page are read.
+     *
+     * @param packageName a package name, or {@link #ALL_PACKAGES}
+     * @param after       last item of the previous page, or null for the first page
+     */
+    public ArrayList<DeletedMessage> searchDeletedMessages(String query, boolean isGroup, String packageName,
+            DeletedMessage after, int limit) {
+        ArrayList<DeletedMessage> messages = new ArrayList<>();
+        String match = FtsQuery.build(query);
+        if (match == null) return messages;
+        flush();
+        StringBuilder sql = new StringBuilder("SELECT d._id, d.timestamp, matchinfo(" + TABLE_DELETED_SEARCH + ", '"
+                + FtsQuery.MATCHINFO_FORMAT + "') FROM " + TABLE_DELETED_SEARCH + " JOIN " + TABLE_DELETED_FOR_ME
+                + " d ON d._id = " + TABLE_DELETED_SEARCH + ".docid WHERE " + TABLE_DELETED_SEARCH + " MATCH ? AND d.is_group = ?");
+        ArrayList<String> args = new ArrayList<>();
+        args.add(match);
+        args.add(isGroup ? "1" : "0");
+        if (!ALL_PACKAGES.equals(packageName)) {
+            sql.append(" AND d.package_name = ?");
+            args.add(packageName);
+        }
+        var cursorHit = after == null ? null : new SearchHit(after.getId(), after.getTimestamp(), after.getSearchRank());
+        ArrayList<SearchHit> hits = new ArrayList<>();
+        SQLiteDatabase dbReader = this.getReadableDatabase();
+        try (Cursor cursor = dbReader.rawQuery(sql.toString(), args.toArray(new String[0]))) {
+            while (cursor.moveToNext()) {
+                var hit = new SearchHit(cursor.getLong(0), cursor.getLong(1), FtsQuery.rank(cursor.getBlob(2)));
+                if (cursorHit == null || SearchHit.ORDER.compare(hit, cursorHit) > 0) hits.add(hit);
             }
         }
+        if (hits.isEmpty()) return messages;
+        hits.sort(SearchHit.ORDER);
+        if (hits.size() > limit) hits.subList(limit, hits.size()).clear();
+
+        StringBuilder ids = new StringBuilder();
+        String[] idArgs = new String[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            ids.append(i == 0 ? "?" : ",?");
+            idArgs[i] = String.valueOf(hits.get(i).id);
+        }
+        Map<Long, DeletedMessage> rows = new HashMap<>();
+        try (Cursor cursor = dbReader.rawQuery("SELECT * FROM " + TABLE_DELETED_FOR_ME + " WHERE _id IN (" + ids + ")", idArgs)) {
+            while (cursor.moveToNext()) {
+                var message = readMessage(cursor);
+                rows.put(message.getId(), message);
+            }
+        }
+        for (var hit : hits) {
+            var message = rows.get(hit.id);
+            if (message == null) continue;
+            message.setSearchRank(hit.rank);
+            messages.add(message);
+        }
         return messages;
     }
 
+    private record SearchHit(long id, long timestamp, double rank) {
+        // Best rank first, then newest, then the row id so the order is total for keyset paging
+        static final Comparator<SearchHit> ORDER = Comparator.comparingDouble(SearchHit::rank).reversed()
+                .thenComparing(Comparator.comparingLong(SearchHit::timestamp).reversed())
+                .thenComparing(Comparator.comparingLong(SearchHit::id).reversed());
+    }
+
+    private static DeletedMessage readMessage(Cursor cursor) {
+        long originalTs = 0;
+        if (cursor.getColumnIndex("original_timestamp") != -1) {
+            originalTs = cursor.getLong(cursor.getColumnIndexOrThrow("original_timestamp"));
+        }
+        return new DeletedMessage(
+                cursor.getLong(cursor.getColumnIndexOrThrow("_id")),
+                cursor.getString(cursor.getColumnIndexOrThrow("key_id")),
+                cursor.getString(cursor.getColumnIndexOrThrow("chat_jid")),
+                cursor.getString(cursor.getColumnIndexOrThrow("sender_jid")),
+                cursor.getLong(cursor.getColumnIndexOrThrow("timestamp")),
+                originalTs,
+                cursor.getInt(cursor.getColumnIndexOrThrow("media_type")),
+                cursor.getString(cursor.getColumnIndexOrThrow("text_content")),
+                cursor.getString(cursor.getColumnIndexOrThrow("media_path")),
+                cursor.getString(cursor.getColumnIndexOrThrow("media_caption")),
+                cursor.getInt(cursor.getColumnIndexOrThrow("is_from_me")) == 1,
+                cursor.getString(cursor.getColumnIndexOrThrow("contact_name")),
+                cursor.getString(cursor.getColumnIndexOrThrow("package_name")));
+    }
+
     public ArrayList<DeletedMessage> getAllDeletedMessagesInternal() {
+        flush();
         ArrayList<DeletedMessage> messages = new ArrayList<>();
         SQLiteDatabase dbReader = this.getReadableDatabase();
-        try (dbReader;
-                Cursor cursor = dbReader.query(TABLE_DELETED_FOR_ME, null, null, null, null, null, "timestamp DESC")) {
-            if (cursor.moveToFirst()) {
-                do {
-                    long originalTs = 0;
-                    if (cursor.getColumnIndex("original_timestamp") != -1) {
-                        originalTs = cursor.getLong(cursor.getColumnIndexOrThrow("original_timestamp"));
-                    }
-                    messages.add(new DeletedMessage(
-                            cursor.getLong(cursor.getColumnIndexOrThrow("_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("key_id")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("chat_jid")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("sender_jid")),
-                            cursor.getLong(cursor.getColumnIndexOrThrow("timestamp")),
-                            originalTs,
-                            cursor.getInt(cursor.getColumnIndexOrThrow("media_type")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("text_content")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_path")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("media_caption")),
-                            cursor.getInt(cursor.getColumnIndexOrThrow("is_from_me")) == 1,
-                            cursor.getString(cursor.getColumnIndexOrThrow("contact_name")),
-                            cursor.getString(cursor.getColumnIndexOrThrow("package_name"))));
-                } while (cursor.moveToNext());
+        try (Cursor cursor = dbReader.query(TABLE_DELETED_FOR_ME, null, null, null, null, null, "timestamp DESC")) {
+            while (cursor.moveToNext()) {
+                messages.add(readMessage(cursor));
             }
         }
         return messages;
     }
 
     public void deleteMessage(String keyId) {
-        try (SQLiteDatabase dbWrite = this.getWritableDatabase()) {
-            dbWrite.delete(TABLE_DELETED_FOR_ME, "key_id=?", new String[] { keyId });
-        }
+        flush();
+        this.getWritableDatabase().delete(TABLE_DELETED_FOR_ME, "key_id=?", new String[] { keyId });
     }
 
     public void deleteMessages(List<String> keyIds) {
         if (keyIds == null || keyIds.isEmpty())
             return;
-        try (SQLiteDatabase dbWrite = this.getWritableDatabase()) {
-            StringBuilder args = new StringBuilder();
-            for (int i = 0; i < keyIds.size(); i++) {
-                args.append("?,");
-            }
-            if (args.length() > 0)
-                args.setLength(args.length() - 1); // remove last comma
-            dbWrite.delete(TABLE_DELETED_FOR_ME, "key_id IN (" + args.toString() + ")", keyIds.toArray(new String[0]));
+        flush();
+        SQLiteDatabase dbWrite = this.getWritableDatabase();
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < keyIds.size(); i++) {
+            args.append("?,");
         }
+        if (args.length() > 0)
+            args.setLength(args.length() - 1); // remove last comma
+        dbWrite.delete(TABLE_DELETED_FOR_ME, "key_id IN (" + args.toString() + ")", keyIds.toArray(new String[0]));
     }
 
     public void deleteMessagesByChat(String chatJid) {
-        try (SQLiteDatabase dbWrite = this.getWritableDatabase()) {
-            dbWrite.delete(TABLE_DELETED_FOR_ME, "chat_jid=?", new String[] { chatJid });
-        }
+        flush();
+        this.getWritableDatabase().delete(TABLE_DELETED_FOR_ME, "chat_jid=?", new String[] { chatJid });
     }
 
     public HashSet<String> getMessagesByJid(String jid) {
         HashSet<String> messages = new HashSet<>();
         if (jid == null)
             return messages;
+        flush();
         SQLiteDatabase dbReader = this.getReadableDatabase();
-        try (dbReader;
-                Cursor query = dbReader.query("delmessages", new String[] { "_id", "jid", "msgid" }, "jid=?",
+        try (Cursor query = dbReader.query("delmessages", new String[] { "_id", "jid", "msgid" }, "jid=?",
                         new String[] { jid }, null, null, null)) {
             if (query.moveToFirst()) {
                 do {
@@ -314,6 +594,8 @@ public class DelMessageStore extends SQLiteOpenHelper {
         sqLiteDatabase.execSQL(
                 "CREATE TABLE IF NOT EXISTS delmessages (_id INTEGER PRIMARY KEY AUTOINCREMENT, jid TEXT, msgid TEXT, timestamp INTEGER DEFAULT 0, UNIQUE(jid, msgid))");
         createDeletedForMeTable(sqLiteDatabase);
+        createChatSummary(sqLiteDatabase);
+        createSearchIndex(sqLiteDatabase);
         sqLiteDatabase.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_WA_CONTACTS + " (" +
                 "jid TEXT PRIMARY KEY, " +
                 "display_name TEXT, " +
@@ -325,6 +607,7 @@ public class DelMessageStore extends SQLiteOpenHelper {
         if (msgid == null) return 0;
         Long cached = timestampCache.get(msgid);
         if (cached != null) return cached;
+        flush();
         SQLiteDatabase dbReader = this.getReadableDatabase();
         try (Cursor query = dbReader.query("delmessages", new String[] { "timestamp" }, "msgid=?",
                         new String[] { msgid }, null, null, null)) {
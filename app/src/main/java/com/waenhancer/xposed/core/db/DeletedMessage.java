@@ -16,6 +16,8 @@ public class DeletedMessage {
     private boolean isFromMe;
     private String contactName;
     private String packageName;
+    // Relevance from DelMessageStore.searchDeletedMessages; carried for paging, 0 elsewhere
+    private double searchRank;
 
     public DeletedMessage(long id, String keyId, String chatJid, String senderJid, long timestamp, int mediaType,
             String textContent, String mediaPath, String mediaCaption, boolean isFromMe) {
@@ -156,6 +158,14 @@ public class DeletedMessage {
         this.packageName = packageName;
     }
 
+    public double getSearchRank() {
+        return searchRank;
+    }
+
+    public void setSearchRank(double searchRank) {
+        this.searchRank = searchRank;
+    }
+
     @NonNull
     @Override
     public String toString() {
@@ -0,0 +1,83 @@
+package com.waenhancer.xposed.core.db;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Helpers for the FTS4 index of {@link DelMessageStore}.
+ */
+final class FtsQuery {
+
+    /**
+     * {@code matchinfo()} format {@link #rank} reads: phrase count, column count, row count, then
+     * per phrase and column the hits in this row, in all rows and the rows with a hit.
+     */
+    static final String MATCHINFO_FORMAT = "pcnx";
+
+    private FtsQuery() {
+    }
+
+    /**
+     * Relevance of one row from its {@code matchinfo(table, 'pcnx')} blob: the hits of every phrase
+     * weighted by how rare the phrase is across the index (tf-idf), so a word seen in few messages
+     * counts more than a common one and repeated hits count more than one. Higher is better.
+     */
+    static double rank(byte[] matchinfo) {
+        if (matchinfo == null || matchinfo.length < 12) return 0;
+        var info = ByteBuffer.wrap(matchinfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = info.get(0);
+        int columns = info.get(1);
+        long rows = info.get(2) & 0xffffffffL;
+        if (info.limit() < 3 + 3 * phrases * columns) return 0;
+        double score = 0;
+        for (int i = 0; i < phrases * columns; i++) {
+            long rowHits = info.get(3 + 3 * i) & 0xffffffffL;
+            long rowsWithHit = info.get(5 + 3 * i) & 0xffffffffL;
+            if (rowHits == 0 || rowsWithHit == 0) continue;
+            score += rowHits * Math.log(1 + (double) rows / rowsWithHit);
+        }
+        return score;
+    }
+
+    /**
+     * Turns free text typed by the user into an FTS4 MATCH expression: every word becomes a quoted
+     * prefix term and all of them must match. Quotes and operators in the input are dropped, so the
+     * result is always a valid expression.
+     *
+     * @return the expression, or null when the input has no searchable word
+     */
+    static String build(String input) {
+        if (input == null) return null;
+        StringBuilder query = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= input.length(); i++) {
+            char c = i < input.length() ? input.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+                continue;
+            }
+            if (word.length() == 0) continue;
+            if (query.length() > 0) query.append(' ');
+            query.append('"').append(word).append("*\"");
+            word.setLength(0);
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+
+    /**
+     * Creates an external-content FTS4 table; unicode61 folds case and accents beyond ASCII but is
+     * missing from some vendor SQLite builds, where the default tokenizer is used instead.
+     */
+    static void createTable(SQLiteDatabase db, String name, String contentTable, String columns) {
+        try {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + name + " USING fts4(content=\"" + contentTable + "\", "
+                    + columns + ", tokenize=unicode61)");
+        } catch (SQLiteException e) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + name + " USING fts4(content=\"" + contentTable + "\", "
+                    + columns + ")");
+        }
+    }
+}
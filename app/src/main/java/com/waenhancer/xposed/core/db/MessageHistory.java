@@ -40,7 +40,7 @@ public class MessageHistory extends SQLiteOpenHelper {
     public static final String DATABASE_NAME = BuildConfig.APPLICATION_ID.replace('.', '_') + "_message_history.db";
 
     public MessageHistory(Context context, String name) {
-        super(context, name, null, 7);
+        super(context, name, null, 9);
         messagesCache = new LruCache<>(MESSAGE_CACHE_SIZE);
         seenMessageCache = new LruCache<>(SEEN_MESSAGE_CACHE_SIZE);
         seenMessagesListCache = new LruCache<>(SEEN_MESSAGES_LIST_CACHE_SIZE);
@@ -252,7 +252,15 @@ public class MessageHistory extends SQLiteOpenHelper {
             /* Log removed */
             sqLiteDatabase.execSQL("DROP TABLE IF EXISTS MessageHistory;");
             sqLiteDatabase.execSQL("DROP TABLE IF EXISTS hide_seen_messages;");
+            sqLiteDatabase.execSQL("DROP TABLE IF EXISTS MessageHistory_fts;");
             onCreate(sqLiteDatabase);
+            return;
+        }
+        if (oldVersion < 9) {
+            // Version 8 kept an edit-history search index nothing read
+            sqLiteDatabase.execSQL("DROP TRIGGER IF EXISTS message_history_search_insert;");
+            sqLiteDatabase.execSQL("DROP TRIGGER IF EXISTS message_history_search_delete;");
+            sqLiteDatabase.execSQL("DROP TABLE IF EXISTS MessageHistory_fts;");
         }
     }
 
@@ -262,6 +270,7 @@ public class MessageHistory extends SQLiteOpenHelper {
             /* Log removed */
             sqLiteDatabase.execSQL("DROP TABLE IF EXISTS MessageHistory;");
             sqLiteDatabase.execSQL("DROP TABLE IF EXISTS hide_seen_messages;");
+            sqLiteDatabase.execSQL("DROP TABLE IF EXISTS MessageHistory_fts;");
             onCreate(sqLiteDatabase);
         } catch (Throwable t) {
             Utils.logError("Failed to handle database downgrade: " + t.getMessage());
@@ -3,6 +3,7 @@ package com.waenhancer.xposed.core.db;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 
+import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.utils.Utils;
 
 import java.io.File;
@@ -59,6 +60,7 @@ public class MessageStore {
         if (sqLiteDatabase == null) return "";
         String message = "";
         Cursor cursor = null;
+        long perfStart = PerfLogger.start();
         try {
             String[] columns = new String[]{"c0content"};
             String selection = "docid=?";
@@ -72,6 +74,7 @@ public class MessageStore {
             XposedBridge.log(e);
         } finally {
             if (cursor != null) cursor.close();
+            PerfLogger.end("MessageStore.getMessageById", perfStart, 4);
         }
         return message;
     }
@@ -81,12 +84,15 @@ public class MessageStore {
         String[] columns = new String[]{"text_data"};
         String selection = "key_id=?";
         String[] selectionArgs = new String[]{message_key};
+        long perfStart = PerfLogger.start();
         try (Cursor cursor = sqLiteDatabase.query("message", columns, selection, selectionArgs, null, null, null)) {
             if (cursor.moveToFirst()) {
                 return cursor.getString(0);
             }
         } catch (Exception e) {
             XposedBridge.log(e);
+        } finally {
+            PerfLogger.end("MessageStore.getCurrentMessageByKey", perfStart, 4);
         }
         return "";
     }
@@ -96,12 +102,15 @@ public class MessageStore {
         String[] columns = new String[]{"_id"};
         String selection = "key_id=?";
         String[] selectionArgs = new String[]{message_key};
+        long perfStart = PerfLogger.start();
         try (Cursor cursor = sqLiteDatabase.query("message", columns, selection, selectionArgs, null, null, null)) {
             if (cursor.moveToFirst()) {
                 return cursor.getLong(0);
             }
         } catch (Exception e) {
             XposedBridge.log(e);
+        } finally {
+            PerfLogger.end("MessageStore.getIdfromKey", perfStart, 4);
         }
         return -1;
     }
@@ -111,12 +120,15 @@ public class MessageStore {
         String[] columns = new String[]{"file_path"};
         String selection = "message_row_id=?";
         String[] selectionArgs = new String[]{String.valueOf(id)};
+        long perfStart = PerfLogger.start();
         try (Cursor cursor = sqLiteDatabase.query("message_media", columns, selection, selectionArgs, null, null, null)) {
             if (cursor.moveToFirst()) {
                 return cursor.getString(0);
             }
         } catch (Exception e) {
             XposedBridge.log(e);
+        } finally {
+            PerfLogger.end("MessageStore.getMediaFromID", perfStart, 4);
         }
         return null;
     }
@@ -126,12 +138,15 @@ public class MessageStore {
         String[] columns = new String[]{"text_data"};
         String selection = "_id=?";
         String[] selectionArgs = new String[]{String.valueOf(row_id)};
+        long perfStart = PerfLogger.start();
         try (Cursor cursor = sqLiteDatabase.query("message", columns, selection, selectionArgs, null, null, null)) {
             if (cursor.moveToFirst()) {
                 return cursor.getString(0);
             }
         } catch (Exception e) {
             XposedBridge.log(e);
+        } finally {
+            PerfLogger.end("MessageStore.getCurrentMessageByID", perfStart, 4);
         }
         return "";
     }
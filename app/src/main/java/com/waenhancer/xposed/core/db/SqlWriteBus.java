@@ -0,0 +1,208 @@
+package com.waenhancer.xposed.core.db;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.robv.android.xposed.XC_MethodHook;
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * One set of hooks over WhatsApp's {@link SQLiteDatabase} inserts, updates and deletes, shared by
+ * every feature that needs to see or veto them.
+ * <p>
+ * Subscribers register per operation and table. Each operation is hooked the first time someone
+ * subscribes to it, and a write to a table nobody watches costs a single map lookup; no event is
+ * built for it. {@code insert}/{@code replace} and {@code update} end up in
+ * {@code insertWithOnConflict} and {@code updateWithOnConflict}, so those are covered too.
+ * <p>
+ * Subscribers run on the writing thread, often inside WhatsApp's transaction. Anything that does
+ * not decide the outcome of the write belongs on another thread.
+ */
+public final class SqlWriteBus {
+
+    public enum Op {
+        INSERT("insertWithOnConflict"),
+        UPDATE("updateWithOnConflict"),
+        DELETE("delete");
+
+        final String method;
+
+        Op(String method) {
+            this.method = method;
+        }
+    }
+
+    public interface Subscriber {
+        void onWrite(@NonNull Write write);
+    }
+
+    /**
+     * One intercepted write. Built only for watched tables and valid for the duration of the call.
+     */
+    public static final class Write {
+        public final Op op;
+        public final SQLiteDatabase db;
+        public final String table;
+        /** Inserted or updated values; null for deletes. */
+        @Nullable
+        public final ContentValues values;
+        /** WHERE clause of updates and deletes. */
+        @Nullable
+        public final String where;
+        @Nullable
+        public final String[] whereArgs;
+        private final XC_MethodHook.MethodHookParam param;
+        private final boolean before;
+        private boolean blocked;
+
+        private Write(Op op, String table, XC_MethodHook.MethodHookParam param, boolean before) {
+            this.op = op;
+            this.db = (SQLiteDatabase) param.thisObject;
+            this.table = table;
+            this.param = param;
+            this.before = before;
+            var args = param.args;
+            switch (op) {
+                case INSERT -> {
+                    values = arg(args, 2, ContentValues.class);
+                    where = null;
+                    whereArgs = null;
+                }
+                case UPDATE -> {
+                    values = arg(args, 1, ContentValues.class);
+                    where = arg(args, 2, String.class);
+                    whereArgs = arg(args, 3, String[].class);
+                }
+                default -> {
+                    values = null;
+                    where = arg(args, 1, String.class);
+                    whereArgs = arg(args, 2, String[].class);
+                }
+            }
+        }
+
+        /**
+         * Skips the write and makes it return {@code result} (a row id for inserts, a row count
+         * otherwise). Only subscribers registered with {@link #before} can block.
+         */
+        public void block(Object result) {
+            if (!before) throw new IllegalStateException("Write already executed");
+            param.setResult(result);
+            blocked = true;
+        }
+
+        public boolean isBlocked() {
+            return blocked;
+        }
+
+        /**
+         * Whether the write threw; always false for {@link #before} subscribers.
+         */
+        public boolean failed() {
+            return !before && param.hasThrowable();
+        }
+
+        /**
+         * What the write returned (a row id for inserts, a row count otherwise); null for
+         * {@link #before} subscribers and writes that threw.
+         */
+        @Nullable
+        public Object result() {
+            return before || param.hasThrowable() ? null : param.getResult();
+        }
+
+        @Nullable
+        private static <T> T arg(Object[] args, int index, Class<T> type) {
+            return index < args.length && type.isInstance(args[index]) ? type.cast(args[index]) : null;
+        }
+    }
+
+    private static final Subscriber[] NONE = new Subscriber[0];
+    private static final Map<Op, Route> routes = new HashMap<>();
+
+    static {
+        for (var op : Op.values()) routes.put(op, new Route(op));
+    }
+
+    private SqlWriteBus() {
+    }
+
+    /**
+     * Calls {@code subscriber} before every {@code op} on {@code table}; it may {@link Write#block}
+     * the write, which stops dispatch to the remaining subscribers.
+     */
+    public static void before(@NonNull Op op, @NonNull String table, @NonNull Subscriber subscriber) {
+        routes.get(op).add(table, subscriber, true);
+    }
+
+    /**
+     * Calls {@code subscriber} after every {@code op} on {@code table}, including writes that threw
+     * or were blocked.
+     */
+    public static void after(@NonNull Op op, @NonNull String table, @NonNull Subscriber subscriber) {
+        routes.get(op).add(table, subscriber, false);
+    }
+
+    private static final class Route extends XC_MethodHook {
+        private final Op op;
+        // Copy-on-write; the hook only ever reads the current snapshot
+        private volatile Map<String, Subscriber[]> before = Collections.emptyMap();
+        private volatile Map<String, Subscriber[]> after = Collections.emptyMap();
+        private boolean hooked;
+
+        Route(Op op) {
+            this.op = op;
+        }
+
+        synchronized void add(String table, Subscriber subscriber, boolean isBefore) {
+            var current = isBefore ? before : after;
+            var copy = new HashMap<>(current);
+            var list = copy.getOrDefault(table, NONE);
+            list = Arrays.copyOf(list, list.length + 1);
+            list[list.length - 1] = subscriber;
+            copy.put(table, list);
+            if (isBefore) {
+                before = copy;
+            } else {
+                after = copy;
+            }
+            if (!hooked) {
+                hooked = true;
+                XposedBridge.hookAllMethods(SQLiteDatabase.class, op.method, this);
+            }
+        }
+
+        @Override
+        protected void beforeHookedMethod(MethodHookParam param) {
+            dispatch(before, param, true);
+        }
+
+        @Override
+        protected void afterHookedMethod(MethodHookParam param) {
+            dispatch(after, param, false);
+        }
+
+        private void dispatch(Map<String, Subscriber[]> subscribers, MethodHookParam param, boolean isBefore) {
+            if (subscribers.isEmpty() || !(param.args[0] instanceof String table)) return;
+            var list = subscribers.get(table);
+            if (list == null) return;
+            var write = new Write(op, table, param, isBefore);
+            for (var subscriber : list) {
+                try {
+                    subscriber.onWrite(write);
+                } catch (Throwable t) {
+                    XposedBridge.log("[WAEX] SqlWriteBus " + op + " " + table + ": " + t);
+                }
+                if (write.blocked) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.waenhancer.xposed.core.devkit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only binary store for resolved hook descriptors.
+ * <p>
+ * Layout: a header identifying the WhatsApp build and module build the entries belong to,
+ * followed by records of a length-prefixed UTF-8 key, a kind byte (see {@link HookTable}) and a
+ * length-prefixed UTF-8 value. The file is memory-mapped once on open;
+ * a header mismatch or a torn record at the tail simply ends the readable part. New entries are
+ * buffered in memory and appended with a single write and fsync when {@link #flush()} runs;
+ * entries arriving after that are collected for {@value #LATE_FLUSH_DELAY_MS} ms and appended together.
+ */
+final class HookCacheFile {
+
+    private static final int MAGIC = 0x57414543; // "WAEC"
+    private static final int FORMAT_VERSION = 2;
+    private static final long LATE_FLUSH_DELAY_MS = 500;
+    private static final ScheduledExecutorService lateFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "WaeHookCacheFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File file;
+    private final long waVersionCode;
+    private final long moduleUpdateTime;
+    private final String moduleVersionName;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+    private long validLength;
+    private volatile boolean deferWrites = true;
+    private boolean flushScheduled;
+
+    HookCacheFile(@NonNull File file, long waVersionCode, long moduleUpdateTime, @NonNull String moduleVersionName) {
+        this.file = file;
+        this.waVersionCode = waVersionCode;
+        this.moduleUpdateTime = moduleUpdateTime;
+        this.moduleVersionName = moduleVersionName;
+    }
+
+    /**
+     * Loads the file if it was written for the same WhatsApp and module build.
+     *
+     * @return false when the cache is cold and every lookup has to be resolved again
+     */
+    synchronized boolean open() {
+        entries.clear();
+        pending.clear();
+        validLength = 0;
+        if (!file.isFile()) return false;
+        try (var raf = new RandomAccessFile(file, "r"); var channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!readHeader(buffer)) return false;
+            long end = buffer.position();
+            while (buffer.hasRemaining()) {
+                String key = readString(buffer);
+                if (key == null || !buffer.hasRemaining()) break;
+                byte kind = buffer.get();
+                String value = readString(buffer);
+                if (value == null) break;
+                entries.put(key, new Entry(kind, value));
+                end = buffer.position();
+            }
+            validLength = end;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            entries.clear();
+            validLength = 0;
+            return false;
+        }
+    }
+
+    @Nullable
+    String get(@NonNull String key) {
+        var entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Copy of every entry currently known, including ones not flushed yet.
+     */
+    Map<String, Entry> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+
+    void put(@NonNull String key, byte kind, @NonNull String value) {
+        var entry = new Entry(kind, value);
+        if (entry.equals(entries.put(key, entry))) return;
+        synchronized (this) {
+            pending.put(key, entry);
+            if (deferWrites || flushScheduled) return;
+            flushScheduled = true;
+        }
+        lateFlusher.schedule(this::flush, LATE_FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends every entry added since the last flush. After the first call, later entries
+     * (lazy features, late pro capabilities) are batched and flushed shortly after they arrive.
+     */
+    synchronized void flush() {
+        deferWrites = false;
+        flushScheduled = false;
+        if (pending.isEmpty()) return;
+        try {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            if (validLength == 0) writeHeader(out);
+            for (var entry : pending.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeByte(entry.getValue().kind);
+                writeString(out, entry.getValue().value);
+            }
+            out.flush();
+            try (var raf = new RandomAccessFile(file, "rw"); var channel = raf.getChannel()) {
+                // Drops a torn record left behind by a previous process death
+                channel.truncate(validLength);
+                channel.position(validLength);
+                var buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                validLength = channel.position();
+            }
+            pending.clear();
+        } catch (IOException e) {
+            // Entries stay in memory for this session and are retried on the next flush
+        }
+    }
+
+    /**
+     * Drops every entry and rewrites the file with just the header.
+     */
+    synchronized void clear() {
+        entries.clear();
+        pending.clear();
+        validLength = 0;
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        try {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            writeHeader(out);
+            out.flush();
+            try (var raf = new RandomAccessFile(file, "rw"); var channel = raf.getChannel()) {
+                channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+                channel.force(false);
+                validLength = channel.position();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    static final class Entry {
+        final byte kind;
+        final String value;
+
+        Entry(byte kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other && kind == other.kind && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, value);
+        }
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(waVersionCode);
+        out.writeLong(moduleUpdateTime);
+        writeString(out, moduleVersionName);
+    }
+
+    private boolean readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < 24) return false;
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return false;
+        if (buffer.getLong() != waVersionCode || buffer.getLong() != moduleUpdateTime) return false;
+        return moduleVersionName.equals(readString(buffer));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    @Nullable
+    private static String readString(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) return null;
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) return null;
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,272 @@
+package com.waenhancer.xposed.core.devkit;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.waenhancer.xposed.utils.ReflectionUtils;
+
+import org.json.JSONObject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Reflection handles for every hook descriptor found in the cache file at startup.
+ * <p>
+ * Each cached key gets a fixed integer id. {@link #preload(ClassLoader)} resolves all of them in
+ * one pass on a background thread; a lookup that arrives before its slot is filled resolves that
+ * entry inline and stores it, so every descriptor is turned into a {@link Method}/{@link Field}/
+ * {@link Class} at most once per process.
+ * <p>
+ * Ids follow the order of the cache file, which differs per WhatsApp version and is empty on a cold
+ * start, so features cannot hold them as constants. Their load* calls map the key to its id with
+ * one probe and then read the slot; those calls run once per feature while hooks are installed,
+ * and the hooks keep the returned handles.
+ */
+public final class HookTable {
+
+    public static final byte KIND_CLASS = 1;
+    public static final byte KIND_CLASSES = 2;
+    public static final byte KIND_METHOD = 3;
+    public static final byte KIND_METHODS = 4;
+    public static final byte KIND_FIELD = 5;
+    public static final byte KIND_FIELDS = 6;
+    public static final byte KIND_CONSTRUCTOR = 7;
+    public static final byte KIND_NUMBER = 8;
+    public static final byte KIND_FIELD_MAP = 9;
+
+    private final Map<String, Integer> ids;
+    private final String[] keys;
+    private final byte[] kinds;
+    private final String[] values;
+    private final AtomicReferenceArray<Object> slots;
+    private final long[] resolveNanos;
+    private final String[] errors;
+    private volatile ClassLoader loader;
+    private volatile long preloadNanos;
+
+    HookTable(@NonNull Map<String, HookCacheFile.Entry> entries) {
+        int size = entries.size();
+        ids = new HashMap<>(size * 2);
+        keys = new String[size];
+        kinds = new byte[size];
+        values = new String[size];
+        slots = new AtomicReferenceArray<>(size);
+        resolveNanos = new long[size];
+        errors = new String[size];
+        int id = 0;
+        for (var entry : entries.entrySet()) {
+            keys[id] = entry.getKey();
+            kinds[id] = entry.getValue().kind;
+            values[id] = entry.getValue().value;
+            ids.put(entry.getKey(), id);
+            id++;
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the slot id of a cached key, or -1 when it was not in the cache at startup
+     */
+    public int idOf(@NonNull String key) {
+        var id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    public byte kindOf(int id) {
+        return kinds[id];
+    }
+
+    /**
+     * Resolves every slot with the given loader. Meant to run once, off the main thread.
+     */
+    public void preload(@NonNull ClassLoader classLoader) {
+        loader = classLoader;
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int id = 0; id < keys.length; id++) {
+            try {
+                get(id, classLoader);
+            } catch (Throwable ignored) {
+                // Recorded in errors; the feature asking for it gets the exception inline
+            }
+        }
+        preloadNanos = SystemClock.elapsedRealtimeNanos() - start;
+    }
+
+    /**
+     * Returns the handle in a slot, resolving it now if the background pass has not reached it.
+     * Handles resolved against another class loader are not stored.
+     */
+    public Object get(int id, @NonNull ClassLoader classLoader) throws Exception {
+        var handle = slots.get(id);
+        if (handle != null && classLoader == loader) return handle;
+        long start = SystemClock.elapsedRealtimeNanos();
+        try {
+            handle = decode(kinds[id], values[id], classLoader);
+        } catch (Exception | Error t) {
+            errors[id] = t.getClass().getSimpleName() + ": " + t.getMessage();
+            throw t;
+        }
+        if (loader == null) loader = classLoader;
+        if (classLoader != loader) return handle;
+        resolveNanos[id] = SystemClock.elapsedRealtimeNanos() - start;
+        errors[id] = null;
+        return slots.compareAndSet(id, null, handle) ? handle : slots.get(id);
+    }
+
+    /**
+     * One line per slot with its resolution time, slowest first. Meant for logs and bug reports.
+     */
+    @NonNull
+    public String dump() {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(resolveNanos[b], resolveNanos[a]));
+        var builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "HookTable: %d entries, preload %.2fms%n",
+                keys.length, preloadNanos / 1_000_000.0));
+        for (int id : order) {
+            String status = errors[id] != null ? "FAILED " + errors[id] : slots.get(id) == null ? "pending" : "ok";
+            builder.append(String.format(Locale.US, "#%d %s [%s] %.3fms %s%n",
+                    id, keys[id], kindName(kinds[id]), resolveNanos[id] / 1_000_000.0, status));
+        }
+        return builder.toString();
+    }
+
+    static Object decode(byte kind, String value, ClassLoader loader) throws Exception {
+        return switch (kind) {
+            case KIND_CLASS -> XposedHelpers.findClass(value, loader);
+            case KIND_CLASSES -> {
+                String[] names = value.split("&");
+                Class<?>[] classes = new Class<?>[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    classes[i] = XposedHelpers.findClass(names[i], loader);
+                }
+                yield classes;
+            }
+            case KIND_METHOD -> decodeMethod(value, loader);
+            case KIND_METHODS -> {
+                String[] descriptors = value.split("&");
+                Method[] methods = new Method[descriptors.length];
+                for (int i = 0; i < descriptors.length; i++) {
+                    methods[i] = decodeMethod(descriptors[i], loader);
+                }
+                yield methods;
+            }
+            case KIND_FIELD -> decodeField(value, loader);
+            case KIND_FIELDS -> {
+                String[] descriptors = value.split("&");
+                Field[] fields = new Field[descriptors.length];
+                for (int i = 0; i < descriptors.length; i++) {
+                    fields[i] = decodeField(descriptors[i], loader);
+                }
+                yield fields;
+            }
+            case KIND_CONSTRUCTOR -> {
+                String[] classAndParams = value.split(":");
+                Class<?> cls = XposedHelpers.findClass(classAndParams[0], loader);
+                if (classAndParams.length == 2) {
+                    yield XposedHelpers.findConstructorExact(cls, decodeParams(classAndParams[1], loader));
+                }
+                yield XposedHelpers.findConstructorExact(cls);
+            }
+            case KIND_NUMBER -> decodeNumber(value);
+            case KIND_FIELD_MAP -> decodeFieldMap(value, loader);
+            default -> throw new IllegalStateException("Unknown hook kind " + kind);
+        };
+    }
+
+    @NonNull
+    private static Method decodeMethod(String value, ClassLoader loader) {
+        String[] classAndName = value.split(":");
+        Class<?> cls = XposedHelpers.findClass(classAndName[0], loader);
+        if (classAndName.length == 3) {
+            return XposedHelpers.findMethodExact(cls, classAndName[1], decodeParams(classAndName[2], loader));
+        }
+        return XposedHelpers.findMethodExact(cls, classAndName[1]);
+    }
+
+    @NonNull
+    private static Field decodeField(String value, ClassLoader loader) {
+        String[] classAndName = value.split(":");
+        Class<?> cls = ReflectionUtils.findClass(classAndName[0], loader);
+        return XposedHelpers.findField(cls, classAndName[1]);
+    }
+
+    private static Class<?>[] decodeParams(String value, ClassLoader loader) {
+        String[] params = value.split(",");
+        Class<?>[] paramTypes = new Class<?>[params.length];
+        for (int i = 0; i < params.length; i++) {
+            paramTypes[i] = ReflectionUtils.findClass(params[i], loader);
+        }
+        return paramTypes;
+    }
+
+    private static Number decodeNumber(String value) {
+        String[] parts = value.split(":", 2);
+        String className = parts.length == 2 ? parts[0] : Integer.class.getName();
+        String numberValue = parts.length == 2 ? parts[1] : value;
+
+        return switch (className) {
+            case "java.lang.Integer" -> Integer.valueOf(numberValue);
+            case "java.lang.Long" -> Long.valueOf(numberValue);
+            case "java.lang.Float" -> Float.valueOf(numberValue);
+            case "java.lang.Double" -> Double.valueOf(numberValue);
+            case "java.lang.Short" -> Short.valueOf(numberValue);
+            case "java.lang.Byte" -> Byte.valueOf(numberValue);
+            default -> {
+                if (numberValue.contains(".")) {
+                    yield Double.valueOf(numberValue);
+                }
+                yield Long.valueOf(numberValue);
+            }
+        };
+    }
+
+    private static HashMap<String, Field> decodeFieldMap(String value, ClassLoader loader) throws Exception {
+        HashMap<String, Field> map = new HashMap<>();
+        JSONObject jsonObject = new JSONObject(value);
+        Iterator<String> keys = jsonObject.keys();
+        while (keys.hasNext()) {
+            String mapKey = keys.next();
+            // "com.package.Class:field"
+            String[] parts = jsonObject.getString(mapKey).split(":");
+            if (parts.length != 2) continue;
+            try {
+                Field field = loader.loadClass(parts[0]).getDeclaredField(parts[1]);
+                field.setAccessible(true);
+                map.put(mapKey, field);
+            } catch (Exception ignored) {
+                // Fields that no longer resolve are left out, as before
+            }
+        }
+        return map;
+    }
+
+    private static String kindName(byte kind) {
+        return switch (kind) {
+            case KIND_CLASS -> "class";
+            case KIND_CLASSES -> "classes";
+            case KIND_METHOD -> "method";
+            case KIND_METHODS -> "methods";
+            case KIND_FIELD -> "field";
+            case KIND_FIELDS -> "fields";
+            case KIND_CONSTRUCTOR -> "constructor";
+            case KIND_NUMBER -> "number";
+            case KIND_FIELD_MAP -> "field-map";
+            default -> "?";
+        };
+    }
+}
@@ -61,6 +61,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import de.robv.android.xposed.XposedBridge;
@@ -79,7 +80,7 @@ public class Unobfuscator {
     private static final String TAG = "Unobfuscator";
     private static DexKitBridge dexkit;
 
-    public static final HashMap<String, Class<?>> cacheClasses = new HashMap<>();
+    public static final ConcurrentHashMap<String, Class<?>> cacheClasses = new ConcurrentHashMap<>();
 
     static {
         try {
@@ -114,13 +115,9 @@ public class Unobfuscator {
     }
 
     // TODO: Functions to find classes and methods
-    public synchronized static Method findFirstMethodUsingStrings(ClassLoader classLoader, StringMatchType type,
+    public static Method findFirstMethodUsingStrings(ClassLoader classLoader, StringMatchType type,
                                                                   String... strings) throws Exception {
-        MethodMatcher matcher = new MethodMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(matcher));
+        MethodDataList result = UnobfuscatorBatch.findMethods(dexkit, type, strings);
         if (result.isEmpty())
             return null;
         for (MethodData methodData : result) {
@@ -130,7 +127,7 @@ public class Unobfuscator {
         return null;
     }
 
-    public synchronized static Method findFirstMethodUsingStringsFilter(ClassLoader classLoader, String packageFilter,
+    public static Method findFirstMethodUsingStringsFilter(ClassLoader classLoader, String packageFilter,
                                                                         StringMatchType type, String... strings) throws Exception {
         MethodMatcher matcher = new MethodMatcher();
         for (String string : strings) {
@@ -147,13 +144,9 @@ public class Unobfuscator {
         throw new NoSuchMethodException();
     }
 
-    public synchronized static Method[] findAllMethodUsingStrings(ClassLoader classLoader, StringMatchType type,
+    public static Method[] findAllMethodUsingStrings(ClassLoader classLoader, StringMatchType type,
                                                                   String... strings) {
-        MethodMatcher matcher = new MethodMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(matcher));
+        MethodDataList result = UnobfuscatorBatch.findMethods(dexkit, type, strings);
         if (result.isEmpty())
             return new Method[0];
         return result.stream().filter(MethodData::isMethod)
@@ -161,32 +154,24 @@ public class Unobfuscator {
                 .toArray(Method[]::new);
     }
 
-    public synchronized static Class<?> findFirstClassUsingStrings(ClassLoader classLoader, StringMatchType type,
+    public static Class<?> findFirstClassUsingStrings(ClassLoader classLoader, StringMatchType type,
                                                                    String... strings) throws Exception {
-        var matcher = new ClassMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        var result = dexkit.findClass(FindClass.create().matcher(matcher));
+        var result = UnobfuscatorBatch.findClasses(dexkit, type, strings);
         if (result.isEmpty())
             return null;
         return result.get(0).getInstance(classLoader);
     }
 
-    public synchronized static Class<?>[] findAllClassUsingStrings(ClassLoader classLoader, StringMatchType type,
+    public static Class<?>[] findAllClassUsingStrings(ClassLoader classLoader, StringMatchType type,
                                                                    String... strings) throws Exception {
-        var matcher = new ClassMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        var result = dexkit.findClass(FindClass.create().matcher(matcher));
+        var result = UnobfuscatorBatch.findClasses(dexkit, type, strings);
         if (result.isEmpty())
             return null;
         return result.stream().map(classData -> convertRealClass(classData, classLoader)).filter(Objects::nonNull)
                 .toArray(Class[]::new);
     }
 
-    public synchronized static Class<?> findFirstClassUsingStringsFilter(ClassLoader classLoader, String packageFilter,
+    public static Class<?> findFirstClassUsingStringsFilter(ClassLoader classLoader, String packageFilter,
                                                                          StringMatchType type, String... strings) throws Exception {
         var matcher = new ClassMatcher();
         for (String string : strings) {
@@ -198,7 +183,7 @@ public class Unobfuscator {
         return result.get(0).getInstance(classLoader);
     }
 
-    public synchronized static Class<?> findFirstClassUsingName(ClassLoader classLoader, StringMatchType type,
+    public static Class<?> findFirstClassUsingName(ClassLoader classLoader, StringMatchType type,
                                                                 String name) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, name, () -> {
             var result = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className(name, type)))
@@ -219,21 +204,21 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static String getMethodDescriptor(Method method) {
+    public static String getMethodDescriptor(Method method) {
         if (method == null)
             return null;
         return method.getDeclaringClass().getName() + "->" + method.getName() + "("
                 + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",")) + ")";
     }
 
-    public synchronized static String getFieldDescriptor(Field field) {
+    public static String getFieldDescriptor(Field field) {
         if (field == null)
             return null;
         return field.getDeclaringClass().getName() + "->" + field.getName() + ":" + field.getType().getName();
     }
 
     @Nullable
-    public synchronized static Method convertRealMethod(MethodData methodData, ClassLoader classLoader) {
+    public static Method convertRealMethod(MethodData methodData, ClassLoader classLoader) {
         try {
             return methodData.getMethodInstance(classLoader);
         } catch (Exception e) {
@@ -242,7 +227,7 @@ public class Unobfuscator {
     }
 
     @Nullable
-    public synchronized static Class<?> convertRealClass(ClassData classData, ClassLoader classLoader) {
+    public static Class<?> convertRealClass(ClassData classData, ClassLoader classLoader) {
         try {
             return classData.getInstance(classLoader);
         } catch (Exception e) {
@@ -251,16 +236,16 @@ public class Unobfuscator {
     }
 
     // TODO: Classes and Methods for FreezeSeen
-    public synchronized static Method loadFreezeSeenMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader,
-                () -> UnobfuscatorCache.getInstance().getMethod(classLoader,
+    public static Method loadFreezeSeenMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFreezeSeenMethod",
+                () -> UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFreezeSeenMethod",
                         () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                                 "presencestatemanager/setAvailable/new-state")));
     }
 
     // TODO: Classes and Methods for GhostMode
-    public synchronized static Method loadGhostModeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadGhostModeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGhostModeMethod", () -> {
             Method method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "HandleMeComposing/sendComposing");
             if (method == null)
@@ -273,8 +258,8 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for Receipt
 
-    public synchronized static Method loadReceiptMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptMethod", () -> {
             var classDeviceJid = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith,
                     "jid.DeviceJid");
             var classPhoneUserJid = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith,
@@ -351,8 +336,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadReceiptOutsideChat(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptOutsideChat(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptOutsideChat", () -> {
             var method = loadReceiptMethod(classLoader);
             if (method == null)
                 throw new Exception("Receipt method not found");
@@ -367,8 +352,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadReceiptInChat(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptInChat(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptInChat", () -> {
             var method = loadReceiptMethod(classLoader);
             var methodDataList = dexkit
                     .findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("callCreatorJid")
@@ -381,8 +366,8 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for HideForward
 
-    public synchronized static Method loadForwardTagMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadForwardTagMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadForwardTagMethod", () -> {
             Class<?> messageInfoClass = loadFMessageClass(classLoader);
             var methodList = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingString("chatInfo/incrementUnseenImportantMessageCount")));
@@ -403,8 +388,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadBroadcastTagField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadBroadcastTagField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadBroadcastTagField", () -> {
             var fmessage = loadFMessageClass(classLoader);
             var clazzData = dexkit.findClass(FindClass.create()
                     .matcher(ClassMatcher.create().addUsingString("UPDATE_MESSAGE_MAIN_BROADCAST_SCAN_SQL")));
@@ -448,8 +433,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadForwardClassMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadForwardClassMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadForwardClassMethod", () -> {
             for (var s : new String[]{
                     "UserActions/userActionForwardMessage",
                     "UserActionsMessageForwarding/userActionForwardMessage"
@@ -462,8 +447,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadMultiSelectionLimitInfoClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadMultiSelectionLimitInfoClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadMultiSelectionLimitInfoClass", () -> {
             try {
                 var matcher = new ClassMatcher();
                 matcher.addUsingString("MultiSelectionLimitInfo", StringMatchType.Contains);
@@ -480,8 +465,8 @@ public class Unobfuscator {
 
 
     // TODO: Classes and Methods for HideView
-    public synchronized static Method loadHideViewSendReadJob(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadHideViewSendReadJob(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadHideViewSendReadJob", () -> {
             var classData = dexkit
                     .getClassData(findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "SendReadReceiptJob"));
             var methodResult = classData.findMethod(
@@ -496,8 +481,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadHideViewInChatMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadHideViewInChatMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadHideViewInChatMethod", () -> {
             var strings = new String[]{
                     "ReadReceipts/sendReceiptForIncomingMessage", "ReadReceipts/sendDeliveryReadReceipt",
                     "ReadReceipts/acknowledgeMessageIfNeeded", "ReadReceipts/sendDeliveryReceiptIfNotRetry"
@@ -511,8 +496,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadFMessageClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadFMessageClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFMessageClass", () -> {
             var messageClass = findFirstClassUsingStrings(classLoader, StringMatchType.Contains,
                     "FMessage/getSenderUserJid/key.id");
             if (messageClass == null)
@@ -523,8 +508,8 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for XChatFilter
 
-    public synchronized static Method loadTabListMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabListMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabListMethod", () -> {
             var result = dexkit.findMethod(
                     FindMethod.create()
                             .matcher(
@@ -539,8 +524,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadGetTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetTabMethod", () -> {
             Method result = findFirstMethodUsingStringsFilter(classLoader, "X.", StringMatchType.Contains,
                     "No HomeFragment mapping for community tab id:");
             if (result == null)
@@ -549,8 +534,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadTabFragmentMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabFragmentMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabFragmentMethod", () -> {
             Class<?> clsFrag = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment",
                     classLoader);
             Method result = Arrays.stream(clsFrag.getDeclaredMethods()).parallel()
@@ -562,8 +547,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadTabNameMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabNameMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabNameMethod", () -> {
             int id = UnobfuscatorCache.getInstance().getOfuscateIDString("updates");
             if (id < 1)
                 throw new Exception("TabName ID not found");
@@ -575,8 +560,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadFabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadFabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFabMethod", () -> {
             Class<?> clazz = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment", classLoader);
             while (clazz != null && clazz != Object.class) {
                 ClassData classData = dexkit.getClassData(clazz.getName());
@@ -614,8 +599,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadIconTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadIconTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadIconTabMethod", () -> {
             var id1 = Utils.getID("home_tab_communities_selector", "drawable");
             var id2 = Utils.getID("home_tab_calls_selector", "drawable");
             var id3 = Utils.getID("home_tab_chats_selector", "drawable");
@@ -634,8 +619,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadTabCountMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabCountMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabCountMethod", () -> {
             Method result = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "required free space should be > 0");
             if (result == null)
@@ -644,8 +629,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadEnableCountTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadEnableCountTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadEnableCountTabMethod", () -> {
             var result = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "Tried to set badge for invalid");
             if (result == null)
@@ -654,8 +639,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadEnableCountTabBadgeWrapperClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadEnableCountTabBadgeWrapperClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadEnableCountTabBadgeWrapperClass", () -> {
             var countMethod = loadEnableCountTabMethod(classLoader);
             var indiceClass = countMethod.getParameterTypes()[1];
             var subclasses = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create()
@@ -672,8 +657,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadEnableCountTabBadgeWrapper(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+    public static Constructor loadEnableCountTabBadgeWrapper(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadEnableCountTabBadgeWrapper", () -> {
             Class<?> wrapperClass = loadEnableCountTabBadgeWrapperClass(classLoader);
             for (var ctor : wrapperClass.getDeclaredConstructors()) {
                 if (ctor.getParameterCount() > 0) {
@@ -685,8 +670,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadEnableCountTabBadgeItem(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+    public static Constructor loadEnableCountTabBadgeItem(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadEnableCountTabBadgeItem", () -> {
             var wrapperCtor = loadEnableCountTabBadgeWrapper(classLoader);
             var indiceClass = wrapperCtor.getParameterTypes()[0];
             var subclasses = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create()
@@ -704,8 +689,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadEnableCountTabEmptyBadgeClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadEnableCountTabEmptyBadgeClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadEnableCountTabEmptyBadgeClass", () -> {
             var countMethod = loadEnableCountTabMethod(classLoader);
             var indiceClass = countMethod.getParameterTypes()[1];
             var subclasses = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create()
@@ -723,8 +708,8 @@ public class Unobfuscator {
     }
     // TODO: Classes and methods to TimeToSeconds
  
-    public synchronized static Method loadTimeToSecondsMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTimeToSecondsMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTimeToSecondsMethod", () -> {
             Method setTimeInMillis = Calendar.class.getDeclaredMethod("setTimeInMillis", long.class);
             Method is24HourFormat = null;
             try {
@@ -783,8 +768,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to DndMode
 
-    public synchronized static Method loadDndModeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadDndModeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadDndModeMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Equals, "MessageHandler/start");
             if (method == null)
                 throw new Exception("DndMode method not found");
@@ -793,8 +778,8 @@ public class Unobfuscator {
     }
 
     // TODO: Classes and methods to MediaQuality
-    public synchronized static Method loadMediaQualityVideoMethod2(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadMediaQualityVideoMethod2(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMediaQualityVideoMethod2", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "getCorrectedResolution");
             if (method == null)
                 throw new Exception("MediaQualityVideo method not found");
@@ -802,9 +787,9 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static HashMap<String, Field> loadMediaQualityVideoFields(ClassLoader classLoader)
+    public static HashMap<String, Field> loadMediaQualityVideoFields(ClassLoader classLoader)
             throws Exception {
-        return UnobfuscatorCache.getInstance().getMapField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMapField(classLoader, "loadMediaQualityVideoFields", () -> {
             var method = loadMediaQualityVideoMethod2(classLoader);
             var methodString = method.getReturnType().getDeclaredMethod("toString");
             var methodData = dexkit.getMethodData(methodString);
@@ -829,9 +814,9 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static HashMap<String, Field> loadMediaQualityOriginalVideoFields(ClassLoader classLoader)
+    public static HashMap<String, Field> loadMediaQualityOriginalVideoFields(ClassLoader classLoader)
             throws Exception {
-        return UnobfuscatorCache.getInstance().getMapField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMapField(classLoader, "loadMediaQualityOriginalVideoFields", () -> {
             var method = loadMediaQualityVideoMethod2(classLoader);
             Method methodString;
             try {
@@ -853,8 +838,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadProcessVideoQualityClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadProcessVideoQualityClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadProcessVideoQualityClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.StartsWith, "ProcessVideoQuality(");
             if (clazz == null)
                 throw new Exception("ProcessVideoQuality method not found");
@@ -862,9 +847,9 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static HashMap<String, Field> loadProcessVideoQualityFields(ClassLoader classLoader)
+    public static HashMap<String, Field> loadProcessVideoQualityFields(ClassLoader classLoader)
             throws Exception {
-        return UnobfuscatorCache.getInstance().getMapField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMapField(classLoader, "loadProcessVideoQualityFields", () -> {
             var clazz = loadProcessVideoQualityClass(classLoader);
             Method methodString;
             try {
@@ -912,8 +897,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to ShareLimit
 
-    public synchronized static Method loadShareLimitMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadShareLimitMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadShareLimitMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "send_max_video_duration");
             if (method == null)
                 throw new Exception("ShareLimit method not found");
@@ -921,8 +906,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadShareMapItemField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadShareMapItemField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadShareMapItemField", () -> {
             var shareLimitMethod = loadShareLimitMethod(classLoader);
             var methodData = dexkit.getMethodData(shareLimitMethod);
             if (methodData != null) {
@@ -1029,8 +1014,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to StatusDownload
 
-    public synchronized static Method loadStatusActivePage(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadStatusActivePage(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadStatusActivePage", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "playbackFragment/setPageActive");
             if (method == null)
@@ -1039,8 +1024,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadMenuManagerClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadMenuManagerClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadMenuManagerClass", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "MenuPopupHelper cannot be used without an anchor");
             for (var method : methods) {
@@ -1051,8 +1036,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadMenuStatusMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMenuStatusMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMenuStatusMethod", () -> {
             var id = Utils.getID("menuitem_conversations_message_contact", "id");
             var methods = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(id)));
             if (methods.isEmpty())
@@ -1072,7 +1057,7 @@ public class Unobfuscator {
     }
 
     public static Method loadFStatusToFMessage(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFStatusToFMessage", () -> findFirstMethodUsingStrings(
                 classLoader,
                 StringMatchType.Contains,
                 "mapFStatusToFMessageForForwarding"
@@ -1081,8 +1066,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to ViewOnce
 
-    public synchronized static Method[] loadViewOnceMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
+    public static Method[] loadViewOnceMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadViewOnceMethod", () -> {
             var method = dexkit.findMethod(new FindMethod()
                     .matcher(new MethodMatcher().addUsingString("INSERT_VIEW_ONCE_SQL", StringMatchType.Contains)));
             if (method.isEmpty())
@@ -1117,8 +1102,8 @@ public class Unobfuscator {
     /**
      * @noinspection SimplifyOptionalCallChains
      */
-    public synchronized static Method loadViewOnceDownloadMenuMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadViewOnceDownloadMenuMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadViewOnceDownloadMenuMethod", () -> {
             var clazz = XposedHelpers.findClass("com.whatsapp.mediaview.MediaViewFragment", classLoader);
 
             // Strategy 1: Original — look for (Menu, MenuInflater) declared directly on the class
@@ -1159,8 +1144,8 @@ public class Unobfuscator {
 
     // TODO: Methods and Classes for Change Colors
 
-    public synchronized static Class<?> loadExpandableWidgetClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadExpandableWidgetClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadExpandableWidgetClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "expandableWidgetHelper");
             if (clazz == null)
                 throw new Exception("ExpandableWidgetHelper class not found");
@@ -1168,8 +1153,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadMaterialShapeDrawableClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadMaterialShapeDrawableClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadMaterialShapeDrawableClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "Compatibility shadow requested");
             if (clazz == null)
                 throw new Exception("MaterialShapeDrawable class not found");
@@ -1177,8 +1162,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPropsBooleanMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsBooleanMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsBooleanMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown BooleanField");
             if (method == null)
                 throw new Exception("Props method not found");
@@ -1186,8 +1171,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPropsIntegerMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsIntegerMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsIntegerMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown IntField");
             if (method == null)
                 throw new Exception("Props method not found");
@@ -1195,8 +1180,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPropsJsonMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsJsonMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsJsonMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown JsonField");
             if (method == null)
                 throw new Exception("Props method not found");
@@ -1212,8 +1197,8 @@ public class Unobfuscator {
         return classes.get(0);
     }
 
-    public synchronized static Method loadHomeConversationFragmentMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadHomeConversationFragmentMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadHomeConversationFragmentMethod", () -> {
             var homeClass = WppCore.getHomeActivityClass(loader);
             var convFragment = XposedHelpers.findClassIfExists("com.whatsapp.ConversationFragment", loader);
             if (convFragment == null) {
@@ -1230,8 +1215,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadAntiRevokeConvFragmentField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadAntiRevokeConvFragmentField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadAntiRevokeConvFragmentField", () -> {
             String[] anchors = {"conversation/createconversation", "conversation/create", "conversation/refresh"};
             Class<?> conversation = XposedHelpers.findClassIfExists("com.whatsapp.ConversationFragment", loader);
             if (conversation == null) {
@@ -1253,8 +1238,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadConversationDelegateField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadConversationDelegateField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadConversationDelegateField", () -> {
             long start = System.currentTimeMillis();
             ;
             String[] anchors = {"conversation/createconversation", "conversation/create", "conversation/refresh", "conversation/onCreate"};
@@ -1311,8 +1296,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadUserJidConversationDelegate(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadUserJidConversationDelegate(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadUserJidConversationDelegate", () -> {
             long start = System.currentTimeMillis();
             ;
             String[] anchors = {"conversation/createconversation", "conversation/create", "conversation/refresh"};
@@ -1335,12 +1320,12 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAntiRevokeMessageMethod(ClassLoader loader) throws Exception {
+    public static Method loadAntiRevokeMessageMethod(ClassLoader loader) throws Exception {
         return findAllAntiRevokeMessageMethods(loader)[0];
     }
 
-    public synchronized static Method[] findAllAntiRevokeMessageMethods(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(loader, () -> {
+    public static Method[] findAllAntiRevokeMessageMethods(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(loader, "findAllAntiRevokeMessageMethods", () -> {
             Set<Method> methods = new LinkedHashSet<>();
             String[] anchors = {
                     "msgstore/edit/revoke",
@@ -1414,8 +1399,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method[] findAllAddOnMethods(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(loader, () -> {
+    public static Method[] findAllAddOnMethods(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(loader, "findAllAddOnMethods", () -> {
             Set<Method> methods = new LinkedHashSet<>();
             var results = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create()
@@ -1429,8 +1414,8 @@ public class Unobfuscator {
 
 
 
-    public synchronized static Field loadMessageKeyField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadMessageKeyField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadMessageKeyField", () -> {
             var classList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().fieldCount(3)
                     .addMethod(new MethodMatcher().addUsingString("Key").name("toString"))));
             if (classList.isEmpty())
@@ -1447,8 +1432,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadConversationRowClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadConversationRowClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadConversationRowClass", () -> {
             // String anchors can change between WA versions, so try a few variants.
             for (String anchor : new String[]{
                     "ConversationRow/setupUserNameInGroupView/",
@@ -1510,8 +1495,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadUnknownStatusPlaybackMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadUnknownStatusPlaybackMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadUnknownStatusPlaybackMethod", () -> {
             var statusPlaybackClass = XposedHelpers
                     .findClass("com.whatsapp.status.playback.fragment.StatusPlaybackContactFragment", loader);
             var refreshCurrentPage = dexkit
@@ -1532,8 +1517,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadStatusPlaybackViewClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadStatusPlaybackViewClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusPlaybackViewClass", () -> {
             var ids = List.of(Utils.getID("status_header", "id"), Utils.getID("menu", "id"));
             var clazz = dexkit.findClass(
                     FindClass.create().matcher(
@@ -1545,8 +1530,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayMessageJobMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayMessageJobMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayMessageJobMethod", () -> {
             var result = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "SendE2EMessageJob/onRun");
             if (result == null)
                 throw new Exception("BlueOnReplayMessageJob method not found");
@@ -1554,8 +1539,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayWaJobManagerMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayWaJobManagerMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayWaJobManagerMethod", () -> {
             var result = findFirstClassUsingStrings(loader, StringMatchType.Contains, "WaJobManager/start");
             var job = XposedHelpers.findClass("org.whispersystems.jobqueue.Job", loader);
             if (result == null)
@@ -1569,8 +1554,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadArchiveChatClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadArchiveChatClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadArchiveChatClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains,
                     "archive/set-content-indicator-to-empty");
             if (clazz == null)
@@ -1582,8 +1567,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAntiRevokeOnCallReceivedMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAntiRevokeOnCallReceivedMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAntiRevokeOnCallReceivedMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "voip/callStateChangedOnUIThread");
             if (method == null)
@@ -1592,8 +1577,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnChangeStatus(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnChangeStatus(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnChangeStatus", () -> {
             Method method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "ConversationViewFiller/setParentGroupProfilePhoto");
             if (method == null)
@@ -1624,8 +1609,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadViewHolder(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadViewHolder(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadViewHolder", () -> {
             var methodMatcher = MethodMatcher.create();
             methodMatcher.usingNumbers(
                     Utils.getID("conversations_row_header_stub", "id"),
@@ -1641,15 +1626,15 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadViewHolderField1(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadViewHolderField1(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadViewHolderField1", () -> {
             Class<?> class1 = loadOnChangeStatus(loader).getDeclaringClass().getSuperclass();
             return ReflectionUtils.getFieldByType(class1, loadViewHolder(loader));
         });
     }
 
-    public synchronized static Method loadStatusUserMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadStatusUserMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadStatusUserMethod", () -> {
             var id = UnobfuscatorCache.getInstance().getOfuscateIDString("lastseensun%s");
             if (id < 1)
                 throw new Exception("GetStatusUser ID not found");
@@ -1661,8 +1646,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSendPresenceMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadSendPresenceMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadSendPresenceMethod", () -> {
             var methodData = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingString("app/send-presence-subscription jid=")));
             if (methodData.isEmpty())
@@ -1687,8 +1672,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPinnedHashSetMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPinnedHashSetMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPinnedHashSetMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "getPinnedJids/QUERY_CHAT_SETTINGS");
             if (method == null)
@@ -1697,8 +1682,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetFiltersMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetFiltersMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetFiltersMethod", () -> {
             var clazzFilters = findFirstClassUsingStrings(loader, StringMatchType.Contains,
                     "conversations/filter/performFiltering");
             if (clazzFilters == null)
@@ -1708,8 +1693,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPinnedInChatMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPinnedInChatMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPinnedInChatMethod", () -> {
             var method = dexkit.findMethod(
                     new FindMethod().matcher(new MethodMatcher().addUsingNumber(3732).returnType(int.class)));
             if (method.isEmpty())
@@ -1718,9 +1703,9 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayCreateMenuConversationMethod(ClassLoader loader)
+    public static Method loadBlueOnReplayCreateMenuConversationMethod(ClassLoader loader)
             throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayCreateMenuConversationMethod", () -> {
             var conversationClass = XposedHelpers.findClass("com.whatsapp.Conversation", loader);
             if (conversationClass == null)
                 throw new RuntimeException("BlueOnReplayCreateMenuConversation class not found");
@@ -1807,8 +1792,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayViewButtonMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayViewButtonMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayViewButtonMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "PLAYBACK_PAGE_ITEM_ON_CREATE_VIEW_END");
             if (method == null)
@@ -1817,8 +1802,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadBlueOnReplayViewButtonOutSideField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadBlueOnReplayViewButtonOutSideField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadBlueOnReplayViewButtonOutSideField", () -> {
             var method = loadBlueOnReplayViewButtonMethod(loader);
             var clazz = method.getDeclaringClass();
             var methodData = dexkit.getMethodData(method);
@@ -1832,8 +1817,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayStatusViewMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayStatusViewMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayStatusViewMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "StatusPlaybackPage/onViewCreated");
             if (method == null)
@@ -1842,8 +1827,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadChatLimitDeleteMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadChatLimitDeleteMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadChatLimitDeleteMethod", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains,
                     "app/time server update processed");
             if (clazz == null)
@@ -1868,8 +1853,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadChatLimitDelete2Method(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadChatLimitDelete2Method(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadChatLimitDelete2Method", () -> {
             // Strategy 1: Original dual-string search
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "pref_revoke_admin_nux",
                     "dialog/delete no messages");
@@ -1937,8 +1922,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadNewMessageMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadNewMessageMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadNewMessageMethod", () -> {
             var clazzMessageName = loadFMessageClass(loader).getName();
             var listMethods = dexkit.findMethod(FindMethod.create().searchPackages("com.whatsapp")
                     .matcher(MethodMatcher.create().addUsingString("extra_payment_note", StringMatchType.Equals)));
@@ -1956,8 +1941,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOriginalMessageKey(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOriginalMessageKey(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOriginalMessageKey", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "FMessageUtil/getOriginalMessageKeyIfEdited");
             if (method == null)
@@ -1966,8 +1951,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadNewMessageWithMediaMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadNewMessageWithMediaMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadNewMessageWithMediaMethod", () -> {
             var methodList = dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingString("INSERT_TABLE_MESSAGE_QUOTED", StringMatchType.Equals)));
             if (methodList.isEmpty())
@@ -1986,8 +1971,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadMessageEditMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMessageEditMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMessageEditMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "MessageEditInfoStore/insertEditInfo/missing");
             if (method == null)
@@ -1996,8 +1981,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadCallerMessageEditMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadCallerMessageEditMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCallerMessageEditMethod", () -> {
             var methodData1 = dexkit.getMethodData(loadMessageEditMethod(loader));
             var FMessage = loadFMessageClass(loader);
             var invokes = methodData1.getInvokes();
@@ -2015,8 +2000,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetEditMessageMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetEditMessageMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetEditMessageMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "MessageEditInfoStore/insertEditInfo/missing");
             if (method == null)
@@ -2047,8 +2032,8 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Field loadSetEditMessageField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadSetEditMessageField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadSetEditMessageField", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "CoreMessageStore/updateCheckoutMessageWithTransactionInfo");
             if (method == null)
                 method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "UPDATE_MESSAGE_ADD_ON_FLAGS_MAIN_SQL");
@@ -2065,8 +2050,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadCoreMessageStore(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadCoreMessageStore(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadCoreMessageStore", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains,
                     "CoreMessageStore/updateCheckoutMessageWithTransactionInfo");
             if (clazz == null)
@@ -2081,8 +2066,8 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Class loadDialogViewClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadDialogViewClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadDialogViewClass", () -> {
             var id = Utils.getID("touch_outside", "id");
             var results = dexkit.findMethod(
                     new FindMethod().matcher(new MethodMatcher().addUsingNumber(id).returnType(FrameLayout.class)));
@@ -2092,8 +2077,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadRecreateFragmentConstructor(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
+    public static Constructor loadRecreateFragmentConstructor(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadRecreateFragmentConstructor", () -> {
             var data = dexkit.findMethod(FindMethod.create().searchPackages("X.")
                     .matcher(MethodMatcher.create().addUsingString("Instantiated fragment")));
             if (data.isEmpty())
@@ -2104,8 +2089,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnTabItemAddMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnTabItemAddMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnTabItemAddMethod", () -> {
             var result = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "Maximum number of items supported by");
             if (result == null)
@@ -2114,8 +2099,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetViewConversationMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetViewConversationMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetViewConversationMethod", () -> {
             var clazz = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment", loader);
             var method = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.getParameterCount() == 3
                             && m.getReturnType().equals(View.class) && m.getParameterTypes()[1].equals(LayoutInflater.class))
@@ -2129,8 +2114,8 @@ public class Unobfuscator {
     /**
      * @noinspection SimplifyStreamApiCallChains
      */
-    public synchronized static Method loadOnMenuItemSelected(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnMenuItemSelected(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnMenuItemSelected", () -> {
             var aClass = XposedHelpers.findClass("androidx.viewpager.widget.ViewPager", loader);
             var result = Arrays.stream(aClass.getDeclaredMethods()).filter(m -> m.getParameterCount() == 4 &&
                     m.getParameterTypes()[0].equals(int.class) &&
@@ -2143,8 +2128,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnUpdateStatusChanged(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnUpdateStatusChanged(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnUpdateStatusChanged", () -> {
             var clazzData = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("UpdatesViewModel/"))).firstOrNull();
             var methodSeduleche = XposedHelpers.findMethodBestMatch(Timer.class, "schedule", TimerTask.class, long.class, long.class);
             var result = clazzData.findMethod(FindMethod.create().matcher(MethodMatcher.create().addInvoke(DexSignUtil.getMethodDescriptor(methodSeduleche))));
@@ -2159,8 +2144,8 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Field loadGetInvokeField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadGetInvokeField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadGetInvokeField", () -> {
             var method = loadOnUpdateStatusChanged(loader);
             var methodData = dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method));
             var fields = methodData.getUsingFields();
@@ -2172,8 +2157,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadStatusInfoClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadStatusInfoClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusInfoClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "ContactStatusDataItem");
             if (clazz == null)
                 throw new RuntimeException("StatusInfo class not found");
@@ -2181,8 +2166,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadStatusListUpdatesClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadStatusListUpdatesClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusListUpdatesClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "StatusListUpdates");
             if (clazz == null)
                 throw new RuntimeException("StatusListUpdates class not found");
@@ -2190,8 +2175,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadTabFrameClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadTabFrameClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadTabFrameClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "android:menu:presenters");
             if (clazz == null)
                 throw new RuntimeException("TabFrame class not found");
@@ -2199,8 +2184,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadRemoveChannelRecClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadRemoveChannelRecClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadRemoveChannelRecClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "hasNewsletterSubscriptions");
             if (clazz == null)
                 throw new RuntimeException("RemoveChannelRec class not found");
@@ -2208,8 +2193,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadFilterAdaperClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadFilterAdaperClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadFilterAdaperClass", () -> {
             var clazzList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(
                     new MethodMatcher().addUsingString("CONTACTS_FILTER").paramCount(1).addParamType(int.class))));
             if (clazzList.isEmpty())
@@ -2218,8 +2203,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadSeeMoreConstructor(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
+    public static Constructor loadSeeMoreConstructor(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadSeeMoreConstructor", () -> {
 
             var commentClass = findFirstClassUsingName(loader, StringMatchType.EndsWith, "CommentTextView");
             var commentClassData = dexkit.getClassData(commentClass);
@@ -2247,8 +2232,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method[] loadSendStickerMethods(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(loader, () -> {
+    public static Method[] loadSendStickerMethods(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(loader, "loadSendStickerMethods", () -> {
             var methods = findAllMethodUsingStrings(loader, StringMatchType.Contains,
                     "StickerGridViewItem.StickerLocal");
             if (methods == null)
@@ -2258,8 +2243,8 @@ public class Unobfuscator {
 
     }
 
-    public synchronized static Method loadMaterialAlertDialog(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMaterialAlertDialog(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMaterialAlertDialog", () -> {
             var callConfirmationFragment = XposedHelpers
                     .findClass("com.whatsapp.calling.fragment.CallConfirmationFragment", loader);
             var method = ReflectionUtils.findMethodUsingFilter(callConfirmationFragment,
@@ -2282,8 +2267,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetIntPreferences(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetIntPreferences(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetIntPreferences", () -> {
             var methodList = dexkit.findMethod(new FindMethod().matcher(
                     new MethodMatcher().paramCount(2).addParamType(SharedPreferences.class).addParamType(String.class)
                             .modifiers(Modifier.STATIC | Modifier.PUBLIC).returnType(int.class)));
@@ -2293,8 +2278,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAudioProximitySensorMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAudioProximitySensorMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAudioProximitySensorMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "messageaudioplayer/onearproximity");
             if (method == null)
@@ -2303,8 +2288,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGroupAdminMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGroupAdminMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGroupAdminMethod", () -> {
             // Try searching by string anchors first (more robust)
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "ConversationRow/setupUserNameInGroupView/",
@@ -2406,8 +2391,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadJidFactory(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadJidFactory(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadJidFactory", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "lid_me", "status_me",
                     "s.whatsapp.net");
             if (method == null)
@@ -2416,8 +2401,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGroupCheckAdminMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGroupCheckAdminMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGroupCheckAdminMethod", () -> {
 
             var classData = dexkit
                     .findClass(FindClass.create()
@@ -2445,8 +2430,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadStartPrefsConfig(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
+    public static Constructor loadStartPrefsConfig(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadStartPrefsConfig", () -> {
             var results = dexkit.findMethod(
                     new FindMethod().matcher(new MethodMatcher().addUsingString("startup_migrated_version")));
             if (results.isEmpty())
@@ -2455,8 +2440,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadCheckOnlineMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadCheckOnlineMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCheckOnlineMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "MessageHandler/handleConnectionThreadReady connectionready");
             if (method == null)
@@ -2468,8 +2453,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadEphemeralInsertdb(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadEphemeralInsertdb(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadEphemeralInsertdb", () -> {
             var method = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingString("expire_timestamp")
                             .addUsingString("ephemeral_initiated_by_me").addUsingString("ephemeral_trigger")
@@ -2481,8 +2466,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadDefEmojiClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadDefEmojiClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadDefEmojiClass", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "emojis.oba");
             if (method == null)
                 throw new RuntimeException("DefEmoji class not found");
@@ -2490,8 +2475,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?>[] loadEmojiSpanClasses(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClasses(loader, () -> {
+    public static Class<?>[] loadEmojiSpanClasses(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClasses(loader, "loadEmojiSpanClasses", () -> {
             var list = new ArrayList<Class<?>>();
             String[] superClasses = {
                 "android.text.style.ReplacementSpan",
@@ -2523,8 +2508,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadVideoViewContainerClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadVideoViewContainerClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadVideoViewContainerClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "frame_visibility_serial_worker");
             if (clazz == null)
                 throw new RuntimeException("VideoViewContainer class not found");
@@ -2532,8 +2517,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadImageVewContainerClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadImageVewContainerClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadImageVewContainerClass", () -> {
             var clazzList = dexkit.findClass(FindClass.create().matcher(
                     ClassMatcher.create()
                             .addMethod(
@@ -2551,8 +2536,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method getFilterInitMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method getFilterInitMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "getFilterInitMethod", () -> {
             var filterAdaperClass = Unobfuscator.loadFilterAdaperClass(loader);
             var constructors = filterAdaperClass.getConstructors();
             var methods = new ArrayList<MethodData>();
@@ -2634,8 +2619,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class getFilterView(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class getFilterView(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "getFilterView", () -> {
             var filter_id = Utils.getID("conversations_swipe_to_reveal_filters_stub", "id");
             var results = dexkit.findClass(FindClass.create()
                     .matcher(ClassMatcher.create().addMethod(MethodMatcher.create().addUsingNumber(filter_id))));
@@ -2645,8 +2630,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadActionUser(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadActionUser(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadActionUser", () -> {
             var fmessage = loadFMessageClass(loader);
             var classData = dexkit.getClassData("com.whatsapp.conversation.selection.SingleSelectedMessageActivity");
             if (classData != null) {
@@ -2676,8 +2661,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnPlaybackFinished(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadOnPlaybackFinished(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadOnPlaybackFinished", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "playbackPage/onPlaybackContentFinished");
             if (method == null)
@@ -2686,8 +2671,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadNextStatusRunMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadNextStatusRunMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadNextStatusRunMethod", () -> {
             var methodList = dexkit.findMethod(
                     new FindMethod().matcher(new MethodMatcher().addUsingString("playMiddleTone").name("run")));
             if (methodList.isEmpty())
@@ -2696,8 +2681,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnInsertReceipt(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadOnInsertReceipt(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadOnInsertReceipt", () -> {
             var methods = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingString("INSERT_RECEIPT_USER").paramCount(1)));
             if (methods == null || methods.size() != 1) {
@@ -2707,8 +2692,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSeenReceiptForStatus(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSeenReceiptForStatus(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSeenReceiptForStatus", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "StatusReceiptStore/insertOrUpdateSeenReceiptForStatus");
             if (method == null)
@@ -2717,8 +2702,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSendAudioTypeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSendAudioTypeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSendAudioTypeMethod", () -> {
             var classMsgReplyAct = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith,
                     "MessageReplyActivity");
             if (classMsgReplyAct == null)
@@ -2740,8 +2725,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadOriginFMessageField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadOriginFMessageField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadOriginFMessageField", () -> {
             String[] commonStrings = new String[]{
                     "audio/ogg; codecs=opus",
                     "audio/ogg",
@@ -2775,8 +2760,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadForwardAudioTypeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadForwardAudioTypeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadForwardAudioTypeMethod", () -> {
             var results = findAllMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "FMessageFactory/newFMessageForForward/thumbnail");
             if (results == null || results.length < 1)
@@ -2793,8 +2778,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadFragmentLoader(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadFragmentLoader(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFragmentLoader", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains,
                     "not associated with a fragment manager.");
             if (clazz == null)
@@ -2803,8 +2788,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadShowDialogStatusMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadShowDialogStatusMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadShowDialogStatusMethod", () -> {
             var clazz = loadFragmentLoader(classLoader);
             var frag = classLoader.loadClass("androidx.fragment.app.DialogFragment");
             var result = dexkit.findMethod(FindMethod.create().matcher(
@@ -2817,8 +2802,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPlaybackSpeed(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadPlaybackSpeed(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPlaybackSpeed", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "heroaudioplayer/setPlaybackSpeed");
             if (method == null) {
@@ -2844,7 +2829,7 @@ public class Unobfuscator {
         });
     }
 
-    // public synchronized static Method
+    // public static Method
     // loadArchiveCheckLockedChatsMethod(ClassLoader classLoader) throws Exception {
     // var method = findFirstMethodUsingStrings(classLoader,
     // StringMatchType.Contains,
@@ -2854,7 +2839,7 @@ public class Unobfuscator {
     // return method;
     // }
     //
-    // public synchronized static Method
+    // public static Method
     // loadArchiveCheckLockedChatsMethod2(ClassLoader classLoader) throws Exception
     // {
     // var methods = findAllMethodUsingStrings(classLoader,
@@ -2866,9 +2851,9 @@ public class Unobfuscator {
     // 0).findFirst().orElse(null);
     // }
     //
-    // public synchronized static Class<?> loadArchiveLockedChatClass(ClassLoader
+    // public static Class<?> loadArchiveLockedChatClass(ClassLoader
     // classLoader) throws Exception {
-    // return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    // return UnobfuscatorCache.getInstance().getClass(classLoader, "loadPlaybackSpeed", () -> {
     // var clazzList = dexkit.findClass(new FindClass().matcher(new
     // ClassMatcher().addMethod(new
     // MethodMatcher().name("setLockedRowVisibility")).addMethod(new
@@ -2879,8 +2864,8 @@ public class Unobfuscator {
     // });
     // }
 
-    public synchronized static Method loadListUpdateItems(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadListUpdateItems(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadListUpdateItems", () -> {
             var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create()
                     .addUsingString("Running diff util, updates list size", StringMatchType.Contains)));
             if (method.isEmpty())
@@ -2889,8 +2874,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadHeaderChannelItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadHeaderChannelItemClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadHeaderChannelItemClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "statusTilesEnabled");
             if (clazz == null)
                 throw new RuntimeException("HeaderChannelItem class not found");
@@ -2898,8 +2883,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadListChannelItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadListChannelItemClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadListChannelItemClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "isMuteIndicatorEnabled");
             if (clazz == null)
                 throw new RuntimeException("NewsletterDataItem class not found");
@@ -2907,8 +2892,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method[] loadTextStatusData(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
+    public static Method[] loadTextStatusData(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadTextStatusData", () -> {
             Class<?> textData;
             var textDataList = dexkit
                     .findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("TextData;")));
@@ -2928,8 +2913,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadExpirationClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadExpirationClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadExpirationClass", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "software_forced_expiration");
             var expirationMethod = Arrays.stream(methods)
@@ -2943,8 +2928,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadAbsViewHolder(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadAbsViewHolder(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadAbsViewHolder", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "not recyclable");
             if (clazz == null)
                 throw new RuntimeException("AbsViewHolder class not found");
@@ -2952,8 +2937,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadFragmentViewMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadFragmentViewMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFragmentViewMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "this was called before onCreateView()");
             if (method == null)
@@ -2962,8 +2947,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadCopiedMessageMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCopiedMessageMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCopiedMessageMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "conversation/copymessage");
             if (method == null)
                 throw new RuntimeException("CopiedMessage method not found");
@@ -2971,8 +2956,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadSenderPlayedClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadSenderPlayedClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadSenderPlayedClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "sendmethods/sendClearDirty");
             if (clazz == null)
                 throw new RuntimeException("SenderPlayed class not found");
@@ -2980,8 +2965,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSenderPlayedMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSenderPlayedMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSenderPlayedMethod", () -> {
             var clazz = loadSenderPlayedClass(classLoader);
             var abstractMediaMessageClass = Unobfuscator.loadAbstractMediaMessageClass(classLoader);
             var interfaces = abstractMediaMessageClass.getInterfaces();
@@ -3030,8 +3015,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSenderPlayedBusiness(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSenderPlayedBusiness(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSenderPlayedBusiness", () -> {
             var loadSenderPlayed = loadSenderPlayedClass(classLoader);
             var foundMethod = ReflectionUtils.findMethodUsingFilter(loadSenderPlayed,
                     method -> method.getParameterCount() > 0 && method.getParameterTypes()[0] == Set.class);
@@ -3041,8 +3026,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadMediaTypeField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadMediaTypeField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadMediaTypeField", () -> {
             var methodData = dexkit.findMethod(
                     FindMethod.create().matcher(MethodMatcher.create().addUsingString("conversation/refresh")));
             if (methodData.isEmpty())
@@ -3060,8 +3045,8 @@ public class Unobfuscator {
 
     }
 
-    public synchronized static Method loadBubbleDrawableMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadBubbleDrawableMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBubbleDrawableMethod", () -> {
             var methodData = dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Drawable.class)));
             if (methodData.isEmpty())
@@ -3070,8 +3055,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBallonDateDrawable(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadBallonDateDrawable(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBallonDateDrawable", () -> {
             var methodData = dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Rect.class)));
             if (methodData.isEmpty())
@@ -3086,8 +3071,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBallonBorderDrawable(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadBallonBorderDrawable(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBallonBorderDrawable", () -> {
             var clazz = loadBallonDateDrawable(classLoader).getDeclaringClass();
             var method = ReflectionUtils.findMethodUsingFilterIfExists(clazz,
                     m -> m.getParameterCount() == 3 && m.getReturnType().equals(Drawable.class));
@@ -3097,8 +3082,8 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Method[] loadRootDetector(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
+    public static Method[] loadRootDetector(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadRootDetector", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "/system/bin/su");
             if (methods.length == 0)
                 throw new RuntimeException("RootDetector method not found");
@@ -3106,8 +3091,8 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Method loadCheckEmulator(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCheckEmulator(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckEmulator", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "Android SDK built for x86");
             if (method == null)
@@ -3116,8 +3101,8 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Method loadCheckCustomRom(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCheckCustomRom(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckCustomRom", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "cyanogen");
             if (method == null)
                 throw new RuntimeException("CheckCustomRom method not found");
@@ -3125,28 +3110,28 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Method loadTranscribeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader,
+    public static Method loadTranscribeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTranscribeMethod", () -> findFirstMethodUsingStrings(classLoader,
                 StringMatchType.Contains, "transcribe: starting transcription"));
     }
 
-    public static synchronized Method loadCheckSupportLanguage(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader,
+    public static Method loadCheckSupportLanguage(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckSupportLanguage",
                 () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Unsupported language"));
     }
 
-    public static synchronized Class loadTranscriptSegment(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader,
+    public static Class loadTranscriptSegment(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTranscriptSegment",
                 () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "TranscriptionSegment("));
     }
 
-    public static synchronized Method loadStateChangeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader,
+    public static Method loadStateChangeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadStateChangeMethod", () -> findFirstMethodUsingStrings(classLoader,
                 StringMatchType.Contains, "presencestatemanager/startTransitionToUnavailable/new-state"));
     }
 
-    public static synchronized Method loadCachedMessageStoreKey(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadCachedMessageStoreKey(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCachedMessageStoreKey", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "CachedMessageStore/getAvailableMessage/key");
             if (method == null)
@@ -3155,8 +3140,8 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Class loadAbstractMediaMessageClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadAbstractMediaMessageClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadAbstractMediaMessageClass", () -> {
             for (var str : List.of("first_viewed_timestamp", "Field is set but is null in MediaDataV2")) {
                 var classList = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString(str)));
                 for (var clazz : classList) {
@@ -3170,7 +3155,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadFragmentClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFragmentClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "mFragmentId=#");
             if (clazz == null)
                 throw new RuntimeException("Fragment class not found");
@@ -3179,7 +3164,7 @@ public class Unobfuscator {
     }
 
     public static Method loadMediaQualitySelectionMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMediaQualitySelectionMethod", () -> {
             var methodData = dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingString("enable_media_quality_tool").returnType(boolean.class)));
 
@@ -3201,7 +3186,7 @@ public class Unobfuscator {
     }
 
     public static Field loadFmessageTimestampField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadFmessageTimestampField", () -> {
             var fmessageClass = loadFMessageClass(classLoader);
             var fmessageClassName = fmessageClass.getName();
 
@@ -3285,7 +3270,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadStatusDistributionClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadStatusDistributionClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Equals,
                     "Only set a valid status distribution mode");
             if (clazz == null)
@@ -3295,7 +3280,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadFilterItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFilterItemClass", () -> {
             var methodList = dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingNumber(Utils.getID("invisible_height_placeholder", "id"))
                             .addUsingNumber(Utils.getID("container_view", "id"))));
@@ -3321,7 +3306,7 @@ public class Unobfuscator {
     }
 
     public static Class[] loadProximitySensorListenerClasses(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClasses(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClasses(classLoader, "loadProximitySensorListenerClasses", () -> {
             var classDataList = dexkit.findClass(
                     FindClass.create()
                             .matcher(ClassMatcher.create().addInterface(SensorEventListener.class.getName())));
@@ -3333,7 +3318,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadRefreshStatusClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadRefreshStatusClass", () -> {
             Method keyset = Map.class.getDeclaredMethod("keySet");
             String keysetDescriptor = DexSignUtil.getMethodDescriptor(keyset);
 
@@ -3388,13 +3373,14 @@ public class Unobfuscator {
     }
 
     public static Method loadTcTokenMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader,
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTcTokenMethod", () -> findFirstMethodUsingStrings(classLoader,
                 StringMatchType.Contains, "GET_RECEIVED_TOKEN_AND_TIMESTAMP_BY_JID"));
     }
 
     public static Class<?> getClassByName(String className, ClassLoader classLoader) throws ClassNotFoundException {
-        if (cacheClasses.containsKey(className))
-            return cacheClasses.get(className);
+        var cached = cacheClasses.get(className);
+        if (cached != null)
+            return cached;
         var classDataList = dexkit.findClass(
                 FindClass.create().matcher(ClassMatcher.create().className(className, StringMatchType.EndsWith)));
         if (classDataList.isEmpty())
@@ -3405,7 +3391,7 @@ public class Unobfuscator {
     }
 
     public static Class loadVoipManager(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadVoipManager", () -> {
             var voipClass = WppCore.getVoipManagerClass(classLoader);
             var superClasses = dexkit
                     .findClass(FindClass.create().matcher(ClassMatcher.create().superClass(voipClass.getName())));
@@ -3420,7 +3406,7 @@ public class Unobfuscator {
     }
 
     public static Class loadWaContactClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadWaContactClass", () -> {
             // Strategy 1: Use the return type of loadGetWaContactMethod (extremely robust!)
             try {
                 var method = loadGetWaContactMethod(classLoader);
@@ -3450,7 +3436,7 @@ public class Unobfuscator {
 
 
     public static Method loadViewAddSearchBarMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadViewAddSearchBarMethod", () -> {
             for (var str : List.of("HeaderFooterRecyclerViewAdapter/addHeaderViewItemIfNeeded", "HeaderFooterRecyclerViewAdapter/addFooterViewItemAtPositionIfNeeded")) {
                 var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, str);
                 if (method != null) return method;
@@ -3462,7 +3448,7 @@ public class Unobfuscator {
     public static Method loadMenuSearchMethod(ClassLoader classLoader) throws Exception {
 
         return UnobfuscatorCache.getInstance()
-                .getMethod(classLoader,
+                .getMethod(classLoader, "loadMenuSearchMethod",
                         () -> dexkit
                                 .findMethod(
                                         FindMethod.create()
@@ -3472,7 +3458,7 @@ public class Unobfuscator {
     }
 
     public static Method loadAddOptionSearchBarMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAddOptionSearchBarMethod", () -> {
             var classData = Objects.requireNonNull(dexkit.getClassData(WppCore.getHomeActivityClass(classLoader)));
             MethodDataList methodData = classData.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingNumber(Utils.getID("menuitem_search", "id"))
@@ -3486,8 +3472,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadGetCurrentPageInHomeField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadGetCurrentPageInHomeField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadGetCurrentPageInHomeField", () -> {
             var method = loadAddOptionSearchBarMethod(classLoader);
             var methodData = dexkit.getMethodData(method);
             if (methodData != null) {
@@ -3503,27 +3489,27 @@ public class Unobfuscator {
     }
 
     public static Method loadAddMenuAndroidX(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader,
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAddMenuAndroidX", () -> findFirstMethodUsingStrings(classLoader,
                 StringMatchType.Contains, "Maximum number of items supported by"));
     }
 
     public static Method loadConvertLidToJid(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> findFirstMethodUsingStrings(loader,
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadConvertLidToJid", () -> findFirstMethodUsingStrings(loader,
                 StringMatchType.Contains, "WaJidMapRepository/getPhoneJidByAccountUserJid"));
     }
 
     public static Method loadConvertJidToLid(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> findFirstMethodUsingStrings(loader,
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadConvertJidToLid", () -> findFirstMethodUsingStrings(loader,
                 StringMatchType.Contains, "WaJidMapRepository/getAccountUserJidByPhoneJid"));
     }
 
     public static Class loadWaContactData(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader,
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadWaContactData",
                 () -> findFirstClassUsingStrings(classLoader, StringMatchType.EndsWith, "WaContactData"));
     }
 
     public static Class<?> loadMeManagerClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadMeManagerClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.StartsWith, "memanager/");
             if (clazz == null)
                 throw new RuntimeException("MeManager class not found");
@@ -3532,7 +3518,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadVerifyKeyClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadVerifyKeyClass", () -> {
             var methodMatcher = MethodMatcher.create().addUsingNumber(2966).paramCount(1).addParamType(int.class);
             var result = dexkit.findMethod(FindMethod.create().matcher(methodMatcher));
             if (result.isEmpty())
@@ -3545,7 +3531,7 @@ public class Unobfuscator {
     }
 
     public static Constructor<?> loadVerifyKeyRunnableConstructor(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadVerifyKeyRunnableConstructor", () -> {
             var data = dexkit.findMethod(
                     FindMethod.create().matcher(MethodMatcher.create()
                             .usingStrings("deviceidentityverifier/verify Primary")
@@ -3557,7 +3543,7 @@ public class Unobfuscator {
     }
 
     public static Number loadVerifyKeyInt(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getNumber(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getNumber(classLoader, "loadVerifyKeyInt", () -> {
             var method = loadVerifyKeyItemConstructor(classLoader);
             var callers = dexkit.getMethodData(method).getCallers();
             var resultMethod = callers.stream().filter(i -> i.isMethod() && i.getDeclaredClassName().contains("IdentityVerificationActivity")).findFirst().orElse(null);
@@ -3590,7 +3576,7 @@ public class Unobfuscator {
     }
 
     public static Constructor<?> loadVerifyKeyItemConstructor(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadVerifyKeyItemConstructor", () -> {
             var clazz = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className("IdentityVerificationActivity", StringMatchType.EndsWith))).singleOrNull();
             var methodResult = dexkit.findMethod(
                     FindMethod.create().matcher(MethodMatcher.create()
@@ -3609,8 +3595,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadMySearchBarMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadMySearchBarMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMySearchBarMethod", () -> {
             Method method = findFirstMethodUsingStrings(classLoader, StringMatchType.EndsWith,
                     "search_bar_render_start");
             if (method == null)
@@ -3619,8 +3605,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAdVerifyMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadAdVerifyMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAdVerifyMethod", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "WamoAccountSettingManager");
             if (clazz == null)
                 throw new ClassNotFoundException("WamoAccountSettingManager Not Found");
@@ -3632,8 +3618,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadChatFilterView(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadChatFilterView(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadChatFilterView", () -> {
             int value = Utils.getID("conversations_inbox_filters_stub", "id");
             var clazz = dexkit
                     .findClass(FindClass.create()
@@ -3646,7 +3632,7 @@ public class Unobfuscator {
     }
 
     public static Method loadNotificationMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadNotificationMethod", () -> {
             var invokedMethod = dexkit
                     .findMethod(FindMethod.create()
                             .matcher(MethodMatcher.create()
@@ -3659,7 +3645,7 @@ public class Unobfuscator {
     }
 
     public static Method loadLockedChatsMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadLockedChatsMethod", () -> {
             var classData = dexkit
                     .findClass(FindClass.create()
                             .matcher(ClassMatcher.create().addUsingString("conversationsmgr/replacecontact")))
@@ -3682,22 +3668,22 @@ public class Unobfuscator {
     }
 
     public static Method loadGetProfilePhotoMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader,
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetProfilePhotoMethod",
                 () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Avatars", ".j"));
     }
 
     public static Method loadGetProfilePhotoHighQMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader,
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetProfilePhotoHighQMethod",
                 () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "me.jpg", "Profile Pictures"));
     }
 
     public static Class<?> loadChatCacheClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader,
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadChatCacheClass",
                 () -> findFirstClassUsingStrings(classLoader, StringMatchType.StartsWith, "Chatscache/"));
     }
 
     public static Method loadLoadedContactsMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadLoadedContactsMethod", () -> {
             var methods = dexkit.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingNumber(8726).paramCount(1).addParamType(Object.class)));
             if (methods.isEmpty())
@@ -3707,12 +3693,12 @@ public class Unobfuscator {
     }
 
     public static Method loadVideoTranscoderStartMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader,
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadVideoTranscoderStartMethod", () -> findFirstMethodUsingStrings(classLoader,
                 StringMatchType.Contains, "VideoTranscoder/transcodeVideoNew/"));
     }
 
     public static Field loadWaContactGetWaNameField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadWaContactGetWaNameField", () -> {
             var waContact = loadWaContactClass(classLoader).getName();
 
             // Strategy 1: Iterate over all methods matching the string
@@ -3774,7 +3760,7 @@ public class Unobfuscator {
     }
 
     public static Method loadWaContactDisplayNameMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadWaContactDisplayNameMethod", () -> {
             var waContactClass = loadWaContactClass(classLoader);
 
             // Strategy 1: Search in methods matching "ContactManagerDatabase/updateGroupInfo"
@@ -3855,14 +3841,14 @@ public class Unobfuscator {
     }
 
     public static Method loadGetWaContactMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetWaContactMethod", () -> {
             return findFirstMethodUsingStrings(classLoader, StringMatchType.Contains,
                     "ContactManager/getContactFromCacheOrDbByJid");
         });
     }
 
     public static Class<?>[] loadSharedPreferencesClasses(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClasses(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClasses(classLoader, "loadSharedPreferencesClasses", () -> {
             var classesData = dexkit.findClass(
                     FindClass.create().matcher(ClassMatcher.create().addInterface(SharedPreferences.class.getName())));
             if (classesData.isEmpty())
@@ -3873,7 +3859,7 @@ public class Unobfuscator {
     }
 
     public static Method loadPinnedFilterMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPinnedFilterMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "pinSelectedJids");
             var methodData = dexkit.getMethodData(method);
             var invokes = methodData.getInvokes();
@@ -3890,7 +3876,7 @@ public class Unobfuscator {
     }
 
     public static Method loadSetPinnedLimitMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSetPinnedLimitMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "ChatSettingsStore/setPin");
             if (method == null)
                 throw new NoSuchMethodException("SetPinnedLimit method not found");
@@ -3899,7 +3885,7 @@ public class Unobfuscator {
     }
 
     public static Method loadManualProcessVideoQualityMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadManualProcessVideoQualityMethod", () -> {
             var processVideoQuality = Unobfuscator.loadProcessVideoQualityClass(classLoader);
             var methods = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("dimensions_are_zero").returnType(processVideoQuality)));
             if (methods.isEmpty())
@@ -3910,7 +3896,7 @@ public class Unobfuscator {
     }
 
     public static Method loadAutoProcessVideoQualityMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAutoProcessVideoQualityMethod", () -> {
             var processVideoQuality = Unobfuscator.loadProcessVideoQualityClass(classLoader);
             var methods = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("min_bandwidth").addUsingString("network_types").returnType(processVideoQuality)));
             if (methods.isEmpty())
@@ -3969,11 +3955,11 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadMediaDataVideoConfigurationClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "MediaDataVideoConfiguration("));
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadMediaDataVideoConfigurationClass", () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "MediaDataVideoConfiguration("));
     }
 
     public static Method loadStatusStyleMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadStatusStyleMethod", () -> {
             var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(8522).returnType(int.class))).singleOrNull();
             if (method == null)
                 throw new NoSuchMethodException("StatusStyle method not found");
@@ -3982,7 +3968,7 @@ public class Unobfuscator {
     }
 
     public static Class loadProcessImageQualityClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadProcessImageQualityClass", () -> {
             var classDataList = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("ProcessImageQuality(", StringMatchType.StartsWith)));
             if (classDataList.isEmpty())
                 throw new RuntimeException("ProcessImageQuality class not found");
@@ -3991,14 +3977,14 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadGetProfilePhoto(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "ProfilePhotoManager/sendGetProfilePhoto"));
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadGetProfilePhoto", () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "ProfilePhotoManager/sendGetProfilePhoto"));
     }
 
     public static Class<?> loadDialerProfilePictureLoader(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "DialerProfilePictureLoader/syncFetchProfilePhoto/onPhotoReceived"));
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadDialerProfilePictureLoader", () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "DialerProfilePictureLoader/syncFetchProfilePhoto/onPhotoReceived"));
     }
 
-    public synchronized static Class loadSettingsActivityClass(ClassLoader loader) throws Exception {
+    public static Class loadSettingsActivityClass(ClassLoader loader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(loader, "SettingsActivity", () -> {
             String[] settingsIdentifiers = {
                 "help_center_url", 
@@ -4039,7 +4025,7 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadSettingsFragmentClass(ClassLoader loader) throws Exception {
+    public static Class loadSettingsFragmentClass(ClassLoader loader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(loader, "SettingsFragment", () -> {
             String[] names = {
                 "com.whatsapp.settings.SettingsFragment",
@@ -4088,7 +4074,7 @@ public class Unobfuscator {
         return false;
     }
     public static @NonNull Class<?> loadFStatusKeyClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> dexkit.findClass(FindClass.create().matcher(
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFStatusKeyClass", () -> dexkit.findClass(FindClass.create().matcher(
                         ClassMatcher.create()
                                 .addUsingString("Key(id=").
                                 addUsingString("senderJid")))
@@ -4096,13 +4082,13 @@ public class Unobfuscator {
     }
 
     public static @NonNull Class<?> loadFStatusClass(@NonNull ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFStatusClass", () -> {
             return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "FStatus state");
         });
     }
 
     public static @NonNull Class<?> loadFMediaStatusClass(@NonNull ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFMediaStatusClass", () -> {
             Class<?> clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "FStatusMedia/mediaDataV2");
             if (clazz != null) return clazz;
             throw new ClassNotFoundException("FMediaStatus class not found");
@@ -4110,7 +4096,7 @@ public class Unobfuscator {
     }
 
     public static @NonNull Class<?> loadBottomBarConfigClass(@NonNull ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadBottomBarConfigClass", () -> {
             Class<?> clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "BottomBarConfig(");
             if (clazz != null) return clazz;
             throw new ClassNotFoundException("BottomBarConfig class not found");
@@ -4118,7 +4104,7 @@ public class Unobfuscator {
     }
 
     public static Method loadAntiRevokeFStatusMethod(@NonNull ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAntiRevokeFStatusMethod", () -> {
             var fStatusKeyClass = loadFStatusKeyClass(classLoader);
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "RevokeStatusManager/failed");
             return ReflectionUtils.findMethodUsingFilter(clazz, method -> method.getParameterCount() > 0 && fStatusKeyClass.isAssignableFrom(method.getParameterTypes()[0]));
@@ -4126,19 +4112,19 @@ public class Unobfuscator {
     }
 
     public static @NonNull Method loadGetStatusByKey(@NonNull ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "StatusStore/GET_STATUS_BY_KEY"));
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetStatusByKey", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "StatusStore/GET_STATUS_BY_KEY"));
     }
 
     // Find the WDSActionTileGroup class using DexKit by its simple class name
     public static Class<?> loadWDSActionTileGroupClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () ->
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadWDSActionTileGroupClass", () ->
                 findFirstClassUsingName(classLoader,
                         StringMatchType.EndsWith,
                         "WDSActionTileGroup"));
     }
 
     public static Method loadPausePlaybackMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPausePlaybackMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "playbackPage/pausePlayback page=");
             if (method == null)
@@ -4148,7 +4134,7 @@ public class Unobfuscator {
     }
 
     public static Method loadResumePlaybackMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadResumePlaybackMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "playbackPage/resumePlayback page=");
             if (method == null)
@@ -4158,7 +4144,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadVideoPlayerClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadVideoPlayerClass", () -> {
             var classes = dexkit.findClass(
                     FindClass.create().matcher(
                             ClassMatcher.create()
@@ -4171,7 +4157,7 @@ public class Unobfuscator {
     }
 
     public static Method loadStatusReplyMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadStatusReplyMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "playbackPage/reply page=");
             if (method == null)
@@ -4181,7 +4167,7 @@ public class Unobfuscator {
     }
 
     public static Method loadPageOnViewCreatedMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPageOnViewCreatedMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains,
                     "StatusPlaybackPage/onViewCreated");
             if (method == null)
@@ -4191,7 +4177,7 @@ public class Unobfuscator {
     }
 
     public static Method loadGetPageControllerMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetPageControllerMethod", () -> {
             Class<?> fragmentClass = XposedHelpers.findClass("com.whatsapp.status.playback.fragment.StatusPlaybackContactFragment", loader);
             Class<?> pageControllerBaseClass = loadPausePlaybackMethod(loader).getDeclaringClass();
             for (Method method : fragmentClass.getDeclaredMethods()) {
@@ -4206,8 +4192,8 @@ public class Unobfuscator {
             throw new RuntimeException("getPageController method not found in StatusPlaybackContactFragment");
         });
     }
-    public synchronized static Class<?> loadProtocolTreeNodeClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadProtocolTreeNodeClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadProtocolTreeNodeClass", () -> {
             Class<?> clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains,
                     "ProtocolTreeNode/getAttributeJid");
             if (clazz == null) {
@@ -4217,8 +4203,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadKeyValueClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadKeyValueClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadKeyValueClass", () -> {
             Class<?> clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains,
                     "KeyValue{key=");
             if (clazz == null) {
@@ -4228,8 +4214,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadReceiptMessageInfoClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadReceiptMessageInfoClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadReceiptMessageInfoClass", () -> {
             var methods = dexkit.findMethod(
                     FindMethod.create().matcher(
                             MethodMatcher.create()
@@ -4248,8 +4234,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadReceiptMainCallerMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptMainCallerMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptMainCallerMethod", () -> {
             var receiptMethod = loadReceiptMethod(classLoader);
             var methodReceiptData = dexkit.getMethodData(receiptMethod);
             if (methodReceiptData == null) return null;
@@ -4281,8 +4267,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method[] loadReceiptCallersMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
+    public static Method[] loadReceiptCallersMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadReceiptCallersMethod", () -> {
             var methodReceiptMainCaller = loadReceiptMainCallerMethod(classLoader);
             if (methodReceiptMainCaller == null) return null;
             var methodData = dexkit.getMethodData(methodReceiptMainCaller);
@@ -4304,7 +4290,7 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static List<String> findCallers(Method targetMethod) {
+    public static List<String> findCallers(Method targetMethod) {
         try {
             var callers = dexkit.findMethod(
                 FindMethod.create().matcher(
@@ -4318,7 +4304,7 @@ public class Unobfuscator {
         }
     }
 
-    public synchronized static Method findVoiceTransitionMethod(ClassLoader classLoader, Class<?> fragmentClass, String recorderTypeName) {
+    public static Method findVoiceTransitionMethod(ClassLoader classLoader, Class<?> fragmentClass, String recorderTypeName) {
         try {
             var classData = dexkit.getClassData(fragmentClass.getName());
             if (classData != null) {
@@ -4348,7 +4334,7 @@ public class Unobfuscator {
         return null;
     }
 
-    public synchronized static Method findVoiceSendTriggerMethod(ClassLoader classLoader, Class<?> fragmentClass, String recorderTypeName) {
+    public static Method findVoiceSendTriggerMethod(ClassLoader classLoader, Class<?> fragmentClass, String recorderTypeName) {
         try {
             var classData = dexkit.getClassData(fragmentClass.getName());
             if (classData != null) {
@@ -4377,7 +4363,7 @@ public class Unobfuscator {
         return null;
     }
 
-    public synchronized static Field findVoiceDurationField(ClassLoader classLoader, Method setDurationMethod) {
+    public static Field findVoiceDurationField(ClassLoader classLoader, Method setDurationMethod) {
         try {
             var methodData = dexkit.getMethodData(setDurationMethod);
             if (methodData != null) {
@@ -4397,7 +4383,7 @@ public class Unobfuscator {
         return null;
     }
 
-    public synchronized static Method findVoiceGetPreviewStateMethod(ClassLoader classLoader, Class<?> delegateClass, String recorderTypeName, Class<?> stateSuperClass) {
+    public static Method findVoiceGetPreviewStateMethod(ClassLoader classLoader, Class<?> delegateClass, String recorderTypeName, Class<?> stateSuperClass) {
         try {
             var recorderClassData = dexkit.getClassData(recorderTypeName);
             if (recorderClassData != null) {
@@ -4424,8 +4410,8 @@ public class Unobfuscator {
 
     // --- PhoneNumberUtil Unobfuscation ---
 
-    public synchronized static Class<?> loadPhoneNumberUtilClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadPhoneNumberUtilClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadPhoneNumberUtilClass", () -> {
             Class<?> cls = findFirstClassUsingStrings(classLoader, StringMatchType.Equals,
                     "invalid metadata (country calling code was mapped to the non-geo entity as well as specific region(s))");
             if (cls == null) {
@@ -4438,8 +4424,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPhoneNumberUtilGetInstance(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadPhoneNumberUtilGetInstance(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPhoneNumberUtilGetInstance", () -> {
             Class<?> clazz = loadPhoneNumberUtilClass(classLoader);
             for (Method m : clazz.getDeclaredMethods()) {
                 if (Modifier.isStatic(m.getModifiers())
@@ -4452,8 +4438,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPhoneNumberUtilParse(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadPhoneNumberUtilParse(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPhoneNumberUtilParse", () -> {
             Class<?> clazz = loadPhoneNumberUtilClass(classLoader);
             for (Method m : clazz.getDeclaredMethods()) {
                 if (m.getParameterCount() == 2
@@ -4468,8 +4454,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadPhoneNumberUtilIsValidNumber(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadPhoneNumberUtilIsValidNumber(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPhoneNumberUtilIsValidNumber", () -> {
             Class<?> clazz = loadPhoneNumberUtilClass(classLoader);
             Method parseMethod = loadPhoneNumberUtilParse(classLoader);
             Class<?> phoneNumberClass = parseMethod.getReturnType();
@@ -0,0 +1,181 @@
+package com.waenhancer.xposed.core.devkit;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.luckypray.dexkit.DexKitBridge;
+import org.luckypray.dexkit.query.BatchFindClassUsingStrings;
+import org.luckypray.dexkit.query.BatchFindMethodUsingStrings;
+import org.luckypray.dexkit.query.FindClass;
+import org.luckypray.dexkit.query.FindMethod;
+import org.luckypray.dexkit.query.enums.StringMatchType;
+import org.luckypray.dexkit.query.matchers.ClassMatcher;
+import org.luckypray.dexkit.query.matchers.MethodMatcher;
+import org.luckypray.dexkit.result.ClassDataList;
+import org.luckypray.dexkit.result.MethodDataList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Grouped DexKit pass for the plain string lookups used by the Unobfuscator.load* methods.
+ * <p>
+ * Every findFirst/findAll*UsingStrings query is recorded in a prefs file that survives WhatsApp
+ * updates. When the hook cache is cold, the recorded queries run up front as one
+ * batchFindMethodUsingStrings / batchFindClassUsingStrings call per match type, and each
+ * load* call is answered from that result instead of scanning the whole dex again. Results
+ * still reach UnobfuscatorCache through the normal load* save path.
+ */
+public final class UnobfuscatorBatch {
+
+    private static final String PREFS_NAME = "UnobfuscatorQueries";
+    private static final String KEY_METHOD_QUERIES = "method_queries";
+    private static final String KEY_CLASS_QUERIES = "class_queries";
+
+    private static final Set<String> methodQueries = ConcurrentHashMap.newKeySet();
+    private static final Set<String> classQueries = ConcurrentHashMap.newKeySet();
+    private static final Map<String, MethodDataList> methodResults = new ConcurrentHashMap<>();
+    private static final Map<String, ClassDataList> classResults = new ConcurrentHashMap<>();
+
+    private UnobfuscatorBatch() {
+    }
+
+    /**
+     * Runs every query recorded by previous sessions in one grouped pass. Call before any feature
+     * starts resolving hooks, and only when the hook cache is cold.
+     */
+    public static void prefetch(@NonNull Context context, @NonNull DexKitBridge dexkit) {
+        var prefs = getPrefs(context);
+        var savedMethods = prefs.getStringSet(KEY_METHOD_QUERIES, null);
+        var savedClasses = prefs.getStringSet(KEY_CLASS_QUERIES, null);
+        try {
+            if (savedMethods != null) {
+                for (var entry : groupByType(savedMethods).entrySet()) {
+                    var query = BatchFindMethodUsingStrings.create().groups(entry.getValue(), entry.getKey(), false);
+                    methodResults.putAll(dexkit.batchFindMethodUsingStrings(query));
+                }
+            }
+            if (savedClasses != null) {
+                for (var entry : groupByType(savedClasses).entrySet()) {
+                    var query = BatchFindClassUsingStrings.create().groups(entry.getValue(), entry.getKey(), false);
+                    classResults.putAll(dexkit.batchFindClassUsingStrings(query));
+                }
+            }
+        } catch (Throwable t) {
+            // A failed batch only costs the speedup; every lookup falls back to its own scan
+            XposedBridge.log("[WAEX] Unobfuscator batch prefetch failed: " + t.getMessage());
+            methodResults.clear();
+            classResults.clear();
+        }
+    }
+
+    /**
+     * Adds the queries seen in this session to the saved ones for the next cold start and drops the
+     * batch results.
+     * <p>
+     * A warm start only sees its few cache misses, so saved queries are never replaced, only merged.
+     * On a cold start after a successful prefetch, a saved query that no feature made and that
+     * matched nothing in the new dex is dropped as stale.
+     *
+     * @param coldStart whether {@link #prefetch} ran in this session
+     */
+    public static void finish(@NonNull Context context, boolean coldStart) {
+        var prefs = getPrefs(context);
+        var savedMethods = prefs.getStringSet(KEY_METHOD_QUERIES, null);
+        var savedClasses = prefs.getStringSet(KEY_CLASS_QUERIES, null);
+        var methods = merge(savedMethods, methodQueries, coldStart ? methodResults : null);
+        var classes = merge(savedClasses, classQueries, coldStart ? classResults : null);
+        methodResults.clear();
+        classResults.clear();
+        if (methods.equals(savedMethods) && classes.equals(savedClasses)) return;
+        prefs.edit()
+                .putStringSet(KEY_METHOD_QUERIES, methods)
+                .putStringSet(KEY_CLASS_QUERIES, classes)
+                .apply();
+    }
+
+    private static Set<String> merge(@Nullable Set<String> saved, Set<String> seen,
+                                     @Nullable Map<String, ? extends Collection<?>> batch) {
+        var merged = new HashSet<>(seen);
+        if (saved == null) return merged;
+        // An empty batch means the prefetch failed or had nothing to run; nothing can be called stale then
+        boolean prune = batch != null && !batch.isEmpty();
+        for (String key : saved) {
+            if (prune && !seen.contains(key)) {
+                var found = batch.get(key);
+                if (found == null || found.isEmpty()) continue;
+            }
+            merged.add(key);
+        }
+        return merged;
+    }
+
+    static MethodDataList findMethods(DexKitBridge dexkit, StringMatchType type, String... strings) {
+        var key = queryKey(type, strings);
+        methodQueries.add(key);
+        var batched = methodResults.get(key);
+        if (batched != null) return batched;
+        var matcher = new MethodMatcher();
+        for (String string : strings) {
+            matcher.addUsingString(string, type);
+        }
+        return dexkit.findMethod(FindMethod.create().matcher(matcher));
+    }
+
+    static ClassDataList findClasses(DexKitBridge dexkit, StringMatchType type, String... strings) {
+        var key = queryKey(type, strings);
+        classQueries.add(key);
+        var batched = classResults.get(key);
+        if (batched != null) return batched;
+        var matcher = new ClassMatcher();
+        for (String string : strings) {
+            matcher.addUsingString(string, type);
+        }
+        return dexkit.findClass(FindClass.create().matcher(matcher));
+    }
+
+    // JSON keeps the key XML-safe for SharedPreferences and doubles as the batch group name
+    private static String queryKey(StringMatchType type, String... strings) {
+        var array = new JSONArray();
+        array.put(type.name());
+        for (String string : strings) {
+            array.put(string);
+        }
+        return array.toString();
+    }
+
+    private static Map<StringMatchType, Map<String, Collection<String>>> groupByType(Set<String> keys) {
+        var groups = new EnumMap<StringMatchType, Map<String, Collection<String>>>(StringMatchType.class);
+        for (String key : keys) {
+            try {
+                var array = new JSONArray(key);
+                var type = StringMatchType.valueOf(array.getString(0));
+                List<String> strings = new ArrayList<>(array.length() - 1);
+                for (int i = 1; i < array.length(); i++) {
+                    strings.add(array.getString(i));
+                }
+                if (strings.isEmpty()) continue;
+                groups.computeIfAbsent(type, t -> new HashMap<>()).put(key, strings);
+            } catch (Exception ignored) {
+            }
+        }
+        return groups;
+    }
+
+    private static SharedPreferences getPrefs(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
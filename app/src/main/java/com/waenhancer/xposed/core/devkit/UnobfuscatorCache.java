@@ -8,12 +8,10 @@ import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.widget.Toast;
 
-import androidx.annotation.NonNull;
-
 import com.google.devrel.gmscore.tools.apk.arsc.ArscUtils;
 import com.waenhancer.BuildConfig;
-import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.R;
+import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.utils.Utils;
 import com.waenhancer.xposed.utils.XResManager;
 
@@ -29,10 +27,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -40,15 +39,22 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import de.robv.android.xposed.XposedBridge;
-import de.robv.android.xposed.XposedHelpers;
 
 public class UnobfuscatorCache {
 
     private final Application mApplication;
     private static UnobfuscatorCache mInstance;
+    private static final String CACHE_FILE_NAME = "unobfuscator_cache.bin";
+
+    /**
+     * Module-private settings of the hook process (bridge order). Resolved hooks are kept in
+     * {@link #hookCache}.
+     */
     public final SharedPreferences sPrefsCacheHooks;
+    private final HookCacheFile hookCache;
+    private volatile HookTable hookTable;
 
-    private final Map<String, String> reverseResourceMap = new HashMap<>();
+    private final Map<String, String> reverseResourceMap = new ConcurrentHashMap<>();
     private final SharedPreferences sPrefsCacheStrings;
 
     @SuppressLint("ApplySharedPref")
@@ -57,36 +63,15 @@ public class UnobfuscatorCache {
         try {
             sPrefsCacheHooks = mApplication.getSharedPreferences("UnobfuscatorCache", Context.MODE_PRIVATE);
             sPrefsCacheStrings = mApplication.getSharedPreferences("UnobfuscatorCacheStrings", Context.MODE_PRIVATE);
-            long version = 0;
-            try {
-                version = sPrefsCacheHooks.getLong("version", 0);
-            } catch (Exception e) {
-                try {
-                    String v = sPrefsCacheHooks.getString("version", "0");
-                    version = Long.parseLong(v);
-                } catch (Exception ignored) {}
-            }
-            
             long currentVersion = mApplication.getPackageManager().getPackageInfo(mApplication.getPackageName(), 0).getLongVersionCode();
-            
-            long savedUpdateTime = 0;
-            try {
-                savedUpdateTime = sPrefsCacheHooks.getLong("updateTime", 0);
-            } catch (Exception e) {
-                try {
-                    String v = sPrefsCacheHooks.getString("updateTime", "0");
-                    savedUpdateTime = Long.parseLong(v);
-                } catch (Exception ignored) {}
-            }
-
-            String savedVersionName = sPrefsCacheHooks.getString("wae_version_name", "");
-            String versionName = BuildConfig.VERSION_NAME;
-            long lastUpdateTime = savedUpdateTime;
+            long lastUpdateTime = 0;
             try {
                 lastUpdateTime = mApplication.getPackageManager().getPackageInfo(BuildConfig.APPLICATION_ID, 0).lastUpdateTime;
             } catch (Exception ignored) {
             }
-            if (version != currentVersion || savedUpdateTime != lastUpdateTime || !versionName.equals(savedVersionName)) {
+            hookCache = new HookCacheFile(new File(mApplication.getNoBackupFilesDir(), CACHE_FILE_NAME),
+                    currentVersion, lastUpdateTime, BuildConfig.VERSION_NAME);
+            if (!hookCache.open()) {
                 int toastResId = R.string.starting_cache;
                 try {
                     if (XResManager.moduleResources != null) {
@@ -101,14 +86,15 @@ public class UnobfuscatorCache {
                     }
                 } catch (Exception ignored) {
                 }
-                sPrefsCacheHooks.edit().clear().commit();
-                sPrefsCacheHooks.edit().putLong("version", currentVersion).commit();
-                sPrefsCacheHooks.edit().putLong("updateTime", lastUpdateTime).commit();
-                sPrefsCacheHooks.edit().putString("wae_version_name", versionName).commit();
-                if (version != currentVersion) {
-                    sPrefsCacheStrings.edit().clear().commit();
+                coldStart = true;
+                hookCache.clear();
+                pruneHookPrefs();
+                long stringsVersion = sPrefsCacheStrings.getLong("wae_version", 0);
+                if (stringsVersion != currentVersion) {
+                    sPrefsCacheStrings.edit().clear().putLong("wae_version", currentVersion).commit();
                 }
             }
+            hookTable = new HookTable(hookCache.snapshot());
             initCacheStrings();
         } catch (Exception e) {
             throw new RuntimeException("Can't initialize UnobfuscatorCache: " + e.getMessage(), e);
@@ -116,6 +102,24 @@ public class UnobfuscatorCache {
 
     }
 
+    /**
+     * Runs on every cold start. Besides the bridge order, the "UnobfuscatorCache" prefs hold the
+     * legacy hook entries and the obfuscated field names ReflectionUtils caches under
+     * {@code field_cache_*}; neither is valid for another WhatsApp build, so only the bridge order
+     * is kept. Warm starts leave the prefs alone.
+     */
+    @SuppressLint("ApplySharedPref")
+    private void pruneHookPrefs() {
+        var editor = sPrefsCacheHooks.edit();
+        boolean changed = false;
+        for (String key : sPrefsCacheHooks.getAll().keySet()) {
+            if (key.equals("preferredOrder")) continue;
+            editor.remove(key);
+            changed = true;
+        }
+        if (changed) editor.commit();
+    }
+
     public static synchronized void init(Application mApp) {
         if (mInstance == null && mApp != null)
             mInstance = new UnobfuscatorCache(mApp);
@@ -131,18 +135,41 @@ public class UnobfuscatorCache {
         return mInstance;
     }
 
-    @SuppressLint("ApplySharedPref")
     public void clearCache() {
-        sPrefsCacheHooks.edit().clear().commit();
-        try {
-            long currentVersion = mApplication.getPackageManager().getPackageInfo(mApplication.getPackageName(), 0).getLongVersionCode();
-            long lastUpdateTime = mApplication.getPackageManager().getPackageInfo(BuildConfig.APPLICATION_ID, 0).lastUpdateTime;
-            String versionName = BuildConfig.VERSION_NAME;
-            sPrefsCacheHooks.edit().putLong("version", currentVersion).commit();
-            sPrefsCacheHooks.edit().putLong("updateTime", lastUpdateTime).commit();
-            sPrefsCacheHooks.edit().putString("wae_version_name", versionName).commit();
-        } catch (Exception ignored) {
-        }
+        hookCache.clear();
+        hookTable = new HookTable(hookCache.snapshot());
+    }
+
+    /**
+     * Resolves every cached descriptor into its reflection handle on a background thread, so
+     * features starting afterwards mostly read ready slots.
+     */
+    public void preloadHooks(ClassLoader loader) {
+        var table = hookTable;
+        if (table.size() == 0) return;
+        CompletableFuture.runAsync(() -> table.preload(loader));
+    }
+
+    public HookTable getHookTable() {
+        return hookTable;
+    }
+
+    /**
+     * The handle in the table slot of {@code key}, or null when the key was not in the cache at
+     * startup. This is the path of every warm load*, so it is one id probe and an array read, untimed.
+     */
+    private Object tableHandle(ClassLoader loader, String key, byte kind) throws Exception {
+        var table = hookTable;
+        int id = table.idOf(key);
+        return id >= 0 && table.kindOf(id) == kind ? table.get(id, loader) : null;
+    }
+
+    /**
+     * Writes every hook resolved so far in one append. Called once loading is done; anything
+     * resolved afterwards (lazy features) is written as it arrives.
+     */
+    public void flush() {
+        hookCache.flush();
     }
 
     private void initCacheStrings() {
@@ -228,7 +255,7 @@ public class UnobfuscatorCache {
         }
     }
 
-    private String getMapIdString(String search) {
+    private synchronized String getMapIdString(String search) {
         if (reverseResourceMap.isEmpty()) {
             initializeReverseResourceMap();
             System.gc();
@@ -258,164 +285,226 @@ public class UnobfuscatorCache {
 
     private final Set<String> failedKeys = Collections.synchronizedSet(new HashSet<>());
 
+    // Cold lookups currently running, by cache key. Unobfuscator no longer serializes every
+    // load* call behind one monitor, so a second thread asking for the same key waits on the
+    // first resolution instead of repeating the DexKit scan.
+    private final ConcurrentHashMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile boolean coldStart;
+
+    @SuppressWarnings("unchecked")
+    private <T> T resolveOnce(String key, FunctionCall<T> functionCall) throws Exception {
+        var pending = new InFlight<T>();
+        var running = (InFlight<T>) inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            // Nested lookups under the same key (e.g. loadFreezeSeenMethod) run on the owner thread
+            if (running.owner == Thread.currentThread()) return functionCall.call();
+            return running.await();
+        }
+        long perfStart = PerfLogger.start();
+        try {
+            T result = functionCall.call();
+            pending.complete(result, null);
+            return result;
+        } catch (Exception e) {
+            pending.complete(null, e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+            if (perfStart > 0) PerfLogger.end("Unobfuscator.resolve." + key, perfStart, 100);
+        }
+    }
+
+    private static final class InFlight<T> {
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private T result;
+        private Exception error;
+
+        void complete(T result, Exception error) {
+            this.result = result;
+            this.error = error;
+            done.countDown();
+        }
+
+        T await() throws Exception {
+            done.await();
+            if (error != null) throw error;
+            return result;
+        }
+    }
+
+    /**
+     * Whether this process started with an empty hook cache (first launch or WhatsApp/module update).
+     */
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
     public Field getField(ClassLoader loader, FunctionCall<Field> functionCall) throws Exception {
-        var methodName = getKeyName();
-        if (failedKeys.contains(methodName)) {
-            throw new NoSuchFieldException("Field lookup failed previously in this session: " + methodName);
+        return getField(loader, getKeyName(), functionCall);
+    }
+
+    public Field getField(ClassLoader loader, String key, FunctionCall<Field> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_FIELD);
+        if (handle != null) return (Field) handle;
+        if (failedKeys.contains(key)) {
+            throw new NoSuchFieldException("Field lookup failed previously in this session: " + key);
         }
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Field result = functionCall.call();
-                if (result == null) {
-                    failedKeys.add(methodName);
-                    throw new NoSuchFieldException("Field is null");
+            return resolveOnce(key, () -> {
+                try {
+                    Field result = functionCall.call();
+                    if (result == null) {
+                        failedKeys.add(key);
+                        throw new NoSuchFieldException("Field is null");
+                    }
+                    saveField(key, result);
+                    return result;
+                } catch (Exception e) {
+                    failedKeys.add(key);
+                    throw new Exception("Error getting field " + key + ": " + e.getMessage(), e);
                 }
-                saveField(methodName, result);
-                return result;
-            } catch (Exception e) {
-                failedKeys.add(methodName);
-                throw new Exception("Error getting field " + methodName + ": " + e.getMessage(), e);
-            }
+            });
         }
-        String[] ClassAndName = value.split(":");
-        Class<?> cls = ReflectionUtils.findClass(ClassAndName[0], loader);
-        return XposedHelpers.findField(cls, ClassAndName[1]);
+        return (Field) HookTable.decode(HookTable.KIND_FIELD, value, loader);
     }
 
     public Field[] getFields(ClassLoader loader, FunctionCall<Field[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getFields(loader, getKeyName(), functionCall);
+    }
+
+    public Field[] getFields(ClassLoader loader, String key, FunctionCall<Field[]> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_FIELDS);
+        if (handle != null) return ((Field[]) handle).clone();
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Field[] result = functionCall.call();
-                if (result == null) throw new NoSuchFieldException("Fields is null");
-                saveFields(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting fields " + methodName + ": " + e.getMessage(), e);
-            }
-        }
-        ArrayList<Field> fields = new ArrayList<>();
-        String[] fieldsString = value.split("&");
-        for (String field : fieldsString) {
-            String[] ClassAndName = field.split(":");
-            Class<?> cls = ReflectionUtils.findClass(ClassAndName[0], loader);
-            fields.add(XposedHelpers.findField(cls, ClassAndName[1]));
+            return resolveOnce(key, () -> {
+                try {
+                    Field[] result = functionCall.call();
+                    if (result == null) throw new NoSuchFieldException("Fields is null");
+                    saveFields(key, result);
+                    return result;
+                } catch (Exception e) {
+                    throw new Exception("Error getting fields " + key + ": " + e.getMessage(), e);
+                }
+            });
         }
-        return fields.toArray(new Field[0]);
+        return ((Field[]) HookTable.decode(HookTable.KIND_FIELDS, value, loader)).clone();
     }
 
     public Method getMethod(ClassLoader loader, FunctionCall<Method> functionCall) throws Exception {
-        var methodName = getKeyName();
-        if (failedKeys.contains(methodName)) {
-            throw new NoSuchMethodException("Method lookup failed previously in this session: " + methodName);
+        return getMethod(loader, getKeyName(), functionCall);
+    }
+
+    public Method getMethod(ClassLoader loader, String key, FunctionCall<Method> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_METHOD);
+        if (handle != null) return (Method) handle;
+        if (failedKeys.contains(key)) {
+            throw new NoSuchMethodException("Method lookup failed previously in this session: " + key);
         }
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Method result = functionCall.call();
-                if (result == null) {
-                    failedKeys.add(methodName);
-                    throw new NoSuchMethodException("Method is null");
+            return resolveOnce(key, () -> {
+                try {
+                    Method result = functionCall.call();
+                    if (result == null) {
+                        failedKeys.add(key);
+                        throw new NoSuchMethodException("Method is null");
+                    }
+                    saveMethod(key, result);
+                    return result;
+                } catch (Exception e) {
+                    failedKeys.add(key);
+                    throw new Exception("Error getting method " + key + ": " + e.getMessage(), e);
                 }
-                saveMethod(methodName, result);
-                return result;
-            } catch (Exception e) {
-                failedKeys.add(methodName);
-                throw new Exception("Error getting method " + methodName + ": " + e.getMessage(), e);
-            }
+            });
         }
-        return getMethodFromString(loader, value);
+        return (Method) HookTable.decode(HookTable.KIND_METHOD, value, loader);
     }
 
     public Method[] getMethods(ClassLoader loader, FunctionCall<Method[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        if (failedKeys.contains(methodName)) {
-            throw new NoSuchMethodException("Methods lookup failed previously in this session: " + methodName);
+        return getMethods(loader, getKeyName(), functionCall);
+    }
+
+    public Method[] getMethods(ClassLoader loader, String key, FunctionCall<Method[]> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_METHODS);
+        if (handle != null) return ((Method[]) handle).clone();
+        if (failedKeys.contains(key)) {
+            throw new NoSuchMethodException("Methods lookup failed previously in this session: " + key);
         }
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Method[] result = functionCall.call();
-                if (result == null) {
-                    failedKeys.add(methodName);
-                    throw new NoSuchMethodException("Methods is null");
+            return resolveOnce(key, () -> {
+                try {
+                    Method[] result = functionCall.call();
+                    if (result == null) {
+                        failedKeys.add(key);
+                        throw new NoSuchMethodException("Methods is null");
+                    }
+                    saveMethods(key, result);
+                    return result;
+                } catch (Exception e) {
+                    failedKeys.add(key);
+                    throw new Exception("Error getting methods " + key + ": " + e.getMessage(), e);
                 }
-                saveMethods(methodName, result);
-                return result;
-            } catch (Exception e) {
-                failedKeys.add(methodName);
-                throw new Exception("Error getting methods " + methodName + ": " + e.getMessage(), e);
-            }
-        }
-        var methodStrings = value.split("&");
-        ArrayList<Method> methods = new ArrayList<>();
-        for (String methodString : methodStrings) {
-            var method = getMethodFromString(loader, methodString);
-            methods.add(method);
+            });
         }
-        return methods.toArray(new Method[0]);
+        return ((Method[]) HookTable.decode(HookTable.KIND_METHODS, value, loader)).clone();
     }
 
-    @NonNull
-    private Method getMethodFromString(ClassLoader loader, String value) {
-        String[] classAndName = value.split(":");
-        Class<?> cls = XposedHelpers.findClass(classAndName[0], loader);
-        if (classAndName.length == 3) {
-            String[] params = classAndName[2].split(",");
-            Class<?>[] paramTypes = Arrays.stream(params).map(param -> ReflectionUtils.findClass(param, loader)).toArray(Class<?>[]::new);
-            return XposedHelpers.findMethodExact(cls, classAndName[1], paramTypes);
-        }
-        return XposedHelpers.findMethodExact(cls, classAndName[1]);
-    }
-
-
     public Class<?> getClass(ClassLoader loader, FunctionCall<Class<?>> functionCall) throws Exception {
         return getClass(loader, getKeyName(), functionCall);
     }
 
     public Class<?> getClass(ClassLoader loader, String key, FunctionCall<Class<?>> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_CLASS);
+        if (handle != null) return (Class<?>) handle;
         if (failedKeys.contains(key)) {
             throw new ClassNotFoundException("Class lookup failed previously in this session: " + key);
         }
-        String value = sPrefsCacheHooks.getString(key, null);
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Class<?> result = functionCall.call();
-                if (result == null) {
+            return resolveOnce(key, () -> {
+                try {
+                    Class<?> result = functionCall.call();
+                    if (result == null) {
+                        failedKeys.add(key);
+                        throw new ClassNotFoundException("Class is null");
+                    }
+                    saveClass(key, result);
+                    return result;
+                } catch (Exception e) {
                     failedKeys.add(key);
-                    throw new ClassNotFoundException("Class is null");
+                    throw new Exception("Error getting class " + key + ": " + e.getMessage(), e);
                 }
-                saveClass(key, result);
-                return result;
-            } catch (Exception e) {
-                failedKeys.add(key);
-                throw new Exception("Error getting class " + key + ": " + e.getMessage(), e);
-            }
+            });
         }
-        return XposedHelpers.findClass(value, loader);
+        return (Class<?>) HookTable.decode(HookTable.KIND_CLASS, value, loader);
     }
 
     public Class<?>[] getClasses(ClassLoader loader, FunctionCall<Class<?>[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getClasses(loader, getKeyName(), functionCall);
+    }
+
+    public Class<?>[] getClasses(ClassLoader loader, String key, FunctionCall<Class<?>[]> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_CLASSES);
+        if (handle != null) return ((Class<?>[]) handle).clone();
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Class<?>[] result = functionCall.call();
-                if (result == null) throw new ClassNotFoundException("Classes is null");
-                saveClasses(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting classes " + methodName + ": " + e.getMessage(), e);
-            }
-        }
-        String[] classStrings = value.split("&");
-        ArrayList<Class<?>> classes = new ArrayList<>();
-        for (String classString : classStrings) {
-            classes.add(XposedHelpers.findClass(classString, loader));
+            return resolveOnce(key, () -> {
+                try {
+                    Class<?>[] result = functionCall.call();
+                    if (result == null) throw new ClassNotFoundException("Classes is null");
+                    saveClasses(key, result);
+                    return result;
+                } catch (Exception e) {
+                    throw new Exception("Error getting classes " + key + ": " + e.getMessage(), e);
+                }
+            });
         }
-        return classes.toArray(new Class<?>[0]);
+        return ((Class<?>[]) HookTable.decode(HookTable.KIND_CLASSES, value, loader)).clone();
     }
 
     public HashMap<String, Field> getMapField(ClassLoader loader, FunctionCall<HashMap<String, Field>> functionCall) throws Exception {
@@ -423,18 +512,24 @@ public class UnobfuscatorCache {
     }
 
     public HashMap<String, Field> getMapField(ClassLoader loader, String key, FunctionCall<HashMap<String, Field>> functionCall) throws Exception {
-        String value = sPrefsCacheHooks.getString(key, null);
+        var handle = tableHandle(loader, key, HookTable.KIND_FIELD_MAP);
+        //noinspection unchecked
+        if (handle != null) return new HashMap<>((HashMap<String, Field>) handle);
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                var result = functionCall.call();
-                if (result == null) throw new Exception("HashMap is null");
-                saveHashMap(key, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting HashMap " + key + ": " + e.getMessage(), e);
-            }
+            return resolveOnce(key, () -> {
+                try {
+                    var result = functionCall.call();
+                    if (result == null) throw new Exception("HashMap is null");
+                    saveHashMap(key, result);
+                    return result;
+                } catch (Exception e) {
+                    throw new Exception("Error getting HashMap " + key + ": " + e.getMessage(), e);
+                }
+            });
         }
-        return loadHashMap(loader, key);
+        //noinspection unchecked
+        return new HashMap<>((HashMap<String, Field>) HookTable.decode(HookTable.KIND_FIELD_MAP, value, loader));
     }
 
     private void saveHashMap(String key, HashMap<String, Field> map) {
@@ -449,70 +544,30 @@ public class UnobfuscatorCache {
                 e.printStackTrace();
             }
         }
-        sPrefsCacheHooks.edit().putString(key, jsonObject.toString()).apply();
-    }
-
-    private HashMap<String, Field> loadHashMap(ClassLoader loader, String key) {
-        HashMap<String, Field> map = new HashMap<>();
-        String jsonString = sPrefsCacheHooks.getString(key, null);
-        if (jsonString == null) return map;
-
-        try {
-            JSONObject jsonObject = new JSONObject(jsonString);
-            Iterator<String> keys = jsonObject.keys();
-
-            while (keys.hasNext()) {
-                String mapKey = keys.next();
-                String value = jsonObject.getString(mapKey);
-
-                // Quebra "com.package.Classe:campo"
-                String[] parts = value.split(":");
-                if (parts.length == 2) {
-                    String className = parts[0];
-                    String fieldName = parts[1];
-                    try {
-                        Class<?> clazz = loader.loadClass(className);
-                        Field field = clazz.getDeclaredField(fieldName);
-                        field.setAccessible(true);
-                        map.put(mapKey, field);
-                    } catch (Exception e) {
-                        e.printStackTrace(); // ignora campos inválidos
-                    }
-                }
-            }
-        } catch (JSONException e) {
-            e.printStackTrace();
-        }
-
-        return map;
+        hookCache.put(key, HookTable.KIND_FIELD_MAP, jsonObject.toString());
     }
 
-
-    @SuppressWarnings("ApplySharedPref")
     public void saveField(String key, Field field) {
         String value = field.getDeclaringClass().getName() + ":" + field.getName();
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        hookCache.put(key, HookTable.KIND_FIELD, value);
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveFields(String key, Field[] fields) {
         ArrayList<String> values = new ArrayList<>();
         for (Field field : fields) {
             values.add(field.getDeclaringClass().getName() + ":" + field.getName());
         }
-        sPrefsCacheHooks.edit().putString(key, String.join("&", values)).commit();
+        hookCache.put(key, HookTable.KIND_FIELDS, String.join("&", values));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveMethod(String key, Method method) {
         String value = method.getDeclaringClass().getName() + ":" + method.getName();
         if (method.getParameterTypes().length > 0) {
             value += ":" + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
         }
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        hookCache.put(key, HookTable.KIND_METHOD, value);
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveMethods(String key, Method[] methods) {
         ArrayList<String> values = new ArrayList<>();
         for (Method method : methods) {
@@ -522,23 +577,26 @@ public class UnobfuscatorCache {
             }
             values.add(value);
         }
-        sPrefsCacheHooks.edit().putString(key, String.join("&", values)).commit();
+        hookCache.put(key, HookTable.KIND_METHODS, String.join("&", values));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveClass(String message, Class<?> messageClass) {
-        sPrefsCacheHooks.edit().putString(message, messageClass.getName()).commit();
+        hookCache.put(message, HookTable.KIND_CLASS, messageClass.getName());
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveClasses(String message, Class<?>[] messageClass) {
         ArrayList<String> values = new ArrayList<>();
         for (Class<?> aClass : messageClass) {
             values.add(aClass.getName());
         }
-        sPrefsCacheHooks.edit().putString(message, String.join("&", values)).commit();
+        hookCache.put(message, HookTable.KIND_CLASSES, String.join("&", values));
     }
 
+    /**
+     * Derives a key from the calling load* method by walking the stack. Only the overloads without
+     * an explicit key use this (callers outside Unobfuscator, e.g. pro plugins); Unobfuscator passes
+     * its method name as a constant so warm lookups never capture a stack trace.
+     */
     private String getKeyName() {
         AtomicReference<String> keyName = new AtomicReference<>("");
         StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
@@ -570,74 +628,58 @@ public class UnobfuscatorCache {
     }
 
     public Constructor getConstructor(ClassLoader loader, FunctionCall functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getConstructor(loader, getKeyName(), functionCall);
+    }
+
+    public Constructor getConstructor(ClassLoader loader, String key, FunctionCall functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_CONSTRUCTOR);
+        if (handle != null) return (Constructor) handle;
+        String value = hookCache.get(key);
         if (value == null) {
-            var result = (Constructor) functionCall.call();
-            if (result == null) throw new Exception("Class is null");
-            saveConstructor(methodName, result);
-            return result;
-        }
-        String[] classAndName = value.split(":");
-        Class<?> cls = XposedHelpers.findClass(classAndName[0], loader);
-        if (classAndName.length == 2) {
-            String[] params = classAndName[1].split(",");
-            Class<?>[] paramTypes = Arrays.stream(params).map(param -> ReflectionUtils.findClass(param, loader)).toArray(Class<?>[]::new);
-            return XposedHelpers.findConstructorExact(cls, paramTypes);
+            return resolveOnce(key, () -> {
+                var result = (Constructor) functionCall.call();
+                if (result == null) throw new Exception("Class is null");
+                saveConstructor(key, result);
+                return result;
+            });
         }
-        return XposedHelpers.findConstructorExact(cls);
+        return (Constructor) HookTable.decode(HookTable.KIND_CONSTRUCTOR, value, loader);
     }
 
-    @SuppressWarnings("ApplySharedPref")
     private void saveConstructor(String key, Constructor constructor) {
         String value = constructor.getDeclaringClass().getName();
         if (constructor.getParameterTypes().length > 0) {
             value += ":" + Arrays.stream(constructor.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
         }
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        hookCache.put(key, HookTable.KIND_CONSTRUCTOR, value);
     }
 
     public Number getNumber(ClassLoader loader, FunctionCall<Number> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getNumber(loader, getKeyName(), functionCall);
+    }
+
+    public Number getNumber(ClassLoader loader, String key, FunctionCall<Number> functionCall) throws Exception {
+        var handle = tableHandle(loader, key, HookTable.KIND_NUMBER);
+        if (handle != null) return (Number) handle;
+        String value = hookCache.get(key);
         if (value == null) {
-            try {
-                Number result = functionCall.call();
-                if (result == null) throw new Exception("Number is null");
-                saveNumber(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting number " + methodName + ": " + e.getMessage(), e);
-            }
+            return resolveOnce(key, () -> {
+                try {
+                    Number result = functionCall.call();
+                    if (result == null) throw new Exception("Number is null");
+                    saveNumber(key, result);
+                    return result;
+                } catch (Exception e) {
+                    throw new Exception("Error getting number " + key + ": " + e.getMessage(), e);
+                }
+            });
         }
-        return loadNumber(value);
+        return (Number) HookTable.decode(HookTable.KIND_NUMBER, value, loader);
     }
 
-    @SuppressWarnings("ApplySharedPref")
     private void saveNumber(String key, Number number) {
         String value = number.getClass().getName() + ":" + number;
-        sPrefsCacheHooks.edit().putString(key, value).commit();
-    }
-
-    private Number loadNumber(String value) {
-        String[] parts = value.split(":", 2);
-        String className = parts.length == 2 ? parts[0] : Integer.class.getName();
-        String numberValue = parts.length == 2 ? parts[1] : value;
-
-        return switch (className) {
-            case "java.lang.Integer" -> Integer.valueOf(numberValue);
-            case "java.lang.Long" -> Long.valueOf(numberValue);
-            case "java.lang.Float" -> Float.valueOf(numberValue);
-            case "java.lang.Double" -> Double.valueOf(numberValue);
-            case "java.lang.Short" -> Short.valueOf(numberValue);
-            case "java.lang.Byte" -> Byte.valueOf(numberValue);
-            default -> {
-                if (numberValue.contains(".")) {
-                    yield Double.valueOf(numberValue);
-                }
-                yield Long.valueOf(numberValue);
-            }
-        };
+        hookCache.put(key, HookTable.KIND_NUMBER, value);
     }
 
     public interface FunctionCall<T> {
@@ -0,0 +1,117 @@
+package com.waenhancer.xposed.features.customization;
+
+import androidx.annotation.Nullable;
+
+import com.waenhancer.xposed.utils.ObjectExtras;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells group chats from contact chats in the conversation list.
+ * <p>
+ * The jid fields of a chat class ({@code A00}, then {@code A01}) and the {@code getServer} method of
+ * a jid class are resolved once per class. Results are remembered per chat object for as long as
+ * it lives, keyed by identity through {@link ObjectExtras}, so re-filtering the list only inspects
+ * rows it has not seen yet.
+ */
+final class ChatClassifier {
+
+    enum Kind {
+        CONTACT, GROUP, OTHER,
+        /** No jid or server to go by; the row is shown in both tabs. */
+        UNKNOWN;
+
+        boolean belongsTo(boolean groupsTab) {
+            return switch (this) {
+                case CONTACT -> !groupsTab;
+                case GROUP -> groupsTab;
+                case OTHER -> false;
+                case UNKNOWN -> true;
+            };
+        }
+    }
+
+    private static final class ChatAccessor {
+        final Field primary;
+        final Field fallback;
+
+        ChatAccessor(Class<?> chatClass) {
+            primary = findField(chatClass, "A00");
+            fallback = findField(chatClass, "A01");
+        }
+
+        @Nullable
+        Object jid(Object chat) {
+            try {
+                Object jid = primary != null ? primary.get(chat) : null;
+                if (jid == null && fallback != null) jid = fallback.get(chat);
+                return jid;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final ObjectExtras.Key<Kind> KIND = ObjectExtras.key("chatKind", Kind.class);
+
+    private final Map<Class<?>, ChatAccessor> chatAccessors = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Method>> serverMethods = new ConcurrentHashMap<>();
+
+    Kind classify(@Nullable Object chat) {
+        if (chat == null) return Kind.UNKNOWN;
+        Kind kind = ObjectExtras.get(chat, KIND);
+        if (kind != null) return kind;
+        kind = classifyJid(chatAccessors.computeIfAbsent(chat.getClass(), ChatAccessor::new).jid(chat));
+        // The jid may not be loaded yet; only settled answers are kept
+        if (kind != Kind.UNKNOWN) ObjectExtras.set(chat, KIND, kind);
+        return kind;
+    }
+
+    private Kind classifyJid(@Nullable Object jid) {
+        if (jid == null) return Kind.UNKNOWN;
+        var getServer = serverMethods.computeIfAbsent(jid.getClass(), ChatClassifier::findServerMethod);
+        if (!getServer.isPresent()) return Kind.UNKNOWN;
+        Object server;
+        try {
+            server = getServer.get().invoke(jid);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Kind.UNKNOWN;
+        }
+        if (!(server instanceof String value)) return Kind.UNKNOWN;
+        return switch (value) {
+            case "g.us", "broadcast" -> Kind.GROUP;
+            case "s.whatsapp.net", "lid" -> Kind.CONTACT;
+            default -> Kind.OTHER;
+        };
+    }
+
+    @Nullable
+    private static Field findField(Class<?> cls, String name) {
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Same lookup as XposedHelpers.findMethodExactIfExists(jidClass, "getServer")
+    private static Optional<Method> findServerMethod(Class<?> jidClass) {
+        try {
+            Method method = jidClass.getDeclaredMethod("getServer");
+            method.setAccessible(true);
+            return Optional.of(method);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -7,15 +7,12 @@ import static com.waenhancer.utils.IColors.alphacolors;
 import static com.waenhancer.utils.IColors.backgroundColors;
 import static com.waenhancer.utils.IColors.primaryColors;
 import static com.waenhancer.utils.IColors.textColors;
-import static de.robv.android.xposed.XposedHelpers.findAndHookMethod;
 
 import android.Manifest;
 import android.app.Activity;
 import android.content.pm.PackageManager;
-import android.content.res.AssetManager;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
-import android.graphics.Paint;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
@@ -27,9 +24,12 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 
+import com.waenhancer.utils.ColorMap;
 import com.waenhancer.utils.IColors;
 import com.waenhancer.views.WallpaperView;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -50,17 +50,14 @@ import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 import java.util.Collections;
-import java.util.concurrent.ConcurrentHashMap;
 
+@FeatureDeps(hooks = "loadTabFrameClass")
 public class CustomThemeV2 extends Feature {
 
-    private HashMap<String, String> wallAlpha;
-    private HashMap<String, String> navAlpha;
-    private HashMap<String, String> toolbarAlpha;
+    private ColorMap wallAlpha;
+    private ColorMap navAlpha;
+    private ColorMap toolbarAlpha;
     private Properties properties;
-    // Pre-computed set of source color ints for O(1) rejection in hot hooks.
-    // Populated after loadAndApplyColors() so hooks can skip unmatched colors instantly.
-    private static final Set<Integer> sourceColorInts = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private static final Set<Object> processedDrawableStates = Collections.newSetFromMap(new WeakHashMap<>());
     private static final Set<View> processedWallpaperFrames = Collections.newSetFromMap(new WeakHashMap<>());
     // Cached ID for conversations_row_message_count to avoid repeated lookups
@@ -194,21 +191,24 @@ public class CustomThemeV2 extends Feature {
 
         if (customWallpaper || properties.containsKey("wallpaper")) {
 
-            wallAlpha = new HashMap<>(IColors.colors);
+            var wallColors = new HashMap<>(IColors.colors);
             var wallpaperAlpha = customWallpaper ? getPrefInt(prefs, "wallpaper_alpha", 30)
                     : Utils.tryParseInt(properties.getProperty("wallpaper_alpha"), 30);
-            replaceTransparency(wallAlpha, (100 - wallpaperAlpha) / 100.0f);
+            replaceTransparency(wallColors, (100 - wallpaperAlpha) / 100.0f);
+            wallAlpha = ColorMap.of(wallColors);
 
-            navAlpha = new HashMap<>(IColors.colors);
+            var navColors = new HashMap<>(IColors.colors);
             var wallpaperAlphaNav = customWallpaper ? getPrefInt(prefs, "wallpaper_alpha_navigation", 30)
                     : Utils.tryParseInt(properties.getProperty("wallpaper_alpha_navigation"), 30);
-            replaceTransparency(navAlpha, (100 - wallpaperAlphaNav) / 100.0f);
+            replaceTransparency(navColors, (100 - wallpaperAlphaNav) / 100.0f);
+            navAlpha = ColorMap.of(navColors);
 
-            toolbarAlpha = new HashMap<>(IColors.colors);
+            var toolbarColors = new HashMap<>(IColors.colors);
 
             var wallpaperToolbarAlpha = customWallpaper ? getPrefInt(prefs, "wallpaper_alpha_toolbar", 30)
                     : Utils.tryParseInt(properties.getProperty("wallpaper_alpha_toolbar"), 30);
-            replaceTransparency(toolbarAlpha, (100 - wallpaperToolbarAlpha) / 100.0f);
+            replaceTransparency(toolbarColors, (100 - wallpaperToolbarAlpha) / 100.0f);
+            toolbarAlpha = ColorMap.of(toolbarColors);
         }
     }
 
@@ -302,21 +302,19 @@ public class CustomThemeV2 extends Feature {
     public void hookTheme() throws Throwable {
         loadAndApplyColors();
 
-        XposedBridge.hookAllMethods(AssetManager.class, "getResourceValue", new XC_MethodHook() {
-            @Override
-            protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                var typedValue = (TypedValue) param.args[2];
-                if (typedValue.type >= TypedValue.TYPE_FIRST_INT
-                        && typedValue.type <= TypedValue.TYPE_LAST_INT) {
-                    if (typedValue.data == 0)
-                        return;
-                    // Fast path: skip colors not in our replacement set (O(1) check)
-                    if (!sourceColorInts.isEmpty() && !sourceColorInts.contains(typedValue.data))
-                        return;
-                    if (checkNotApplyColor(typedValue.data))
-                        return;
-                    typedValue.data = IColors.getFromIntColor(typedValue.data, IColors.colors);
-                }
+        FrameworkHooks.ASSET_MANAGER_GET_RESOURCE_VALUE.after(param -> {
+            var typedValue = (TypedValue) param.args[2];
+            if (typedValue.type >= TypedValue.TYPE_FIRST_INT
+                    && typedValue.type <= TypedValue.TYPE_LAST_INT) {
+                if (typedValue.data == 0)
+                    return;
+                // Fast path: skip colors without a replacement (one int table probe)
+                var colors = IColors.colorMap;
+                if (!colors.contains(typedValue.data))
+                    return;
+                if (checkNotApplyColor(typedValue.data))
+                    return;
+                typedValue.data = colors.replace(typedValue.data);
             }
         });
 
@@ -348,7 +346,7 @@ public class CustomThemeV2 extends Feature {
                         processedDrawableStates.add(constantState);
                     }
                 }
-                replaceColor(drawable, IColors.colors);
+                replaceColor(drawable, IColors.colorMap);
                 PerfLogger.end("CustomThemeV2.loadDrawable", perfStart, 1);
             }
         });
@@ -360,13 +358,14 @@ public class CustomThemeV2 extends Feature {
                 var colorStateList = (ColorStateList) param.getResult();
                 if (colorStateList == null) return;
                 var mColors = (int[]) XposedHelpers.getObjectField(colorStateList, "mColors");
+                var colors = IColors.colorMap;
                 for (var i = 0; i < mColors.length; i++) {
-                    mColors[i] = IColors.getFromIntColor(mColors[i], IColors.colors);
+                    mColors[i] = colors.replace(mColors[i]);
                 }
             }
         });
-        var intBgHook = new IntBgColorHook();
-        findAndHookMethod(Paint.class, "setColor", int.class, intBgHook);
+        // Fast path: colors without a replacement never reach the listener (one int table probe)
+        FrameworkHooks.PAINT_SET_COLOR.before(FrameworkHooks.intArg(0, color -> IColors.colorMap.contains(color)), new IntBgColorHook());
 
         Class<?> filterItemClass = Unobfuscator.loadFilterItemClass(classLoader);
 
@@ -483,25 +482,14 @@ public class CustomThemeV2 extends Feature {
             backgroundColors.put("ffffff", "ffffff");
         }
 
-        // Pre-compute integer set of source colors for O(1) rejection in hot hooks.
-        // This avoids toString() conversion + HashMap.get() on every hook invocation.
-        sourceColorInts.clear();
+        // Compile the palette once so hot hooks look colors up without string formatting
+        IColors.colorMap = ColorMap.of(IColors.colors);
         synchronized (processedDrawableStates) {
             processedDrawableStates.clear();
         }
         synchronized (processedWallpaperFrames) {
             processedWallpaperFrames.clear();
         }
-        for (String key : IColors.colors.keySet()) {
-            try {
-                if (key.startsWith("#") && key.length() == 9) {
-                    sourceColorInts.add(IColors.parseColor(key));
-                } else if (key.length() == 6) {
-                    // Short-form colors (without alpha) — add with 0xFF alpha
-                    sourceColorInts.add(IColors.parseColor("#ff" + key));
-                }
-            } catch (Exception ignored) {}
-        }
     }
 
     private int resolveMonetColor(String resourceName) {
@@ -569,10 +557,8 @@ public class CustomThemeV2 extends Feature {
                     @Override
                     protected void beforeHookedMethod(MethodHookParam param) {
                         if (param.thisObject == toolbarContainer || param.thisObject == toolbar) {
-                            var color = toolbarAlpha.get(IColors.toString((int) param.args[0]));
-                            if (color != null) {
-                                param.args[0] = IColors.parseColor(color);
-                            }
+                            var color = (int) param.args[0];
+                            param.args[0] = toolbarAlpha.get(color, color);
                         }
                     }
                 });
@@ -618,16 +604,12 @@ public class CustomThemeV2 extends Feature {
         return "Custom Theme V2";
     }
 
-    public static class IntBgColorHook extends XC_MethodHook {
+    public static class IntBgColorHook implements FrameworkHooks.Listener {
 
         @Override
-        protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
+        public void handle(@NonNull XC_MethodHook.MethodHookParam param) {
             var color = (int) param.args[0];
 
-            // Fast path: skip colors not in our replacement set (O(1) check).
-            // This avoids expensive string conversion + map lookup on every Paint.setColor() call.
-            if (!sourceColorInts.isEmpty() && !sourceColorInts.contains(color)) return;
-
             if (param.thisObject instanceof TextView) {
                 // Cache the ID lookup to avoid repeated resource resolution
                 if (cachedMsgCountId == 0) {
@@ -640,7 +622,7 @@ public class CustomThemeV2 extends Feature {
             // Removed expensive isCalledFromStrings("getValue") stack walk.
             // The original check prevented color replacement when called from getValue(),
             // but the O(n) stack trace inspection on every Paint.setColor() was too costly.
-            param.args[0] = IColors.getFromIntColor(color, IColors.colors);
+            param.args[0] = IColors.colorMap.replace(color);
         }
     }
 
@@ -16,6 +16,7 @@ import androidx.annotation.NonNull;
 
 import com.waenhancer.listeners.OnMultiClickListener;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -42,6 +43,7 @@ import de.robv.android.xposed.XposedHelpers;
 import com.waenhancer.xposed.core.FeatureLoader;
 import java.util.List;
 
+@FeatureDeps(hooks = {"loadOnMenuItemSelected", "loadTabListMethod"})
 public class CustomToolbar extends Feature {
 
     private static final String TYPE_ARCHIVE_MULTI_CLICK = "1";
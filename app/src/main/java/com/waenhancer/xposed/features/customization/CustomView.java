@@ -3,8 +3,10 @@ package com.waenhancer.xposed.features.customization;
 import static com.waenhancer.utils.ColorReplacement.replaceColors;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.content.res.Configuration;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
@@ -34,13 +36,15 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.waenhancer.preference.ThemePreference;
-import com.waenhancer.utils.IColors;
+import com.waenhancer.utils.ColorMap;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.xposed.utils.Utils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -58,6 +62,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import cz.vutbr.web.css.CSSFactory;
 import cz.vutbr.web.css.RuleSet;
@@ -149,7 +155,7 @@ public class CustomView extends Feature {
 
         themeDir = new File(ThemePreference.rootDirectory, folder_theme);
         String cssContent = filter_itens + "\n" + custom_css;
-        cacheImages = new DrawableCache(Utils.getApplication(), 100 * 1024 * 1024);
+        cacheImages = new DrawableCache(Utils.getApplication(), 100 * 1024 * 1024, false);
 
         String waVersion = "";
         try {
@@ -395,7 +401,9 @@ public class CustomView extends Feature {
                 long postPerfStart = PerfLogger.start();
                 processedViews.clear();
                 applyRulesRecursively(root);
-                PerfLogger.end("CustomView.createdPost." + activity.getClass().getSimpleName(), postPerfStart, 1);
+                if (postPerfStart > 0) {
+                    PerfLogger.end("CustomView.createdPost." + activity.getClass().getSimpleName(), postPerfStart, 1);
+                }
             });
         });
 
@@ -403,15 +411,11 @@ public class CustomView extends Feature {
         // Only views that have been force-styled will have this field set (via setRuleInView),
         // so the vast majority of setFlags calls return immediately.
         final int VISIBILITY_MASK = 0x0000000C;
-        XposedHelpers.findAndHookMethod(View.class, "setFlags", int.class, int.class, new XC_MethodHook() {
-            @Override
-            protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                if (((int) param.args[1] & VISIBILITY_MASK) == 0) return;
-                var view = (View) param.thisObject;
-                var forced = forcedVisibilityMap.get(view);
-                if (forced == null) return;
-                param.args[0] = ((int) param.args[0] & ~VISIBILITY_MASK) | forced;
-            }
+        FrameworkHooks.VIEW_SET_FLAGS.before(FrameworkHooks.intArg(1, mask -> (mask & VISIBILITY_MASK) != 0), param -> {
+            var view = (View) param.thisObject;
+            var forced = forcedVisibilityMap.get(view);
+            if (forced == null) return;
+            param.args[0] = ((int) param.args[0] & ~VISIBILITY_MASK) | forced;
         });
 
         // Only run the full recursive applyRules walk when the inflated view tree
@@ -512,15 +516,12 @@ public class CustomView extends Feature {
     }
 
     private void hookDrawableViews() {
-        XposedHelpers.findAndHookMethod(View.class, "setBackground", Drawable.class, new XC_MethodHook() {
-            @Override
-            protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                var view = (View) param.thisObject;
-                var newDrawable = (Drawable) param.args[0];
-                var forced = forcedBackgroundMap.get(view);
-                if (forced == null) return;
-                if (newDrawable != forced) param.setResult(null);
-            }
+        FrameworkHooks.VIEW_SET_BACKGROUND.before(param -> {
+            var view = (View) param.thisObject;
+            var newDrawable = (Drawable) param.args[0];
+            var forced = forcedBackgroundMap.get(view);
+            if (forced == null) return;
+            if (newDrawable != forced) param.setResult(null);
         });
 
         XposedHelpers.findAndHookMethod(ImageView.class, "setImageDrawable", Drawable.class, new XC_MethodHook() {
@@ -566,9 +567,7 @@ public class CustomView extends Feature {
                     if (terms.size() != 2) continue;
                     int color = terms.get(0).colorRgb;
                     int colorNew = terms.get(1).colorRgb;
-                    HashMap<String, String> colors = new HashMap<>();
-                    colors.put(IColors.toString(color), IColors.toString(colorNew));
-                    replaceColors(view, colors);
+                    replaceColors(view, ColorMap.builder().put(color, colorNew).build());
                     if (view instanceof ImageView) {
                         ImageView imageView = (ImageView) view;
                         var drawable = imageView.getDrawable();
@@ -1119,49 +1118,125 @@ public class CustomView extends Feature {
     }
 
 
+    /**
+     * Theme images scaled to the views showing them. The memory cache is bounded by bitmap
+     * allocation bytes and keyed by path and target size; images are decoded subsampled, so a large
+     * background never exists at full resolution, and concurrent requests for the same key share
+     * one decode. Scaled copies are also kept as PNGs in the app cache directory.
+     */
     public class DrawableCache {
+        private static final long RECHECK_MS = 2000;
+
         private final LruCache<String, CachedDrawable> drawableCache;
+        private final ConcurrentHashMap<String, CompletableFuture<CachedDrawable>> inFlight = new ConcurrentHashMap<>();
         private final Context context;
+        private final boolean hardwareBitmaps;
 
-        public DrawableCache(Context context, int maxSize) {
+        /**
+         * @param maxBytes        memory budget, capped at an eighth of the heap
+         * @param hardwareBitmaps keep bitmaps in graphics memory; views drawn into a software canvas cannot show them
+         */
+        public DrawableCache(Context context, int maxBytes, boolean hardwareBitmaps) {
             this.context = context.getApplicationContext();
-            drawableCache = new LruCache<>(maxSize);
+            this.hardwareBitmaps = hardwareBitmaps;
+            int budget = (int) Math.min(maxBytes, Runtime.getRuntime().maxMemory() / 8);
+            drawableCache = new LruCache<>(Math.max(budget, 1)) {
+                @Override
+                protected int sizeOf(String key, CachedDrawable value) {
+                    return value.bytes;
+                }
+            };
+            this.context.registerComponentCallbacks(new ComponentCallbacks2() {
+                @Override
+                public void onTrimMemory(int level) {
+                    if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+                        drawableCache.evictAll();
+                    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                        drawableCache.trimToSize(drawableCache.maxSize() / 2);
+                    }
+                }
+
+                @Override
+                public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                }
+
+                @Override
+                public void onLowMemory() {
+                    drawableCache.evictAll();
+                }
+            });
         }
 
-        private Drawable loadDrawableFromFile(String filePath, int reqWidth, int reqHeight) {
-            try {
-                File file = new File(filePath);
-                Bitmap bitmap;
-                if (!file.canRead()) {
-                    try (var parcelFile = WppCore.getClientBridge().openFile(filePath, false)) {
-                        if (parcelFile != null) {
-                            bitmap = BitmapFactory.decodeStream(new FileInputStream(parcelFile.getFileDescriptor()));
-                        } else {
-                            bitmap = null;
-                        }
-                    }
-                } else {
-                    bitmap = BitmapFactory.decodeFile(file.getAbsolutePath());
+        private Bitmap loadBitmapFromFile(String filePath, int reqWidth, int reqHeight) throws IOException {
+            File file = new File(filePath);
+            var options = new BitmapFactory.Options();
+            Bitmap bitmap;
+            if (!file.canRead()) {
+                byte[] data;
+                try (var parcelFile = WppCore.getClientBridge().openFile(filePath, false)) {
+                    if (parcelFile == null) return null;
+                    data = readFully(new FileInputStream(parcelFile.getFileDescriptor()));
                 }
-                var newHeight = reqHeight < 1 ? bitmap.getHeight() : Math.min(bitmap.getHeight(), reqHeight);
-                var newWidth = reqWidth < 1 ? bitmap.getWidth() : Math.min(bitmap.getWidth(), reqWidth);
-                bitmap = Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-                return new BitmapDrawable(context.getResources(), bitmap);
-            } catch (Exception e) {
-                XposedBridge.log(e);
-                return null;
+                options.inJustDecodeBounds = true;
+                BitmapFactory.decodeByteArray(data, 0, data.length, options);
+                options.inSampleSize = sampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+                options.inJustDecodeBounds = false;
+                bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+            } else {
+                options.inJustDecodeBounds = true;
+                BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+                options.inSampleSize = sampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+                options.inJustDecodeBounds = false;
+                bitmap = BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+            }
+            if (bitmap == null) return null;
+            // Sizes as if scaled from the original, so the result does not depend on the sample size
+            int sourceWidth = options.outWidth * options.inSampleSize;
+            int sourceHeight = options.outHeight * options.inSampleSize;
+            var newHeight = reqHeight < 1 ? sourceHeight : Math.min(sourceHeight, reqHeight);
+            var newWidth = reqWidth < 1 ? sourceWidth : Math.min(sourceWidth, reqWidth);
+            if (newWidth == bitmap.getWidth() && newHeight == bitmap.getHeight()) return bitmap;
+            var scaled = Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
+            if (scaled != bitmap) bitmap.recycle();
+            return scaled;
+        }
+
+        /**
+         * Largest power of two that keeps the decoded image at least as large as the target.
+         */
+        private int sampleSize(int width, int height, int reqWidth, int reqHeight) {
+            if (width <= 0 || height <= 0) return 1;
+            int targetWidth = reqWidth < 1 ? width : Math.min(width, reqWidth);
+            int targetHeight = reqHeight < 1 ? height : Math.min(height, reqHeight);
+            int sample = 1;
+            while (width / (sample * 2) >= targetWidth && height / (sample * 2) >= targetHeight) {
+                sample *= 2;
+            }
+            return sample;
+        }
+
+        private byte[] readFully(FileInputStream in) throws IOException {
+            try (in) {
+                var out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
             }
         }
 
         @Nullable
         public Drawable getDrawable(String filePath, int width, int height) {
             File file = filePath.startsWith("/") ? new File(filePath) : new File(themeDir, filePath);
-            String key = file.getAbsolutePath();
+            String path = file.getAbsolutePath();
+            String key = path + "@" + Math.max(width, 0) + "x" + Math.max(height, 0);
 
             CachedDrawable cachedDrawable = drawableCache.get(key);
 
             if (cachedDrawable != null) {
-                if (System.currentTimeMillis() - cachedDrawable.lastCheckTime < 2000) {
+                if (System.currentTimeMillis() - cachedDrawable.lastCheckTime < RECHECK_MS) {
                     return cachedDrawable.drawable;
                 }
             }
@@ -1174,22 +1249,45 @@ public class CustomView extends Feature {
                 if (cachedDrawable.lastModified == lastModified) return cachedDrawable.drawable;
             }
 
-            Drawable cached = loadDrawableFromCache(key, lastModified);
-            if (cached != null) {
-                cachedDrawable = new CachedDrawable(cached, lastModified);
-                drawableCache.put(key, cachedDrawable);
-                return cached;
+            var future = new CompletableFuture<CachedDrawable>();
+            var running = inFlight.putIfAbsent(key, future);
+            if (running != null) {
+                var shared = running.join();
+                return shared != null ? shared.drawable : null;
+            }
+            try {
+                cachedDrawable = load(key, path, width, height, lastModified);
+                if (cachedDrawable != null) drawableCache.put(key, cachedDrawable);
+                future.complete(cachedDrawable);
+            } catch (Throwable t) {
+                future.complete(null);
+                XposedBridge.log(t);
+                return null;
+            } finally {
+                inFlight.remove(key, future);
             }
+            return cachedDrawable != null ? cachedDrawable.drawable : null;
+        }
 
-            Drawable drawable = loadDrawableFromFile(key, width, height);
-            if (drawable == null) return null;
-            saveDrawableToCache(key, (BitmapDrawable) drawable, lastModified);
-            cachedDrawable = new CachedDrawable(drawable, lastModified);
-            drawableCache.put(key, cachedDrawable);
-            return drawable;
+        @Nullable
+        private CachedDrawable load(String key, String path, int width, int height, long lastModified) throws IOException {
+            Bitmap bitmap = loadBitmapFromCache(key, lastModified);
+            if (bitmap == null) {
+                bitmap = loadBitmapFromFile(path, width, height);
+                if (bitmap == null) return null;
+                saveBitmapToCache(key, bitmap, lastModified);
+            }
+            if (hardwareBitmaps) {
+                var hardware = bitmap.copy(Bitmap.Config.HARDWARE, false);
+                if (hardware != null) {
+                    bitmap.recycle();
+                    bitmap = hardware;
+                }
+            }
+            return new CachedDrawable(new BitmapDrawable(context.getResources(), bitmap), bitmap.getAllocationByteCount(), lastModified);
         }
 
-        private void saveDrawableToCache(String key, BitmapDrawable drawable, long lastModified) {
+        private void saveBitmapToCache(String key, Bitmap bitmap, long lastModified) {
             File cacheDir = context.getCacheDir();
             File cacheLocation = new File(cacheDir, "drawable_cache");
             if (!cacheLocation.exists()) cacheLocation.mkdirs();
@@ -1197,14 +1295,14 @@ public class CustomView extends Feature {
             File metadataFile = new File(cacheLocation, getCacheFileName(key) + ".meta");
             try (OutputStream out = new FileOutputStream(cacheFile);
                  ObjectOutputStream metaOut = new ObjectOutputStream(new FileOutputStream(metadataFile))) {
-                drawable.getBitmap().compress(Bitmap.CompressFormat.PNG, 80, out);
+                bitmap.compress(Bitmap.CompressFormat.PNG, 80, out);
                 metaOut.writeLong(lastModified);
             } catch (IOException e) {
                 // Failed to save to cache
             }
         }
 
-        private Drawable loadDrawableFromCache(String key, long originalLastModified) {
+        private Bitmap loadBitmapFromCache(String key, long originalLastModified) {
             File cacheDir = context.getCacheDir();
             File cacheLocation = new File(cacheDir, "drawable_cache");
             File cacheFile = new File(cacheLocation, getCacheFileName(key));
@@ -1215,8 +1313,7 @@ public class CustomView extends Feature {
             try (ObjectInputStream metaIn = new ObjectInputStream(new FileInputStream(metadataFile))) {
                 long cachedLastModified = metaIn.readLong();
                 if (cachedLastModified != originalLastModified) return null;
-                Bitmap bitmap = BitmapFactory.decodeFile(cacheFile.getAbsolutePath());
-                if (bitmap != null) return new BitmapDrawable(context.getResources(), bitmap);
+                return BitmapFactory.decodeFile(cacheFile.getAbsolutePath());
             } catch (IOException e) {
                 // Failed to load from cache, will be regenerated
             }
@@ -1228,12 +1325,14 @@ public class CustomView extends Feature {
         }
 
         private static class CachedDrawable {
-            Drawable drawable;
-            long lastModified;
-            long lastCheckTime;
+            final Drawable drawable;
+            final int bytes;
+            final long lastModified;
+            volatile long lastCheckTime;
 
-            CachedDrawable(Drawable drawable, long lastModified) {
+            CachedDrawable(Drawable drawable, int bytes, long lastModified) {
                 this.drawable = drawable;
+                this.bytes = bytes;
                 this.lastModified = lastModified;
                 this.lastCheckTime = System.currentTimeMillis();
             }
@@ -24,6 +24,7 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.FeatureLoader;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -43,6 +44,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
 
+@FeatureDeps(hooks = "loadTabFrameClass")
 public class FloatingBottomBar extends Feature {
 
     private static final float CORNER_RADIUS_DP = 28f;
@@ -11,6 +11,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.db.MessageHistory;
@@ -27,6 +28,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import android.os.Handler;
 import android.os.Looper;
 
+@FeatureDeps(after = ConversationItemListener.class)
 public class HideSeenView extends Feature {
 
     private static final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
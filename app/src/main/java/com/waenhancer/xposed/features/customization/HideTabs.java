@@ -7,6 +7,7 @@ import android.view.View;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.PerfLogger;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -21,6 +22,7 @@ import android.content.SharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 
+@FeatureDeps(hooks = {"loadOnMenuItemSelected", "loadTabFrameClass", "loadTabListMethod"})
 public class HideTabs extends Feature {
     private static final int STATUS_TAB_ID = 300;
     private Object mTabPagerInstance;
@@ -10,6 +10,7 @@ import androidx.annotation.NonNull;
 import com.waenhancer.adapter.IGStatusAdapter;
 import com.waenhancer.views.IGStatusView;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.utils.ReflectionUtils;
@@ -27,6 +28,7 @@ import android.content.SharedPreferences;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 
+@FeatureDeps(hooks = "loadFabMethod")
 public class IGStatus extends Feature {
     public static ArrayList<Object> itens = new ArrayList<>();
     public static int unseenCount = 0;
@@ -1,6 +1,7 @@
 package com.waenhancer.xposed.features.customization;
 
 import android.annotation.SuppressLint;
+import android.content.ContentValues;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.os.Bundle;
@@ -9,9 +10,12 @@ import android.view.MenuItem;
 import android.widget.BaseAdapter;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.db.MessageStore;
+import com.waenhancer.xposed.core.db.SqlWriteBus;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
 import com.waenhancer.xposed.utils.ReflectionUtils;
@@ -19,6 +23,7 @@ import com.waenhancer.xposed.utils.Utils;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +32,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,9 +47,11 @@ import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import java.lang.reflect.Modifier;
 import org.luckypray.dexkit.query.enums.StringMatchType;
 
+@FeatureDeps(hooks = {"loadFabMethod", "loadTabListMethod"})
 public class SeparateGroup extends Feature {
 
     public static final int CHATS = 200;
@@ -49,16 +60,34 @@ public class SeparateGroup extends Feature {
 
     public static ArrayList<Integer> tabs = new ArrayList<>();
     public static HashMap<Integer, Object> tabInstances = new HashMap<>();
-    // Single-thread executor for badge DB queries — avoids creating a new Thread per update
-    private static final java.util.concurrent.ExecutorService badgeExecutor =
-            java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+    // Single thread for badge DB queries and counter updates; TabUnreadCounters relies on it
+    private static final ScheduledExecutorService badgeExecutor =
+            Executors.newSingleThreadScheduledExecutor(r -> {
                 Thread t = new Thread(r, "wae-badge-query");
                 t.setDaemon(true);
                 return t;
             });
+    private static final long BADGE_COALESCE_MS = 150;
+    private static final TabUnreadCounters unreadCounters = new TabUnreadCounters();
+    // Rescans of the unread chat rows are at most this frequent; later ones wait for the window
+    private static final long RESCAN_MIN_INTERVAL_MS = 5_000;
+    private static final AtomicBoolean badgeRefreshPending = new AtomicBoolean();
+    // Set by every chat write SqlWriteBus reports, cleared by the next badge call
+    private static final AtomicBoolean chatWriteSeen = new AtomicBoolean();
+    // A badge call came without a write we saw; the next refresh checks the counters against the table
+    private static final AtomicBoolean verifyRequested = new AtomicBoolean();
+    // Badge thread only
+    private static long lastRescanAt;
+    private static boolean rescanDeferred;
+    // Navigation view and method of the latest chats badge call, replayed for both tabs
+    private static volatile BadgeTarget badgeTarget;
     // Cached DB schema columns — checked once, reused forever (schema doesn't change at runtime)
     private static volatile Set<String> cachedChatColumns = null;
 
+    private Constructor<?> badgeWrapperConstructor;
+    private Constructor<?> badgeItemConstructor;
+    private Class<?> emptyBadgeClass;
+
     public SeparateGroup(@NonNull ClassLoader loader, @NonNull SharedPreferences preferences) {
         super(loader, preferences);
     }
@@ -115,7 +144,6 @@ public class SeparateGroup extends Feature {
         return null;
     }
 
-    @SuppressLint("Range")
     private void hookTabCount() {
         try {
             // XposedBridge.log("[WAEX-SG] hookTabCount starting...");
@@ -123,9 +151,9 @@ public class SeparateGroup extends Feature {
             /* Log removed */
 
             Method enableCountMethod = Unobfuscator.loadEnableCountTabMethod(classLoader);
-            Constructor<?> badgeWrapperConstructor = Unobfuscator.loadEnableCountTabBadgeWrapper(classLoader);
-            Constructor<?> badgeItemConstructor = Unobfuscator.loadEnableCountTabBadgeItem(classLoader);
-            Class<?> emptyBadgeClass = Unobfuscator.loadEnableCountTabEmptyBadgeClass(classLoader);
+            badgeWrapperConstructor = Unobfuscator.loadEnableCountTabBadgeWrapper(classLoader);
+            badgeItemConstructor = Unobfuscator.loadEnableCountTabBadgeItem(classLoader);
+            emptyBadgeClass = Unobfuscator.loadEnableCountTabEmptyBadgeClass(classLoader);
             // XposedBridge.log("[WAEX-SG] enableCountMethod found: " + enableCountMethod);
 
             XposedBridge.hookMethod(enableCountMethod, new XC_MethodHook() {
@@ -135,168 +163,285 @@ public class SeparateGroup extends Feature {
                     int chatsIdx = tabs.indexOf(CHATS);
                     // Only intercept the CHATS badge call (which carries the total unread count).
                     // We then split it into separate CHATS and GROUPS counts from the DB.
-                    // XposedBridge.log("[WAEX-SG] badge call: indexTab=" + indexTab
-                            // + " chatsIdx=" + chatsIdx
-                            // + " groupsIdx=" + tabs.indexOf(GROUPS)
-                            // + " tabs=" + tabs
-                            // + " tabInstances=" + tabInstances.keySet());
                     if (indexTab != chatsIdx) return;
                     param.setResult(null);
-
-                    Object originalBadge = param.args[1];
-                    // XposedBridge.log("[WAEX-SG] Original badge: " + originalBadge 
-                            // + " class=" + (originalBadge != null ? originalBadge.getClass().getName() : "null"));
-                    if (originalBadge != null) {
-                        for (Field f : originalBadge.getClass().getDeclaredFields()) {
-                            try {
-                                f.setAccessible(true);
-                                // XposedBridge.log("[WAEX-SG]   Field " + f.getName() + " type " + f.getType().getName() + " = " + f.get(originalBadge));
-                                Object val = f.get(originalBadge);
-                                if (val != null) {
-                                    for (Field f2 : val.getClass().getDeclaredFields()) {
-                                        try {
-                                            f2.setAccessible(true);
-                                            // XposedBridge.log("[WAEX-SG]     Subfield " + f2.getName() + " type " + f2.getType().getName() + " = " + f2.get(val));
-                                        } catch (Throwable ignored) {}
-                                    }
-                                }
-                            } catch (Throwable ignored) {}
-                        }
-                    }
-
-                    badgeExecutor.execute(() -> {
-                        try {
-                            String counterType = getSafeString("separategroups_counter_type", "conversations");
-                            int chatCount = 0;
-                            int groupCount = 0;
-                            SQLiteDatabase db = MessageStore.getInstance().getDatabase();
-                            // XposedBridge.log("[WAEX-SG] DB=" + (db != null ? "OK" : "NULL"));
-                            if (db != null) {
-                                try {
-                                    // Cache the schema columns — they don't change during runtime
-                                    Set<String> chatColumns = cachedChatColumns;
-                                    if (chatColumns == null) {
-                                        chatColumns = new HashSet<>();
-                                        try (Cursor colCursor = db.rawQuery("SELECT * FROM chat LIMIT 0", null)) {
-                                            if (colCursor != null) {
-                                                chatColumns.addAll(Arrays.asList(colCursor.getColumnNames()));
-                                            }
-                                        } catch (Throwable t) {
-                                            XposedBridge.log("[WAEX-SG] Schema check failed: " + t);
-                                        }
-                                        cachedChatColumns = chatColumns;
-                                    }
-
-                                    // Build the query dynamically using only verified columns
-                                    StringBuilder queryBuilder = new StringBuilder("SELECT c.unseen_message_count, j.server AS jid_server");
-                                    if (chatColumns.isEmpty() || chatColumns.contains("group_type")) {
-                                        queryBuilder.append(", c.group_type");
-                                    }
-                                    queryBuilder.append(" FROM chat c LEFT JOIN jid j ON c.jid_row_id = j._id WHERE c.unseen_message_count > 0");
-                                    if (chatColumns.isEmpty() || chatColumns.contains("archived")) {
-                                        queryBuilder.append(" AND (c.archived = 0 OR c.archived IS NULL)");
-                                    }
-                                    if (chatColumns.isEmpty() || chatColumns.contains("chat_lock")) {
-                                        queryBuilder.append(" AND (c.chat_lock = 0 OR c.chat_lock IS NULL)");
-                                    }
-
-                                    try (Cursor cursor = db.rawQuery(queryBuilder.toString(), null)) {
-                                        if (cursor != null) {
-                                            int idxUnseen = cursor.getColumnIndex("unseen_message_count");
-                                            int idxServer = cursor.getColumnIndex("jid_server");
-                                            int idxGroupType = cursor.getColumnIndex("group_type");
-
-                                            while (cursor.moveToNext()) {
-                                                // If group_type column exists, filter out community parent / non-standard groups
-                                                if (idxGroupType >= 0) {
-                                                    int groupType = cursor.getInt(idxGroupType);
-                                                    if (groupType != 0 && groupType != 6) {
-                                                        continue;
-                                                    }
-                                                }
-
-                                                int unseen = idxUnseen >= 0 ? cursor.getInt(idxUnseen) : 1;
-                                                if (idxServer >= 0) {
-                                                    String server = cursor.getString(idxServer);
-                                                    int groupTypeVal = idxGroupType >= 0 ? cursor.getInt(idxGroupType) : -1;
-                                                    // XposedBridge.log("[WAEX-SG] DB row: server=" + server + " unseen=" + unseen + " group_type=" + groupTypeVal);
-                                                    boolean isGroup = "g.us".equals(server) || "broadcast".equals(server);
-                                                    int increment = "messages".equals(counterType) ? unseen : 1;
-                                                    if (isGroup) {
-                                                        groupCount += increment;
-                                                    } else {
-                                                        chatCount += increment;
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Throwable t) {
-                                    XposedBridge.log("[WAEX-SG] DB Query Error: " + t);
-                                }
-                            }
-
-                            final int finalChatCount = chatCount;
-                            final int finalGroupCount = groupCount;
-                            // XposedBridge.log("[WAEX-SG] counts: chat=" + finalChatCount + " group=" + finalGroupCount);
-
-                            Handler handler = new Handler(Looper.getMainLooper());
-                            handler.post(() -> {
-                                try {
-                                    // Set CHATS badge — no tabInstances check; nav view is already set up
-                                    if (tabs.contains(CHATS)) {
-                                        Object chatsBadge;
-                                        if (finalChatCount <= 0) {
-                                            chatsBadge = getEmptyBadge(emptyBadgeClass);
-                                        } else {
-                                            Object badgeItem = badgeItemConstructor.newInstance(finalChatCount);
-                                            if (badgeWrapperConstructor.getParameterTypes().length == 2) {
-                                                chatsBadge = badgeWrapperConstructor.newInstance(badgeItem, String.valueOf(finalChatCount));
-                                            } else {
-                                                chatsBadge = badgeWrapperConstructor.newInstance(badgeItem);
-                                            }
-                                        }
-                                        // XposedBridge.log("[WAEX-SG] setChats badge=" + chatsBadge + " idx=" + tabs.indexOf(CHATS));
-                                        XposedBridge.invokeOriginalMethod(
-                                                param.method, param.thisObject,
-                                                new Object[]{param.args[0], chatsBadge, tabs.indexOf(CHATS)});
-                                    }
-
-                                    // Set GROUPS badge — no tabInstances check; nav view is already set up
-                                    if (tabs.contains(GROUPS)) {
-                                        Object groupsBadge;
-                                        if (finalGroupCount <= 0) {
-                                            groupsBadge = getEmptyBadge(emptyBadgeClass);
-                                        } else {
-                                            Object badgeItem = badgeItemConstructor.newInstance(finalGroupCount);
-                                            if (badgeWrapperConstructor.getParameterTypes().length == 2) {
-                                                groupsBadge = badgeWrapperConstructor.newInstance(badgeItem, String.valueOf(finalGroupCount));
-                                            } else {
-                                                groupsBadge = badgeWrapperConstructor.newInstance(badgeItem);
-                                            }
-                                        }
-                                        // XposedBridge.log("[WAEX-SG] setGroups badge=" + groupsBadge + " idx=" + tabs.indexOf(GROUPS));
-                                        XposedBridge.invokeOriginalMethod(
-                                                param.method, param.thisObject,
-                                                new Object[]{param.args[0], groupsBadge, tabs.indexOf(GROUPS)});
-                                    }
-                                } catch (Throwable t) {
-                                    XposedBridge.log("[WAEX-SG] Error setting badges: " + t);
-                                }
-                            });
-                        } catch (Throwable t) {
-                            XposedBridge.log("[WAEX-SG] Error in tab count thread: " + t);
-                        }
-                    });
+                    badgeTarget = new BadgeTarget(param.method, param.thisObject, param.args[0]);
+                    // WhatsApp also recounts on resume and tab switches, but the chat table may
+                    // have changed through execSQL or a compiled statement the counters cannot
+                    // follow, so check them against it
+                    if (!chatWriteSeen.getAndSet(false)) verifyRequested.set(true);
+                    scheduleBadgeRefresh();
                 }
             });
             // XposedBridge.log("[WAEX-SG] enableCountMethod hooked successfully");
+
+            SqlWriteBus.after(SqlWriteBus.Op.UPDATE, "chat", this::onChatUpdated);
+            SqlWriteBus.after(SqlWriteBus.Op.DELETE, "chat", write -> {
+                if (write.failed()) return;
+                chatWriteSeen.set(true);
+                long rowId = rowIdOf(write);
+                badgeExecutor.execute(() -> {
+                    if (rowId < 0) unreadCounters.invalidate();
+                    else unreadCounters.remove(rowId);
+                });
+                scheduleBadgeRefresh();
+            });
+            SqlWriteBus.after(SqlWriteBus.Op.INSERT, "chat", write -> {
+                if (write.failed()) return;
+                chatWriteSeen.set(true);
+                long rowId = write.result() instanceof Long id ? id : -1;
+                badgeExecutor.execute(() -> reloadRow(rowId));
+                scheduleBadgeRefresh();
+            });
         } catch (Throwable t) {
             XposedBridge.log("[WAEX-SG] hookTabCount error: " + t);
             t.printStackTrace();
         }
     }
 
+    private void onChatUpdated(SqlWriteBus.Write write) {
+        ContentValues values = write.values;
+        if (write.failed() || values == null) return;
+        chatWriteSeen.set(true);
+        long rowId = rowIdOf(write);
+        if (values.containsKey("group_type") || values.containsKey("jid_row_id")) {
+            badgeExecutor.execute(() -> reloadRow(rowId));
+            scheduleBadgeRefresh();
+            return;
+        }
+        boolean hasUnseen = values.containsKey("unseen_message_count");
+        Boolean archived = flag(values, "archived");
+        Boolean locked = flag(values, "chat_lock");
+        if (!hasUnseen && archived == null && locked == null) return;
+        Integer unseen = null;
+        if (hasUnseen) {
+            unseen = values.getAsInteger("unseen_message_count");
+            if (unseen == null) unseen = 0;
+        }
+        Integer finalUnseen = unseen;
+        // Read the values here: WhatsApp may reuse the ContentValues once the update returns
+        badgeExecutor.execute(() -> {
+            if (rowId < 0 || !unreadCounters.update(rowId, finalUnseen, archived, locked)) {
+                reloadRow(rowId);
+            }
+        });
+        scheduleBadgeRefresh();
+    }
+
+    /**
+     * The chat row a write targets, or -1 when it is not a single-row {@code _id=?} write.
+     */
+    private static long rowIdOf(SqlWriteBus.Write write) {
+        if (write.where == null || write.whereArgs == null || write.whereArgs.length != 1) return -1;
+        if (!"_id=?".equals(write.where.replace(" ", ""))) return -1;
+        try {
+            return Long.parseLong(write.whereArgs[0]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Nullable
+    private static Boolean flag(ContentValues values, String column) {
+        if (!values.containsKey(column)) return null;
+        Object value = values.get(column);
+        if (value instanceof Boolean bool) return bool;
+        if (value instanceof Number number) return number.intValue() != 0;
+        return value instanceof String text && !text.isEmpty() && !"0".equals(text);
+    }
+
+    /**
+     * Reads one chat row again after a write the counters cannot apply from its values alone, or
+     * drops them all when the write did not name a single row.
+     */
+    private static void reloadRow(long rowId) {
+        if (!unreadCounters.isLoaded()) return;
+        SQLiteDatabase db = rowId < 0 ? null : MessageStore.getInstance().getDatabase();
+        if (db == null) {
+            unreadCounters.invalidate();
+            return;
+        }
+        try {
+            if (readChats(db, "c._id = ?", new String[]{String.valueOf(rowId)}) == 0) {
+                unreadCounters.remove(rowId);
+            }
+        } catch (Throwable t) {
+            unreadCounters.invalidate();
+            XposedBridge.log("[WAEX-SG] DB Query Error: " + t);
+        }
+    }
+
+    /**
+     * Runs one badge refresh for any number of badge calls and chat writes within
+     * {@link #BADGE_COALESCE_MS}.
+     */
+    private void scheduleBadgeRefresh() {
+        if (badgeTarget == null || !badgeRefreshPending.compareAndSet(false, true)) return;
+        badgeExecutor.schedule(this::refreshBadges, BADGE_COALESCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshBadges() {
+        badgeRefreshPending.set(false);
+        BadgeTarget target = badgeTarget;
+        if (target == null) return;
+        try {
+            boolean verify = verifyRequested.getAndSet(false);
+            if (!unreadCounters.isLoaded() || verify) {
+                SQLiteDatabase db = MessageStore.getInstance().getDatabase();
+                if (db == null) return;
+                if (!unreadCounters.isLoaded() || !countersMatch(db)) {
+                    if (!rescanAllowed()) {
+                        if (verify) verifyRequested.set(true);
+                        return;
+                    }
+                    loadUnreadCounters(db);
+                }
+            }
+            boolean messages = "messages".equals(getSafeString("separategroups_counter_type", "conversations"));
+            int chatCount = unreadCounters.chats(messages);
+            int groupCount = unreadCounters.groups(messages);
+
+            new Handler(Looper.getMainLooper()).post(() -> {
+                try {
+                    // Set CHATS badge — no tabInstances check; nav view is already set up
+                    if (tabs.contains(CHATS)) {
+                        XposedBridge.invokeOriginalMethod(target.method, target.navigation,
+                                new Object[]{target.arg0, createBadge(chatCount), tabs.indexOf(CHATS)});
+                    }
+                    // Set GROUPS badge — no tabInstances check; nav view is already set up
+                    if (tabs.contains(GROUPS)) {
+                        XposedBridge.invokeOriginalMethod(target.method, target.navigation,
+                                new Object[]{target.arg0, createBadge(groupCount), tabs.indexOf(GROUPS)});
+                    }
+                } catch (Throwable t) {
+                    XposedBridge.log("[WAEX-SG] Error setting badges: " + t);
+                }
+            });
+        } catch (Throwable t) {
+            XposedBridge.log("[WAEX-SG] Error in tab count thread: " + t);
+        }
+    }
+
+    private Object createBadge(int count) throws ReflectiveOperationException {
+        if (count <= 0) return getEmptyBadge(emptyBadgeClass);
+        Object badgeItem = badgeItemConstructor.newInstance(count);
+        if (badgeWrapperConstructor.getParameterTypes().length == 2) {
+            return badgeWrapperConstructor.newInstance(badgeItem, String.valueOf(count));
+        }
+        return badgeWrapperConstructor.newInstance(badgeItem);
+    }
+
+    /**
+     * Whether the counters agree with the unread chat rows; a cheap aggregate without the jid join.
+     */
+    private static boolean countersMatch(SQLiteDatabase db) {
+        try (Cursor cursor = db.rawQuery("SELECT COUNT(*), TOTAL(unseen_message_count) FROM chat WHERE unseen_message_count > 0", null)) {
+            return cursor != null && cursor.moveToFirst() && unreadCounters.matches(cursor.getLong(0), (long) cursor.getDouble(1));
+        } catch (Throwable t) {
+            XposedBridge.log("[WAEX-SG] Unread check failed: " + t);
+            return true;
+        }
+    }
+
+    /**
+     * Whether a rescan may run now. Otherwise one refresh is scheduled for the end of
+     * {@link #RESCAN_MIN_INTERVAL_MS} and the badges keep their counts until then.
+     */
+    private boolean rescanAllowed() {
+        long wait = lastRescanAt + RESCAN_MIN_INTERVAL_MS - SystemClock.elapsedRealtime();
+        if (lastRescanAt == 0 || wait <= 0) return true;
+        if (!rescanDeferred) {
+            rescanDeferred = true;
+            badgeExecutor.schedule(() -> {
+                rescanDeferred = false;
+                scheduleBadgeRefresh();
+            }, wait, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    /**
+     * Scan of the unread chat rows, run once and again only when the counters drifted from the
+     * table or a write named no single row.
+     */
+    private static void loadUnreadCounters(SQLiteDatabase db) {
+        lastRescanAt = SystemClock.elapsedRealtime();
+        unreadCounters.invalidate();
+        try {
+            readChats(db, "c.unseen_message_count > 0", null);
+            unreadCounters.markLoaded();
+        } catch (Throwable t) {
+            unreadCounters.invalidate();
+            XposedBridge.log("[WAEX-SG] DB Query Error: " + t);
+        }
+    }
+
+    /**
+     * Puts every chat row matching {@code where} into the counters.
+     *
+     * @return the number of rows read
+     */
+    private static int readChats(SQLiteDatabase db, String where, @Nullable String[] whereArgs) {
+        // Cache the schema columns — they don't change during runtime
+        Set<String> chatColumns = cachedChatColumns;
+        if (chatColumns == null) {
+            chatColumns = new HashSet<>();
+            try (Cursor colCursor = db.rawQuery("SELECT * FROM chat LIMIT 0", null)) {
+                if (colCursor != null) {
+                    chatColumns.addAll(Arrays.asList(colCursor.getColumnNames()));
+                }
+            } catch (Throwable t) {
+                XposedBridge.log("[WAEX-SG] Schema check failed: " + t);
+            }
+            cachedChatColumns = chatColumns;
+        }
+
+        // Build the query dynamically using only verified columns
+        StringBuilder queryBuilder = new StringBuilder("SELECT c._id, c.unseen_message_count, j.server AS jid_server");
+        if (chatColumns.isEmpty() || chatColumns.contains("group_type")) {
+            queryBuilder.append(", c.group_type");
+        }
+        if (chatColumns.isEmpty() || chatColumns.contains("archived")) {
+            queryBuilder.append(", c.archived");
+        }
+        if (chatColumns.isEmpty() || chatColumns.contains("chat_lock")) {
+            queryBuilder.append(", c.chat_lock");
+        }
+        queryBuilder.append(" FROM chat c LEFT JOIN jid j ON c.jid_row_id = j._id WHERE ").append(where);
+
+        int read = 0;
+        try (Cursor cursor = db.rawQuery(queryBuilder.toString(), whereArgs)) {
+            if (cursor == null) return 0;
+            int idxUnseen = cursor.getColumnIndex("unseen_message_count");
+            int idxServer = cursor.getColumnIndex("jid_server");
+            int idxGroupType = cursor.getColumnIndex("group_type");
+            int idxArchived = cursor.getColumnIndex("archived");
+            int idxLocked = cursor.getColumnIndex("chat_lock");
+
+            while (cursor.moveToNext()) {
+                // If group_type column exists, filter out community parent / non-standard groups
+                boolean listed = true;
+                if (idxGroupType >= 0) {
+                    int groupType = cursor.getInt(idxGroupType);
+                    listed = groupType == 0 || groupType == 6;
+                }
+                String server = cursor.getString(idxServer);
+                boolean isGroup = "g.us".equals(server) || "broadcast".equals(server);
+                unreadCounters.put(cursor.getLong(0), new TabUnreadCounters.Row(
+                        isGroup,
+                        listed,
+                        cursor.getInt(idxUnseen),
+                        idxArchived >= 0 && cursor.getInt(idxArchived) != 0,
+                        idxLocked >= 0 && cursor.getInt(idxLocked) != 0));
+                read++;
+            }
+        }
+        return read;
+    }
+
+    private record BadgeTarget(Member method, Object navigation, Object arg0) {
+    }
+
     private void hookTabIcon() {
         try {
             Method iconTabMethod = Unobfuscator.loadIconTabMethod(classLoader);
@@ -545,6 +690,7 @@ public class SeparateGroup extends Feature {
      */
     public static class ArrayListFilter extends ArrayList<Object> {
 
+        private static final ChatClassifier classifier = new ChatClassifier();
         private final boolean isGroup;
 
         public ArrayListFilter(boolean isGroup) {
@@ -577,31 +723,7 @@ public class SeparateGroup extends Feature {
         }
 
         private boolean checkGroup(Object chat) {
-            if (chat == null) return true;
-
-            Object jid = null;
-            try {
-                jid = XposedHelpers.getObjectField(chat, "A00");
-            } catch (Throwable ignored) {
-            }
-            if (jid == null) {
-                try {
-                    jid = XposedHelpers.getObjectField(chat, "A01");
-                } catch (Throwable ignored) {
-                }
-            }
-            if (jid == null) return true;
-
-            if (XposedHelpers.findMethodExactIfExists(jid.getClass(), "getServer") != null) {
-                String server = (String) XposedHelpers.callMethod(jid, "getServer");
-                if (server == null) return true;
-                if (isGroup) {
-                    return "broadcast".equals(server) || "g.us".equals(server);
-                } else {
-                    return "s.whatsapp.net".equals(server) || "lid".equals(server);
-                }
-            }
-            return true;
+            return classifier.classify(chat).belongsTo(isGroup);
         }
     }
 }
\ No newline at end of file
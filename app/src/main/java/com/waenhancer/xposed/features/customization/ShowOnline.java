@@ -16,6 +16,7 @@ import androidx.annotation.NonNull;
 import androidx.core.text.TextUtilsCompat;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.components.WaContactWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
@@ -36,6 +37,7 @@ import android.content.res.Configuration;
 import android.graphics.drawable.GradientDrawable;
 import java.lang.reflect.Field;
 
+@FeatureDeps(after = ContactItemListener.class)
 public class ShowOnline extends Feature {
 
     private Object mStatusUser;
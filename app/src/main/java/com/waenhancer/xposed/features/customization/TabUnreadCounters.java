@@ -0,0 +1,129 @@
+package com.waenhancer.xposed.features.customization;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+
+/**
+ * Unread chats and messages for the chats and groups tabs, kept per chat row so a change to one
+ * row adjusts the totals instead of rescanning the chat table.
+ * <p>
+ * Only rows with unread messages are kept, as the scan only reads those; a row that is not known
+ * has nothing unread. Not thread-safe; SeparateGroup only touches it from its badge thread.
+ */
+final class TabUnreadCounters {
+
+    static final class Row {
+        final boolean group;
+        // Community parents and other non-standard groups never count
+        final boolean listed;
+        int unseen;
+        boolean archived;
+        boolean locked;
+
+        Row(boolean group, boolean listed, int unseen, boolean archived, boolean locked) {
+            this.group = group;
+            this.listed = listed;
+            this.unseen = unseen;
+            this.archived = archived;
+            this.locked = locked;
+        }
+
+        boolean counts() {
+            return listed && unseen > 0 && !archived && !locked;
+        }
+    }
+
+    private final HashMap<Long, Row> rows = new HashMap<>();
+    private boolean loaded;
+    private int chatConversations;
+    private int chatMessages;
+    private int groupConversations;
+    private int groupMessages;
+    // Over every kept row, counted or not, to compare with the chat table
+    private long unreadMessages;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Drops every row; the owner rescans before reading the counts again.
+     */
+    void invalidate() {
+        rows.clear();
+        chatConversations = chatMessages = groupConversations = groupMessages = 0;
+        unreadMessages = 0;
+        loaded = false;
+    }
+
+    /**
+     * Marks the table as fully scanned after {@link #invalidate} and a {@link #put} per row.
+     */
+    void markLoaded() {
+        loaded = true;
+    }
+
+    void put(long rowId, Row row) {
+        remove(rowId);
+        if (row.unseen <= 0) return;
+        rows.put(rowId, row);
+        count(row, 1);
+    }
+
+    /**
+     * Applies the changed columns of a row; null arguments were not part of the write.
+     *
+     * @return false when an unknown row got unread messages and has to be read from the table
+     */
+    boolean update(long rowId, @Nullable Integer unseen, @Nullable Boolean archived, @Nullable Boolean locked) {
+        var row = rows.get(rowId);
+        if (row == null) return unseen == null || unseen <= 0;
+        count(row, -1);
+        if (unseen != null) row.unseen = unseen;
+        if (archived != null) row.archived = archived;
+        if (locked != null) row.locked = locked;
+        if (row.unseen > 0) {
+            count(row, 1);
+        } else {
+            rows.remove(rowId);
+        }
+        return true;
+    }
+
+    void remove(long rowId) {
+        count(rows.remove(rowId), -1);
+    }
+
+    /**
+     * Whether the kept rows add up to what {@code COUNT(*)} and {@code TOTAL(unseen_message_count)}
+     * over the unread chat rows returned.
+     */
+    boolean matches(long unreadRows, long unreadMessages) {
+        return rows.size() == unreadRows && this.unreadMessages == unreadMessages;
+    }
+
+    /**
+     * @param messages count unread messages rather than conversations with unread messages
+     */
+    int chats(boolean messages) {
+        return messages ? chatMessages : chatConversations;
+    }
+
+    int groups(boolean messages) {
+        return messages ? groupMessages : groupConversations;
+    }
+
+    private void count(Row row, int sign) {
+        if (row == null) return;
+        unreadMessages += (long) sign * row.unseen;
+        if (!row.counts()) return;
+        if (row.group) {
+            groupConversations += sign;
+            groupMessages += sign * row.unseen;
+        } else {
+            chatConversations += sign;
+            chatMessages += sign * row.unseen;
+        }
+    }
+}
@@ -9,14 +9,17 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.components.FStatusWpp;
 import com.waenhancer.xposed.core.db.DelMessageStore;
 import com.waenhancer.xposed.core.db.MessageStore;
+import com.waenhancer.xposed.core.db.SqlWriteBus;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
 import com.waenhancer.xposed.features.listeners.ConversationItemListener;
+import com.waenhancer.xposed.utils.ObjectExtras;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.R;
 import com.waenhancer.xposed.utils.Utils;
@@ -29,6 +32,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.robv.android.xposed.XC_MethodHook;
 import android.content.SharedPreferences;
@@ -37,7 +42,6 @@ import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 import android.content.ContentValues;
 import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
 import android.graphics.Color;
 import android.view.View;
 import android.widget.ListView;
@@ -46,11 +50,14 @@ import com.waenhancer.xposed.core.FeatureLoader;
 import com.waenhancer.xposed.utils.DesignUtils;
 import java.util.HashSet;
 
+@FeatureDeps(after = ConversationItemListener.class, hooks = "loadFStatusToFMessage")
 public class AntiRevoke extends Feature {
 
     private static final ConcurrentHashMap<String, Set<String>> messageRevokedMap = new ConcurrentHashMap<>();
     // Global key_id → deletion timestamp map (bypasses JID mismatch between LID and phone number)
     private static final ConcurrentHashMap<String, Long> revokedKeyIds = new ConcurrentHashMap<>();
+    private static final ObjectExtras.Key<String> ORIGINAL_MESSAGE = ObjectExtras.key("originalMessage", String.class);
+    private static final ObjectExtras.Key<Integer> ORIGINAL_COLOR = ObjectExtras.key("originalColor", Integer.class);
     private static final ThreadLocal<DateFormat> DATE_FORMAT_THREAD_LOCAL = ThreadLocal
             .withInitial(() -> DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT,
                     Utils.getApplication().getResources().getConfiguration().getLocales().get(0)));
@@ -72,13 +79,6 @@ public class AntiRevoke extends Feature {
         Object arg0 = param.args[0];
         if (arg0 == null) return null;
 
-        // Try to find FMessage field in the object
-        var FMessageField = ReflectionUtils.findFieldUsingFilterIfExists(arg0.getClass(),
-                f -> FMessageWpp.TYPE.isAssignableFrom(f.getType()));
-        if (FMessageField != null) {
-            return FMessageField.get(arg0);
-        }
-
         // Try status data logic
         try {
             var classLoader = arg0.getClass().getClassLoader();
@@ -93,13 +93,8 @@ public class AntiRevoke extends Feature {
             }
         } catch (Exception ignored) {}
 
-        var field1 = ReflectionUtils.findFieldUsingFilterIfExists(arg0.getClass(),
-                f -> f.getType() == FMessageWpp.Key.TYPE);
-        if (field1 != null) {
-            var key = field1.get(arg0);
-            return WppCore.getFMessageFromKey(key);
-        }
-        return null;
+        // FMessage or Key held by the object, nearest first, through a field chain learned per class
+        return FMessageWpp.findIn(arg0);
 
     }
 
@@ -260,6 +255,15 @@ public class AntiRevoke extends Feature {
      */
     private final Set<String> recentDeletedIds = Collections.synchronizedSet(new HashSet<>());
 
+    // Row about to be deleted plus the phone number of its chat, in one lookup on the writer thread
+    private static final String REVOKE_LOOKUP_SQL = "SELECT m.from_me, m.message_type, m.key_id, j.user, j.raw_string FROM message m " +
+            "LEFT JOIN chat c ON c._id = m.chat_row_id " +
+            "LEFT JOIN jid j ON j._id = c.jid_row_id " +
+            "WHERE m._id=?";
+
+    // Everything that does not decide whether the delete goes through runs here, off WhatsApp's writer
+    private static final ExecutorService revocationRecorder = Executors.newSingleThreadExecutor();
+
     private void addAntiRevokeSqlHooks() {
         int antiRevokeValue = Integer.parseInt(prefs.getString("antirevoke", "0"));
         if (antiRevokeValue == 0) {
@@ -267,159 +271,105 @@ public class AntiRevoke extends Feature {
             return;
         }
 
+        // HOOK 1: Block DELETE FROM message — this is step 1 of WhatsApp's revocation.
+        // We block ALL deletes on the message table for non-self messages.
+        // Normal "delete for me" uses a different code path (not raw SQL delete).
+        SqlWriteBus.before(SqlWriteBus.Op.DELETE, "message", this::onMessageDelete);
+
+        // HOOK 2: Block INSERT of message_type=15 records (the "deleted" placeholder).
+        // This is step 2 of WhatsApp's revocation — it inserts a new row with type=15.
+        SqlWriteBus.before(SqlWriteBus.Op.INSERT, "message", write -> {
+            ContentValues cv = write.values;
+            if (cv == null) return;
+
+            Integer msgType = cv.getAsInteger("message_type");
+            Integer fromMe = cv.getAsInteger("from_me");
+
+            // Block insertion of revocation placeholders (type=15) for incoming messages
+            if (msgType != null && msgType == 15 && fromMe != null && fromMe == 0) {
+                write.block(-1L); // Return fake row ID, block the insert
+            }
+        });
+    }
+
+    private void onMessageDelete(SqlWriteBus.Write write) {
+        String where = write.where;
+        String[] whereArgs = write.whereArgs;
+
+        // Only intercept _id based deletes (revocation pattern)
+        if (where == null || !where.contains("_id=?") || whereArgs == null || whereArgs.length == 0) return;
+        String msgId = whereArgs[0];
+
+        // Check if this message is from_me=0 (not our own message) by querying the DB before the delete happens
+        String keyId;
+        String phoneNumber;
+        try (Cursor cursor = write.db.rawQuery(REVOKE_LOOKUP_SQL, new String[]{msgId})) {
+            if (cursor == null || !cursor.moveToFirst()) return;
+            int fromMe = cursor.getInt(0);
+            int msgType = cursor.getInt(1);
+            // Block delete only for incoming messages (from_me=0) that are normal messages (not already type 15)
+            if (fromMe != 0 || msgType == 15) return;
+            keyId = cursor.getString(2);
+            phoneNumber = cursor.getString(3);
+            String rawString = cursor.getString(4);
+            // Fallback: if user column is empty, parse from raw_string
+            if ((phoneNumber == null || phoneNumber.isEmpty()) && rawString != null && rawString.contains("@")) {
+                phoneNumber = rawString.substring(0, rawString.indexOf("@"));
+            }
+        } catch (Exception e) {
+            XposedBridge.log("[WAEX] Error checking message before delete: " + e.getMessage());
+            return;
+        }
+
+        recentDeletedIds.add(msgId);
+        if (keyId != null) {
+            long now = System.currentTimeMillis();
+            // Store in global key-based map (always works regardless of JID format); bound views read it right away
+            revokedKeyIds.put(keyId, now);
+            final String finalPhoneNumber = phoneNumber;
+            revocationRecorder.execute(() -> recordRevocation(finalPhoneNumber, keyId, now));
+        }
+        write.block(0); // Block the delete
+    }
+
+    /**
+     * Persists a blocked revocation and refreshes its row if the conversation is open.
+     */
+    private void recordRevocation(@Nullable String phoneNumber, @NonNull String keyId, long timestamp) {
         try {
-            // HOOK 1: Block DELETE FROM message — this is step 1 of WhatsApp's revocation.
-            // We block ALL deletes on the message table for non-self messages.
-            // Normal "delete for me" uses a different code path (not raw SQL delete).
-            XposedBridge.hookAllMethods(SQLiteDatabase.class, "delete", new XC_MethodHook() {
-                @Override
-                protected void beforeHookedMethod(MethodHookParam param) {
-                    try {
-                        String table = (String) param.args[0];
-                        if (!"message".equals(table)) return;
-                        
-                        String where = (String) param.args[1];
-                        String[] whereArgs = param.args.length > 2 ? (String[]) param.args[2] : null;
-                        
-                        // Only intercept _id based deletes (revocation pattern)
-                        if (where != null && where.contains("_id=?") && whereArgs != null && whereArgs.length > 0) {
-                            String msgId = whereArgs[0];
-                            
-                            // Check if this message is from_me=0 (not our own message)
-                            // by querying the DB before the delete happens
-                            try {
-                                SQLiteDatabase db = (SQLiteDatabase) param.thisObject;
-                                Cursor cursor = db.rawQuery(
-                                    "SELECT from_me, message_type, key_id, chat_row_id FROM message WHERE _id=?", 
-                                    new String[]{msgId});
-                                if (cursor != null && cursor.moveToFirst()) {
-                                    int fromMe = cursor.getInt(0);
-                                    int msgType = cursor.getInt(1);
-                                    String keyId = cursor.getString(2);
-                                    long chatRowId = cursor.getLong(3);
-                                    cursor.close();
-                                    
-                                    // Block delete only for incoming messages (from_me=0) 
-                                    // that are normal messages (not already type 15)
-                                    if (fromMe == 0 && msgType != 15) {
-                                        ;
-                                        recentDeletedIds.add(msgId);
-                                        
-                                        // Record the revocation for UI display (red icon + timestamp)
-                                        try {
-                                            // Resolve phone number from chat_row_id
-                                            // The jid table has columns: _id, user, server, agent, device, type, raw_string
-                                            // We need the 'user' column which contains the phone number
-                                            String phoneNumber = null;
-                                            Cursor jidCursor = db.rawQuery(
-                                                "SELECT j.user, j.raw_string FROM jid j " +
-                                                "INNER JOIN chat c ON c.jid_row_id = j._id " +
-                                                "WHERE c._id=?",
-                                                new String[]{String.valueOf(chatRowId)});
-                                            if (jidCursor != null && jidCursor.moveToFirst()) {
-                                                phoneNumber = jidCursor.getString(0); // user column = phone number
-                                                String rawString = jidCursor.getString(1);
-                                                jidCursor.close();
-                                                ;
-                                                // Fallback: if user column is empty, parse from raw_string
-                                                if (phoneNumber == null || phoneNumber.isEmpty()) {
-                                                    if (rawString != null && rawString.contains("@")) {
-                                                        phoneNumber = rawString.substring(0, rawString.indexOf("@"));
-                                                    }
-                                                }
-                                            } else if (jidCursor != null) {
-                                                jidCursor.close();
-                                            }
-                                            
-                                            if (keyId != null) {
-                                                long now = System.currentTimeMillis();
-                                                
-                                                // Store in global key-based map (always works regardless of JID format)
-                                                revokedKeyIds.put(keyId, now);
-                                                
-                                                // Also try phone-number-based storage for backward compatibility
-                                                if (phoneNumber != null) {
-                                                    DelMessageStore.getInstance(Utils.getApplication())
-                                                        .insertMessage(phoneNumber, keyId, now);
-                                                    messageRevokedMap.computeIfAbsent(phoneNumber, k -> 
-                                                        Collections.synchronizedSet(new HashSet<>())).add(keyId);
-                                                }
-                                                
-                                                ;
-                                                
-                                                // Targeted single-item state update: find only the matching message item view and update it
-                                                try {
-                                                    var mConversation = WppCore.getCurrentConversation();
-                                                    if (mConversation != null) {
-                                                        final String finalKeyId = keyId;
-                                                        mConversation.runOnUiThread(() -> {
-                                                            View listView = mConversation.findViewById(Utils.getID("list", "id"));
-                                                            if (listView instanceof ViewGroup) {
-                                                                ViewGroup group = (ViewGroup) listView;
-                                                                int childCount = group.getChildCount();
-                                                                for (int i = 0; i < childCount; i++) {
-                                                                    View child = group.getChildAt(i);
-                                                                    if (child instanceof ViewGroup) {
-                                                                        FMessageWpp childFMsg = (FMessageWpp) XposedHelpers.getAdditionalInstanceField(child, "fMessage");
-                                                                        if (childFMsg != null && finalKeyId.equals(childFMsg.getKey().messageID)) {
-                                                                            TextView dateTextView = child.findViewById(Utils.getID("date", "id"));
-                                                                            TextView messageTextView = child.findViewById(Utils.getID("message_text", "id"));
-                                                                            bindRevokedMessageUI(childFMsg, dateTextView, messageTextView, "antirevoke");
-                                                                            child.invalidate();
-                                                                            break;
-                                                                        }
-                                                                    }
-                                                                }
-                                                            }
-                                                        });
-                                                    }
-                                                } catch (Exception ignored) {}
-                                            }
-                                        } catch (Exception e) {
-                                            XposedBridge.log("[WAEX] Error recording revocation: " + e.getMessage());
-                                        }
-                                        
-                                        param.setResult(0); // Block the delete
-                                        return;
-                                    }
-                                } else if (cursor != null) {
-                                    cursor.close();
-                                }
-                            } catch (Exception e) {
-                                XposedBridge.log("[WAEX] Error checking message before delete: " + e.getMessage());
-                            }
-                        }
-                    } catch (Throwable ignored) {}
-                }
-            });
+            // Also try phone-number-based storage for backward compatibility
+            if (phoneNumber != null) {
+                DelMessageStore.getInstance(Utils.getApplication()).insertMessage(phoneNumber, keyId, timestamp);
+                messageRevokedMap.computeIfAbsent(phoneNumber, k ->
+                        Collections.synchronizedSet(new HashSet<>())).add(keyId);
+            }
+        } catch (Exception e) {
+            XposedBridge.log("[WAEX] Error recording revocation: " + e.getMessage());
+        }
 
-            // HOOK 2: Block INSERT of message_type=15 records (the "deleted" placeholder).
-            // This is step 2 of WhatsApp's revocation — it inserts a new row with type=15.
-            XposedBridge.hookAllMethods(SQLiteDatabase.class, "insertWithOnConflict", new XC_MethodHook() {
-                @Override
-                protected void beforeHookedMethod(MethodHookParam param) {
-                    try {
-                        String table = (String) param.args[0];
-                        if (!"message".equals(table)) return;
-                        
-                        ContentValues cv = (ContentValues) param.args[2];
-                        if (cv == null) return;
-                        
-                        Integer msgType = cv.getAsInteger("message_type");
-                        Integer fromMe = cv.getAsInteger("from_me");
-                        
-                        // Block insertion of revocation placeholders (type=15) for incoming messages
-                        if (msgType != null && msgType == 15 && fromMe != null && fromMe == 0) {
-                            String keyId = cv.getAsString("key_id");
-                            ;
-                            param.setResult(-1L); // Return fake row ID, block the insert
+        // Targeted single-item state update: find only the matching message item view and update it
+        try {
+            var mConversation = WppCore.getCurrentConversation();
+            if (mConversation == null) return;
+            mConversation.runOnUiThread(() -> {
+                View listView = mConversation.findViewById(Utils.getID("list", "id"));
+                if (!(listView instanceof ViewGroup group)) return;
+                int childCount = group.getChildCount();
+                for (int i = 0; i < childCount; i++) {
+                    View child = group.getChildAt(i);
+                    if (child instanceof ViewGroup) {
+                        FMessageWpp childFMsg = ObjectExtras.get(child, ConversationItemListener.FMESSAGE);
+                        if (childFMsg != null && keyId.equals(childFMsg.getKey().messageID)) {
+                            TextView dateTextView = child.findViewById(Utils.getID("date", "id"));
+                            TextView messageTextView = child.findViewById(Utils.getID("message_text", "id"));
+                            bindRevokedMessageUI(childFMsg, dateTextView, messageTextView, "antirevoke");
+                            child.invalidate();
+                            break;
                         }
-                    } catch (Throwable ignored) {}
+                    }
                 }
             });
-
-         } catch (Exception e) {
-            XposedBridge.log("[WAEX] Failed to install anti-revoke SQL hooks: " + e.getMessage());
+        } catch (Exception ignored) {
         }
     }
 
@@ -439,20 +389,20 @@ public class AntiRevoke extends Feature {
 
         var key = fMessage.getKey();
         var messageRevokedList = getRevokedMessagesForJid(fMessage);
-        String originalMessage = (String) XposedHelpers.getAdditionalInstanceField(dateTextView, "originalMessage");
+        String originalMessage = ObjectExtras.get(dateTextView, ORIGINAL_MESSAGE);
 
-        Integer originalDateColor = (Integer) XposedHelpers.getAdditionalInstanceField(dateTextView, "originalColor");
+        Integer originalDateColor = ObjectExtras.get(dateTextView, ORIGINAL_COLOR);
         if (originalDateColor == null) {
             originalDateColor = dateTextView.getCurrentTextColor();
-            XposedHelpers.setAdditionalInstanceField(dateTextView, "originalColor", originalDateColor);
+            ObjectExtras.set(dateTextView, ORIGINAL_COLOR, originalDateColor);
         }
 
         Integer originalMessageColor = null;
         if (messageTextView != null) {
-            originalMessageColor = (Integer) XposedHelpers.getAdditionalInstanceField(messageTextView, "originalColor");
+            originalMessageColor = ObjectExtras.get(messageTextView, ORIGINAL_COLOR);
             if (originalMessageColor == null) {
                 originalMessageColor = messageTextView.getCurrentTextColor();
-                XposedHelpers.setAdditionalInstanceField(messageTextView, "originalColor", originalMessageColor);
+                ObjectExtras.set(messageTextView, ORIGINAL_COLOR, originalMessageColor);
             }
         }
 
@@ -514,7 +464,7 @@ public class AntiRevoke extends Feature {
                 }
                 String newTextData = (stringMessageDeleted != null ? stringMessageDeleted : "Deleted") + " | " + messageText;
                 dateTextView.setText(newTextData);
-                XposedHelpers.setAdditionalInstanceField(dateTextView, "originalMessage", messageText);
+                ObjectExtras.set(dateTextView, ORIGINAL_MESSAGE, messageText);
             } else if (antirevokeValue == 2) {
                 var drawable = DesignUtils.getDrawable(R.drawable.deleted);
                 dateTextView.setCompoundDrawablesWithIntrinsicBounds(null, null, drawable, null);
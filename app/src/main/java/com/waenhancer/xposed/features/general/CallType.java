@@ -16,7 +16,6 @@ import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.R;
 
-import java.util.Objects;
 
 import de.robv.android.xposed.XC_MethodHook;
 import android.content.SharedPreferences;
@@ -50,12 +49,7 @@ public class CallType extends Feature {
         }
         if (!callTypeEnabled) return;
 
-        SharedPreferencesWrapper.addHook((key, value) -> {
-            if (Objects.equals(key, "call_confirmation_dialog_count")) {
-                return 1;
-            }
-            return value;
-        });
+        SharedPreferencesWrapper.addHook("call_confirmation_dialog_count", (key, value) -> 1);
 
 
         var callConfirmationFragment = XposedHelpers.findClass("com.whatsapp.calling.fragment.CallConfirmationFragment", classLoader);
@@ -7,6 +7,7 @@ import android.view.MenuItem;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -23,6 +24,7 @@ import android.content.SharedPreferences;
 import com.waenhancer.xposed.core.FeatureLoader;
 import com.waenhancer.xposed.utils.Utils;
 
+@FeatureDeps(after = MenuStatusListener.class)
 public class DeleteStatus extends Feature {
 
 
@@ -18,6 +18,7 @@ import androidx.annotation.NonNull;
 
 import com.waenhancer.utils.RealPathUtil;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.AlertDialogWpp;
 import com.waenhancer.R;
@@ -75,15 +76,11 @@ public class LiteMode extends Feature {
             }
         });
 
-        XposedHelpers.findAndHookMethod(Activity.class, "onActivityResult", int.class, int.class, Intent.class, new XC_MethodHook() {
-            @Override
-            protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                var activity = (Activity) param.thisObject;
-                var id = (int) param.args[0];
-                var intent = (Intent) param.args[2];
-                if (id == REQUEST_FOLDER && (int) param.args[1] == Activity.RESULT_OK) {
-                    processDownloadResult(activity, intent);
-                }
+        FrameworkHooks.ACTIVITY_ON_ACTIVITY_RESULT.after(FrameworkHooks.intArg(0, code -> code == REQUEST_FOLDER), param -> {
+            var activity = (Activity) param.thisObject;
+            var intent = (Intent) param.args[2];
+            if ((int) param.args[1] == Activity.RESULT_OK) {
+                processDownloadResult(activity, intent);
             }
         });
 
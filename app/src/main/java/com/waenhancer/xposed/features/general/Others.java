@@ -22,12 +22,16 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.db.MessageDeviceSourceStore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.features.listeners.ConversationItemListener;
 import com.waenhancer.xposed.utils.AnimationUtil;
+import com.waenhancer.xposed.utils.FileCopier;
+import com.waenhancer.xposed.utils.ObjectExtras;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.xposed.core.components.AlertDialogWpp;
 import com.waenhancer.R;
@@ -63,7 +67,6 @@ import android.hardware.SensorEvent;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
-import android.widget.ImageView;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
@@ -74,8 +77,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.function.Consumer;
@@ -86,10 +87,12 @@ import com.waenhancer.xposed.features.customization.SeparateGroup;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 
+@FeatureDeps(after = ConversationItemListener.class, hooks = {"loadAbsViewHolder", "loadConversationRowClass", "loadOnChangeStatus", "loadViewHolderField1"})
 public class Others extends Feature {
 
-    private static final String DEVICE_SOURCE_SUFFIX_FIELD = "wae_device_source_suffix";
-    private static final String DEVICE_SOURCE_GUARD_FIELD = "wae_device_source_guard";
+    private static final ObjectExtras.Key<String> DEVICE_SOURCE_MESSAGE_ID = ObjectExtras.key("wae_device_source_message_id", String.class);
+    private static final ObjectExtras.Key<String> DEVICE_SOURCE_SUFFIX = ObjectExtras.key("wae_device_source_suffix", String.class);
+    private static final ObjectExtras.Key<Boolean> DEVICE_SOURCE_GUARD = ObjectExtras.key("wae_device_source_guard", Boolean.class);
 
 
 
@@ -684,41 +687,37 @@ public class Others extends Feature {
             };
 
             // Lazily hook only the FAB's concrete class instead of all ImageViews.
-            // We listen for the FAB via a single View.onAttachedToWindow hook on ImageView,
-            // but once the FAB is found we hook only its specific class and unhook the finder.
-            final XC_MethodHook.Unhook[] finderUnhook = new XC_MethodHook.Unhook[1];
+            // We listen for the FAB via the shared View.onAttachedToWindow hook,
+            // but once the FAB is found we hook only its specific class and drop the finder.
+            final FrameworkHooks.Registration[] finderRegistration = new FrameworkHooks.Registration[1];
             final Set<Class<?>> hookedFabClasses = new HashSet<>();
 
-            finderUnhook[0] = XposedHelpers.findAndHookMethod(ImageView.class, "onAttachedToWindow", new XC_MethodHook() {
-                @Override
-                protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                    View view = (View) param.thisObject;
-                    if (view.getId() != fabId) return;
+            finderRegistration[0] = FrameworkHooks.VIEW_ON_ATTACHED_TO_WINDOW.after(FrameworkHooks.viewId(fabId), param -> {
+                View view = (View) param.thisObject;
 
-                    // Hook setVisibility only on the FAB's concrete class (not all ImageViews)
-                    Class<?> clazz = view.getClass();
-                    while (clazz != null && clazz != View.class) {
-                        synchronized (hookedFabClasses) {
-                            if (hookedFabClasses.contains(clazz)) { clazz = clazz.getSuperclass(); continue; }
-                        }
-                        try {
-                            clazz.getDeclaredMethod("setVisibility", int.class);
-                            XposedHelpers.findAndHookMethod(clazz, "setVisibility", int.class, visibilityHook);
-                            synchronized (hookedFabClasses) { hookedFabClasses.add(clazz); }
-                        } catch (NoSuchMethodException ignored) {
-                        } catch (Throwable t) { /* skip */ }
-                        clazz = clazz.getSuperclass();
+                // Hook setVisibility only on the FAB's concrete class (not all ImageViews)
+                Class<?> clazz = view.getClass();
+                while (clazz != null && clazz != View.class) {
+                    synchronized (hookedFabClasses) {
+                        if (hookedFabClasses.contains(clazz)) { clazz = clazz.getSuperclass(); continue; }
                     }
+                    try {
+                        clazz.getDeclaredMethod("setVisibility", int.class);
+                        XposedHelpers.findAndHookMethod(clazz, "setVisibility", int.class, visibilityHook);
+                        synchronized (hookedFabClasses) { hookedFabClasses.add(clazz); }
+                    } catch (NoSuchMethodException ignored) {
+                    } catch (Throwable t) { /* skip */ }
+                    clazz = clazz.getSuperclass();
+                }
 
-                    if (isNotUpdatesTabActive(view)) {
-                        view.setVisibility(View.GONE);
-                    }
+                if (isNotUpdatesTabActive(view)) {
+                    view.setVisibility(View.GONE);
+                }
 
-                    // The FAB's concrete class is now hooked — remove the broad ImageView finder hook
-                    if (finderUnhook[0] != null) {
-                        finderUnhook[0].unhook();
-                        finderUnhook[0] = null;
-                    }
+                // The FAB's concrete class is now hooked — remove the broad finder listener
+                if (finderRegistration[0] != null) {
+                    finderRegistration[0].remove();
+                    finderRegistration[0] = null;
                 }
             });
         }
@@ -813,27 +812,24 @@ public class Others extends Feature {
         // Apply filter visibility via onAttachedToWindow — fires once per view attach
         // instead of on every invalidate() call (thousands/sec).
         try {
-            XposedHelpers.findAndHookMethod(View.class, "onAttachedToWindow", new XC_MethodHook() {
-                @Override
-                protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                    var view = (View) param.thisObject;
-                    var id = view.getId();
-                    if (id > 0) {
-                        FilterItem item = targetMap.get(id);
-                        if (item != null && FilterItem.BEHAVIOR_GONE.equals(item.behavior)) {
-                            if (view.getVisibility() == View.VISIBLE) {
-                                view.setVisibility(View.GONE);
-                            }
-                            // Also intercept future setVisibility calls to keep it GONE
-                            view.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
-                                @Override
-                                public void onViewAttachedToWindow(View v) {
-                                    if (v.getVisibility() != View.GONE) v.setVisibility(View.GONE);
-                                }
-                                @Override
-                                public void onViewDetachedFromWindow(View v) {}
-                            });
+            FrameworkHooks.VIEW_ON_ATTACHED_TO_WINDOW.after(FrameworkHooks.viewIds(targetMap.keySet()), param -> {
+                var view = (View) param.thisObject;
+                var id = view.getId();
+                if (id > 0) {
+                    FilterItem item = targetMap.get(id);
+                    if (item != null && FilterItem.BEHAVIOR_GONE.equals(item.behavior)) {
+                        if (view.getVisibility() == View.VISIBLE) {
+                            view.setVisibility(View.GONE);
                         }
+                        // Also intercept future setVisibility calls to keep it GONE
+                        view.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
+                            @Override
+                            public void onViewAttachedToWindow(View v) {
+                                if (v.getVisibility() != View.GONE) v.setVisibility(View.GONE);
+                            }
+                            @Override
+                            public void onViewDetachedFromWindow(View v) {}
+                        });
                     }
                 }
             });
@@ -1133,7 +1129,7 @@ public class Others extends Feature {
                     return;
                 }
 
-                XposedHelpers.setAdditionalInstanceField(dateTextView, "wae_device_source_message_id", messageId);
+                ObjectExtras.set(dateTextView, DEVICE_SOURCE_MESSAGE_ID, messageId);
                 // Tag the view for fast identification in the global setText hook
                 dateTextView.setTag(com.waenhancer.R.id.wae_device_source_tag, Boolean.TRUE);
 
@@ -1141,13 +1137,13 @@ public class Others extends Feature {
                 CompletableFuture.supplyAsync(() -> {
                     return resolveMessageDeviceId(messageId, fMessage);
                 }).thenAcceptAsync(resolvedDeviceId -> {
-                    Object currentId = XposedHelpers.getAdditionalInstanceField(dateTextView, "wae_device_source_message_id");
+                    String currentId = ObjectExtras.get(dateTextView, DEVICE_SOURCE_MESSAGE_ID);
                     if (!Objects.equals(currentId, messageId)) {
                         return;
                     }
 
                     String suffix = getDeviceEmojiSuffix(resolvedDeviceId);
-                    XposedHelpers.setAdditionalInstanceField(dateTextView, DEVICE_SOURCE_SUFFIX_FIELD, suffix);
+                    ObjectExtras.set(dateTextView, DEVICE_SOURCE_SUFFIX, suffix);
 
                     bindMessageDeviceSource(dateTextView, resolvedDeviceId);
                     // Optimized view update: only recurse if absolutely necessary
@@ -1179,7 +1175,7 @@ public class Others extends Feature {
                 .replace(LINKED_DEVICE_EMOJI, "");
 
         String suffix = getDeviceEmojiSuffix(deviceId);
-        XposedHelpers.setAdditionalInstanceField(dateTextView, DEVICE_SOURCE_SUFFIX_FIELD, suffix);
+        ObjectExtras.set(dateTextView, DEVICE_SOURCE_SUFFIX, suffix);
         bindMessageDeviceSourceClick(dateTextView, deviceId);
 
         dateTextView.setText(baseText + suffix);
@@ -1212,7 +1208,7 @@ public class Others extends Feature {
                 return;
             }
 
-            XposedHelpers.setAdditionalInstanceField(textView, DEVICE_SOURCE_SUFFIX_FIELD, suffix);
+            ObjectExtras.set(textView, DEVICE_SOURCE_SUFFIX, suffix);
             bindMessageDeviceSourceClick(textView, deviceId);
             if (!current.equals(base + suffix)) {
                 textView.setText(base + suffix);
@@ -1303,11 +1299,11 @@ public class Others extends Feature {
                 if (tag == null) {
                     return;
                 }
-                Object suffixObj = XposedHelpers.getAdditionalInstanceField(textView, DEVICE_SOURCE_SUFFIX_FIELD);
-                if (!(suffixObj instanceof String suffix) || suffix.isEmpty()) {
+                String suffix = ObjectExtras.get(textView, DEVICE_SOURCE_SUFFIX);
+                if (suffix == null || suffix.isEmpty()) {
                     return;
                 }
-                if (Boolean.TRUE.equals(XposedHelpers.getAdditionalInstanceField(textView, DEVICE_SOURCE_GUARD_FIELD))) {
+                if (Boolean.TRUE.equals(ObjectExtras.get(textView, DEVICE_SOURCE_GUARD))) {
                     return;
                 }
 
@@ -1318,11 +1314,11 @@ public class Others extends Feature {
                     return;
                 }
 
-                XposedHelpers.setAdditionalInstanceField(textView, DEVICE_SOURCE_GUARD_FIELD, true);
+                ObjectExtras.set(textView, DEVICE_SOURCE_GUARD, true);
                 try {
                     textView.setText(desired);
                 } finally {
-                    XposedHelpers.setAdditionalInstanceField(textView, DEVICE_SOURCE_GUARD_FIELD, false);
+                    ObjectExtras.set(textView, DEVICE_SOURCE_GUARD, false);
                 }
             }
         };
@@ -1548,12 +1544,8 @@ public class Others extends Feature {
     }
 
     private static void copyFile(File src, File dest) throws IOException {
-        try (InputStream in = new FileInputStream(src); OutputStream out = new FileOutputStream(dest)) {
-            byte[] buf = new byte[1024];
-            int len;
-            while ((len = in.read(buf)) > 0) {
-                out.write(buf, 0, len);
-            }
+        try (var in = new FileInputStream(src); var out = new FileOutputStream(dest)) {
+            FileCopier.copy(in, out, null);
         }
     }
 
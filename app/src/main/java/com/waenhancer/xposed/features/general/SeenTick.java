@@ -20,6 +20,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.db.MessageHistory;
@@ -27,7 +28,9 @@ import com.waenhancer.xposed.core.db.MessageStore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.features.customization.HideSeenView;
 import com.waenhancer.xposed.features.listeners.MenuStatusListener;
+import com.waenhancer.xposed.features.privacy.HideSeen;
 import com.waenhancer.xposed.utils.DesignUtils;
+import com.waenhancer.xposed.utils.ObjectExtras;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 import com.waenhancer.R;
 import com.waenhancer.xposed.utils.Utils;
@@ -56,6 +59,7 @@ import com.waenhancer.xposed.core.FeatureLoader;
 import com.waenhancer.xposed.features.media.StatusDownload;
 import java.lang.reflect.Field;
 
+@FeatureDeps(after = MenuStatusListener.class, hooks = {"loadBlueOnReplayViewButtonMethod", "loadViewOnceDownloadMenuMethod"})
 public class SeenTick extends Feature {
 
     private static Field cachedStatusFMessageField;
@@ -173,7 +177,7 @@ public class SeenTick extends Feature {
                     var ticktype = Integer.parseInt(prefs.getString("seentick", "0"));
                     if (ticktype == 0) return;
 
-                    var object = ReflectionUtils.findFMessageInObject(rawObject, FMessageWpp.TYPE, FMessageWpp.Key.TYPE, classLoader);
+                    var object = FMessageWpp.findIn(rawObject);
                     if (object == null) {
                         return;
                     }
@@ -212,7 +216,7 @@ public class SeenTick extends Feature {
                 @Override
                 protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                     if (!prefs.getBoolean("hidestatusview", false)) return;
-                    var fMessageObj = ReflectionUtils.findFMessageInObject(param.thisObject, FMessageWpp.TYPE, FMessageWpp.Key.TYPE, classLoader);
+                    var fMessageObj = FMessageWpp.findIn(param.thisObject);
                     if (fMessageObj == null) {
                         /* Log removed */
                         return;
@@ -348,7 +352,7 @@ public class SeenTick extends Feature {
             @Override
             @SuppressLint("DiscouragedApi")
             protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                Object fmessageObj = ReflectionUtils.findFMessageInObject(param.thisObject, FMessageWpp.TYPE, FMessageWpp.Key.TYPE, classLoader);
+                Object fmessageObj = FMessageWpp.findIn(param.thisObject);
                 if (fmessageObj == null) return;
                 FMessageWpp fMessage = new FMessageWpp(fmessageObj);
                 if (!fMessage.isViewOnce()) return;
@@ -515,7 +519,7 @@ public class SeenTick extends Feature {
                 args[messageIdIndex] = messageIds;
 
                 Object sendJob = sendJobConstrutor.newInstance(args);
-                XposedHelpers.setAdditionalInstanceField(sendJob, "blue_on_reply", true);
+                ObjectExtras.set(sendJob, HideSeen.BLUE_ON_REPLY, true);
                 WaJobManagerMethod.invoke(mWaJobManager, sendJob);
 
                 sentMessages.addAll(groupMessages);
@@ -575,7 +579,7 @@ public class SeenTick extends Feature {
                 args[messageIdIndex] = arr_s;
 
                 Object sendJob2 = sendJobConstrutor.newInstance(args);
-                XposedHelpers.setAdditionalInstanceField(sendJob2, "blue_on_reply", true);
+                ObjectExtras.set(sendJob2, HideSeen.BLUE_ON_REPLY, true);
                 WaJobManagerMethod.invoke(mWaJobManager, sendJob2);
 
             } catch (Exception e) {
@@ -18,6 +18,7 @@ import androidx.core.widget.NestedScrollView;
 import com.waenhancer.adapter.MessageAdapter;
 import com.waenhancer.views.NoScrollListView;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.AlertDialogWpp;
 import com.waenhancer.xposed.core.components.FMessageWpp;
@@ -46,6 +47,7 @@ import android.widget.RelativeLayout;
 import android.widget.Switch;
 import com.waenhancer.xposed.core.FeatureLoader;
 
+@FeatureDeps(after = ConversationItemListener.class)
 public class ShowEditMessage extends Feature {
 
     public ShowEditMessage(@NonNull ClassLoader loader, @NonNull SharedPreferences preferences) {
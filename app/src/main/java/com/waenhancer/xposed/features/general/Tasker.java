@@ -12,6 +12,7 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -40,6 +41,7 @@ import android.widget.TextView;
 import java.lang.reflect.Method;
 import java.util.List;
 
+@FeatureDeps(hooks = "loadReceiptMethod")
 public class Tasker extends Feature {
     private static FMessageWpp fMessage;
     private static boolean taskerEnabled;
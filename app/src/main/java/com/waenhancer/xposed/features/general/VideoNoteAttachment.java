@@ -18,6 +18,7 @@ import androidx.annotation.NonNull;
 
 import com.waenhancer.utils.RealPathUtil;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.utils.Utils;
@@ -38,7 +39,6 @@ import android.widget.AbsListView;
 import android.widget.FrameLayout;
 import android.widget.HeaderViewListAdapter;
 import android.widget.ListAdapter;
-import android.widget.ListView;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import java.io.File;
 import java.lang.reflect.Constructor;
@@ -147,25 +147,17 @@ public class VideoNoteAttachment extends Feature {
         }
 
         // ── 2. Intercept the Activity result when the user picks a video ────────
-        // ActivityController filters by a proxy class, so we hook separately here.
-        XposedHelpers.findAndHookMethod(Activity.class, "onActivityResult",
-                int.class, int.class, Intent.class, new XC_MethodHook() {
-                    @Override
-                    protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                        int requestCode = (int) param.args[0];
-                        if (requestCode != REQUEST_PICK_VIDEO_NOTE)
-                            return;
-
-                        int resultCode = (int) param.args[1];
-                        Intent data = (Intent) param.args[2];
-                        if (resultCode != Activity.RESULT_OK || data == null) {
-                            return;
-                        }
+        // ActivityController filters by a proxy class, so we listen separately here.
+        FrameworkHooks.ACTIVITY_ON_ACTIVITY_RESULT.after(FrameworkHooks.intArg(0, code -> code == REQUEST_PICK_VIDEO_NOTE), param -> {
+            int resultCode = (int) param.args[1];
+            Intent data = (Intent) param.args[2];
+            if (resultCode != Activity.RESULT_OK || data == null) {
+                return;
+            }
 
-                        Uri videoUri = data.getData();
-                        sendVideoToConversation((Activity) param.thisObject, videoUri);
-                    }
-                });
+            Uri videoUri = data.getData();
+            sendVideoToConversation((Activity) param.thisObject, videoUri);
+        });
         // ── 3. Force mediaType 81 (PTV) on message creation ────────────
         try {
             Class<?> abstractMediaMessageClass = Unobfuscator.loadAbstractMediaMessageClass(classLoader);
@@ -232,127 +224,119 @@ public class VideoNoteAttachment extends Feature {
         // to FMessageVideoNote and crashes. We catch the exception in the adapter and
         // return a dummy view.
         try {
-            XposedHelpers.findAndHookMethod(ListView.class, "setAdapter",
-                    ListAdapter.class, new XC_MethodHook() {
-                        @Override
-                        protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                            Activity activity = WppCore.getCurrentActivity();
-                            if (activity == null || !activity.getClass().getSimpleName().equals("Conversation"))
-                                return;
+            FrameworkHooks.LIST_VIEW_SET_ADAPTER.after(FrameworkHooks.viewId(android.R.id.list), param -> {
+                Activity activity = WppCore.getCurrentActivity();
+                if (activity == null || !activity.getClass().getSimpleName().equals("Conversation"))
+                    return;
+
+                ListAdapter adapter = (ListAdapter) param.args[0];
+                if (adapter instanceof HeaderViewListAdapter) {
+                    adapter = ((HeaderViewListAdapter) adapter).getWrappedAdapter();
+                }
+                if (adapter == null)
+                    return;
 
-                            ListView listView = (ListView) param.thisObject;
-                            if (listView.getId() != android.R.id.list)
-                                return;
+                final ListAdapter finalAdapter = adapter;
+                try {
+                    Method getViewMethod = finalAdapter.getClass().getDeclaredMethod(
+                            "getView", int.class, View.class, ViewGroup.class);
+                    Method getItemViewTypeMethod = null;
+                    try {
+                        getItemViewTypeMethod = finalAdapter.getClass().getDeclaredMethod("getItemViewType",
+                                int.class);
+                    } catch (Exception ignored) {
+                    }
+
+                    if (crashPreventHook != null)
+                        crashPreventHook.unhook();
 
-                            ListAdapter adapter = (ListAdapter) param.args[0];
-                            if (adapter instanceof HeaderViewListAdapter) {
-                                adapter = ((HeaderViewListAdapter) adapter).getWrappedAdapter();
+                    XC_MethodHook toggleMediaHook = new XC_MethodHook() {
+                        private final ThreadLocal<Object> tempPtvMessage = new ThreadLocal<>();
+
+                        @Override
+                        protected void beforeHookedMethod(MethodHookParam param2) throws Throwable {
+                            try {
+                                int position = (int) param2.args[0];
+                                Object fMessage = finalAdapter.getItem(position);
+                                if (fMessage != null) {
+                                    FMessageWpp wrapped = new FMessageWpp(
+                                            fMessage);
+                                    int mediaType = wrapped.getMediaType();
+                                    // Only camouflage our artificially faked Video Notes in memory
+                                    if (mediaType == 81 && fakeVideoNotes.containsKey(fMessage)) {
+                                        Field mediaTypeField = Unobfuscator
+                                                .loadMediaTypeField(classLoader);
+                                        mediaTypeField.setAccessible(true);
+                                        mediaTypeField.setInt(fMessage, 3);
+                                        tempPtvMessage.set(fMessage);
+                                    }
+                                }
+                            } catch (Exception ignored) {
                             }
-                            if (adapter == null)
-                                return;
+                        }
 
-                            final ListAdapter finalAdapter = adapter;
+                        @Override
+                        protected void afterHookedMethod(MethodHookParam param2) throws Throwable {
                             try {
-                                Method getViewMethod = finalAdapter.getClass().getDeclaredMethod(
-                                        "getView", int.class, View.class, ViewGroup.class);
-                                Method getItemViewTypeMethod = null;
-                                try {
-                                    getItemViewTypeMethod = finalAdapter.getClass().getDeclaredMethod("getItemViewType",
-                                            int.class);
-                                } catch (Exception ignored) {
+                                Object fMessage = tempPtvMessage.get();
+                                if (fMessage != null) {
+                                    Field mediaTypeField = Unobfuscator
+                                            .loadMediaTypeField(classLoader);
+                                    mediaTypeField.setAccessible(true);
+                                    mediaTypeField.setInt(fMessage, 81);
+                                    tempPtvMessage.remove();
                                 }
 
-                                if (crashPreventHook != null)
-                                    crashPreventHook.unhook();
-
-                                XC_MethodHook toggleMediaHook = new XC_MethodHook() {
-                                    private final ThreadLocal<Object> tempPtvMessage = new ThreadLocal<>();
-
-                                    @Override
-                                    protected void beforeHookedMethod(MethodHookParam param2) throws Throwable {
-                                        try {
-                                            int position = (int) param2.args[0];
-                                            Object fMessage = finalAdapter.getItem(position);
-                                            if (fMessage != null) {
-                                                FMessageWpp wrapped = new FMessageWpp(
-                                                        fMessage);
-                                                int mediaType = wrapped.getMediaType();
-                                                // Only camouflage our artificially faked Video Notes in memory
-                                                if (mediaType == 81 && fakeVideoNotes.containsKey(fMessage)) {
-                                                    Field mediaTypeField = Unobfuscator
-                                                            .loadMediaTypeField(classLoader);
-                                                    mediaTypeField.setAccessible(true);
-                                                    mediaTypeField.setInt(fMessage, 3);
-                                                    tempPtvMessage.set(fMessage);
+                                // Fallback transparent view if it still crashes inside getView
+                                if (param2.method.getName().equals("getView") && param2.hasThrowable()) {
+                                    Throwable t = param2.getThrowable();
+                                    if (t instanceof ClassCastException
+                                            || (t.getCause() != null
+                                                    && t.getCause() instanceof ClassCastException)
+                                            || t instanceof IllegalStateException || (t.getCause() != null
+                                                    && t.getCause() instanceof IllegalStateException)) {
+                                        if (t instanceof ClassCastException) {
+                                            ClassCastException cce = (ClassCastException) (t instanceof ClassCastException
+                                                    ? t
+                                                    : t.getCause());
+                                            if (cce.getMessage() != null
+                                                    && cce.getMessage().contains("cannot be cast to ")) {
+                                                String targetClassName = cce.getMessage()
+                                                        .split("cannot be cast to ")[1].trim();
+                                                try {
+                                                    targetVideoNoteClass = Class.forName(targetClassName,
+                                                            false, activity.getClassLoader());
+                                                } catch (Exception ignored) {
                                                 }
                                             }
-                                        } catch (Exception ignored) {
                                         }
-                                    }
-
-                                    @Override
-                                    protected void afterHookedMethod(MethodHookParam param2) throws Throwable {
-                                        try {
-                                            Object fMessage = tempPtvMessage.get();
-                                            if (fMessage != null) {
-                                                Field mediaTypeField = Unobfuscator
-                                                        .loadMediaTypeField(classLoader);
-                                                mediaTypeField.setAccessible(true);
-                                                mediaTypeField.setInt(fMessage, 81);
-                                                tempPtvMessage.remove();
-                                            }
+                                        param2.setThrowable(null);
 
-                                            // Fallback transparent view if it still crashes inside getView
-                                            if (param2.method.getName().equals("getView") && param2.hasThrowable()) {
-                                                Throwable t = param2.getThrowable();
-                                                if (t instanceof ClassCastException
-                                                        || (t.getCause() != null
-                                                                && t.getCause() instanceof ClassCastException)
-                                                        || t instanceof IllegalStateException || (t.getCause() != null
-                                                                && t.getCause() instanceof IllegalStateException)) {
-                                                    if (t instanceof ClassCastException) {
-                                                        ClassCastException cce = (ClassCastException) (t instanceof ClassCastException
-                                                                ? t
-                                                                : t.getCause());
-                                                        if (cce.getMessage() != null
-                                                                && cce.getMessage().contains("cannot be cast to ")) {
-                                                            String targetClassName = cce.getMessage()
-                                                                    .split("cannot be cast to ")[1].trim();
-                                                            try {
-                                                                targetVideoNoteClass = Class.forName(targetClassName,
-                                                                        false, activity.getClassLoader());
-                                                            } catch (Exception ignored) {
-                                                            }
-                                                        }
-                                                    }
-                                                    param2.setThrowable(null);
-
-                                                    Context ctx = activity;
-                                                    if (param2.args[2] != null) {
-                                                        ctx = ((View) param2.args[2]).getContext();
-                                                    }
-
-                                                    FrameLayout dummy = new FrameLayout(
-                                                            ctx);
-                                                    dummy.setLayoutParams(new AbsListView.LayoutParams(
-                                                            ViewGroup.LayoutParams.MATCH_PARENT, 1));
-                                                    dummy.setBackgroundColor(Color.TRANSPARENT);
-                                                    param2.setResult(dummy);
-                                                }
-                                            }
-                                        } catch (Exception ignored) {
+                                        Context ctx = activity;
+                                        if (param2.args[2] != null) {
+                                            ctx = ((View) param2.args[2]).getContext();
                                         }
-                                    }
-                                };
 
-                                crashPreventHook = XposedBridge.hookMethod(getViewMethod, toggleMediaHook);
-                                if (getItemViewTypeMethod != null) {
-                                    XposedBridge.hookMethod(getItemViewTypeMethod, toggleMediaHook);
+                                        FrameLayout dummy = new FrameLayout(
+                                                ctx);
+                                        dummy.setLayoutParams(new AbsListView.LayoutParams(
+                                                ViewGroup.LayoutParams.MATCH_PARENT, 1));
+                                        dummy.setBackgroundColor(Color.TRANSPARENT);
+                                        param2.setResult(dummy);
+                                    }
                                 }
-                            } catch (Exception e) {
+                            } catch (Exception ignored) {
                             }
                         }
-                    });
+                    };
+
+                    crashPreventHook = XposedBridge.hookMethod(getViewMethod, toggleMediaHook);
+                    if (getItemViewTypeMethod != null) {
+                        XposedBridge.hookMethod(getItemViewTypeMethod, toggleMediaHook);
+                    }
+                } catch (Exception e) {
+                }
+            });
         } catch (Exception e) {
         }
 
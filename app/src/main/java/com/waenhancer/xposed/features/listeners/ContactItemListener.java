@@ -5,11 +5,13 @@ import android.view.View;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.components.WaContactWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 
-import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import de.robv.android.xposed.XC_MethodHook;
 import android.content.SharedPreferences;
@@ -17,9 +19,10 @@ import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import java.lang.reflect.Field;
 
+@FeatureDeps(hooks = {"loadAbsViewHolder", "loadOnChangeStatus", "loadViewHolderField1"})
 public class ContactItemListener extends Feature {
 
-    public static HashSet<OnContactItemListener> contactListeners = new HashSet<>();
+    public static final Set<OnContactItemListener> contactListeners = new CopyOnWriteArraySet<>();
 
     private static Field cachedViewField;
 
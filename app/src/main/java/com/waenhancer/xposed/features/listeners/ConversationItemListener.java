@@ -4,26 +4,29 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.HeaderViewListAdapter;
 import android.widget.ListAdapter;
-import android.widget.ListView;
 
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
+import com.waenhancer.xposed.utils.ObjectExtras;
 
-import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import de.robv.android.xposed.XC_MethodHook;
 import android.content.SharedPreferences;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
-import de.robv.android.xposed.XposedHelpers;
 
 public class ConversationItemListener extends Feature {
 
-    public static HashSet<OnConversationItemListener> conversationListeners = new HashSet<>();
+    /** The message last bound to a conversation row's view. */
+    public static final ObjectExtras.Key<FMessageWpp> FMESSAGE = ObjectExtras.key("fMessage", FMessageWpp.class);
+    public static final Set<OnConversationItemListener> conversationListeners = new CopyOnWriteArraySet<>();
     private static ListAdapter mAdapter;
     private static XC_MethodHook.Unhook hooked;
 
@@ -37,39 +40,35 @@ public class ConversationItemListener extends Feature {
 
     @Override
     public void doHook() throws Throwable {
-        XposedHelpers.findAndHookMethod(ListView.class, "setAdapter", ListAdapter.class, new XC_MethodHook() {
-            @Override
-            protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                if (!WppCore.getCurrentActivity().getClass().getSimpleName().equals("Conversation"))
-                    return;
-                if (((ListView) param.thisObject).getId() != android.R.id.list) return;
-                ListAdapter adapter = (ListAdapter) param.args[0];
-                if (adapter instanceof HeaderViewListAdapter) {
-                    adapter = ((HeaderViewListAdapter) adapter).getWrappedAdapter();
-                }
-                if (adapter == null) return;
-                mAdapter = adapter;
-                if (hooked != null) hooked.unhook();
-                var method = mAdapter.getClass().getDeclaredMethod("getView", int.class, View.class, ViewGroup.class);
-                hooked = XposedBridge.hookMethod(method, new XC_MethodHook() {
-                    @Override
-                    protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                        if (param.thisObject != mAdapter) return;
-                        var position = (int) param.args[0];
-                        var viewGroup = (ViewGroup) param.getResult();
-                        if (viewGroup == null) return;
-                        Object fMessageObj = mAdapter.getItem(position);
-                        if (fMessageObj == null) return;
-                        // Guard: Only process FMessage instances, skip headers/adapters
-                        if (FMessageWpp.TYPE == null || !FMessageWpp.TYPE.isInstance(fMessageObj)) return;
-                        var fMessage = new FMessageWpp(fMessageObj);
-                        for (OnConversationItemListener listener : conversationListeners) {
-                            listener.onItemBind(fMessage, viewGroup);
-                        }
-                        XposedHelpers.setAdditionalInstanceField(viewGroup, "fMessage", fMessage);
-                    }
-                });
+        FrameworkHooks.LIST_VIEW_SET_ADAPTER.before(FrameworkHooks.viewId(android.R.id.list), param -> {
+            if (!WppCore.getCurrentActivity().getClass().getSimpleName().equals("Conversation"))
+                return;
+            ListAdapter adapter = (ListAdapter) param.args[0];
+            if (adapter instanceof HeaderViewListAdapter) {
+                adapter = ((HeaderViewListAdapter) adapter).getWrappedAdapter();
             }
+            if (adapter == null) return;
+            mAdapter = adapter;
+            if (hooked != null) hooked.unhook();
+            var method = mAdapter.getClass().getDeclaredMethod("getView", int.class, View.class, ViewGroup.class);
+            hooked = XposedBridge.hookMethod(method, new XC_MethodHook() {
+                @Override
+                protected void afterHookedMethod(MethodHookParam param) throws Throwable {
+                    if (param.thisObject != mAdapter) return;
+                    var position = (int) param.args[0];
+                    var viewGroup = (ViewGroup) param.getResult();
+                    if (viewGroup == null) return;
+                    Object fMessageObj = mAdapter.getItem(position);
+                    if (fMessageObj == null) return;
+                    // Guard: Only process FMessage instances, skip headers/adapters
+                    if (FMessageWpp.TYPE == null || !FMessageWpp.TYPE.isInstance(fMessageObj)) return;
+                    var fMessage = new FMessageWpp(fMessageObj);
+                    for (OnConversationItemListener listener : conversationListeners) {
+                        listener.onItemBind(fMessage, viewGroup);
+                    }
+                    ObjectExtras.set(viewGroup, FMESSAGE, fMessage);
+                }
+            });
         });
     }
 
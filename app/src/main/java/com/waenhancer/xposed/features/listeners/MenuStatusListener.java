@@ -8,6 +8,7 @@ import android.graphics.drawable.Drawable;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.components.StatusItemWaex;
@@ -31,6 +32,7 @@ import com.waenhancer.xposed.core.FeatureLoader;
 import com.waenhancer.xposed.utils.Utils;
 import java.lang.reflect.Method;
 
+@FeatureDeps(hooks = "loadFStatusToFMessage")
 public class MenuStatusListener extends Feature {
 
     public static final LinkedHashSet<OnMenuItemStatusListener> menuStatuses = new LinkedHashSet<>();
@@ -179,7 +181,11 @@ public class MenuStatusListener extends Feature {
                     XposedBridge.log("[WAEX] Current status item: isFromMe=" + currentStatusItem.isFromMe() + ", isMedia=" + currentStatusItem.isMediaFile() + ", mediaFile=" + currentStatusItem.getMediaFile());
 
                     SubMenu waeSubMenu = null;
-                    for (OnMenuItemStatusListener menuStatus : menuStatuses) {
+                    List<OnMenuItemStatusListener> listeners;
+                    synchronized (MenuStatusListener.class) {
+                        listeners = new ArrayList<>(menuStatuses);
+                    }
+                    for (OnMenuItemStatusListener menuStatus : listeners) {
                         if (waeSubMenu == null) {
                             String waeTitle = "WaEnhancerX";
                             try {
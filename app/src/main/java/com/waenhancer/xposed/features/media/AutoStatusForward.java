@@ -11,9 +11,11 @@ import androidx.annotation.NonNull;
 import androidx.core.content.FileProvider;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
+import com.waenhancer.xposed.utils.KeywordMatcher;
 import com.waenhancer.xposed.utils.Utils;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 
@@ -43,8 +45,6 @@ import android.view.ViewGroup;
 import android.view.WindowManager;
 import android.widget.ImageView;
 import com.waenhancer.model.StatusForwardRule;
-import java.lang.reflect.Array;
-import java.lang.reflect.Modifier;
 
 /**
  * AutoStatusForward
@@ -53,6 +53,7 @@ import java.lang.reflect.Modifier;
  * incoming messages from the cache with their fields (text, quoted context)
  * populated.
  */
+@FeatureDeps(hooks = {"loadNotificationMethod", "loadReceiptMethod"})
 public class AutoStatusForward extends Feature {
     private static Field quotedContextFieldCache = null;
     private static boolean scannedForQuoted = false;
@@ -406,45 +407,61 @@ public class AutoStatusForward extends Feature {
     // Rule matching
     // -------------------------------------------------------------------------
 
+    /**
+     * Rules as last compiled, with the JSON they came from; replaced as a whole when the preference
+     * changes so concurrent replies never see a half-built rule set.
+     */
+    private static final class CompiledRules {
+        final String json;
+        // Null when the list is empty, which forwards every reply
+        final KeywordMatcher<StatusForwardRule> matcher;
+
+        CompiledRules(String json, KeywordMatcher<StatusForwardRule> matcher) {
+            this.json = json;
+            this.matcher = matcher;
+        }
+    }
+
+    private static final StatusForwardRule MATCH_ALL_RULE = new StatusForwardRule("contains", "", true, true, false);
+    private static volatile CompiledRules compiledRules;
+
     private StatusForwardRule matchesRules(String messageText) {
         String json = prefs.getString("auto_status_forward_rules_json", "[]");
-        try {
-            JSONArray arr = new JSONArray(json);
-            if (arr.length() == 0) {
-                /* Log removed */
-                return new StatusForwardRule("contains", "", true, true, false);
-            }
-            if (TextUtils.isEmpty(messageText))
+        var rules = compiledRules;
+        if (rules == null || !rules.json.equals(json)) {
+            try {
+                rules = compileRules(json);
+            } catch (Exception e) {
+                log("AutoStatusForward – matchesRules exception: " + e.getMessage());
                 return null;
-
-            String lower = messageText.trim().toLowerCase();
-            for (int i = 0; i < arr.length(); i++) {
-                JSONObject ruleObj = arr.getJSONObject(i);
-                String type = ruleObj.optString("type", "contains").toLowerCase();
-                String ruleText = ruleObj.optString("text", "").trim().toLowerCase();
-
-                boolean applyText = ruleObj.optBoolean("applyText", true);
-                boolean applyMedia = ruleObj.optBoolean("applyMedia", true);
-                boolean applyVoice = ruleObj.optBoolean("applyVoice", false);
-
-                if (ruleText.isEmpty())
-                    continue;
-
-                if ("equals".equals(type) && lower.equals(ruleText)) {
-                    /* Log removed */
-                    return new StatusForwardRule(type, ruleText, applyText, applyMedia,
-                            applyVoice);
-                }
-                if (!"equals".equals(type) && lower.contains(ruleText)) {
-                    /* Log removed */
-                    return new StatusForwardRule(type, ruleText, applyText, applyMedia,
-                            applyVoice);
-                }
             }
-        } catch (Exception e) {
-            log("AutoStatusForward – matchesRules exception: " + e.getMessage());
+            compiledRules = rules;
         }
-        return null;
+        if (rules.matcher == null) {
+            /* Log removed */
+            return MATCH_ALL_RULE;
+        }
+        if (TextUtils.isEmpty(messageText))
+            return null;
+        return rules.matcher.match(messageText);
+    }
+
+    private static CompiledRules compileRules(String json) throws Exception {
+        JSONArray arr = new JSONArray(json);
+        if (arr.length() == 0) return new CompiledRules(json, null);
+        KeywordMatcher.Builder<StatusForwardRule> builder = KeywordMatcher.builder();
+        for (int i = 0; i < arr.length(); i++) {
+            JSONObject ruleObj = arr.getJSONObject(i);
+            String type = ruleObj.optString("type", "contains").toLowerCase();
+            String ruleText = KeywordMatcher.normalize(ruleObj.optString("text", ""));
+            if (ruleText.isEmpty())
+                continue;
+            boolean applyText = ruleObj.optBoolean("applyText", true);
+            boolean applyMedia = ruleObj.optBoolean("applyMedia", true);
+            boolean applyVoice = ruleObj.optBoolean("applyVoice", false);
+            builder.add(ruleText, "equals".equals(type), new StatusForwardRule(type, ruleText, applyText, applyMedia, applyVoice));
+        }
+        return new CompiledRules(json, builder.build());
     }
 
     // -------------------------------------------------------------------------
@@ -538,8 +555,7 @@ public class AutoStatusForward extends Feature {
 
     private List<Object> extractNotificationCandidates(Object root) {
         ArrayList<Object> matches = new ArrayList<>();
-        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
-        collectFMessageCandidates(root, matches, visited, 0);
+        FMessageWpp.collectIn(root, matches);
         return matches;
     }
 
@@ -556,56 +572,6 @@ public class AutoStatusForward extends Feature {
         return out;
     }
 
-    private void collectFMessageCandidates(Object value, List<Object> out, Set<Object> visited, int depth) {
-        if (value == null || depth > 3 || visited.contains(value)) {
-            return;
-        }
-        visited.add(value);
-
-        try {
-            if (FMessageWpp.TYPE.isInstance(value)) {
-                out.add(value);
-                return;
-            }
-        } catch (Throwable ignored) {
-        }
-
-        Class<?> clazz = value.getClass();
-        if (clazz.isArray()) {
-            int len = Array.getLength(value);
-            for (int i = 0; i < len && i < 10; i++) {
-                collectFMessageCandidates(Array.get(value, i), out, visited, depth + 1);
-            }
-            return;
-        }
-
-        if (value instanceof Iterable<?> iterable) {
-            int i = 0;
-            for (Object item : iterable) {
-                if (i++ >= 10) {
-                    break;
-                }
-                collectFMessageCandidates(item, out, visited, depth + 1);
-            }
-            return;
-        }
-
-        if (clazz.isPrimitive() || clazz.getName().startsWith("java.") || clazz.getName().startsWith("android.")) {
-            return;
-        }
-
-        for (Field field : getAllFields(clazz)) {
-            if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
-                continue;
-            }
-            try {
-                field.setAccessible(true);
-                collectFMessageCandidates(field.get(value), out, visited, depth + 1);
-            } catch (Throwable ignored) {
-            }
-        }
-    }
-
     private void logReplyDiagnostics(FMessageWpp incoming, FMessageWpp quotedStatus) {
         FMessageWpp.Key replyKey = incoming.getKey();
         FMessageWpp.Key statusKey = quotedStatus.getKey();
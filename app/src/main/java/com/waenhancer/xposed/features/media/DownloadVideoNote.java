@@ -9,6 +9,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.features.listeners.ConversationItemListener;
 import com.waenhancer.xposed.utils.Utils;
@@ -22,6 +23,7 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import com.waenhancer.xposed.core.WppCore;
 
+@FeatureDeps(after = ConversationItemListener.class)
 public class DownloadVideoNote extends Feature {
 
     public DownloadVideoNote(@NonNull ClassLoader loader, @NonNull SharedPreferences preferences) {
@@ -9,6 +9,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -27,6 +28,7 @@ import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 import com.waenhancer.xposed.core.FeatureLoader;
 
+@FeatureDeps(hooks = "loadViewOnceDownloadMenuMethod")
 public class DownloadViewOnce extends Feature {
     private static final int MENU_ID_DOWNLOAD = 0x7EAD0003;
 
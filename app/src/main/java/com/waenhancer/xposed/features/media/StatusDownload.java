@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 import androidx.core.content.FileProvider;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.components.StatusItemWaex;
@@ -50,6 +51,7 @@ import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
 
+@FeatureDeps(after = MenuStatusListener.class)
 public class StatusDownload extends Feature {
 
     public static volatile Object activeStatusObj = null;
@@ -103,7 +105,7 @@ public class StatusDownload extends Feature {
             @Override
             public void onClick(MenuItem item, Object fragmentInstance, List<FMessageWpp> fMessageList, int currentIndex) {}
         };
-        MenuStatusListener.getMenuStatuses().add(downloadStatus);
+        MenuStatusListener.registerStatusListener(downloadStatus);
 
         var sharedMenu = new MenuStatusListener.OnMenuItemStatusListener() {
 
@@ -136,7 +138,7 @@ public class StatusDownload extends Feature {
             @Override
             public void onClick(MenuItem item, Object fragmentInstance, List<FMessageWpp> fMessageList, int currentIndex) {}
         };
-        MenuStatusListener.getMenuStatuses().add(sharedMenu);
+        MenuStatusListener.registerStatusListener(sharedMenu);
     }
 
     private void sharedStatus(StatusItemWaex statusItem, Object fragmentInstance, int currentIndex) {
@@ -26,6 +26,7 @@ import androidx.annotation.NonNull;
 
 import com.waenhancer.preference.ContactPickerPreference;
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FrameworkHooks;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -172,49 +173,45 @@ public class ActivityController extends Feature {
                     }
                 });
 
-        XposedHelpers.findAndHookMethod(Activity.class, "onActivityResult", int.class, int.class, Intent.class,
-                new XC_MethodHook() {
-                    @Override
-                    protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                        var activity = (Activity) param.thisObject;
-                        var id = (int) param.args[0];
-                        Intent intent = (Intent) param.args[2];
+        FrameworkHooks.ACTIVITY_ON_ACTIVITY_RESULT.after(param -> {
+            var activity = (Activity) param.thisObject;
+            var id = (int) param.args[0];
+            Intent intent = (Intent) param.args[2];
 
-                        boolean isMyClass = (clazz == activity.getClass());
+            boolean isMyClass = (clazz == activity.getClass());
 
-                        if (id == ContactPickerPreference.REQUEST_CONTACT_PICKER && intent != null) {
-                            if (isMyClass && activity.getIntent() != null && activity.getIntent().getBooleanExtra("contact_mode", false)) {
-                                processResultContact(intent, activity);
-                                activity.finish();
-                            } else {
-                                processEmbeddedResultContact(intent, activity);
-                            }
-                            return;
-                        }
+            if (id == ContactPickerPreference.REQUEST_CONTACT_PICKER && intent != null) {
+                if (isMyClass && activity.getIntent() != null && activity.getIntent().getBooleanExtra("contact_mode", false)) {
+                    processResultContact(intent, activity);
+                    activity.finish();
+                } else {
+                    processEmbeddedResultContact(intent, activity);
+                }
+                return;
+            }
 
-                        if (!isMyClass)
-                            return;
-
-                        if (id == VideoNoteAttachment.REQUEST_PICK_VIDEO_NOTE
-                                && intent != null) {
-                            var uriStr = intent.getDataString();
-                            Intent intent2 = new Intent();
-                            intent2.putExtra("path", uriStr);
-                            activity.setResult(Activity.RESULT_OK, intent2);
-                            // VideoNoteAttachment needs to handle it via WppCore / broadcasting
-                            VideoNoteAttachment
-                                    .handleVideoPicked(intent.getData());
-                        } else if (id == REQUEST_FOLDER && (int) param.args[1] == Activity.RESULT_OK) {
-                            var uriStr = processDownloadResult(activity, intent);
-                            Intent intent2 = new Intent();
-                            intent2.putExtra("path", uriStr);
-                            intent2.putExtra("key", Key);
-                            /* Log removed */
-                            activity.setResult(Activity.RESULT_OK, intent2);
-                        }
-                        activity.finish();
-                    }
-                });
+            if (!isMyClass)
+                return;
+
+            if (id == VideoNoteAttachment.REQUEST_PICK_VIDEO_NOTE
+                    && intent != null) {
+                var uriStr = intent.getDataString();
+                Intent intent2 = new Intent();
+                intent2.putExtra("path", uriStr);
+                activity.setResult(Activity.RESULT_OK, intent2);
+                // VideoNoteAttachment needs to handle it via WppCore / broadcasting
+                VideoNoteAttachment
+                        .handleVideoPicked(intent.getData());
+            } else if (id == REQUEST_FOLDER && (int) param.args[1] == Activity.RESULT_OK) {
+                var uriStr = processDownloadResult(activity, intent);
+                Intent intent2 = new Intent();
+                intent2.putExtra("path", uriStr);
+                intent2.putExtra("key", Key);
+                /* Log removed */
+                activity.setResult(Activity.RESULT_OK, intent2);
+            }
+            activity.finish();
+        });
 
     }
 
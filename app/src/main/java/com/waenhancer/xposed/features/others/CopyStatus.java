@@ -7,6 +7,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.R;
 import com.waenhancer.xposed.utils.Utils;
@@ -17,6 +18,7 @@ import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import com.waenhancer.xposed.core.FeatureLoader;
 
+@FeatureDeps(hooks = "loadBlueOnReplayViewButtonMethod")
 public class CopyStatus extends Feature {
     public CopyStatus(@NonNull ClassLoader classLoader, @NonNull SharedPreferences preferences) {
         super(classLoader, preferences);
@@ -3,9 +3,11 @@ package com.waenhancer.xposed.features.others;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.devkit.UnobfuscatorCache;
 
 import android.content.SharedPreferences;
 import de.robv.android.xposed.XSharedPreferences;
+import de.robv.android.xposed.XposedBridge;
 
 public class DebugFeature extends Feature {
 
@@ -16,7 +18,11 @@ public class DebugFeature extends Feature {
 
     @Override
     public void doHook() throws Throwable {
-
+        if (!DEBUG) return;
+        var cache = UnobfuscatorCache.getInstance();
+        if (cache != null) {
+            XposedBridge.log(cache.getHookTable().dump());
+        }
     }
 
 
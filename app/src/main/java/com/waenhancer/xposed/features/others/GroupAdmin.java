@@ -13,6 +13,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
@@ -37,6 +38,7 @@ import android.content.ContextWrapper;
 import android.content.res.Configuration;
 import android.graphics.drawable.ColorDrawable;
 
+@FeatureDeps(hooks = "loadConversationRowClass")
 public class GroupAdmin extends Feature {
 
     private static final int BADGE_ID = 0x7fff0010;
@@ -8,6 +8,7 @@ import android.util.Pair;
 import androidx.annotation.NonNull;
 
 import com.waenhancer.xposed.core.Feature;
+import com.waenhancer.xposed.core.FeatureDeps;
 import com.waenhancer.xposed.core.WppCore;
 import com.waenhancer.xposed.core.components.FMessageWpp;
 import com.waenhancer.xposed.core.components.ProtocolTreeNodeWpp;
@@ -15,6 +16,7 @@ import com.waenhancer.xposed.core.db.MessageHistory;
 import com.waenhancer.xposed.core.devkit.Unobfuscator;
 import com.waenhancer.xposed.features.customization.HideSeenView;
 import com.waenhancer.xposed.features.general.Others;
+import com.waenhancer.xposed.utils.ObjectExtras;
 import com.waenhancer.xposed.utils.ReflectionUtils;
 
 import org.json.JSONObject;
@@ -32,9 +34,12 @@ import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
 
+@FeatureDeps(hooks = "loadReceiptMethod")
 public class HideSeen extends Feature {
 
     private static final int MEDIA_TYPE_VOICE_NOTE = 2;
+    /** Marks read receipt jobs sent by SeenTick's blue-on-reply, which must not be blocked. */
+    public static final ObjectExtras.Key<Boolean> BLUE_ON_REPLY = ObjectExtras.key("blue_on_reply", Boolean.class);
 
     private boolean ghostMode;
     private boolean hideRead;
@@ -109,7 +114,7 @@ public class HideSeen extends Feature {
     }
 
     private boolean hasBlueOnReplyFlag(Object sendReadReceiptJob) {
-        return XposedHelpers.getAdditionalInstanceField(sendReadReceiptJob, "blue_on_reply") != null;
+        return ObjectExtras.get(sendReadReceiptJob, BLUE_ON_REPLY) != null;
     }
 
     private boolean isInvalidJid(String lid) {
@@ -24,8 +24,6 @@ import androidx.core.content.ContextCompat;
 
 import com.waenhancer.xposed.core.WppCore;
 
-import java.util.HashMap;
-import java.util.Map;
 import android.content.Context;
 import android.content.res.Configuration;
 import android.util.TypedValue;
@@ -339,48 +337,35 @@ public class DesignUtils {
         return bitmap;
     }
 
+    /**
+     * Most frequent non-transparent color, black if there is none.
+     */
     public static int getDominantColor(Bitmap bitmap) {
-        Map<Integer, Integer> colorCountMap = new HashMap<>();
-
-        for (int y = 0; y < bitmap.getHeight(); y++) {
-            for (int x = 0; x < bitmap.getWidth(); x++) {
-                int color = bitmap.getPixel(x, y);
-                if (Color.alpha(color) > 0) { // Ignore pixels que são totalmente transparentes
-                    colorCountMap.put(color, colorCountMap.getOrDefault(color, 0) + 1);
-                }
-            }
-        }
+        return PixelKernels.dominantColor(getPixels(bitmap), bitmap.getWidth(), bitmap.getHeight(), true, Color.BLACK);
+    }
 
-        return colorCountMap.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(Color.BLACK); // Retorna preto se não encontrar nenhuma cor
+    public static int[] getPixels(Bitmap bitmap) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        var pixels = new int[width * height];
+        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+        return pixels;
     }
 
     public static double colorDistance(int color1, int color2) {
-        int r1 = Color.red(color1);
-        int g1 = Color.green(color1);
-        int b1 = Color.blue(color1);
-
-        int r2 = Color.red(color2);
-        int g2 = Color.green(color2);
-        int b2 = Color.blue(color2);
-
-        return Math.sqrt(Math.pow(r1 - r2, 2) + Math.pow(g1 - g2, 2) + Math.pow(b1 - b2, 2));
+        int dr = Color.red(color1) - Color.red(color2);
+        int dg = Color.green(color1) - Color.green(color2);
+        int db = Color.blue(color1) - Color.blue(color2);
+        return Math.sqrt(dr * dr + dg * dg + db * db);
     }
 
     public static Bitmap replaceColor(Bitmap bitmap, int oldColor, int newColor, double threshold) {
         Bitmap newBitmap = bitmap.copy(Bitmap.Config.ARGB_8888, true);
-
-        for (int y = 0; y < newBitmap.getHeight(); y++) {
-            for (int x = 0; x < newBitmap.getWidth(); x++) {
-                int currentColor = newBitmap.getPixel(x, y);
-                if (colorDistance(currentColor, oldColor) < threshold) {
-                    newBitmap.setPixel(x, y, newColor);
-                }
-            }
-        }
-
+        int width = newBitmap.getWidth();
+        int height = newBitmap.getHeight();
+        var pixels = getPixels(newBitmap);
+        PixelKernels.replaceColor(pixels, width, height, oldColor, newColor, threshold);
+        newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
         return newBitmap;
     }
 
@@ -0,0 +1,130 @@
+package com.waenhancer.xposed.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bulk copy used when exporting media (status, view once, video notes).
+ * <p>
+ * When both ends are backed by file descriptors (plain files, the ParcelFileDescriptor returned by
+ * the bridge, or a SAF stream, which is an AutoCloseOutputStream) the copy goes through
+ * {@link FileChannel#transferTo}, which the kernel serves with sendfile without copying into the
+ * Java heap. Anything else is pumped through pooled 1 MB direct buffers. Progress is reported per
+ * chunk and the copy can be cancelled between chunks.
+ */
+public final class FileCopier {
+
+    public interface Listener {
+        /**
+         * @param total source size in bytes, or -1 when unknown
+         */
+        void onProgress(long copied, long total);
+
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    // sendfile moves at most ~2 GB per call anyway; smaller chunks keep progress and cancel responsive
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 2;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+
+    private FileCopier() {
+    }
+
+    /**
+     * Copies everything from {@code in} to {@code out}. Neither stream is closed.
+     *
+     * @return number of bytes copied
+     * @throws CancellationException if the listener cancelled the copy; the destination is then incomplete
+     */
+    public static long copy(@NonNull InputStream in, @NonNull OutputStream out, @Nullable Listener listener) throws IOException {
+        if (in instanceof FileInputStream fileIn && out instanceof FileOutputStream fileOut) {
+            return copy(fileIn.getChannel(), fileOut.getChannel(), listener);
+        }
+        return copyBuffered(Channels.newChannel(in), Channels.newChannel(out), -1, listener);
+    }
+
+    public static long copy(@NonNull FileChannel in, @NonNull FileChannel out, @Nullable Listener listener) throws IOException {
+        long total = in.size() - in.position();
+        long position = in.position();
+        long copied = 0;
+        try {
+            while (copied < total) {
+                checkCancelled(listener);
+                long transferred = in.transferTo(position + copied, Math.min(TRANSFER_CHUNK, total - copied), out);
+                if (transferred <= 0) break;
+                copied += transferred;
+                if (listener != null) listener.onProgress(copied, total);
+            }
+        } catch (IOException e) {
+            // Some descriptors (pipes, sockets behind a provider) reject sendfile; finish the copy by hand
+            if (copied > 0) throw e;
+        }
+        if (copied < total) {
+            in.position(position + copied);
+            copied += copyBuffered(in, out, total, copied, listener);
+        }
+        in.position(position + copied);
+        return copied;
+    }
+
+    private static long copyBuffered(ReadableByteChannel in, WritableByteChannel out, long total, Listener listener) throws IOException {
+        return copyBuffered(in, out, total, 0, listener);
+    }
+
+    private static long copyBuffered(ReadableByteChannel in, WritableByteChannel out, long total, long alreadyCopied, Listener listener) throws IOException {
+        var buffer = acquireBuffer();
+        long copied = 0;
+        try {
+            while (true) {
+                checkCancelled(listener);
+                buffer.clear();
+                int read = in.read(buffer);
+                if (read < 0) break;
+                if (read == 0) continue;
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                copied += read;
+                if (listener != null) listener.onProgress(alreadyCopied + copied, total);
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+        return copied;
+    }
+
+    private static void checkCancelled(Listener listener) {
+        if (listener != null && listener.isCancelled()) {
+            throw new CancellationException("Copy cancelled");
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        var buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        // Best effort bound; an extra buffer now and then is harmless
+        if (bufferPool.size() < MAX_POOLED_BUFFERS) bufferPool.offer(buffer);
+    }
+}
@@ -0,0 +1,189 @@
+package com.waenhancer.xposed.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable keyword rule set for features triggered by message text (AutoStatusForward, Tasker).
+ * <p>
+ * Rules are either "contains" or "equals" and are compared after trimming and lower-casing both
+ * sides. Contains-rules are compiled into an Aho-Corasick automaton and equals-rules into a hash
+ * map, so a lookup costs one pass over the text however many rules there are. When several rules
+ * match, the one added first wins, as with a linear scan over the rule list. Build it once when the
+ * rules change and share it freely between threads.
+ *
+ * @param <T> value returned for a matching rule
+ */
+public final class KeywordMatcher<T> {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    // Automaton: node n has children keys[n] (sorted) -> next[n]; fail[n] is its failure link and
+    // firstRule[n] the lowest rule index ending at n or at any suffix of it
+    private final char[][] keys;
+    private final int[][] next;
+    private final int[] fail;
+    private final int[] firstRule;
+    private final Map<String, Integer> exact;
+    private final List<T> values;
+
+    private KeywordMatcher(char[][] keys, int[][] next, int[] fail, int[] firstRule, Map<String, Integer> exact, List<T> values) {
+        this.keys = keys;
+        this.next = next;
+        this.fail = fail;
+        this.firstRule = firstRule;
+        this.exact = exact;
+        this.values = values;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static String normalize(@NonNull String text) {
+        return text.trim().toLowerCase();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return the value of the first rule matching {@code text}, or null
+     */
+    @Nullable
+    public T match(@Nullable String text) {
+        if (text == null || values.isEmpty()) return null;
+        String lower = normalize(text);
+        int best = NO_MATCH;
+        Integer exactRule = exact.get(lower);
+        if (exactRule != null) best = exactRule;
+        if (keys.length > 1) {
+            int state = 0;
+            for (int i = 0; i < lower.length() && best > 0; i++) {
+                char c = lower.charAt(i);
+                int child;
+                while ((child = child(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = Math.max(child, 0);
+                if (firstRule[state] < best) best = firstRule[state];
+            }
+        }
+        return best == NO_MATCH ? null : values.get(best);
+    }
+
+    private int child(int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? next[state][index] : -1;
+    }
+
+    public static final class Builder<T> {
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> ends = new ArrayList<>();
+        private final Map<String, Integer> exact = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            ends.add(NO_MATCH);
+            return children.size() - 1;
+        }
+
+        /**
+         * Adds a rule; blank keywords are ignored.
+         *
+         * @param equals true to match the whole text, false to match anywhere in it
+         */
+        public Builder<T> add(@Nullable String keyword, boolean equals, @NonNull T value) {
+            if (keyword == null) return this;
+            String lower = normalize(keyword);
+            if (lower.isEmpty()) return this;
+            int rule = values.size();
+            values.add(value);
+            if (equals) {
+                exact.putIfAbsent(lower, rule);
+                return this;
+            }
+            int node = 0;
+            for (int i = 0; i < lower.length(); i++) {
+                Integer child = children.get(node).get(lower.charAt(i));
+                if (child == null) {
+                    child = newNode();
+                    children.get(node).put(lower.charAt(i), child);
+                }
+                node = child;
+            }
+            if (ends.get(node) == NO_MATCH) ends.set(node, rule);
+            return this;
+        }
+
+        public KeywordMatcher<T> build() {
+            int count = children.size();
+            char[][] keys = new char[count][];
+            int[][] next = new int[count][];
+            int[] fail = new int[count];
+            int[] firstRule = new int[count];
+            for (int node = 0; node < count; node++) {
+                var map = children.get(node);
+                keys[node] = new char[map.size()];
+                next[node] = new int[map.size()];
+                int i = 0;
+                for (var entry : map.entrySet()) {
+                    keys[node][i] = entry.getKey();
+                    next[node][i] = entry.getValue();
+                    i++;
+                }
+                firstRule[node] = ends.get(node);
+            }
+
+            // Breadth-first so a node's failure target is final before its children are linked
+            var queue = new ArrayDeque<Integer>();
+            for (int child : next[0]) {
+                fail[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int i = 0; i < keys[node].length; i++) {
+                    char c = keys[node][i];
+                    int child = next[node][i];
+                    int state = fail[node];
+                    int target;
+                    while (true) {
+                        int index = Arrays.binarySearch(keys[state], c);
+                        if (index >= 0) {
+                            target = next[state][index];
+                            break;
+                        }
+                        if (state == 0) {
+                            target = 0;
+                            break;
+                        }
+                        state = fail[state];
+                    }
+                    fail[child] = target;
+                    firstRule[child] = Math.min(firstRule[child], firstRule[target]);
+                    queue.add(child);
+                }
+            }
+            return new KeywordMatcher<>(keys, next, fail, firstRule, new HashMap<>(exact), new ArrayList<>(values));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.waenhancer.xposed.utils;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.waenhancer.R;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extra values attached to objects we do not own, replacing
+ * {@code XposedHelpers.get/setAdditionalInstanceField}.
+ * <p>
+ * Values are addressed by typed {@link Key}s, each with its own slot. On a {@link View} the slots
+ * live in a single keyed tag, so like the view they belong to the UI thread. Any other object is
+ * held weakly, by identity, in one of {@value #STRIPES} independently locked tables, so hooks on
+ * different threads rarely wait on each other; XposedHelpers keeps every object in a single
+ * synchronized map.
+ */
+public final class ObjectExtras {
+
+    private static final int STRIPES = 32;
+    private static final AtomicInteger keyCount = new AtomicInteger();
+    private static final Stripe[] stripes = new Stripe[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    private ObjectExtras() {
+    }
+
+    public static final class Key<T> {
+        private final String name;
+        private final Class<T> type;
+        private final int slot;
+
+        private Key(String name, Class<T> type, int slot) {
+            this.name = name;
+            this.type = type;
+            this.slot = slot;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A new key; keep it in a static field, every call allocates another slot.
+     */
+    @NonNull
+    public static <T> Key<T> key(@NonNull String name, @NonNull Class<T> type) {
+        return new Key<>(name, type, keyCount.getAndIncrement());
+    }
+
+    @Nullable
+    public static <T> T get(@NonNull Object obj, @NonNull Key<T> key) {
+        Object value;
+        if (obj instanceof View view) {
+            var slots = (Object[]) view.getTag(R.id.wae_object_extras_tag);
+            value = slots != null && key.slot < slots.length ? slots[key.slot] : null;
+        } else {
+            int hash = System.identityHashCode(obj);
+            value = stripeOf(hash).get(obj, hash, key.slot);
+        }
+        return key.type.cast(value);
+    }
+
+    @NonNull
+    public static <T> T getOrDefault(@NonNull Object obj, @NonNull Key<T> key, @NonNull T defaultValue) {
+        T value = get(obj, key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Attaches {@code value} to {@code obj}; null removes it.
+     */
+    public static <T> void set(@NonNull Object obj, @NonNull Key<T> key, @Nullable T value) {
+        if (obj instanceof View view) {
+            setViewSlot(view, key.slot, value);
+        } else {
+            int hash = System.identityHashCode(obj);
+            stripeOf(hash).set(obj, hash, key.slot, value);
+        }
+    }
+
+    public static void remove(@NonNull Object obj, @NonNull Key<?> key) {
+        set(obj, key, null);
+    }
+
+    private static void setViewSlot(View view, int slot, @Nullable Object value) {
+        var slots = (Object[]) view.getTag(R.id.wae_object_extras_tag);
+        if (slots == null || slot >= slots.length) {
+            if (value == null) return;
+            slots = slots == null ? new Object[slot + 1] : Arrays.copyOf(slots, slot + 1);
+            view.setTag(R.id.wae_object_extras_tag, slots);
+        }
+        slots[slot] = value;
+    }
+
+    private static Stripe stripeOf(int hash) {
+        return stripes[spread(hash) & (STRIPES - 1)];
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Identity-keyed weak hash table; entries of collected objects are dropped on the next write.
+     */
+    private static final class Stripe {
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        private Entry[] table = new Entry[16];
+        private int size;
+
+        private static final class Entry extends WeakReference<Object> {
+            final int hash;
+            Object[] slots;
+            Entry next;
+
+            Entry(Object referent, int hash, ReferenceQueue<Object> queue, Entry next) {
+                super(referent, queue);
+                this.hash = hash;
+                this.next = next;
+            }
+        }
+
+        synchronized Object get(Object obj, int hash, int slot) {
+            for (var e = table[indexOf(hash, table.length)]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == obj) {
+                    return slot < e.slots.length ? e.slots[slot] : null;
+                }
+            }
+            return null;
+        }
+
+        synchronized void set(Object obj, int hash, int slot, Object value) {
+            expunge();
+            int index = indexOf(hash, table.length);
+            for (var e = table[index]; e != null; e = e.next) {
+                if (e.hash == hash && e.get() == obj) {
+                    if (slot >= e.slots.length) {
+                        if (value == null) return;
+                        e.slots = Arrays.copyOf(e.slots, slot + 1);
+                    }
+                    e.slots[slot] = value;
+                    return;
+                }
+            }
+            if (value == null) return;
+            var entry = new Entry(obj, hash, queue, table[index]);
+            entry.slots = new Object[slot + 1];
+            entry.slots[slot] = value;
+            table[index] = entry;
+            if (++size > table.length * 3 / 4) resize();
+        }
+
+        private static int indexOf(int hash, int length) {
+            // The low bits picked the stripe; use the others for the bucket
+            return (spread(hash) >>> 5) & (length - 1);
+        }
+
+        private void expunge() {
+            for (Object ref; (ref = queue.poll()) != null; ) {
+                var stale = (Entry) ref;
+                int index = indexOf(stale.hash, table.length);
+                Entry prev = null;
+                for (var e = table[index]; e != null; prev = e, e = e.next) {
+                    if (e != stale) continue;
+                    if (prev == null) table[index] = e.next;
+                    else prev.next = e.next;
+                    size--;
+                    break;
+                }
+            }
+        }
+
+        private void resize() {
+            var old = table;
+            table = new Entry[old.length * 2];
+            for (var head : old) {
+                for (var e = head; e != null; ) {
+                    var next = e.next;
+                    int index = indexOf(e.hash, table.length);
+                    e.next = table[index];
+                    table[index] = e;
+                    e = next;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.waenhancer.xposed.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Finds an object of a given type (usually an FMessage) inside arbitrary hooked objects.
+ * <p>
+ * The first time a receiver class is seen its fields are walked breadth-first; the field chain that
+ * led to the nearest target is then kept as resolved {@link Field} handles, so later instances of that class
+ * are resolved by a few field reads. Classes whose field types can never lead to the target are
+ * remembered as such and not walked at all. Objects of the {@code via} type (a message Key) count as
+ * a hit once {@code viaToTarget} turns them into the target.
+ */
+public final class ObjectPathResolver {
+
+    private static final int MAX_CONTAINER_ITEMS = 10;
+
+    private final Class<?> target;
+    @Nullable
+    private final Class<?> via;
+    @Nullable
+    private final Function<Object, Object> viaToTarget;
+    private final int maxDepth;
+    private final boolean intoContainers;
+
+    private final Map<Class<?>, Field[]> paths = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Field[]> fields = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Boolean> reachable = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxDepth       longest field chain followed from the receiver
+     * @param intoContainers also look at the first elements of arrays and Iterables
+     */
+    public ObjectPathResolver(@NonNull Class<?> target, @Nullable Class<?> via, @Nullable Function<Object, Object> viaToTarget,
+                              int maxDepth, boolean intoContainers) {
+        this.target = target;
+        this.via = viaToTarget != null ? via : null;
+        this.viaToTarget = viaToTarget;
+        this.maxDepth = maxDepth;
+        this.intoContainers = intoContainers;
+    }
+
+    /**
+     * @return the target reachable from {@code root} (root itself if it is one), or null
+     */
+    @Nullable
+    public Object find(@Nullable Object root) {
+        if (root == null) return null;
+        if (target.isInstance(root)) return root;
+        Class<?> clazz = root.getClass();
+        Field[] path = paths.get(clazz);
+        if (path != null) {
+            Object hit = follow(root, path);
+            if (hit != null) return hit;
+        }
+        if (!isContainer(root) && !mayContain(clazz)) return null;
+
+        Hit hit = search(root);
+        if (hit == null) return null;
+        // A step into an array or Iterable cannot be replayed by field reads
+        if (!hit.node.throughContainer) {
+            paths.put(clazz, hit.node.path());
+        }
+        return hit.target;
+    }
+
+    /**
+     * Adds every target reachable from {@code root} to {@code out}, in field order.
+     */
+    public void collect(@Nullable Object root, @NonNull List<Object> out) {
+        collect(root, out, Collections.newSetFromMap(new IdentityHashMap<>()), 0);
+    }
+
+    private Object follow(Object root, Field[] path) {
+        Object current = root;
+        try {
+            for (Field field : path) {
+                current = field.get(current);
+                if (current == null) return null;
+            }
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            return null;
+        }
+        return terminal(current);
+    }
+
+    @Nullable
+    private Object terminal(Object value) {
+        if (target.isInstance(value)) return value;
+        if (via != null && via.isInstance(value)) {
+            try {
+                return viaToTarget.apply(value);
+            } catch (Throwable ignored) {
+            }
+        }
+        return null;
+    }
+
+    private boolean isTerminal(Object value) {
+        return target.isInstance(value) || (via != null && via.isInstance(value));
+    }
+
+    /**
+     * Breadth-first, so a target held directly by the receiver wins over one nested deeper (say,
+     * inside a quoted message).
+     */
+    @Nullable
+    private Hit search(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        visited.add(root);
+        var queue = new ArrayDeque<Node>();
+        queue.add(new Node(root, null, null, false));
+        while (!queue.isEmpty()) {
+            var node = queue.poll();
+            if (isContainer(node.value)) {
+                for (Object item : items(node.value)) {
+                    Hit hit = visit(item, node, null, queue, visited);
+                    if (hit != null) return hit;
+                }
+                continue;
+            }
+            for (Field field : fieldsOf(node.value.getClass())) {
+                Object nested;
+                try {
+                    nested = field.get(node.value);
+                } catch (IllegalAccessException | IllegalArgumentException e) {
+                    continue;
+                }
+                Hit hit = visit(nested, node, field, queue, visited);
+                if (hit != null) return hit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param field the field {@code nested} was read from, or null for an array or Iterable item
+     */
+    @Nullable
+    private Hit visit(Object nested, Node parent, @Nullable Field field, ArrayDeque<Node> queue, Set<Object> visited) {
+        if (nested == null) return null;
+        var node = new Node(nested, parent, field, parent.throughContainer || field == null);
+        Object hit = terminal(nested);
+        if (hit != null) return new Hit(hit, node);
+        if (node.depth >= maxDepth || isTerminal(nested)) return null;
+        if (!isContainer(nested) && !mayContain(nested.getClass())) return null;
+        if (visited.add(nested)) queue.add(node);
+        return null;
+    }
+
+    private boolean isContainer(Object value) {
+        return intoContainers && (value.getClass().isArray() || value instanceof Iterable);
+    }
+
+    private record Hit(Object target, Node node) {
+    }
+
+    private static final class Node {
+        final Object value;
+        @Nullable
+        final Node parent;
+        @Nullable
+        final Field field;
+        final int depth;
+        final boolean throughContainer;
+
+        Node(Object value, @Nullable Node parent, @Nullable Field field, boolean throughContainer) {
+            this.value = value;
+            this.parent = parent;
+            this.field = field;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.throughContainer = throughContainer;
+        }
+
+        Field[] path() {
+            var path = new Field[depth];
+            for (var node = this; node.parent != null; node = node.parent) {
+                path[node.depth - 1] = node.field;
+            }
+            return path;
+        }
+    }
+
+    private void collect(Object value, List<Object> out, Set<Object> visited, int depth) {
+        if (value == null || depth > maxDepth || !visited.add(value)) return;
+        if (isTerminal(value)) {
+            Object hit = terminal(value);
+            if (hit != null) out.add(hit);
+            return;
+        }
+        if (isContainer(value)) {
+            for (Object item : items(value)) {
+                collect(item, out, visited, depth + 1);
+            }
+            return;
+        }
+        if (!mayContain(value.getClass())) return;
+        for (Field field : fieldsOf(value.getClass())) {
+            try {
+                collect(field.get(value), out, visited, depth + 1);
+            } catch (IllegalAccessException | IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    private static List<Object> items(Object container) {
+        var items = new ArrayList<>(MAX_CONTAINER_ITEMS);
+        if (container.getClass().isArray()) {
+            if (container.getClass().getComponentType().isPrimitive()) return items;
+            int length = Math.min(Array.getLength(container), MAX_CONTAINER_ITEMS);
+            for (int i = 0; i < length; i++) {
+                items.add(Array.get(container, i));
+            }
+            return items;
+        }
+        try {
+            for (Object item : (Iterable<?>) container) {
+                if (items.size() >= MAX_CONTAINER_ITEMS) break;
+                items.add(item);
+            }
+        } catch (RuntimeException ignored) {
+            // Concurrently modified WhatsApp collection; what was read so far is enough
+        }
+        return items;
+    }
+
+    /**
+     * Non-static reference fields of {@code clazz} and its superclasses that the walk may follow,
+     * already made accessible.
+     */
+    private Field[] fieldsOf(Class<?> clazz) {
+        Field[] cached = fields.get(clazz);
+        if (cached != null) return cached;
+        var result = new ArrayList<Field>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !mayHold(field.getType())) continue;
+                try {
+                    field.setAccessible(true);
+                    result.add(field);
+                } catch (RuntimeException ignored) {
+                }
+            }
+        }
+        cached = result.toArray(new Field[0]);
+        fields.put(clazz, cached);
+        return cached;
+    }
+
+    /**
+     * Whether a field declared as {@code type} may hold the target or something leading to it.
+     */
+    private boolean mayHold(Class<?> type) {
+        if (type.isPrimitive()) return false;
+        if (related(type, target) || (via != null && related(type, via))) return true;
+        if (intoContainers && (type.isArray() || type == Object.class || Iterable.class.isAssignableFrom(type))) return true;
+        if (type.isArray()) return false;
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("android.");
+    }
+
+    private static boolean related(Class<?> type, Class<?> wanted) {
+        return type.isAssignableFrom(wanted) || wanted.isAssignableFrom(type);
+    }
+
+    /**
+     * Negative cache: false only when no field of {@code clazz}, followed through declared types,
+     * can reach the target. Non-final declared types are assumed to, since a subclass may add fields.
+     */
+    private boolean mayContain(Class<?> clazz) {
+        Boolean known = reachable.get(clazz);
+        if (known != null) return known;
+        String name = clazz.getName();
+        if (name.startsWith("java.") || name.startsWith("android.")) {
+            reachable.put(clazz, false);
+            return false;
+        }
+        // Provisional answer for cycles through this class; "maybe" keeps the cache conservative
+        reachable.put(clazz, true);
+        boolean result = false;
+        for (Field field : fieldsOf(clazz)) {
+            Class<?> type = field.getType();
+            if (related(type, target) || (via != null && related(type, via)) || type.isArray() || type.isInterface()
+                    || !Modifier.isFinal(type.getModifiers()) || mayContain(type)) {
+                result = true;
+                break;
+            }
+        }
+        reachable.put(clazz, result);
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.waenhancer.xposed.utils;
+
+import java.util.stream.IntStream;
+
+/**
+ * Recolor and dominant-color kernels over ARGB pixel arrays, as filled by
+ * {@code Bitmap.getPixels}. Large images are split into row bands processed in parallel; small
+ * ones (icons, nine-patch bubbles) run on the calling thread.
+ */
+public final class PixelKernels {
+
+    // Below this many pixels a band split costs more than it saves
+    private static final int PARALLEL_MIN_PIXELS = 1 << 16;
+    private static final int MIN_BAND_ROWS = 16;
+
+    private PixelKernels() {
+    }
+
+    /**
+     * Sets every pixel whose RGB distance to {@code oldColor} is below {@code threshold} to
+     * {@code newColor}, comparing squared distances.
+     */
+    public static void replaceColor(int[] pixels, int width, int height, int oldColor, int newColor, double threshold) {
+        if (threshold <= 0) return;
+        double limit = threshold * threshold;
+        int r = (oldColor >> 16) & 0xff;
+        int g = (oldColor >> 8) & 0xff;
+        int b = oldColor & 0xff;
+        forEachBand(bandCount(width, height), height, (band, from, to) -> {
+            for (int i = from * width, end = to * width; i < end; i++) {
+                int color = pixels[i];
+                int dr = ((color >> 16) & 0xff) - r;
+                int dg = ((color >> 8) & 0xff) - g;
+                int db = (color & 0xff) - b;
+                if (dr * dr + dg * dg + db * db < limit) pixels[i] = newColor;
+            }
+        });
+    }
+
+    /**
+     * The most frequent color. Ties go the way of a column-by-column scan that keeps the first
+     * color to reach the top count, i.e. to the color whose last pixel comes first in column order.
+     *
+     * @param skipTransparent ignore fully transparent pixels
+     * @param fallback        returned when no pixel was counted
+     */
+    public static int dominantColor(int[] pixels, int width, int height, boolean skipTransparent, int fallback) {
+        int bands = bandCount(width, height);
+        var histograms = new ColorHistogram[bands];
+        forEachBand(bands, height, (band, from, to) -> {
+            var histogram = new ColorHistogram();
+            for (int y = from, i = from * width; y < to; y++) {
+                for (int x = 0, column = y; x < width; x++, i++, column += height) {
+                    int color = pixels[i];
+                    if (skipTransparent && (color >>> 24) == 0) continue;
+                    histogram.add(color, column, 1);
+                }
+            }
+            histograms[band] = histogram;
+        });
+        var total = histograms[0];
+        for (int i = 1; i < bands; i++) {
+            total.addAll(histograms[i]);
+        }
+        return total.mostFrequent(fallback);
+    }
+
+    private interface Band {
+        void run(int band, int fromRow, int toRow);
+    }
+
+    private static int bandCount(int width, int height) {
+        if ((long) width * height < PARALLEL_MIN_PIXELS) return 1;
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(cores, height / MIN_BAND_ROWS));
+    }
+
+    private static void forEachBand(int bands, int height, Band kernel) {
+        if (bands == 1) {
+            kernel.run(0, 0, height);
+            return;
+        }
+        int rowsPerBand = (height + bands - 1) / bands;
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            int from = Math.min(height, band * rowsPerBand);
+            kernel.run(band, from, Math.min(height, from + rowsPerBand));
+        });
+    }
+
+    /**
+     * Open-addressing color -> (count, last column-major pixel index) table.
+     */
+    private static final class ColorHistogram {
+        private int[] colors = new int[64];
+        private int[] counts = new int[64];
+        private int[] lastSeen = new int[64];
+        private int size;
+
+        void add(int color, int index, int count) {
+            int mask = colors.length - 1;
+            int slot = slot(color, mask);
+            while (counts[slot] != 0) {
+                if (colors[slot] == color) {
+                    counts[slot] += count;
+                    if (index > lastSeen[slot]) lastSeen[slot] = index;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            colors[slot] = color;
+            counts[slot] = count;
+            lastSeen[slot] = index;
+            if (++size * 2 > colors.length) grow();
+        }
+
+        void addAll(ColorHistogram other) {
+            for (int i = 0; i < other.colors.length; i++) {
+                if (other.counts[i] != 0) add(other.colors[i], other.lastSeen[i], other.counts[i]);
+            }
+        }
+
+        int mostFrequent(int fallback) {
+            int best = -1;
+            for (int i = 0; i < colors.length; i++) {
+                if (counts[i] == 0) continue;
+                if (best < 0 || counts[i] > counts[best] || (counts[i] == counts[best] && lastSeen[i] < lastSeen[best])) {
+                    best = i;
+                }
+            }
+            return best < 0 ? fallback : colors[best];
+        }
+
+        private static int slot(int color, int mask) {
+            int h = color * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private void grow() {
+            var oldColors = colors;
+            var oldCounts = counts;
+            var oldLastSeen = lastSeen;
+            colors = new int[oldColors.length * 2];
+            counts = new int[oldColors.length * 2];
+            lastSeen = new int[oldColors.length * 2];
+            size = 0;
+            for (int i = 0; i < oldColors.length; i++) {
+                if (oldCounts[i] != 0) add(oldColors[i], oldLastSeen[i], oldCounts[i]);
+            }
+        }
+    }
+}
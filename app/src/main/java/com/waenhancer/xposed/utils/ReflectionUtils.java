@@ -12,16 +12,13 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import de.robv.android.xposed.XposedHelpers;
 import de.robv.android.xposed.XposedBridge;
-import com.waenhancer.xposed.core.WppCore;
 import java.util.concurrent.ConcurrentHashMap;
 
 @SuppressWarnings("unused")
@@ -481,82 +478,6 @@ public class ReflectionUtils {
         return null;
     }
 
-    private static final Map<String, List<String>> F_MESSAGE_PATH_CACHE = new ConcurrentHashMap<>();
-
-    public static Object findFMessageInObject(Object object, Class<?> fMessageClass, Class<?> keyClass, ClassLoader classLoader) {
-        if (object == null) return null;
-        if (fMessageClass != null && fMessageClass.isInstance(object)) return object;
-
-        String cacheKey = object.getClass().getName();
-        List<String> cachedPath = F_MESSAGE_PATH_CACHE.get(cacheKey);
-        if (cachedPath != null) {
-            Object current = object;
-            for (String fieldName : cachedPath) {
-                current = XposedHelpers.getObjectField(current, fieldName);
-                if (current == null) break;
-            }
-            if (current != null && fMessageClass.isInstance(current)) {
-                return current;
-            }
-            // Cache invalid, clear it
-            F_MESSAGE_PATH_CACHE.remove(cacheKey);
-        }
-
-        List<String> path = new ArrayList<>();
-        Object result = findFMessageInObject(object, fMessageClass, keyClass, classLoader,
-                Collections.newSetFromMap(new IdentityHashMap<>()), 0, path);
-        
-        if (result != null && !path.isEmpty()) {
-            F_MESSAGE_PATH_CACHE.put(cacheKey, new ArrayList<>(path));
-        }
-        return result;
-    }
-
-    private static Object findFMessageInObject(Object object, Class<?> fMessageClass, Class<?> keyClass,
-                                               ClassLoader classLoader, Set<Object> visited, int depth, List<String> path) {
-        if (object == null) return null;
-        if (depth > 4) return null;
-        if (fMessageClass != null && fMessageClass.isInstance(object)) return object;
-        if (!visited.add(object)) return null;
-
-        // Specialized search for FMessage or Key paths
-        Class<?> currentClass = object.getClass();
-        while (currentClass != null && currentClass != Object.class) {
-            List<Field> fields = getCachedDeclaredFields(currentClass);
-            for (Field field : fields) {
-                if (field.getType().isPrimitive() || field.getType().getName().startsWith("java.") || field.getType().getName().startsWith("android.")) {
-                    continue;
-                }
-                field.setAccessible(true);
-                try {
-                    Object nestedObj = field.get(object);
-                    if (nestedObj == null) continue;
-                    
-                    path.add(field.getName());
-                    if (fMessageClass != null && fMessageClass.isInstance(nestedObj)) {
-                        return nestedObj;
-                    }
-                    
-                    if (keyClass != null && keyClass.isInstance(nestedObj)) {
-                        try {
-                            Object fmsg = WppCore.getFMessageFromKey(nestedObj);
-                            if (fmsg != null) return fmsg;
-                        } catch (Exception ignored) {}
-                    }
-                    
-                    Object recursiveMatch = findFMessageInObject(nestedObj, fMessageClass, keyClass, classLoader, visited, depth + 1, path);
-                    if (recursiveMatch != null) {
-                        return recursiveMatch;
-                    }
-                    path.remove(path.size() - 1);
-                } catch (Exception ignored) {}
-            }
-            currentClass = currentClass.getSuperclass();
-        }
-
-        return null;
-    }
-
     private static final ConcurrentHashMap<Class<?>, List<Field>> declaredFieldsCache = new ConcurrentHashMap<>();
 
     private static List<Field> getCachedDeclaredFields(Class<?> clazz) {
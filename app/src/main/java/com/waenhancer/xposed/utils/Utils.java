@@ -24,6 +24,7 @@ import android.util.Log;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 import androidx.documentfile.provider.DocumentFile;
@@ -255,6 +256,15 @@ public class Utils {
 
 
     public static String copyFile(File srcFile, String destFolder, String name) {
+        return copyFile(srcFile, destFolder, name, null);
+    }
+
+    /**
+     * Copies a media file to the download folder, through the bridge or, in lite mode, SAF.
+     *
+     * @return an empty string on success, otherwise the error message
+     */
+    public static String copyFile(File srcFile, String destFolder, String name, @Nullable FileCopier.Listener listener) {
         if (srcFile == null || !srcFile.exists()) return "File not found or is null";
 
         if (xprefs.getBoolean("lite_mode", false)) {
@@ -276,12 +286,7 @@ public class Utils {
 
                     if (out == null) return "Failed to open output stream";
 
-                    byte[] buffer = new byte[1024];
-                    int length;
-                    while ((length = in.read(buffer)) > 0) {
-                        out.write(buffer, 0, length);
-                    }
-
+                    FileCopier.copy(in, out, listener);
                     return "";
                 }
             } catch (Exception e) {
@@ -295,18 +300,11 @@ public class Utils {
                 if (parcelFileDescriptor == null) {
                     return "Storage permission denied. Please enable 'Lite Mode' in WaEnhancer settings or grant 'All Files Access' permission in system settings.";
                 }
-                var out = new FileOutputStream(parcelFileDescriptor.getFileDescriptor());
-                byte[] bArr = new byte[1024];
-                while (true) {
-                    int read = in.read(bArr);
-                    if (read <= 0) {
-                        in.close();
-                        out.close();
-                        Utils.scanFile(destFile);
-                        return "";
-                    }
-                    out.write(bArr, 0, read);
+                try (var out = new FileOutputStream(parcelFileDescriptor.getFileDescriptor())) {
+                    FileCopier.copy(in, out, listener);
                 }
+                Utils.scanFile(destFile);
+                return "";
             } catch (Exception e) {
                 log(e);
                 return e.getMessage();
@@ -579,17 +577,20 @@ public class Utils {
         T execute();
     }
 
+    @SuppressWarnings("rawtypes")
+    private static final ObjectExtras.Key<HashMap> CLICK_LISTENERS = ObjectExtras.key("wae_click_listeners", HashMap.class);
+    private static final ObjectExtras.Key<Boolean> WAE_CLICK_LISTENER = ObjectExtras.key("is_wae_click_listener", Boolean.class);
+
     @SuppressWarnings("unchecked")
     public static void setViewClickListener(View view, String key, View.OnClickListener listener) {
         if (view == null) return;
         
         synchronized (view) {
-            HashMap<String, View.OnClickListener> listeners = (HashMap<String, View.OnClickListener>) 
-                    XposedHelpers.getAdditionalInstanceField(view, "wae_click_listeners");
+            HashMap<String, View.OnClickListener> listeners = ObjectExtras.get(view, CLICK_LISTENERS);
             
             if (listeners == null) {
                 listeners = new HashMap<>();
-                XposedHelpers.setAdditionalInstanceField(view, "wae_click_listeners", listeners);
+                ObjectExtras.set(view, CLICK_LISTENERS, listeners);
                 
                 View.OnClickListener original = getCurrentClickListener(view);
                 if (original != null && !isWaeClickListener(original)) {
@@ -605,11 +606,10 @@ public class Utils {
             
             if (listeners.isEmpty()) {
                 view.setOnClickListener(null);
-                XposedHelpers.removeAdditionalInstanceField(view, "wae_click_listeners");
+                ObjectExtras.remove(view, CLICK_LISTENERS);
             } else {
                 View.OnClickListener composite = v -> {
-                    HashMap<String, View.OnClickListener> map = (HashMap<String, View.OnClickListener>) 
-                            XposedHelpers.getAdditionalInstanceField(v, "wae_click_listeners");
+                    HashMap<String, View.OnClickListener> map = ObjectExtras.get(v, CLICK_LISTENERS);
                     if (map != null) {
                         for (View.OnClickListener clickListener : new ArrayList<>(map.values())) {
                             if (clickListener != null) {
@@ -622,7 +622,7 @@ public class Utils {
                         }
                     }
                 };
-                XposedHelpers.setAdditionalInstanceField(composite, "is_wae_click_listener", true);
+                ObjectExtras.set(composite, WAE_CLICK_LISTENER, true);
                 view.setOnClickListener(composite);
             }
         }
@@ -640,7 +640,7 @@ public class Utils {
 
     private static boolean isWaeClickListener(View.OnClickListener listener) {
         if (listener == null) return false;
-        return Boolean.TRUE.equals(XposedHelpers.getAdditionalInstanceField(listener, "is_wae_click_listener"));
+        return Boolean.TRUE.equals(ObjectExtras.get(listener, WAE_CLICK_LISTENER));
     }
 
 
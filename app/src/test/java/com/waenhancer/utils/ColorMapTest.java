@@ -0,0 +1,83 @@
+package com.waenhancer.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ColorMapTest {
+
+    // IColors.getFromIntColor before the palette was compiled, with Color.parseColor inlined
+    private static int legacy(int color, Map<String, String> colors) {
+        var hex = Integer.toHexString(color);
+        if (hex.length() == 7) hex = "0" + hex;
+        else if (hex.length() == 1) hex = "00000000";
+        var sColor = "#" + hex;
+        var newColor = colors.get(sColor);
+        if (newColor != null && newColor.length() == 9) {
+            return (int) Long.parseLong(newColor.substring(1), 16);
+        } else if (!sColor.startsWith("#ff")) {
+            newColor = colors.get(sColor.substring(3));
+            if (newColor != null) {
+                return (int) Long.parseLong(sColor.substring(1, 3) + newColor, 16);
+            }
+        }
+        return color;
+    }
+
+    private static Map<String, String> palette() {
+        var colors = new HashMap<String, String>();
+        colors.put("#ff0b141a", "#ff111b21");
+        colors.put("#ff103529", "#c0103529");
+        colors.put("#ff1b8755", "#ffffffff");
+        colors.put("0b141a", "0a1014");
+        colors.put("00a884", "123456");
+        colors.put("ffffff", "ffffff");
+        return colors;
+    }
+
+    @Test
+    public void exactAndAlphaAgnosticLookups() {
+        var map = ColorMap.of(palette());
+        assertEquals(0xff111b21, map.replace(0xff0b141a));
+        assertEquals(0xc0103529, map.replace(0xff103529));
+        assertEquals(0x800a1014, map.replace(0x800b141a));
+        assertEquals(0x05123456, map.replace(0x0500a884));
+        // Opaque colors only match exact keys
+        assertEquals(0xff00a884, map.replace(0xff00a884));
+        assertTrue(map.contains(0xff1b8755));
+        assertFalse(map.contains(0x801b8755));
+        assertEquals(7, map.get(0x12345678, 7));
+        assertTrue(ColorMap.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void agreesWithStringPalette() {
+        var colors = palette();
+        var random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            int rgb = random.nextInt(0x1000000);
+            colors.put(String.format("#%08x", 0xff000000 | rgb), String.format("#%08x", random.nextInt()));
+            colors.put(String.format("%06x", random.nextInt(0x1000000)), String.format("%06x", random.nextInt(0x1000000)));
+        }
+        var map = ColorMap.of(colors);
+        var keys = colors.keySet().toArray(new String[0]);
+        for (int i = 0; i < 20000; i++) {
+            int color;
+            String key = keys[random.nextInt(keys.length)];
+            int rgb = (int) Long.parseLong(key.length() == 9 ? key.substring(3) : key, 16);
+            switch (random.nextInt(3)) {
+                case 0 -> color = 0xff000000 | rgb;
+                case 1 -> color = ((1 + random.nextInt(254)) << 24) | rgb;
+                default -> color = random.nextInt();
+            }
+            if (color >>> 24 == 0) continue;
+            assertEquals(Integer.toHexString(color), legacy(color, colors), map.replace(color));
+        }
+    }
+}
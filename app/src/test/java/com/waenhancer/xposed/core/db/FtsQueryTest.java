@@ -0,0 +1,53 @@
+package com.waenhancer.xposed.core.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class FtsQueryTest {
+
+    // matchinfo 'pcnx' blob for one column: phrases, columns, rows, then per phrase
+    // {hits in this row, hits in all rows, rows with a hit}
+    private static byte[] matchinfo(int rows, int... perPhrase) {
+        int phrases = perPhrase.length / 3;
+        var buffer = ByteBuffer.allocate((3 + perPhrase.length) * 4).order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(1).putInt(rows);
+        for (int value : perPhrase) buffer.putInt(value);
+        return buffer.array();
+    }
+
+    @Test
+    public void rareWordsOutrankCommonOnes() {
+        double rare = FtsQuery.rank(matchinfo(100, 1, 2, 2));
+        double common = FtsQuery.rank(matchinfo(100, 1, 90, 80));
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void repeatedHitsRankHigher() {
+        double once = FtsQuery.rank(matchinfo(100, 1, 12, 10));
+        double twice = FtsQuery.rank(matchinfo(100, 2, 12, 10));
+        assertEquals(2 * once, twice, 1e-9);
+    }
+
+    @Test
+    public void everyPhraseAddsToTheScore() {
+        double first = FtsQuery.rank(matchinfo(100, 1, 5, 5));
+        double both = FtsQuery.rank(matchinfo(100, 1, 5, 5, 1, 20, 20));
+        assertTrue(both > first);
+    }
+
+    @Test
+    public void malformedBlobsRankZero() {
+        assertEquals(0, FtsQuery.rank(null), 0);
+        assertEquals(0, FtsQuery.rank(new byte[4]), 0);
+        // Header promises two phrases but carries one
+        var truncated = ByteBuffer.allocate(24).order(ByteOrder.nativeOrder())
+                .putInt(2).putInt(1).putInt(10).putInt(1).putInt(1).putInt(1).array();
+        assertEquals(0, FtsQuery.rank(truncated), 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.waenhancer.xposed.core.devkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** The binary hook cache must survive restarts, reject other builds and shrug off a torn tail. */
+public class HookCacheFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("hookcache", ".bin");
+        file.deleteOnExit();
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    private HookCacheFile open(long waVersion) {
+        HookCacheFile cache = new HookCacheFile(file, waVersion, 42L, "1.0.0");
+        cache.open();
+        return cache;
+    }
+
+    @Test
+    public void entriesAreOnlyVisibleAfterFlush() {
+        HookCacheFile cache = open(1);
+        cache.clear();
+        cache.put("loadGhostModeMethod", HookTable.KIND_METHOD, "X.a:b:int");
+
+        assertNull(open(1).get("loadGhostModeMethod"));
+
+        cache.flush();
+        assertEquals("X.a:b:int", open(1).get("loadGhostModeMethod"));
+    }
+
+    @Test
+    public void otherWhatsAppBuildIsCold() {
+        HookCacheFile cache = open(1);
+        cache.put("key", HookTable.KIND_CLASS, "value");
+        cache.flush();
+
+        assertTrue(new HookCacheFile(file, 1, 42L, "1.0.0").open());
+        assertFalse(new HookCacheFile(file, 2, 42L, "1.0.0").open());
+        assertFalse(new HookCacheFile(file, 1, 42L, "1.0.1").open());
+    }
+
+    @Test
+    public void tornRecordIsDroppedAndOverwritten() throws Exception {
+        HookCacheFile cache = open(1);
+        cache.put("first", HookTable.KIND_NUMBER, "1");
+        cache.put("second", HookTable.KIND_NUMBER, "2");
+        cache.flush();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        HookCacheFile reopened = open(1);
+        assertEquals(1, reopened.size());
+        reopened.put("third", HookTable.KIND_NUMBER, "3");
+        reopened.flush();
+
+        HookCacheFile last = open(1);
+        assertEquals("1", last.get("first"));
+        assertNull(last.get("second"));
+        assertEquals("3", last.get("third"));
+    }
+}
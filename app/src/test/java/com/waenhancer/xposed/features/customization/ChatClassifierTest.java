@@ -0,0 +1,106 @@
+package com.waenhancer.xposed.features.customization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ChatClassifierTest {
+
+    static final class Jid {
+        String server;
+
+        Jid(String server) {
+            this.server = server;
+        }
+
+        public String getServer() {
+            return server;
+        }
+    }
+
+    static final class ServerlessJid {
+    }
+
+    static class Chat {
+        Object A00;
+        Object A01;
+    }
+
+    static final class SubChat extends Chat {
+    }
+
+    // Equal to every other chat, like value-based chat models
+    static final class EqualChat extends Chat {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualChat;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    private static Chat chat(Object primary, Object fallback) {
+        var chat = new SubChat();
+        chat.A00 = primary;
+        chat.A01 = fallback;
+        return chat;
+    }
+
+    @Test
+    public void classifiesByServerOfFirstJidField() {
+        var classifier = new ChatClassifier();
+        assertEquals(ChatClassifier.Kind.GROUP, classifier.classify(chat(new Jid("g.us"), null)));
+        assertEquals(ChatClassifier.Kind.GROUP, classifier.classify(chat(new Jid("broadcast"), null)));
+        assertEquals(ChatClassifier.Kind.CONTACT, classifier.classify(chat(null, new Jid("lid"))));
+        assertEquals(ChatClassifier.Kind.CONTACT, classifier.classify(chat(new Jid("s.whatsapp.net"), new Jid("g.us"))));
+        assertEquals(ChatClassifier.Kind.OTHER, classifier.classify(chat(new Jid("newsletter"), null)));
+        assertEquals(ChatClassifier.Kind.UNKNOWN, classifier.classify(chat(new ServerlessJid(), null)));
+        assertEquals(ChatClassifier.Kind.UNKNOWN, classifier.classify(chat(new Jid(null), null)));
+        assertEquals(ChatClassifier.Kind.UNKNOWN, classifier.classify("not a chat"));
+        assertEquals(ChatClassifier.Kind.UNKNOWN, classifier.classify(null));
+    }
+
+    @Test
+    public void settledResultsAreRememberedPerChat() {
+        var classifier = new ChatClassifier();
+        var jid = new Jid("g.us");
+        var chat = chat(jid, null);
+        assertEquals(ChatClassifier.Kind.GROUP, classifier.classify(chat));
+        jid.server = "s.whatsapp.net";
+        assertEquals(ChatClassifier.Kind.GROUP, classifier.classify(chat));
+        assertEquals(ChatClassifier.Kind.CONTACT, classifier.classify(chat(jid, null)));
+
+        // A jid that shows up later is still picked up
+        var pending = chat(null, null);
+        assertEquals(ChatClassifier.Kind.UNKNOWN, classifier.classify(pending));
+        pending.A00 = jid;
+        assertEquals(ChatClassifier.Kind.CONTACT, classifier.classify(pending));
+    }
+
+    @Test
+    public void memoIsKeyedByIdentity() {
+        var classifier = new ChatClassifier();
+        var group = new EqualChat();
+        group.A00 = new Jid("g.us");
+        var contact = new EqualChat();
+        contact.A00 = new Jid("s.whatsapp.net");
+        assertEquals(ChatClassifier.Kind.GROUP, classifier.classify(group));
+        assertEquals(ChatClassifier.Kind.CONTACT, classifier.classify(contact));
+    }
+
+    @Test
+    public void kindsMapToTabs() {
+        assertTrue(ChatClassifier.Kind.GROUP.belongsTo(true));
+        assertFalse(ChatClassifier.Kind.GROUP.belongsTo(false));
+        assertTrue(ChatClassifier.Kind.CONTACT.belongsTo(false));
+        assertFalse(ChatClassifier.Kind.OTHER.belongsTo(true));
+        assertFalse(ChatClassifier.Kind.OTHER.belongsTo(false));
+        assertTrue(ChatClassifier.Kind.UNKNOWN.belongsTo(true));
+        assertTrue(ChatClassifier.Kind.UNKNOWN.belongsTo(false));
+    }
+}
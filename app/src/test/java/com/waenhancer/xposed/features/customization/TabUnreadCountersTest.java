@@ -0,0 +1,69 @@
+package com.waenhancer.xposed.features.customization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TabUnreadCountersTest {
+
+    private static TabUnreadCounters loaded() {
+        var counters = new TabUnreadCounters();
+        counters.put(1, new TabUnreadCounters.Row(false, true, 3, false, false));
+        counters.put(2, new TabUnreadCounters.Row(true, true, 5, false, false));
+        counters.put(3, new TabUnreadCounters.Row(true, false, 7, false, false));
+        counters.put(4, new TabUnreadCounters.Row(false, true, 0, false, false));
+        counters.put(5, new TabUnreadCounters.Row(false, true, -1, false, false));
+        counters.markLoaded();
+        return counters;
+    }
+
+    @Test
+    public void scanCountsOnlyListedUnreadRows() {
+        var counters = loaded();
+        assertTrue(counters.isLoaded());
+        assertEquals(1, counters.chats(false));
+        assertEquals(3, counters.chats(true));
+        assertEquals(1, counters.groups(false));
+        assertEquals(5, counters.groups(true));
+    }
+
+    @Test
+    public void rowChangesAdjustTotals() {
+        var counters = loaded();
+        // Rows without unread messages are not kept; one that gets some is read again
+        assertFalse(counters.update(4, 2, null, null));
+        counters.put(4, new TabUnreadCounters.Row(false, true, 2, false, false));
+        assertEquals(2, counters.chats(false));
+        assertEquals(5, counters.chats(true));
+
+        assertTrue(counters.update(2, null, true, null));
+        assertEquals(0, counters.groups(false));
+        assertTrue(counters.update(2, 1, false, null));
+        assertEquals(1, counters.groups(true));
+
+        assertTrue(counters.update(1, null, null, true));
+        counters.remove(4);
+        assertEquals(0, counters.chats(false));
+        assertEquals(0, counters.chats(true));
+
+        assertFalse(counters.update(42, 1, null, null));
+        assertTrue(counters.update(42, 0, true, null));
+        counters.invalidate();
+        assertFalse(counters.isLoaded());
+        assertEquals(0, counters.groups(true));
+    }
+
+    @Test
+    public void matchesTheUnreadAggregate() {
+        var counters = loaded();
+        // Rows 1-3 are unread, uncounted ones included
+        assertTrue(counters.matches(3, 15));
+        assertTrue(counters.update(3, 0, null, null));
+        assertTrue(counters.matches(2, 8));
+        assertFalse(counters.matches(3, 15));
+        counters.remove(1);
+        assertTrue(counters.matches(1, 5));
+    }
+}
@@ -0,0 +1,91 @@
+package com.waenhancer.xposed.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Both copy paths must produce identical bytes.
+ */
+public class FileCopierTest {
+
+    private File src;
+    private File dest;
+
+    @Before
+    public void setUp() throws Exception {
+        src = File.createTempFile("copysrc", ".bin");
+        dest = File.createTempFile("copydest", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        src.delete();
+        //noinspection ResultOfMethodCallIgnored
+        dest.delete();
+    }
+
+    private byte[] writeRandom(int size) throws IOException {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        Files.write(src.toPath(), data);
+        return data;
+    }
+
+    @Test
+    public void fileToFileUsesChannelsAndReportsProgress() throws Exception {
+        byte[] data = writeRandom(20 * 1024 * 1024 + 123);
+        AtomicLong lastProgress = new AtomicLong();
+        try (var in = new FileInputStream(src); var out = new FileOutputStream(dest)) {
+            long copied = FileCopier.copy(in, out, (done, total) -> {
+                assertEquals(data.length, total);
+                lastProgress.set(done);
+            });
+            assertEquals(data.length, copied);
+        }
+        assertEquals(data.length, lastProgress.get());
+        assertArrayEquals(data, Files.readAllBytes(dest.toPath()));
+    }
+
+    @Test
+    public void genericStreamsUseBuffers() throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024 + 7];
+        new Random(7).nextBytes(data);
+        var out = new ByteArrayOutputStream();
+        long copied = FileCopier.copy(new ByteArrayInputStream(data), out, null);
+        assertEquals(data.length, copied);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancelStopsTheCopy() throws Exception {
+        writeRandom(4 * 1024 * 1024);
+        try (var in = new FileInputStream(src); var out = new FileOutputStream(dest)) {
+            FileCopier.copy(in, out, new FileCopier.Listener() {
+                @Override
+                public void onProgress(long copied, long total) {
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.waenhancer.xposed.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * The matcher must agree with the linear scan AutoStatusForward used to do.
+ */
+public class KeywordMatcherTest {
+
+    private static final class Rule {
+        final String text;
+        final boolean equals;
+
+        Rule(String text, boolean equals) {
+            this.text = text;
+            this.equals = equals;
+        }
+    }
+
+    private static KeywordMatcher<Integer> compile(List<Rule> rules) {
+        KeywordMatcher.Builder<Integer> builder = KeywordMatcher.builder();
+        for (int i = 0; i < rules.size(); i++) {
+            builder.add(rules.get(i).text, rules.get(i).equals, i);
+        }
+        return builder.build();
+    }
+
+    // What AutoStatusForward.matchesRules did before
+    private static Integer linear(List<Rule> rules, String message) {
+        String lower = message.trim().toLowerCase();
+        for (int i = 0; i < rules.size(); i++) {
+            String ruleText = rules.get(i).text.trim().toLowerCase();
+            if (ruleText.isEmpty()) continue;
+            if (rules.get(i).equals ? lower.equals(ruleText) : lower.contains(ruleText)) return i;
+        }
+        return null;
+    }
+
+    @Test
+    public void firstMatchingRuleWins() {
+        List<Rule> rules = List.of(new Rule("send", false), new Rule("please send it", true), new Rule("it", false));
+        var matcher = compile(rules);
+        assertEquals(Integer.valueOf(0), matcher.match("  Please SEND it "));
+        assertEquals(Integer.valueOf(2), matcher.match("with it"));
+        assertNull(matcher.match("nothing here"));
+        assertNull(matcher.match(null));
+    }
+
+    @Test
+    public void overlappingKeywordsUseFailureLinks() {
+        List<Rule> rules = List.of(new Rule("she", false), new Rule("he", false), new Rule("hers", false), new Rule("  ", false));
+        var matcher = compile(rules);
+        assertEquals(3, matcher.size());
+        assertEquals(Integer.valueOf(1), matcher.match("uhe"));
+        assertEquals(Integer.valueOf(0), matcher.match("ushers"));
+        assertEquals(Integer.valueOf(2), compile(List.of(new Rule("xyz", false), new Rule("zzz", false), new Rule("hers", false)))
+                .match("ahhers"));
+    }
+
+    @Test
+    public void agreesWithLinearScan() {
+        var random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<Rule> rules = randomRules(random, 1 + random.nextInt(30), 1, 4);
+            var matcher = compile(rules);
+            for (int i = 0; i < 50; i++) {
+                String message = randomWord(random, random.nextInt(12));
+                if (random.nextInt(5) == 0) message = rules.get(random.nextInt(rules.size())).text.toUpperCase(Locale.ROOT);
+                assertEquals(message, linear(rules, message), matcher.match(message));
+            }
+        }
+    }
+
+    private static List<Rule> randomRules(Random random, int count, int minLength, int maxLength) {
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rules.add(new Rule(randomWord(random, minLength + random.nextInt(maxLength - minLength + 1)), random.nextInt(4) == 0));
+        }
+        return rules;
+    }
+
+    // Small alphabet so keywords overlap and actually match
+    private static String randomWord(Random random, int length) {
+        var builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("abcdeF ".charAt(random.nextInt(7)));
+        }
+        return builder.toString();
+    }
+}
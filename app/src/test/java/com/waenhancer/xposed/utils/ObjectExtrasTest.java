@@ -0,0 +1,62 @@
+package com.waenhancer.xposed.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Non-View objects only.
+ */
+public class ObjectExtrasTest {
+
+    private static final ObjectExtras.Key<String> NAME = ObjectExtras.key("name", String.class);
+    private static final ObjectExtras.Key<Integer> COUNT = ObjectExtras.key("count", Integer.class);
+
+    // Equal to every other instance, so only identity tells them apart
+    private static final class Same {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Same;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void valuesBelongToOneObjectAndKey() {
+        var first = new Same();
+        var second = new Same();
+        ObjectExtras.set(first, NAME, "first");
+        ObjectExtras.set(first, COUNT, 3);
+        assertEquals("first", ObjectExtras.get(first, NAME));
+        assertEquals(Integer.valueOf(3), ObjectExtras.get(first, COUNT));
+        assertNull(ObjectExtras.get(second, NAME));
+        assertEquals(Integer.valueOf(7), ObjectExtras.getOrDefault(second, COUNT, 7));
+
+        ObjectExtras.set(first, NAME, null);
+        assertNull(ObjectExtras.get(first, NAME));
+        assertEquals(Integer.valueOf(3), ObjectExtras.get(first, COUNT));
+        ObjectExtras.remove(first, COUNT);
+        assertNull(ObjectExtras.get(first, COUNT));
+    }
+
+    @Test
+    public void keepsValuesWhileTablesGrow() {
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            var obj = new Object();
+            objects.add(obj);
+            ObjectExtras.set(obj, COUNT, i);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            assertEquals(Integer.valueOf(i), ObjectExtras.get(objects.get(i), COUNT));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.waenhancer.xposed.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ObjectPathResolverTest {
+
+    static final class Message {
+    }
+
+    static final class Key {
+        final Message message;
+
+        Key(Message message) {
+            this.message = message;
+        }
+    }
+
+    static class Holder {
+        Object unrelated = "text";
+        Inner inner;
+        Key key;
+    }
+
+    static class Inner {
+        int count;
+        Message message;
+    }
+
+    static final class Leaf {
+        String name = "leaf";
+        int value;
+    }
+
+    // A quoted message declared before the message itself
+    static final class Reply {
+        Inner quoted;
+        Message message;
+    }
+
+    static final class ListHolder {
+        List<Object> items = new ArrayList<>();
+    }
+
+    private final ObjectPathResolver resolver = new ObjectPathResolver(Message.class, Key.class, key -> ((Key) key).message, 5, false);
+
+    @Test
+    public void learnedPathIsReplayedOnOtherInstances() {
+        var first = new Holder();
+        first.inner = new Inner();
+        first.inner.message = new Message();
+        assertSame(first.inner.message, resolver.find(first));
+
+        var second = new Holder();
+        second.inner = new Inner();
+        second.inner.message = new Message();
+        assertSame(second.inner.message, resolver.find(second));
+    }
+
+    @Test
+    public void learnedPathWinsOverFreshWalk() {
+        var first = new Holder();
+        first.inner = new Inner();
+        first.inner.message = new Message();
+        resolver.find(first);
+
+        // A fresh breadth-first walk would stop at the shallower key
+        var second = new Holder();
+        second.inner = new Inner();
+        second.inner.message = new Message();
+        second.key = new Key(new Message());
+        assertSame(second.inner.message, resolver.find(second));
+        assertSame(second.key.message, new ObjectPathResolver(Message.class, Key.class, key -> ((Key) key).message, 5, false)
+                .find(second));
+    }
+
+    @Test
+    public void directFieldWinsOverNestedOne() {
+        var reply = new Reply();
+        reply.quoted = new Inner();
+        reply.quoted.message = new Message();
+        reply.message = new Message();
+        assertSame(reply.message, resolver.find(reply));
+    }
+
+    @Test
+    public void findLooksIntoContainers() {
+        var finder = new ObjectPathResolver(Message.class, null, null, 3, true);
+        var holder = new ListHolder();
+        var message = new Message();
+        holder.items.add(message);
+        assertSame(message, finder.find(holder));
+
+        var other = new ListHolder();
+        var next = new Message();
+        other.items.add(next);
+        assertSame(next, finder.find(other));
+    }
+
+    @Test
+    public void fallsBackToWalkWhenLearnedPathIsEmpty() {
+        var holder = new Holder();
+        holder.inner = new Inner();
+        holder.inner.message = new Message();
+        resolver.find(holder);
+
+        var viaKey = new Holder();
+        var message = new Message();
+        viaKey.key = new Key(message);
+        assertSame(message, resolver.find(viaKey));
+        assertNull(resolver.find(new Holder()));
+    }
+
+    @Test
+    public void classesWithoutReachableFieldsAreSkipped() {
+        assertNull(resolver.find(new Leaf()));
+        assertNull(resolver.find("string"));
+        var message = new Message();
+        assertSame(message, resolver.find(message));
+    }
+
+    @Test
+    public void collectLooksIntoContainers() {
+        var collector = new ObjectPathResolver(Message.class, null, null, 3, true);
+        var holder = new ListHolder();
+        var a = new Message();
+        var b = new Message();
+        holder.items.add(a);
+        holder.items.add(new Leaf());
+        holder.items.add(new Message[]{b, a});
+        var out = new ArrayList<>();
+        collector.collect(holder, out);
+        assertEquals(List.of(a, b), out);
+    }
+}
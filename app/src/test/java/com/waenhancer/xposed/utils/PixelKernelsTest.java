@@ -0,0 +1,112 @@
+package com.waenhancer.xposed.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * The kernels must match the per-pixel loops DesignUtils used before.
+ */
+public class PixelKernelsTest {
+
+    // DesignUtils.replaceColor before, minus the getPixel/setPixel calls
+    private static void legacyReplace(int[] pixels, int oldColor, int newColor, double threshold) {
+        for (int i = 0; i < pixels.length; i++) {
+            int c = pixels[i];
+            double distance = Math.sqrt(Math.pow(((c >> 16) & 0xff) - ((oldColor >> 16) & 0xff), 2)
+                    + Math.pow(((c >> 8) & 0xff) - ((oldColor >> 8) & 0xff), 2)
+                    + Math.pow((c & 0xff) - (oldColor & 0xff), 2));
+            if (distance < threshold) pixels[i] = newColor;
+        }
+    }
+
+    // DesignUtils.getDominantColor before
+    private static int legacyDominant(int[] pixels) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int color : pixels) {
+            if ((color >>> 24) > 0) counts.put(color, counts.getOrDefault(color, 0) + 1);
+        }
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(0xff000000);
+    }
+
+    // DrawableColors.getNinePatchDrawableColor before: column by column, first color to reach the top count
+    private static int legacyNinePatch(int[] pixels, int width, int height) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        int best = 0, bestCount = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int color = pixels[y * width + x];
+                int count = counts.getOrDefault(color, 0) + 1;
+                counts.put(color, count);
+                if (count > bestCount) {
+                    best = color;
+                    bestCount = count;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void replaceMatchesPerPixelDistance() {
+        var random = new Random(7);
+        for (int size : new int[]{7, 300, 1200}) {
+            int[] pixels = randomImage(random, size, size / 3 + 1, 64);
+            int[] expected = pixels.clone();
+            int oldColor = pixels[random.nextInt(pixels.length)];
+            legacyReplace(expected, oldColor, 0xff25d366, 120);
+            PixelKernels.replaceColor(pixels, size, size / 3 + 1, oldColor, 0xff25d366, 120);
+            assertArrayEquals(expected, pixels);
+        }
+    }
+
+    @Test
+    public void dominantColorCountsEveryBand() {
+        int width = 1000, height = 400;
+        int[] pixels = new int[width * height];
+        // Band-sized stripes, with the winner split across all of them
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (i % 3 == 0) ? 0xff112233 : 0xff000000 | (i / width);
+        }
+        assertEquals(0xff112233, PixelKernels.dominantColor(pixels, width, height, true, 0));
+        assertEquals(legacyDominant(pixels), PixelKernels.dominantColor(pixels, width, height, true, 0xff000000));
+
+        int[] transparent = new int[16];
+        assertEquals(0xff000000, PixelKernels.dominantColor(transparent, 4, 4, true, 0xff000000));
+        assertEquals(0, PixelKernels.dominantColor(transparent, 4, 4, false, 0xff000000));
+    }
+
+    @Test
+    public void tiesFollowTheColumnOrderScan() {
+        // Red is seen first in row order, but the column scan completes blue first
+        int[] tie = {
+                0xffff0000, 0xff0000ff,
+                0xff0000ff, 0xffff0000,
+        };
+        assertEquals(0xff0000ff, legacyNinePatch(tie, 2, 2));
+        assertEquals(0xff0000ff, PixelKernels.dominantColor(tie, 2, 2, false, 0));
+
+        var random = new Random(3);
+        for (int[] size : new int[][]{{5, 9}, {96, 72}, {700, 300}}) {
+            int[] pixels = randomImage(random, size[0], size[1], 3);
+            for (int i = 0; i < pixels.length; i++) pixels[i] = pixels[random.nextInt(pixels.length)];
+            assertEquals(legacyNinePatch(pixels, size[0], size[1]), PixelKernels.dominantColor(pixels, size[0], size[1], false, 0));
+        }
+    }
+
+    // Mostly one background color with noise from a small palette, like a bubble or flat wallpaper
+    private static int[] randomImage(Random random, int width, int height, int paletteSize) {
+        int[] palette = new int[paletteSize];
+        for (int i = 0; i < paletteSize; i++) palette[i] = random.nextInt() | 0x80000000;
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(3) == 0 ? palette[random.nextInt(paletteSize)] : palette[0];
+        }
+        return pixels;
+    }
+}